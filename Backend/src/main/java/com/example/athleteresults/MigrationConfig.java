@@ -0,0 +1,49 @@
+package com.example.athleteresults;
+
+import com.example.athleteresults.services.PartitionService;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hibernate (ddl-auto=update) creates the tables, Flyway adds what it cannot express
+ * (indexes, sequence settings). Boot hands Flyway to the migration strategy before the
+ * EntityManagerFactory exists, i.e. before the tables do, so the strategy only keeps it.
+ *
+ * Both schema steps run once every singleton (and with it Hibernate's schema update) is in
+ * place, but before the web server starts: first the partition conversion, then the
+ * migrations. No request can reach a table that is being rewritten or a sequence that has
+ * not been moved past the existing ids yet.
+ */
+@Configuration
+public class MigrationConfig implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MigrationConfig.class);
+
+    private final AtomicReference<Flyway> pending = new AtomicReference<>();
+    private final PartitionService partitionService;
+
+    public MigrationConfig(PartitionService partitionService) {
+        this.partitionService = partitionService;
+    }
+
+    @Bean
+    public FlywayMigrationStrategy afterSchemaUpdate() {
+        return pending::set;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        partitionService.initialize();
+        Flyway flyway = pending.getAndSet(null);
+        if (flyway != null) {
+            log.info("Applied {} schema migration(s)", flyway.migrate().migrationsExecuted);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.services.AnalyticsStore;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final AnalyticsStore analyticsStore;
+
+    public AnalyticsController(AnalyticsStore analyticsStore) {
+        this.analyticsStore = analyticsStore;
+    }
+
+    // ===== GET — aggregate (count/sum/min/max/avg) over results|jumps|throws|sessions =====
+    @GetMapping("/{table}")
+    public List<AnalyticsStore.Aggregate> aggregate(
+            @PathVariable String table,
+            @RequestParam(required = false) Integer athleteId,
+            @RequestParam(required = false) String event,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "none") String groupBy
+    ) {
+        return analyticsStore.query(
+                parse(AnalyticsStore.Table.class, table),
+                new AnalyticsStore.Query(athleteId, event, from, to),
+                parse(AnalyticsStore.GroupBy.class, groupBy));
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown " + type.getSimpleName().toLowerCase()
+                    + ": " + value);
+        }
+    }
+}
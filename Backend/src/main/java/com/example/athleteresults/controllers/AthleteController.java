@@ -1,7 +1,11 @@
 package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.*;
+import com.example.athleteresults.events.DataChangeEvent;
 import com.example.athleteresults.repositories.*;
+import com.example.athleteresults.services.CascadeDeleteService;
+import com.example.athleteresults.services.PerformanceClassificationService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -29,6 +33,9 @@ public class AthleteController {
     private final CoachAthleteRelationRepository relationRepo;
     private final UserRepository userRepo;
     private final CoachRepository coachRepo;
+    private final CascadeDeleteService cascadeDeleteService;
+    private final PerformanceClassificationService performanceService;
+    private final ApplicationEventPublisher events;
 
 
     public AthleteController(AthleteRepository repo,
@@ -39,7 +46,10 @@ public class AthleteController {
                              SessionRepository sessionRepo,
                              CoachAthleteRelationRepository relationRepo,
                              UserRepository userRepo,
-                             CoachRepository coachRepo) {
+                             CoachRepository coachRepo,
+                             CascadeDeleteService cascadeDeleteService,
+                             PerformanceClassificationService performanceService,
+                             ApplicationEventPublisher events) {
         this.repo = repo;
         this.resultRepo = resultRepo;
         this.jumpResultRepo = jumpResultRepo;
@@ -49,6 +59,9 @@ public class AthleteController {
         this.relationRepo = relationRepo;
         this.userRepo = userRepo;
         this.coachRepo = coachRepo;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.performanceService = performanceService;
+        this.events = events;
     }
 
     // ===== GET all athletes =====
@@ -162,16 +175,24 @@ public class AthleteController {
         if (body.containsKey("city")) athlete.setCity((String) body.get("city"));
 
         athlete.setUpdatedAt(LocalDateTime.now());
-        return repo.save(athlete);
+        Athlete saved = repo.save(athlete);
+        // a hand-set performance only stands while there are no marks to derive it from
+        saved.setPerformance(performanceService.refreshProfile(saved));
+        events.publishEvent(DataChangeEvent.updated(DataChangeEvent.Kind.ATHLETE, saved.getId(), saved.getId(), saved));
+        return saved;
     }
 
-    // ===== DELETE athlete =====
+    // ===== DELETE athlete (+ all of its data; ?async=true → 202 + job, poll /api/deletions/{jobId}) =====
     @DeleteMapping("/{id}")
-    public String delete(@PathVariable Integer id) {
+    public ResponseEntity<?> delete(@PathVariable Integer id,
+                                    @RequestParam(defaultValue = "false") boolean async) {
         if (!repo.existsById(id))
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Athlete not found");
-        repo.deleteById(id);
-        return "Athlete deleted successfully";
+        if (async) {
+            return ResponseEntity.accepted().body(cascadeDeleteService.deleteAthleteAsync(id));
+        }
+        cascadeDeleteService.deleteAthlete(id);
+        return ResponseEntity.ok("Athlete deleted successfully");
     }
 
     // ===== GET all coaches linked to this athlete =====
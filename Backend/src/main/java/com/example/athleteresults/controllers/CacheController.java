@@ -0,0 +1,42 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.services.EntityCacheService;
+import com.example.athleteresults.services.QueryResultCache;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+public class CacheController {
+
+    private final EntityCacheService cacheService;
+    private final QueryResultCache queryCache;
+
+    public CacheController(EntityCacheService cacheService, QueryResultCache queryCache) {
+        this.cacheService = cacheService;
+        this.queryCache = queryCache;
+    }
+
+    // ===== GET — hit / miss counters per second-level cache region =====
+    @GetMapping
+    public List<EntityCacheService.Region> regions() {
+        return cacheService.regions();
+    }
+
+    // ===== POST — evict one region (?region=...) or the whole cache on this node =====
+    @PostMapping("/evict")
+    public List<EntityCacheService.Region> evict(@RequestParam(required = false) String region) {
+        cacheService.evict(region);
+        return cacheService.regions();
+    }
+
+    // ===== GET — hit rate / size of the filter & search result caches =====
+    @GetMapping("/queries")
+    public List<QueryResultCache.Stats> queries() {
+        return queryCache.stats();
+    }
+}
@@ -2,6 +2,8 @@ package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.*;
 import com.example.athleteresults.repositories.*;
+import com.example.athleteresults.services.ChangeFeedService;
+import com.example.athleteresults.services.LiveUpdateService;
 import org.springframework.http.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,17 +20,20 @@ public class CoachAthleteRelationController {
     private final CoachAthleteRelationRepository relationRepo;
     private final StatusRepository statusRepo;
     private final UserRepository userRepo;
+    private final ChangeFeedService changeFeedService;
 
     public CoachAthleteRelationController(CoachRepository coachRepo,
                                           AthleteRepository athleteRepo,
                                           CoachAthleteRelationRepository relationRepo,
                                           StatusRepository statusRepo,
-                                          UserRepository userRepo) {
+                                          UserRepository userRepo,
+                                          ChangeFeedService changeFeedService) {
         this.coachRepo = coachRepo;
         this.athleteRepo = athleteRepo;
         this.relationRepo = relationRepo;
         this.statusRepo = statusRepo;
         this.userRepo = userRepo;
+        this.changeFeedService = changeFeedService;
     }
 
     // ===== SEND REQUEST (Coach → Athlete) =====
@@ -93,6 +98,7 @@ public class CoachAthleteRelationController {
                 .orElseGet(() -> statusRepo.save(new Status("accept")));
         relation.setStatus(accept);
         relationRepo.save(relation);
+        changeFeedService.joinedSquad(coachId, athleteId);
 
         return ResponseEntity.ok("Request accepted successfully!");
     }
@@ -113,8 +119,11 @@ public class CoachAthleteRelationController {
 
         Status refuse = statusRepo.findByStatusName("refuse")
                 .orElseGet(() -> statusRepo.save(new Status("refuse")));
+        boolean wasAccepted = accepted(relation);
         relation.setStatus(refuse);
         relationRepo.save(relation);
+        // the coach's offline copy has to drop the athlete again
+        if (wasAccepted) changeFeedService.leftSquad(coachId, athleteId);
 
         return ResponseEntity.ok("Request refused.");
     }
@@ -142,10 +151,18 @@ public class CoachAthleteRelationController {
         Coach coach = coachRepo.findById(coachId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Coach not found"));
 
-        relationRepo.findByCoachAndAthlete(coach, athlete)
-                .ifPresent(relationRepo::delete);
+        relationRepo.findByCoachAndAthlete(coach, athlete).ifPresent(relation -> {
+            boolean wasAccepted = accepted(relation);
+            relationRepo.delete(relation);
+            if (wasAccepted) changeFeedService.leftSquad(coachId, athleteId);
+        });
 
         return ResponseEntity.ok("Coach removed successfully");
     }
 
+    // ===== Helper — relation currently puts the athlete in the coach's squad =====
+    private static boolean accepted(CoachAthleteRelation relation) {
+        return relation.getStatus() != null
+                && LiveUpdateService.ACCEPTED.equals(relation.getStatus().getStatusName());
+    }
 }
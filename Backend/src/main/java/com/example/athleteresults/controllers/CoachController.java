@@ -2,6 +2,9 @@ package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.*;
 import com.example.athleteresults.repositories.*;
+import com.example.athleteresults.services.CascadeDeleteService;
+import com.example.athleteresults.services.LiveUpdateService;
+import com.example.athleteresults.services.RacePredictionService;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,17 +26,23 @@ public class CoachController {
     private final UserRepository userRepo;
     private final CoachAthleteRelationRepository relationRepo;
     private final StatusRepository statusRepo;
+    private final CascadeDeleteService cascadeDeleteService;
+    private final RacePredictionService predictions;
 
     public CoachController(CoachRepository coachRepo,
                            AthleteRepository athleteRepo,
                            UserRepository userRepo,
                            CoachAthleteRelationRepository relationRepo,
-                           StatusRepository statusRepo) {
+                           StatusRepository statusRepo,
+                           CascadeDeleteService cascadeDeleteService,
+                           RacePredictionService predictions) {
         this.coachRepo = coachRepo;
         this.athleteRepo = athleteRepo;
         this.userRepo = userRepo;
         this.relationRepo = relationRepo;
         this.statusRepo = statusRepo;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.predictions = predictions;
     }
 
     // ===== GET all coaches (detailed version) =====
@@ -248,6 +257,18 @@ public class CoachController {
         return ResponseEntity.ok(result);
     }
 
+    // ===== GET predicted times over a distance for every accepted athlete =====
+    @GetMapping("/{coachId}/predictions")
+    public List<RacePredictionService.Prediction> getRosterPredictions(@PathVariable Integer coachId,
+                                                                       @RequestParam int distance) {
+        ResultController.checkPredictionDistance(distance);
+        if (!coachRepo.existsById(coachId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coach not found");
+        }
+        List<Integer> athleteIds = relationRepo.findAthleteIdsByCoachIdAndStatusName(coachId, LiveUpdateService.ACCEPTED);
+        return predictions.predictAll(athleteIds, distance);
+    }
+
     // ===== LINK athlete to coach (default status = pending) =====
     @PostMapping("/{coachId}/athletes/{athleteId}")
     public ResponseEntity<String> linkAthlete(@PathVariable Integer coachId, @PathVariable Integer athleteId) {
@@ -324,13 +345,17 @@ public class CoachController {
     }
 
 
-    // ===== DELETE coach =====
+    // ===== DELETE coach (relations removed, plans kept without coach; ?async=true → 202 + job) =====
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteCoach(@PathVariable Integer id) {
+    public ResponseEntity<?> deleteCoach(@PathVariable Integer id,
+                                         @RequestParam(defaultValue = "false") boolean async) {
         if (!coachRepo.existsById(id))
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coach not found");
 
-        coachRepo.deleteById(id);
+        if (async) {
+            return ResponseEntity.accepted().body(cascadeDeleteService.deleteCoachAsync(id));
+        }
+        cascadeDeleteService.deleteCoach(id);
         return ResponseEntity.ok("Coach deleted successfully");
     }
     @GetMapping("/me")
@@ -0,0 +1,27 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.services.CascadeDeleteService;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/deletions")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_ATHLETE','ROLE_COACH')")
+public class DeletionController {
+
+    private final CascadeDeleteService cascadeDeleteService;
+
+    public DeletionController(CascadeDeleteService cascadeDeleteService) {
+        this.cascadeDeleteService = cascadeDeleteService;
+    }
+
+    // ===== GET — progress of an async athlete / coach delete =====
+    @GetMapping("/{jobId}")
+    public CascadeDeleteService.Progress progress(@PathVariable String jobId) {
+        return cascadeDeleteService.progress(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Deletion job not found"));
+    }
+}
@@ -1,13 +1,24 @@
 package com.example.athleteresults.controllers;
 
+import com.example.athleteresults.dto.GymSessionFullDTO;
+import com.example.athleteresults.dto.GymSessionSummary;
 import com.example.athleteresults.entities.Athlete;
 import com.example.athleteresults.entities.GymSession;
+import com.example.athleteresults.events.DataChangeEvent;
 import com.example.athleteresults.repositories.AthleteRepository;
 import com.example.athleteresults.repositories.GymSessionRepository;
+import com.example.athleteresults.repositories.ProjectionQueries;
+import com.example.athleteresults.services.GymMetricService;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -15,22 +26,52 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class GymSessionController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final GymSessionRepository gymSessionRepository;
     private final AthleteRepository athleteRepository;
+    private final GymMetricService gymMetricService;
+    private final ProjectionQueries projections;
+    private final ApplicationEventPublisher events;
 
-    public GymSessionController(GymSessionRepository gymSessionRepository, AthleteRepository athleteRepository) {
+    public GymSessionController(GymSessionRepository gymSessionRepository, AthleteRepository athleteRepository,
+                                GymMetricService gymMetricService, ProjectionQueries projections,
+                                ApplicationEventPublisher events) {
         this.gymSessionRepository = gymSessionRepository;
         this.athleteRepository = athleteRepository;
+        this.gymMetricService = gymMetricService;
+        this.projections = projections;
+        this.events = events;
     }
 
+    // list endpoints return GymSessionSummary rows (no notes) unless includeNotes=true
     @GetMapping
-    public List<GymSession> getAll() {
-        return gymSessionRepository.findAll();
+    public List<?> getAll(@RequestParam(defaultValue = "false") boolean includeNotes) {
+        return includeNotes ? gymSessionRepository.findAll() : summaries(null);
     }
 
     @GetMapping("/athlete/{athleteId}")
-    public List<GymSession> getByAthlete(@PathVariable Integer athleteId) {
-        return gymSessionRepository.findByAthleteId(athleteId);
+    public List<?> getByAthlete(@PathVariable Integer athleteId,
+                                @RequestParam(defaultValue = "false") boolean includeNotes) {
+        return includeNotes
+                ? gymSessionRepository.findByAthleteId(athleteId)
+                : summaries(buildSpec(athleteId, null, null, null, null));
+    }
+
+    // sessions with their weight / plyo / reflex metrics, one page at a time (newest first)
+    @GetMapping("/athlete/{athleteId}/full")
+    public List<GymSessionFullDTO> getFullByAthlete(
+            @PathVariable Integer athleteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return gymMetricService.findFullByAthlete(athleteId, from, to, page, size);
     }
 
     @PostMapping
@@ -45,7 +86,17 @@ public class GymSessionController {
 
         session.setAthlete(athlete);
 
-        return gymSessionRepository.save(session);
+        GymSession saved = gymSessionRepository.save(session);
+        events.publishEvent(DataChangeEvent.created(
+                DataChangeEvent.Kind.GYM_SESSION, athlete.getId(), saved.getId(), saved));
+        return saved;
+    }
+
+    // session + weight / plyo / reflex metrics in one request (saved through the cascade)
+    @PostMapping("/full")
+    @ResponseStatus(HttpStatus.CREATED)
+    public GymSessionFullDTO createWithMetrics(@RequestBody GymSessionFullDTO request) {
+        return gymMetricService.createWithMetrics(request);
     }
 
     @DeleteMapping("/{id}")
@@ -54,31 +105,47 @@ public class GymSessionController {
         if (!gymSessionRepository.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Gym session not found");
         }
+        Integer athleteId = gymSessionRepository.findAthleteIdById(id).orElse(null);
         gymSessionRepository.deleteById(id);
+        events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.GYM_SESSION, athleteId, id));
     }
 
+    // filtered in the query instead of loading every session
     @GetMapping("/filter")
-    public List<GymSession> filter(
+    public List<?> filter(
             @RequestParam(required = false) Integer athleteId,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String from,
-            @RequestParam(required = false) String to
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "false") boolean includeNotes
     ) {
-        List<GymSession> sessions = gymSessionRepository.findAll();
-        return sessions.stream()
-                .filter(s -> athleteId == null ||
-                        (s.getAthlete() != null && s.getAthlete().getId().equals(athleteId)))
-                .filter(s -> category == null || category.isEmpty() || s.getCategory().equalsIgnoreCase(category))
-                .filter(s -> search == null || search.isEmpty() || s.getExerciseName().toLowerCase().contains(search.toLowerCase()))
-                .filter(s -> {
-                    if (from == null || from.isEmpty()) return true;
-                    return !s.getSessionDate().isBefore(java.time.LocalDate.parse(from));
-                })
-                .filter(s -> {
-                    if (to == null || to.isEmpty()) return true;
-                    return !s.getSessionDate().isAfter(java.time.LocalDate.parse(to));
-                })
-                .toList();
+        Specification<GymSession> spec = buildSpec(athleteId, category, search,
+                from == null || from.isEmpty() ? null : LocalDate.parse(from),
+                to == null || to.isEmpty() ? null : LocalDate.parse(to));
+        return includeNotes ? gymSessionRepository.findAll(spec) : summaries(spec);
+    }
+
+    private List<GymSessionSummary> summaries(Specification<GymSession> spec) {
+        return projections.list(GymSession.class, spec, Sort.unsorted(),
+                GymSessionSummary.class, GymSessionSummary.PATHS);
+    }
+
+    private Specification<GymSession> buildSpec(Integer athleteId, String category, String search,
+                                                LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            Predicate p = cb.conjunction();
+            if (athleteId != null)
+                p = cb.and(p, cb.equal(root.get("athlete").get("id"), athleteId));
+            if (category != null && !category.isEmpty())
+                p = cb.and(p, cb.equal(cb.lower(root.get("category")), category.toLowerCase()));
+            if (search != null && !search.isEmpty())
+                p = cb.and(p, cb.like(cb.lower(root.get("exerciseName")), "%" + search.toLowerCase() + "%"));
+            if (from != null)
+                p = cb.and(p, cb.greaterThanOrEqualTo(root.get("sessionDate"), from));
+            if (to != null)
+                p = cb.and(p, cb.lessThanOrEqualTo(root.get("sessionDate"), to));
+            return p;
+        };
     }
 }
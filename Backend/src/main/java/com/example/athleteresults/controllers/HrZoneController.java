@@ -0,0 +1,126 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.services.HrZoneService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class HrZoneController {
+
+    private static final int MIN_HR = 40;
+    private static final int MAX_HR = 250;
+    private static final int MAX_DAYS = 3 * 366;
+
+    /** Either maxHr alone (zones at 60/70/80/90 %) or the upper limits of zones 1–4. */
+    public record HrZoneRequest(Integer maxHr, int[] upper) {}
+
+    private final HrZoneService hrZoneService;
+    private final AthleteRepository athleteRepo;
+    private final SessionRepository sessionRepo;
+
+    public HrZoneController(HrZoneService hrZoneService, AthleteRepository athleteRepo,
+                            SessionRepository sessionRepo) {
+        this.hrZoneService = hrZoneService;
+        this.athleteRepo = athleteRepo;
+        this.sessionRepo = sessionRepo;
+    }
+
+    // ===== GET — zone limits of an athlete (own or derived from age) =====
+    @GetMapping("/athletes/{athleteId}/hr-zones")
+    public HrZoneService.HrZones zones(@PathVariable Integer athleteId) {
+        requireAthlete(athleteId);
+        return hrZoneService.zones(athleteId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Athlete has no heart-rate zones and no age to derive them from"));
+    }
+
+    // ===== PUT — set zone limits; the athlete's sessions are recomputed =====
+    @PutMapping("/athletes/{athleteId}/hr-zones")
+    public HrZoneService.HrZones setZones(@PathVariable Integer athleteId, @RequestBody HrZoneRequest body) {
+        requireAthlete(athleteId);
+        if (body.maxHr() != null && (body.maxHr() < MIN_HR || body.maxHr() > MAX_HR)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "maxHr must be between " + MIN_HR + " and " + MAX_HR);
+        }
+        if (body.upper() == null) {
+            if (body.maxHr() == null)
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Give maxHr or upper");
+        } else if (!ascending(body.upper(), body.maxHr())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "upper must hold 4 ascending limits between " + MIN_HR + " and maxHr / " + MAX_HR);
+        }
+        return hrZoneService.setZones(athleteId, body.maxHr(), body.upper());
+    }
+
+    // ===== GET — time in zone per week (Monday start) / calendar month =====
+    @GetMapping("/athletes/{athleteId}/hr-zones/weekly")
+    public List<HrZoneService.ZoneRollup> weekly(
+            @PathVariable Integer athleteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return rollup(athleteId, from, to, HrZoneService.Granularity.WEEK);
+    }
+
+    @GetMapping("/athletes/{athleteId}/hr-zones/monthly")
+    public List<HrZoneService.ZoneRollup> monthly(
+            @PathVariable Integer athleteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return rollup(athleteId, from, to, HrZoneService.Granularity.MONTH);
+    }
+
+    // ===== GET — time in zone of one session =====
+    @GetMapping("/sessions/{sessionId}/hr-zones")
+    public HrZoneService.SessionZones sessionZones(@PathVariable Integer sessionId) {
+        if (!sessionRepo.existsById(sessionId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
+        }
+        return hrZoneService.sessionZones(sessionId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Session has no heart-rate data or the athlete no zones"));
+    }
+
+    // ===== Helpers =====
+    private List<HrZoneService.ZoneRollup> rollup(Integer athleteId, LocalDate from, LocalDate to,
+                                                  HrZoneService.Granularity granularity) {
+        if (to == null) to = LocalDate.now();
+        if (from == null) from = to.minusYears(1).plusDays(1);
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range is limited to " + MAX_DAYS + " days");
+        }
+        requireAthlete(athleteId);
+        return hrZoneService.rollup(athleteId, from, to, granularity);
+    }
+
+    private void requireAthlete(Integer athleteId) {
+        if (!athleteRepo.existsById(athleteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Athlete not found");
+        }
+    }
+
+    private static boolean ascending(int[] upper, Integer maxHr) {
+        if (upper.length != 4) return false;
+        int ceiling = maxHr != null ? maxHr : MAX_HR;
+        int prev = MIN_HR - 1;
+        for (int limit : upper) {
+            if (limit <= prev || limit > ceiling) return false;
+            prev = limit;
+        }
+        return true;
+    }
+}
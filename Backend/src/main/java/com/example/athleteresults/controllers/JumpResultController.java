@@ -1,9 +1,14 @@
 package com.example.athleteresults.controllers;
 
+import com.example.athleteresults.dto.JumpResultSummary;
 import com.example.athleteresults.entities.JumpResult;
+import com.example.athleteresults.events.DataChangeEvent;
 import com.example.athleteresults.repositories.AthleteRepository;
 import com.example.athleteresults.repositories.JumpResultRepository;
+import com.example.athleteresults.repositories.ProjectionQueries;
+import com.example.athleteresults.services.QueryResultCache;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -21,26 +26,39 @@ public class JumpResultController {
 
     private final JumpResultRepository repo;
     private final AthleteRepository athleteRepo;
+    private final ProjectionQueries projections;
+    private final QueryResultCache queryCache;
+    private final ApplicationEventPublisher events;
 
-    public JumpResultController(JumpResultRepository repo, AthleteRepository athleteRepo) {
+    public JumpResultController(JumpResultRepository repo, AthleteRepository athleteRepo,
+                                ProjectionQueries projections, QueryResultCache queryCache,
+                                ApplicationEventPublisher events) {
         this.repo = repo;
         this.athleteRepo = athleteRepo;
+        this.projections = projections;
+        this.queryCache = queryCache;
+        this.events = events;
     }
 
+    // List endpoints return JumpResultSummary rows (no notes) unless includeNotes=true.
+
     /* =====================================================
        GET ALL
     ===================================================== */
     @GetMapping
-    public List<JumpResult> all() {
-        return repo.findAll();
+    public List<?> all(@RequestParam(defaultValue = "false") boolean includeNotes) {
+        return includeNotes ? repo.findAll() : summaries(null, Sort.unsorted());
     }
 
     /* =====================================================
        GET BY ATHLETE
     ===================================================== */
     @GetMapping("/athlete/{athleteId}")
-    public List<JumpResult> byAthlete(@PathVariable Integer athleteId) {
-        return repo.findByAthleteId(athleteId);
+    public List<?> byAthlete(@PathVariable Integer athleteId,
+                             @RequestParam(defaultValue = "false") boolean includeNotes) {
+        return includeNotes
+                ? repo.findByAthleteId(athleteId)
+                : summaries(buildSpec(athleteId, null, null, null, null), Sort.unsorted());
     }
 
     /* =====================================================
@@ -66,7 +84,10 @@ public class JumpResultController {
                     "Athlete not found with ID: " + newJump.getAthleteId()
             );
         }
-        return repo.save(newJump);
+        JumpResult saved = repo.save(newJump);
+        events.publishEvent(DataChangeEvent.created(
+                DataChangeEvent.Kind.JUMP_RESULT, saved.getAthleteId(), saved.getJumpId(), saved));
+        return saved;
     }
 
     /* =====================================================
@@ -75,13 +96,18 @@ public class JumpResultController {
     @PutMapping("/{id}")
     public JumpResult update(@PathVariable Integer id, @RequestBody JumpResult data) {
         return repo.findById(id).map(jump -> {
+            Integer previousOwner = jump.getAthleteId();
             jump.setJumpDate(data.getJumpDate());
             jump.setJumpType(data.getJumpType());
             jump.setDetail(data.getDetail());
             jump.setDistanceM(data.getDistanceM());
             jump.setAthleteId(data.getAthleteId());
             jump.setNotes(data.getNotes());
-            return repo.save(jump);
+            JumpResult saved = repo.save(jump);
+            events.publishEvent(DataChangeEvent.updated(
+                    DataChangeEvent.Kind.JUMP_RESULT, saved.getAthleteId(), saved.getJumpId(), saved)
+                    .withPreviousOwner(previousOwner));
+            return saved;
         }).orElseThrow(() -> new ResponseStatusException(
                 HttpStatus.NOT_FOUND,
                 "Jump result not found with ID: " + id
@@ -99,7 +125,9 @@ public class JumpResultController {
                     "Jump result not found with ID: " + id
             );
         }
+        Integer athleteId = repo.findAthleteIdById(id).orElse(null);
         repo.deleteById(id);
+        events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.JUMP_RESULT, athleteId, id));
         return "iku";
     }
 
@@ -107,24 +135,25 @@ public class JumpResultController {
        FILTER
     ===================================================== */
     @GetMapping("/filter")
-    public List<JumpResult> filterJumps(
+    public List<?> filterJumps(
             @RequestParam(required = false) Integer athleteId,
             @RequestParam(required = false) String jumpType,
             @RequestParam(required = false) String detail,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeNotes
     ) {
-        return repo.findAll(buildSpec(athleteId, jumpType, detail, from, to),
-                Sort.by("jumpDate").ascending());
+        Sort sort = Sort.by("jumpDate").ascending();
+        return cached(athleteId, jumpType, detail, from, to, sort, includeNotes);
     }
 
     /* =====================================================
        SEARCH
     ===================================================== */
     @GetMapping("/search")
-    public List<JumpResult> searchJumps(
+    public List<?> searchJumps(
             @RequestParam(required = false) Integer athleteId,
             @RequestParam(required = false) String jumpType,
             @RequestParam(required = false) String detail,
@@ -133,7 +162,8 @@ public class JumpResultController {
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(defaultValue = "date") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            @RequestParam(defaultValue = "false") boolean includeNotes
     ) {
         Sort sort = sortBy.equalsIgnoreCase("distancem")
                 ? Sort.by("distanceM")
@@ -141,7 +171,30 @@ public class JumpResultController {
 
         sort = sortOrder.equalsIgnoreCase("desc") ? sort.descending() : sort.ascending();
 
-        return repo.findAll(buildSpec(athleteId, jumpType, detail, from, to), sort);
+        return cached(athleteId, jumpType, detail, from, to, sort, includeNotes);
+    }
+
+    /* =====================================================
+       FILTER / SEARCH THROUGH THE RESULT CACHE
+    ===================================================== */
+    private List<?> cached(Integer athleteId, String jumpType, String detail,
+                           LocalDate from, LocalDate to, Sort sort, boolean includeNotes) {
+        // normalized once: the cache key and the query must see the same values
+        String jumpTypeText = QueryResultCache.text(jumpType);
+        String detailText = QueryResultCache.text(detail);
+        return queryCache.get(DataChangeEvent.Kind.JUMP_RESULT, athleteId,
+                QueryResultCache.filters(jumpTypeText, detailText, from, to, sort, includeNotes),
+                () -> {
+                    Specification<JumpResult> spec = buildSpec(athleteId, jumpTypeText, detailText, from, to);
+                    return includeNotes ? repo.findAll(spec, sort) : summaries(spec, sort);
+                });
+    }
+
+    /* =====================================================
+       LIST ROWS WITHOUT NOTES
+    ===================================================== */
+    private List<JumpResultSummary> summaries(Specification<JumpResult> spec, Sort sort) {
+        return projections.list(JumpResult.class, spec, sort, JumpResultSummary.class, JumpResultSummary.PATHS);
     }
 
     /* =====================================================
@@ -0,0 +1,100 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.services.LeaderboardService;
+import com.example.athleteresults.services.LeaderboardService.Discipline;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+@CrossOrigin(origins = "*")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final LeaderboardService leaderboardService;
+    private final AthleteRepository athleteRepo;
+
+    public LeaderboardController(LeaderboardService leaderboardService, AthleteRepository athleteRepo) {
+        this.leaderboardService = leaderboardService;
+        this.athleteRepo = athleteRepo;
+    }
+
+    // ===== GET — available boards with their size =====
+    @GetMapping
+    public List<BoardDTO> boards() {
+        return leaderboardService.boardSizes().entrySet().stream()
+                .map(e -> new BoardDTO(
+                        e.getKey().discipline().name().toLowerCase(),
+                        e.getKey().event(),
+                        e.getKey().season(),
+                        e.getValue()))
+                .toList();
+    }
+
+    // ===== GET — top-k of one board (e.g. ?discipline=run&event=400m Event&limit=100) =====
+    @GetMapping("/top")
+    public List<StandingDTO> top(
+            @RequestParam String discipline,
+            @RequestParam String event,
+            @RequestParam(required = false) Integer season,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<LeaderboardService.Standing> standings =
+                leaderboardService.top(parse(discipline), event, season, limit);
+
+        // one query for all names on the page
+        Map<Integer, Athlete> athletes = athleteRepo.findAllById(
+                        standings.stream().map(LeaderboardService.Standing::athleteId).toList())
+                .stream()
+                .collect(Collectors.toMap(Athlete::getId, Function.identity()));
+
+        return standings.stream()
+                .map(s -> {
+                    Athlete a = athletes.get(s.athleteId());
+                    return new StandingDTO(s.rank(), s.athleteId(),
+                            a != null ? a.getName() : null,
+                            a != null ? a.getLastname() : null,
+                            s.mark());
+                })
+                .toList();
+    }
+
+    // ===== GET — rank + percentile of one athlete =====
+    @GetMapping("/rank")
+    public LeaderboardService.AthleteStanding rank(
+            @RequestParam String discipline,
+            @RequestParam String event,
+            @RequestParam Integer athleteId,
+            @RequestParam(required = false) Integer season
+    ) {
+        return leaderboardService.standingOf(parse(discipline), event, season, athleteId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Athlete has no mark on this leaderboard"));
+    }
+
+    private Discipline parse(String discipline) {
+        try {
+            return Discipline.valueOf(discipline.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown discipline (use run, jump or throw)");
+        }
+    }
+
+    // ====== RECORD TYPES ======
+    public record BoardDTO(String discipline, String event, Integer season, int athletes) {}
+
+    // mark: ms for runs, meters for jumps / throws
+    public record StandingDTO(int rank, Integer athleteId, String name, String lastname, double mark) {}
+}
@@ -0,0 +1,102 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.Coach;
+import com.example.athleteresults.entities.User;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.repositories.UserRepository;
+import com.example.athleteresults.services.LiveUpdateService;
+import com.example.athleteresults.services.NotesSearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_ATHLETE','ROLE_COACH')")
+public class NotesSearchController {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int MAX_SIZE = 100;
+
+    private final NotesSearchService notesSearchService;
+    private final UserRepository userRepo;
+    private final AthleteRepository athleteRepo;
+    private final CoachRepository coachRepo;
+    private final CoachAthleteRelationRepository relationRepo;
+
+    public NotesSearchController(NotesSearchService notesSearchService,
+                                 UserRepository userRepo,
+                                 AthleteRepository athleteRepo,
+                                 CoachRepository coachRepo,
+                                 CoachAthleteRelationRepository relationRepo) {
+        this.notesSearchService = notesSearchService;
+        this.userRepo = userRepo;
+        this.athleteRepo = athleteRepo;
+        this.coachRepo = coachRepo;
+        this.relationRepo = relationRepo;
+    }
+
+    // ===== GET — notes / plan texts matching q (web-search syntax: words, "phrase", -exclude, or) =====
+    @GetMapping("/notes")
+    public NotesSearchService.HitPage searchNotes(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer athleteId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        if (userDetails == null)
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not logged in");
+        if (q.isBlank() || q.length() > MAX_QUERY_LENGTH)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "q must be between 1 and " + MAX_QUERY_LENGTH + " characters");
+        if (page < 0 || size < 1 || size > MAX_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page must not be negative and size must be between 1 and " + MAX_SIZE);
+
+        List<Integer> scope = visibleAthletes(userDetails);
+        if (athleteId != null) {
+            if (scope != null && !scope.contains(athleteId))
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You cannot search this athlete's notes.");
+            scope = List.of(athleteId);
+        }
+        if (scope != null && scope.isEmpty()) {
+            return new NotesSearchService.HitPage(List.of(), page, size, false);
+        }
+        return notesSearchService.search(q.trim(), scope, page, size);
+    }
+
+    // ===== Helper — athletes the caller may see (null = everyone) =====
+    private List<Integer> visibleAthletes(UserDetails userDetails) {
+        // ADMIN → all athletes
+        if (hasAuthority(userDetails, "ROLE_ADMIN")) return null;
+
+        User user = userRepo.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+
+        // COACH → accepted athletes only
+        if (hasAuthority(userDetails, "ROLE_COACH")) {
+            Coach coach = coachRepo.findByUserId(user.getId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Not a coach"));
+            return relationRepo.findAthleteIdsByCoachIdAndStatusName(coach.getId(), LiveUpdateService.ACCEPTED);
+        }
+
+        // ATHLETE → own notes
+        Athlete athlete = athleteRepo.findByUserId(user.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Not an athlete"));
+        return List.of(athlete.getId());
+    }
+
+    private static boolean hasAuthority(UserDetails userDetails, String authority) {
+        return userDetails.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals(authority));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.services.PartitionService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/partitions")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+public class PartitionController {
+
+    private final PartitionService partitionService;
+
+    public PartitionController(PartitionService partitionService) {
+        this.partitionService = partitionService;
+    }
+
+    // ===== GET — live and archived yearly partitions of a table =====
+    @GetMapping("/{table}")
+    public List<PartitionService.Partition> partitions(@PathVariable String table) {
+        return partitionService.partitions(table);
+    }
+
+    // ===== POST — detach a past year into the archive schema =====
+    @PostMapping("/{table}/{year}/archive")
+    public PartitionService.Partition archive(@PathVariable String table, @PathVariable int year) {
+        return partitionService.archive(table, year);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.services.PlanAdherenceService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+@RestController
+@RequestMapping("/api/plans/adherence")
+@CrossOrigin(origins = "*")
+public class PlanAdherenceController {
+
+    private static final int MAX_DAYS = 366;
+
+    private final PlanAdherenceService adherenceService;
+    private final AthleteRepository athleteRepo;
+    private final CoachRepository coachRepo;
+
+    public PlanAdherenceController(PlanAdherenceService adherenceService, AthleteRepository athleteRepo,
+                                   CoachRepository coachRepo) {
+        this.adherenceService = adherenceService;
+        this.athleteRepo = athleteRepo;
+        this.coachRepo = coachRepo;
+    }
+
+    // ===== GET — every plan of the athlete with completion, volume and rolling rates =====
+    @GetMapping("/athlete/{athleteId}")
+    public PlanAdherenceService.AthleteAdherence athlete(
+            @PathVariable Integer athleteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (to == null) to = LocalDate.now();
+        if (from == null) from = to.minusYears(1).plusDays(1);
+        checkRange(from, to);
+        if (!athleteRepo.existsById(athleteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Athlete not found");
+        }
+        return adherenceService.forAthlete(athleteId, from, to);
+    }
+
+    // ===== GET — one row per athlete of the coach's squad, ranked by completion =====
+    @GetMapping("/coach/{coachId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_COACH')")
+    public PlanAdherenceService.CoachAdherence coach(
+            @PathVariable Integer coachId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (to == null) to = LocalDate.now();
+        if (from == null) from = to.minusYears(1).plusDays(1);
+        checkRange(from, to);
+        if (!coachRepo.existsById(coachId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coach not found");
+        }
+        return adherenceService.forCoach(coachId, from, to);
+    }
+
+    // ===== Helpers =====
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range is limited to " + MAX_DAYS + " days");
+        }
+    }
+}
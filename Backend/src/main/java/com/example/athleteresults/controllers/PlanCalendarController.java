@@ -0,0 +1,38 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.services.PlanCalendarService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/plans/calendar")
+@CrossOrigin(origins = "*")
+public class PlanCalendarController {
+
+    private final PlanCalendarService calendarService;
+    private final CoachRepository coachRepo;
+
+    public PlanCalendarController(PlanCalendarService calendarService, CoachRepository coachRepo) {
+        this.calendarService = calendarService;
+        this.coachRepo = coachRepo;
+    }
+
+    // ===== GET — athlete × day matrix of the coach's plans for a month (yyyy-MM, current month by default) =====
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_COACH')")
+    public PlanCalendarService.Calendar calendar(
+            @RequestParam Integer coachId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month
+    ) {
+        if (!coachRepo.existsById(coachId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coach not found");
+        }
+        return calendarService.forCoach(coachId, month != null ? month : YearMonth.now());
+    }
+}
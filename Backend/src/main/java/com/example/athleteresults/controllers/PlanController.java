@@ -3,17 +3,21 @@ package com.example.athleteresults.controllers;
 import com.example.athleteresults.entities.Plan;
 import com.example.athleteresults.entities.Athlete;
 import com.example.athleteresults.entities.Coach;
-import com.example.athleteresults.entities.Result;
+import com.example.athleteresults.events.DataChangeEvent;
 import com.example.athleteresults.repositories.PlanRepository;
+import com.example.athleteresults.repositories.ProjectionQueries;
 import com.example.athleteresults.services.PlanService;
 import com.example.athleteresults.repositories.AthleteRepository;
 import com.example.athleteresults.repositories.CoachRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -26,17 +30,25 @@ public class PlanController {
     private final AthleteRepository athleteRepository;
     private final CoachRepository coachRepository;
     private final PlanRepository repo;
+    private final ProjectionQueries projections;
+    private final ApplicationEventPublisher events;
 
-    public PlanController(PlanService planService, AthleteRepository athleteRepository, CoachRepository coachRepository, PlanRepository repo) {
+    public PlanController(PlanService planService, AthleteRepository athleteRepository, CoachRepository coachRepository,
+                          PlanRepository repo, ProjectionQueries projections, ApplicationEventPublisher events) {
         this.planService = planService;
         this.athleteRepository = athleteRepository;
         this.coachRepository = coachRepository;
         this.repo = repo;
+        this.projections = projections;
+        this.events = events;
     }
 
+    // List endpoints return PlanSummaryDTO rows (no notes) unless includeNotes=true.
+
     // ====== GET all plans ======
     @GetMapping
-    public List<PlanDTO> getAllPlans() {
+    public List<?> getAllPlans(@RequestParam(defaultValue = "false") boolean includeNotes) {
+        if (!includeNotes) return summaries(null, Sort.unsorted());
         return planService.getAllPlans().stream()
                 .map(PlanDTO::fromEntity)
                 .toList();
@@ -52,7 +64,9 @@ public class PlanController {
 
     // ====== GET by Athlete ======
     @GetMapping("/athlete/{athleteId}")
-    public List<PlanDTO> getPlansByAthlete(@PathVariable Integer athleteId) {
+    public List<?> getPlansByAthlete(@PathVariable Integer athleteId,
+                                     @RequestParam(defaultValue = "false") boolean includeNotes) {
+        if (!includeNotes) return summaries(buildSpec(athleteId, null, null, null), Sort.by("planDate").ascending());
         return planService.getPlansByAthlete(athleteId).stream()
                 .map(PlanDTO::fromEntity)
                 .toList();
@@ -60,7 +74,9 @@ public class PlanController {
 
     // ====== GET by Coach ======
     @GetMapping("/coach/{coachId}")
-    public List<PlanDTO> getPlansByCoach(@PathVariable Integer coachId) {
+    public List<?> getPlansByCoach(@PathVariable Integer coachId,
+                                   @RequestParam(defaultValue = "false") boolean includeNotes) {
+        if (!includeNotes) return summaries(buildSpec(null, coachId, null, null), Sort.by("planDate").ascending());
         return planService.getPlansByCoach(coachId).stream()
                 .map(PlanDTO::fromEntity)
                 .toList();
@@ -85,8 +101,9 @@ public class PlanController {
         plan.setPredictionPlan(req.predictionPlan());
         plan.setActualPlan(req.actualPlan());
         plan.setNotes(req.notes());
+        applyTargets(plan, req.targetMinutes(), req.targetKm(), req.targetIntensity());
 
-        return PlanDTO.fromEntity(planService.savePlan(plan));
+        return publish(DataChangeEvent.Action.CREATED, planService.savePlan(plan));
     }
 
     // ====== UPDATE ======
@@ -109,14 +126,17 @@ public class PlanController {
         existing.setPredictionPlan(req.predictionPlan());
         existing.setActualPlan(req.actualPlan());
         existing.setNotes(req.notes());
+        applyTargets(existing, req.targetMinutes(), req.targetKm(), req.targetIntensity());
 
-        return PlanDTO.fromEntity(planService.savePlan(existing));
+        return publish(DataChangeEvent.Action.UPDATED, planService.savePlan(existing));
     }
 
     // ====== DELETE ======
     @DeleteMapping("/{id}")
     public void deletePlan(@PathVariable Integer id) {
+        Integer athleteId = repo.findAthleteIdById(id).orElse(null);
         planService.deletePlan(id);
+        events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.PLAN, athleteId, id));
     }
 
     // ====== SEND TO MULTIPLE ======
@@ -141,20 +161,23 @@ public class PlanController {
             p.setPredictionPlan(req.predictionPlan());
             p.setActualPlan(req.actualPlan());
             p.setNotes(req.notes());
-            return PlanDTO.fromEntity(planService.savePlan(p));
+            applyTargets(p, req.targetMinutes(), req.targetKm(), req.targetIntensity());
+            return publish(DataChangeEvent.Action.CREATED, planService.savePlan(p));
         }).toList();
     }
 
     @GetMapping("/filter")
-    public List<PlanDTO> filterResults(
+    public List<?> filterResults(
             @RequestParam(required = false) Integer athleteId,
             @RequestParam(required = false) Integer coachId,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeNotes
     ) {
         Sort sort = Sort.by("planDate").ascending();
+        if (!includeNotes) return summaries(buildSpec(athleteId, coachId, from, to), sort);
         return repo.findAll(buildSpec(athleteId, coachId, from, to), sort)
                 .stream()
                 .map(PlanDTO::fromEntity)
@@ -167,12 +190,74 @@ public class PlanController {
         Plan p = planService.getPlanById(id)
                 .orElseThrow(() -> new RuntimeException("Plan not found with id " + id));
         p.setActualPlan(body.actualPlan());
-        return PlanDTO.fromEntity(planService.savePlan(p));
+        return publish(DataChangeEvent.Action.UPDATED, planService.savePlan(p));
     }
 
     // record for request body
     public record ActualOnly(String actualPlan) {}
 
+    // ===== PATCH — targets only: a field sent as null clears that target, an absent one stays =====
+    @PatchMapping("/{id}/targets")
+    public PlanDTO patchTargets(@PathVariable Integer id, @RequestBody JsonNode body) {
+        Plan p = planService.getPlanById(id)
+                .orElseThrow(() -> new RuntimeException("Plan not found with id " + id));
+        Integer minutes = body.has("targetMinutes") ? wholeNumber(body, "targetMinutes") : p.getTargetMinutes();
+        BigDecimal km = body.has("targetKm") ? decimal(body, "targetKm") : p.getTargetKm();
+        Integer intensity = body.has("targetIntensity") ? wholeNumber(body, "targetIntensity") : p.getTargetIntensity();
+        checkTargets(minutes, km, intensity);
+        p.setTargetMinutes(minutes);
+        p.setTargetKm(km);
+        p.setTargetIntensity(intensity);
+        return publish(DataChangeEvent.Action.UPDATED, planService.savePlan(p));
+    }
+
+
+    // ===== Helper — structured targets (all optional; an absent one keeps the plan's value,
+    //       since the plan editor does not send them — PATCH /{id}/targets clears them) =====
+    private static void applyTargets(Plan plan, Integer minutes, BigDecimal km, Integer intensity) {
+        checkTargets(minutes, km, intensity);
+        if (minutes != null) plan.setTargetMinutes(minutes);
+        if (km != null) plan.setTargetKm(km);
+        if (intensity != null) plan.setTargetIntensity(intensity);
+    }
+
+    private static void checkTargets(Integer minutes, BigDecimal km, Integer intensity) {
+        if (minutes != null && minutes < 0)
+            throw new RuntimeException("targetMinutes must not be negative");
+        if (km != null && km.signum() < 0)
+            throw new RuntimeException("targetKm must not be negative");
+        if (intensity != null && (intensity < 1 || intensity > 10))
+            throw new RuntimeException("targetIntensity must be between 1 and 10");
+    }
+
+    private static Integer wholeNumber(JsonNode body, String field) {
+        JsonNode value = body.get(field);
+        if (value.isNull()) return null;
+        if (!value.isIntegralNumber() || !value.canConvertToInt())
+            throw new RuntimeException(field + " must be a whole number");
+        return value.intValue();
+    }
+
+    private static BigDecimal decimal(JsonNode body, String field) {
+        JsonNode value = body.get(field);
+        if (value.isNull()) return null;
+        if (!value.isNumber())
+            throw new RuntimeException(field + " must be a number");
+        return value.decimalValue();
+    }
+
+    // ===== Helper — map saved plan to DTO and notify listeners =====
+    private PlanDTO publish(DataChangeEvent.Action action, Plan saved) {
+        PlanDTO dto = PlanDTO.fromEntity(saved);
+        events.publishEvent(new DataChangeEvent(
+                DataChangeEvent.Kind.PLAN, action, dto.athleteId(), dto.id(), dto));
+        return dto;
+    }
+
+    // ===== Helper — list rows without notes =====
+    private List<PlanSummaryDTO> summaries(Specification<Plan> spec, Sort sort) {
+        return projections.list(Plan.class, spec, sort, PlanSummaryDTO.class, PlanSummaryDTO.PATHS);
+    }
 
     // ===== Helper — dynamic Specification builder =====
     private Specification<Plan> buildSpec(
@@ -205,7 +290,10 @@ public class PlanController {
             java.time.LocalDate planDate,
             String predictionPlan,
             String actualPlan,
-            String notes
+            String notes,
+            Integer targetMinutes,
+            BigDecimal targetKm,
+            Integer targetIntensity
     ) {}
 
     public record SendPlanRequest(
@@ -213,7 +301,10 @@ public class PlanController {
             java.time.LocalDate planDate,
             String predictionPlan,
             String actualPlan,
-            String notes
+            String notes,
+            Integer targetMinutes,
+            BigDecimal targetKm,
+            Integer targetIntensity
     ) {}
 
     // ====== DTO (Data Transfer Object) ======
@@ -226,7 +317,10 @@ public class PlanController {
             String athleteName,
             String coachName,
             Integer athleteId,
-            Integer coachId
+            Integer coachId,
+            Integer targetMinutes,
+            BigDecimal targetKm,
+            Integer targetIntensity
     ) {
         public static PlanDTO fromEntity(Plan p) {
             return new PlanDTO(
@@ -238,11 +332,35 @@ public class PlanController {
                     p.getAthlete() != null ? p.getAthlete().getName() : null,
                     p.getCoach() != null ? p.getCoach().getName() : null,
                     p.getAthlete() != null ? p.getAthlete().getId() : null,
-                    p.getCoach() != null ? p.getCoach().getId() : null
+                    p.getCoach() != null ? p.getCoach().getId() : null,
+                    p.getTargetMinutes(),
+                    p.getTargetKm(),
+                    p.getTargetIntensity()
             );
         }
     }
 
+    // ====== LIST ROW (PlanDTO without notes) ======
+    public record PlanSummaryDTO(
+            Integer id,
+            java.time.LocalDate planDate,
+            String predictionPlan,
+            String actualPlan,
+            String athleteName,
+            String coachName,
+            Integer athleteId,
+            Integer coachId,
+            Integer targetMinutes,
+            BigDecimal targetKm,
+            Integer targetIntensity
+    ) {
+        static final String[] PATHS = {
+                "id", "planDate", "predictionPlan", "actualPlan",
+                "athlete.name", "coach.name", "athlete.id", "coach.id",
+                "targetMinutes", "targetKm", "targetIntensity"
+        };
+    }
+
     // ====== EXCEPTION HANDLER ======
     @ExceptionHandler(RuntimeException.class)
     @ResponseStatus(org.springframework.http.HttpStatus.BAD_REQUEST)
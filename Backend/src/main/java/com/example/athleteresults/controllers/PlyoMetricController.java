@@ -1,7 +1,10 @@
 package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.PlyoMetric;
+import com.example.athleteresults.events.DataChangeEvent;
 import com.example.athleteresults.repositories.PlyoMetricRepository;
+import com.example.athleteresults.services.GymMetricService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -13,9 +16,14 @@ import java.util.List;
 public class PlyoMetricController {
 
     private final PlyoMetricRepository plyoMetricRepository;
+    private final GymMetricService gymMetricService;
+    private final ApplicationEventPublisher events;
 
-    public PlyoMetricController(PlyoMetricRepository plyoMetricRepository) {
+    public PlyoMetricController(PlyoMetricRepository plyoMetricRepository, GymMetricService gymMetricService,
+                                ApplicationEventPublisher events) {
         this.plyoMetricRepository = plyoMetricRepository;
+        this.gymMetricService = gymMetricService;
+        this.events = events;
     }
 
     //  GET all plyometric metrics for a given gym session
@@ -28,7 +36,17 @@ public class PlyoMetricController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public PlyoMetric create(@RequestBody PlyoMetric metric) {
-        return plyoMetricRepository.save(metric);
+        PlyoMetric saved = plyoMetricRepository.save(metric);
+        events.publishEvent(DataChangeEvent.created(DataChangeEvent.Kind.PLYO_METRIC,
+                plyoMetricRepository.findAthleteIdById(saved.getId()).orElse(null), saved.getId(), saved));
+        return saved;
+    }
+
+    //  POST create many plyometric metrics of one gym session in one transaction
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<PlyoMetric> createBatch(@RequestParam Integer gymId, @RequestBody List<PlyoMetric> metrics) {
+        return gymMetricService.createPlyos(gymId, metrics);
     }
 
     //  DELETE a plyometric metric by ID
@@ -38,6 +56,8 @@ public class PlyoMetricController {
         if (!plyoMetricRepository.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Plyo metric not found");
         }
+        Integer athleteId = plyoMetricRepository.findAthleteIdById(id).orElse(null);
         plyoMetricRepository.deleteById(id);
+        events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.PLYO_METRIC, athleteId, id));
     }
 }
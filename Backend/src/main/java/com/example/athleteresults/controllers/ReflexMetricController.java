@@ -1,7 +1,10 @@
 package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.ReflexMetric;
+import com.example.athleteresults.events.DataChangeEvent;
 import com.example.athleteresults.repositories.ReflexMetricRepository;
+import com.example.athleteresults.services.GymMetricService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -13,9 +16,14 @@ import java.util.List;
 public class ReflexMetricController {
 
     private final ReflexMetricRepository reflexMetricRepository;
+    private final GymMetricService gymMetricService;
+    private final ApplicationEventPublisher events;
 
-    public ReflexMetricController(ReflexMetricRepository reflexMetricRepository) {
+    public ReflexMetricController(ReflexMetricRepository reflexMetricRepository, GymMetricService gymMetricService,
+                                  ApplicationEventPublisher events) {
         this.reflexMetricRepository = reflexMetricRepository;
+        this.gymMetricService = gymMetricService;
+        this.events = events;
     }
 
     // ✅ GET all reflex metrics for a given gym session
@@ -28,7 +36,17 @@ public class ReflexMetricController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ReflexMetric create(@RequestBody ReflexMetric metric) {
-        return reflexMetricRepository.save(metric);
+        ReflexMetric saved = reflexMetricRepository.save(metric);
+        events.publishEvent(DataChangeEvent.created(DataChangeEvent.Kind.REFLEX_METRIC,
+                reflexMetricRepository.findAthleteIdById(saved.getId()).orElse(null), saved.getId(), saved));
+        return saved;
+    }
+
+    // ✅ POST create many reflex metrics of one gym session in one transaction
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<ReflexMetric> createBatch(@RequestParam Integer gymId, @RequestBody List<ReflexMetric> metrics) {
+        return gymMetricService.createReflexes(gymId, metrics);
     }
 
     // ✅ DELETE a reflex metric by ID
@@ -38,6 +56,8 @@ public class ReflexMetricController {
         if (!reflexMetricRepository.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reflex metric not found");
         }
+        Integer athleteId = reflexMetricRepository.findAthleteIdById(id).orElse(null);
         reflexMetricRepository.deleteById(id);
+        events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.REFLEX_METRIC, athleteId, id));
     }
 }
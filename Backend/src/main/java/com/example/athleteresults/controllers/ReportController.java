@@ -0,0 +1,76 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.ReportJob;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.services.ReportService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+import java.time.Year;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_COACH')")
+public class ReportController {
+
+    private static final int FIRST_SEASON = 1900;
+
+    private final ReportService reportService;
+    private final CoachRepository coachRepo;
+
+    public ReportController(ReportService reportService, CoachRepository coachRepo) {
+        this.reportService = reportService;
+        this.coachRepo = coachRepo;
+    }
+
+    // ===== POST — season report of the coach's squad; 202 while it is built, 200 if an up-to-date one exists =====
+    @PostMapping("/coaches/{coachId}/reports")
+    public ResponseEntity<ReportService.JobStatus> submit(@PathVariable Integer coachId, @RequestParam int season) {
+        if (season < FIRST_SEASON || season > Year.now().getValue()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "season must be between " + FIRST_SEASON + " and the current year");
+        }
+        if (!coachRepo.existsById(coachId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coach not found");
+        }
+        ReportService.JobStatus job = reportService.submit(coachId, season);
+        return ReportJob.DONE.equals(job.status())
+                ? ResponseEntity.ok(job)
+                : ResponseEntity.accepted().body(job);
+    }
+
+    // ===== GET — state of a report job (poll until done / failed) =====
+    @GetMapping("/reports/{id}")
+    public ReportService.JobStatus status(@PathVariable String id) {
+        return reportService.status(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report not found"));
+    }
+
+    // ===== GET — the generated ZIP (report.html + CSV files) =====
+    @GetMapping("/reports/{id}/download")
+    public ResponseEntity<Resource> download(@PathVariable String id) {
+        ReportJob job = reportService.job(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report not found"));
+        if (!ReportJob.DONE.equals(job.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Report is " + job.getStatus());
+        }
+        Path file = reportService.fileOf(job)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.GONE, "Report file is gone, submit it again"));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("season-report-" + job.getSeason() + "-coach-" + job.getCoachId() + ".zip")
+                        .build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
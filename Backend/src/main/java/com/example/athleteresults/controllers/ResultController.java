@@ -1,9 +1,17 @@
 package com.example.athleteresults.controllers;
 
+import com.example.athleteresults.dto.ResultSplits;
+import com.example.athleteresults.dto.ResultSummary;
 import com.example.athleteresults.entities.Result;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.ProjectionQueries;
 import com.example.athleteresults.repositories.ResultRepository;
 import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.services.QueryResultCache;
+import com.example.athleteresults.services.RacePredictionService;
+import com.example.athleteresults.services.SplitAnalyticsService;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -13,7 +21,9 @@ import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/results")
@@ -22,22 +32,45 @@ public class ResultController {
 
     private final ResultRepository repo;
     private final AthleteRepository athleteRepo;
+    private final ProjectionQueries projections;
+    private final QueryResultCache queryCache;
+    private final SplitAnalyticsService splitAnalytics;
+    private final RacePredictionService predictions;
+    private final ApplicationEventPublisher events;
 
-    public ResultController(ResultRepository repo, AthleteRepository athleteRepo) {
+    // splits are hand / chip times rounded to 1/100 s: each may be off by up to 10 ms
+    private static final int SPLIT_TOLERANCE_MS = 10;
+    private static final int MAX_SPLITS = 500;
+    private static final int MAX_ROSTER = 200;
+
+    public ResultController(ResultRepository repo, AthleteRepository athleteRepo,
+                            ProjectionQueries projections, QueryResultCache queryCache,
+                            SplitAnalyticsService splitAnalytics, RacePredictionService predictions,
+                            ApplicationEventPublisher events) {
         this.repo = repo;
         this.athleteRepo = athleteRepo;
+        this.projections = projections;
+        this.queryCache = queryCache;
+        this.splitAnalytics = splitAnalytics;
+        this.predictions = predictions;
+        this.events = events;
     }
 
+    // List endpoints return ResultSummary rows (no notes) unless includeNotes=true.
+
     // ===== GET — all results =====
     @GetMapping
-    public List<Result> all() {
-        return repo.findAll();
+    public List<?> all(@RequestParam(defaultValue = "false") boolean includeNotes) {
+        return includeNotes ? repo.findAll() : summaries(null, Sort.unsorted());
     }
 
     // ===== GET — results for a specific athlete =====
     @GetMapping("/athlete/{athleteId}")
-    public List<Result> byAthlete(@PathVariable Integer athleteId) {
-        return repo.findByAthleteId(athleteId);
+    public List<?> byAthlete(@PathVariable Integer athleteId,
+                             @RequestParam(defaultValue = "false") boolean includeNotes) {
+        return includeNotes
+                ? repo.findByAthleteId(athleteId)
+                : summaries(buildSpec(athleteId, null, null, null, null, null, null), Sort.unsorted());
     }
 
     // ===== GET — single result by ID =====
@@ -54,7 +87,10 @@ public class ResultController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid athleteId");
         }
         // notes included in save
-        return repo.save(result);
+        Result saved = repo.save(result);
+        events.publishEvent(DataChangeEvent.created(
+                DataChangeEvent.Kind.RESULT, saved.getAthleteId(), saved.getId(), saved));
+        return saved;
     }
 
     // ===== PUT — update existing result =====
@@ -66,6 +102,13 @@ public class ResultController {
 
         return repo.findById(id)
                 .map(r -> {
+                    // splits were checked against the old distance / time; they no longer add up
+                    if (!Objects.equals(r.getDistance(), updated.getDistance())
+                            || !Objects.equals(r.getTimeMs(), updated.getTimeMs())) {
+                        r.setSplitDistance(null);
+                        r.setSplitMs(null);
+                    }
+                    Integer previousOwner = r.getAthleteId();
                     r.setAthleteId(updated.getAthleteId());
                     r.setRace(updated.getRace());
                     r.setRaceType(updated.getRaceType());
@@ -74,7 +117,11 @@ public class ResultController {
                     r.setTimeMs(updated.getTimeMs());
                     r.setWeight(updated.getWeight());
                     r.setNotes(updated.getNotes()); // ✅ Added notes
-                    return repo.save(r);
+                    Result saved = repo.save(r);
+                    events.publishEvent(DataChangeEvent.updated(
+                            DataChangeEvent.Kind.RESULT, saved.getAthleteId(), saved.getId(), saved)
+                            .withPreviousOwner(previousOwner));
+                    return saved;
                 })
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Result not found"));
     }
@@ -85,28 +132,139 @@ public class ResultController {
         if (!repo.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Result not found");
         }
+        Integer athleteId = repo.findAthleteIdById(id).orElse(null);
         repo.deleteById(id);
+        events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.RESULT, athleteId, id));
         return "Deleted";
     }
 
+    // ===== GET — splits of a result =====
+    @GetMapping("/{id}/splits")
+    public ResultSplits getSplits(@PathVariable Integer id) {
+        Result r = repo.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Result not found"));
+        if (r.getSplitMs() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Result has no splits");
+        }
+        return splits(r);
+    }
+
+    // ===== PUT — set / replace splits (lap times must add up to the final time) =====
+    @PutMapping("/{id}/splits")
+    public ResultSplits putSplits(@PathVariable Integer id, @RequestBody ResultSplits body) {
+        Result r = repo.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Result not found"));
+        int[] laps = body.splitMs();
+        if (laps == null || laps.length == 0 || laps.length > MAX_SPLITS
+                || Arrays.stream(laps).anyMatch(ms -> ms <= 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "splitMs must hold 1 to " + MAX_SPLITS + " positive lap times");
+        }
+        if (!SplitAnalyticsService.fits(r.getDistance(), body.splitDistance(), laps.length)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "splitMs must hold one lap per splitDistance metres of the race distance");
+        }
+        long total = Arrays.stream(laps).asLongStream().sum();
+        if (total > Integer.MAX_VALUE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Splits add up to more than a valid time");
+        }
+        if (r.getTimeMs() == null) {
+            r.setTimeMs((int) total);
+        } else if (Math.abs(total - r.getTimeMs()) > (long) SPLIT_TOLERANCE_MS * laps.length) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Splits add up to " + total + " ms but the result time is " + r.getTimeMs() + " ms");
+        }
+        r.setSplitDistance(body.splitDistance());
+        r.setSplitMs(laps.clone());
+        Result saved = repo.save(r);
+        events.publishEvent(DataChangeEvent.updated(
+                DataChangeEvent.Kind.RESULT, saved.getAthleteId(), saved.getId(), saved));
+        return splits(saved);
+    }
+
+    // ===== DELETE — splits only, the result stays =====
+    @DeleteMapping("/{id}/splits")
+    public String deleteSplits(@PathVariable Integer id) {
+        Result r = repo.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Result not found"));
+        if (r.getSplitMs() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Result has no splits");
+        }
+        r.setSplitDistance(null);
+        r.setSplitMs(null);
+        Result saved = repo.save(r);
+        events.publishEvent(DataChangeEvent.updated(
+                DataChangeEvent.Kind.RESULT, saved.getAthleteId(), saved.getId(), saved));
+        return "Splits deleted";
+    }
+
+    // ===== GET — fade index / even-pace deviation of every race of an athlete with splits =====
+    @GetMapping("/athlete/{athleteId}/split-metrics")
+    public SplitAnalyticsService.SplitHistory splitMetrics(@PathVariable Integer athleteId,
+                                                           @RequestParam(required = false) Integer distance) {
+        if (!athleteRepo.existsById(athleteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Athlete not found");
+        }
+        return splitAnalytics.history(athleteId, distance);
+    }
+
+    // ===== GET — split summary for several athletes in one pass (?athleteIds=1,2,3) =====
+    @GetMapping("/split-metrics")
+    public List<SplitAnalyticsService.SplitSummary> splitMetricsRoster(
+            @RequestParam List<Integer> athleteIds,
+            @RequestParam(required = false) Integer distance
+    ) {
+        if (athleteIds.isEmpty() || athleteIds.size() > MAX_ROSTER) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "athleteIds must name 1 to " + MAX_ROSTER + " athletes");
+        }
+        return splitAnalytics.summaries(athleteIds, distance);
+    }
+
+    // ===== GET — predicted time over a distance from the athlete's recent bests (?from= pins the source mark) =====
+    @GetMapping("/athlete/{athleteId}/prediction")
+    public RacePredictionService.Prediction prediction(@PathVariable Integer athleteId,
+                                                       @RequestParam int distance,
+                                                       @RequestParam(required = false) Integer from) {
+        checkPredictionDistance(distance);
+        if (!athleteRepo.existsById(athleteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Athlete not found");
+        }
+        RacePredictionService.Prediction p = predictions.predict(athleteId, distance, from);
+        if (p.predictedMs() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, from != null
+                    ? "No recent result over " + from + " m"
+                    : "No recent results over " + RacePredictionService.MIN_DISTANCE + " m or more");
+        }
+        return p;
+    }
+
+    public static void checkPredictionDistance(int distance) {
+        if (distance < RacePredictionService.MIN_DISTANCE || distance > RacePredictionService.MAX_DISTANCE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "distance must be between "
+                    + RacePredictionService.MIN_DISTANCE + " and " + RacePredictionService.MAX_DISTANCE + " m");
+        }
+    }
+
     // ===== FILTER — default sort by date ascending =====
     @GetMapping("/filter")
-    public List<Result> filterResults(
+    public List<?> filterResults(
             @RequestParam(required = false) Integer athleteId,
             @RequestParam(required = false) String race,
             @RequestParam(required = false) String raceType,
             @RequestParam(required = false) Integer distance,
             @RequestParam(required = false) Integer weight,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeNotes
     ) {
         Sort sort = Sort.by("raceDate").ascending();
-        return repo.findAll(buildSpec(athleteId, race, raceType, distance, weight, from, to), sort);
+        return cached(athleteId, race, raceType, distance, weight, from, to, sort, includeNotes);
     }
 
     // ===== SEARCH — supports dynamic sorting (time/date asc/desc) =====
     @GetMapping("/search")
-    public List<Result> searchResults(
+    public List<?> searchResults(
             @RequestParam(required = false) Integer athleteId,
             @RequestParam(required = false) String race,
             @RequestParam(required = false) String raceType,
@@ -115,7 +273,8 @@ public class ResultController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
             @RequestParam(defaultValue = "date") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            @RequestParam(defaultValue = "false") boolean includeNotes
     ) {
         Sort sort;
 
@@ -131,7 +290,30 @@ public class ResultController {
 
         sort = sortOrder.equalsIgnoreCase("desc") ? sort.descending() : sort.ascending();
 
-        return repo.findAll(buildSpec(athleteId, race, raceType, distance, weight, fromDate, toDate), sort);
+        return cached(athleteId, race, raceType, distance, weight, fromDate, toDate, sort, includeNotes);
+    }
+
+    // ===== Helper — filter / search through the result cache (same filters + sort = same entry) =====
+    private List<?> cached(Integer athleteId, String race, String raceType, Integer distance, Integer weight,
+                           LocalDate from, LocalDate to, Sort sort, boolean includeNotes) {
+        // normalized once: the cache key and the query must see the same values
+        String raceText = QueryResultCache.text(race);
+        String raceTypeText = QueryResultCache.text(raceType);
+        return queryCache.get(DataChangeEvent.Kind.RESULT, athleteId,
+                QueryResultCache.filters(raceText, raceTypeText, distance, weight, from, to, sort, includeNotes),
+                () -> {
+                    Specification<Result> spec = buildSpec(athleteId, raceText, raceTypeText, distance, weight, from, to);
+                    return includeNotes ? repo.findAll(spec, sort) : summaries(spec, sort);
+                });
+    }
+
+    private static ResultSplits splits(Result r) {
+        return new ResultSplits(r.getId(), r.getDistance(), r.getTimeMs(), r.getSplitDistance(), r.getSplitMs());
+    }
+
+    // ===== Helper — list rows without notes =====
+    private List<ResultSummary> summaries(Specification<Result> spec, Sort sort) {
+        return projections.list(Result.class, spec, sort, ResultSummary.class, ResultSummary.PATHS);
     }
 
     // ===== Helper — dynamic Specification builder =====
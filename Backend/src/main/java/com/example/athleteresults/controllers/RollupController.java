@@ -0,0 +1,88 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.AthleteRollup;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.services.RollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class RollupController {
+
+    private static final int MAX_DAY_RANGE = 366;
+    private static final int MAX_WEEK_RANGE = 3 * 366;
+
+    private final RollupService rollupService;
+    private final AthleteRepository athleteRepo;
+
+    public RollupController(RollupService rollupService, AthleteRepository athleteRepo) {
+        this.rollupService = rollupService;
+        this.athleteRepo = athleteRepo;
+    }
+
+    // ===== GET — precomputed day / week / season rollups of an athlete (as of the last nightly run) =====
+    @GetMapping("/athletes/{athleteId}/rollups")
+    public List<AthleteRollup> rollups(
+            @PathVariable Integer athleteId,
+            @RequestParam(defaultValue = "week") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        AthleteRollup.Period p = parsePeriod(period);
+        if (to == null) to = LocalDate.now();
+        if (from == null) from = switch (p) {
+            case DAY -> to.minusDays(29);
+            case WEEK -> to.minusWeeks(11);
+            case SEASON -> to.minusYears(4);
+        };
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        long days = ChronoUnit.DAYS.between(from, to);
+        if ((p == AthleteRollup.Period.DAY && days >= MAX_DAY_RANGE)
+                || (p == AthleteRollup.Period.WEEK && days >= MAX_WEEK_RANGE)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range is limited to "
+                    + (p == AthleteRollup.Period.DAY ? MAX_DAY_RANGE : MAX_WEEK_RANGE) + " days");
+        }
+        if (!athleteRepo.existsById(athleteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Athlete not found");
+        }
+        return rollupService.rollups(athleteId, p, from, to);
+    }
+
+    // ===== POST — start (or resume) a rollup run now; 202 + progress, poll /latest =====
+    @PostMapping("/admin/rollups/jobs")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+    public ResponseEntity<RollupService.JobProgress> start() {
+        return rollupService.start()
+                .map(progress -> ResponseEntity.accepted().body(progress))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "A rollup run is in progress"));
+    }
+
+    // ===== GET — state of the latest run =====
+    @GetMapping("/admin/rollups/jobs/latest")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+    public RollupService.JobProgress latest() {
+        return rollupService.latest()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No rollup run yet"));
+    }
+
+    private static AthleteRollup.Period parsePeriod(String period) {
+        try {
+            return AthleteRollup.Period.valueOf(period.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "period must be day, week or season");
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.athleteresults.controllers;
 
+import com.example.athleteresults.dto.SessionSummary;
 import com.example.athleteresults.entities.Session;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.ProjectionQueries;
 import com.example.athleteresults.repositories.SessionRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -16,25 +22,34 @@ import java.util.Optional;
 public class SessionController {
 
     private final SessionRepository repo;
+    private final ProjectionQueries projections;
+    private final ApplicationEventPublisher events;
 
-    public SessionController(SessionRepository repo) {
+    public SessionController(SessionRepository repo, ProjectionQueries projections,
+                             ApplicationEventPublisher events) {
         this.repo = repo;
+        this.projections = projections;
+        this.events = events;
     }
 
-    // Get all sessions
+    // Get all sessions (SessionSummary rows without notes unless includeNotes=true)
     @GetMapping
-    public List<Session> all() {
-        return repo.findAll();
+    public List<?> all(@RequestParam(defaultValue = "false") boolean includeNotes) {
+        return includeNotes ? repo.findAll() : summaries(null, Sort.unsorted());
     }
 
     // Get sessions by athlete (optional date filter)
     @GetMapping("/athlete/{athleteId}")
-    public List<Session> byAthlete(
+    public List<?> byAthlete(
             @PathVariable Integer athleteId,
-            @RequestParam(required = false) String date
+            @RequestParam(required = false) String date,
+            @RequestParam(defaultValue = "false") boolean includeNotes
     ) {
-        if (date != null && !date.isEmpty()) {
-            LocalDate parsedDate = LocalDate.parse(date);
+        LocalDate parsedDate = date != null && !date.isEmpty() ? LocalDate.parse(date) : null;
+        if (!includeNotes) {
+            return summaries(byAthleteAndDate(athleteId, parsedDate), Sort.by("runDate").descending());
+        }
+        if (parsedDate != null) {
             return repo.findByAthleteIdAndRunDate(athleteId, parsedDate);
         }
         return repo.findByAthleteIdOrderByRunDateDesc(athleteId);
@@ -54,7 +69,10 @@ public class SessionController {
         if (session.getAthleteId() == null || session.getRunDate() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing athlete_id or run_date");
         }
-        return repo.save(session);
+        Session saved = repo.save(session);
+        events.publishEvent(DataChangeEvent.created(
+                DataChangeEvent.Kind.SESSION, saved.getAthleteId(), saved.getId(), saved));
+        return saved;
     }
 
     //  Update session
@@ -73,7 +91,10 @@ public class SessionController {
         s.setSurface(updated.getSurface());
         s.setWeather(updated.getWeather());
         s.setNotes(updated.getNotes());
-        return repo.save(s);
+        Session saved = repo.save(s);
+        events.publishEvent(DataChangeEvent.updated(
+                DataChangeEvent.Kind.SESSION, saved.getAthleteId(), saved.getId(), saved));
+        return saved;
     }
 
     //  Delete session with message
@@ -82,7 +103,20 @@ public class SessionController {
         if (!repo.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
         }
+        Integer athleteId = repo.findAthleteIdById(id).orElse(null);
         repo.deleteById(id);
+        events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.SESSION, athleteId, id));
         return "Session deleted successfully";
     }
+
+    // List rows without notes
+    private List<SessionSummary> summaries(Specification<Session> spec, Sort sort) {
+        return projections.list(Session.class, spec, sort, SessionSummary.class, SessionSummary.PATHS);
+    }
+
+    private static Specification<Session> byAthleteAndDate(Integer athleteId, LocalDate runDate) {
+        return (root, query, cb) -> runDate == null
+                ? cb.equal(root.get("athleteId"), athleteId)
+                : cb.and(cb.equal(root.get("athleteId"), athleteId), cb.equal(root.get("runDate"), runDate));
+    }
 }
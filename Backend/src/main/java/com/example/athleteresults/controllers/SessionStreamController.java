@@ -0,0 +1,88 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.dto.StreamInfo;
+import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.services.HrZoneService;
+import com.example.athleteresults.services.SessionStreamService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/sessions/{id}/stream")
+@CrossOrigin(origins = "*")
+public class SessionStreamController {
+
+    private static final int MAX_RESOLUTION = 3600;
+
+    private final SessionStreamService streamService;
+    private final SessionRepository sessionRepo;
+    private final HrZoneService hrZoneService;
+
+    public SessionStreamController(SessionStreamService streamService, SessionRepository sessionRepo,
+                                   HrZoneService hrZoneService) {
+        this.streamService = streamService;
+        this.sessionRepo = sessionRepo;
+        this.hrZoneService = hrZoneService;
+    }
+
+    // ===== PUT — upload a watch export (CSV or GPX), replaces the previous stream =====
+    @PutMapping(consumes = {"text/csv", "application/gpx+xml", MediaType.APPLICATION_XML_VALUE,
+            MediaType.TEXT_XML_VALUE})
+    public SessionStreamService.IngestResult upload(
+            @PathVariable Integer id,
+            @RequestHeader("Content-Type") MediaType contentType,
+            InputStream body
+    ) {
+        requireSession(id);
+        SessionStreamService.Format format = contentType.getSubtype().equals("csv")
+                ? SessionStreamService.Format.CSV
+                : SessionStreamService.Format.GPX;
+        SessionStreamService.IngestResult result = streamService.ingest(id, body, format);
+        // time in zone now comes from the samples
+        hrZoneService.refresh(id);
+        return result;
+    }
+
+    // ===== GET — samples in [from, to] seconds since the start, averaged per resolution seconds (0 = raw) =====
+    @GetMapping
+    public SessionStreamService.StreamWindow read(
+            @PathVariable Integer id,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer to,
+            @RequestParam(defaultValue = "0") int resolution
+    ) {
+        if ((from != null && from < 0) || (to != null && to < 0) || (from != null && to != null && from > to))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from / to must be ascending and not negative");
+        if (resolution < 0 || resolution > MAX_RESOLUTION)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "resolution must be between 0 and " + MAX_RESOLUTION + " seconds");
+        requireSession(id);
+        return streamService.read(id, from, to, resolution);
+    }
+
+    // ===== GET — extent and size of the stream =====
+    @GetMapping("/info")
+    public StreamInfo info(@PathVariable Integer id) {
+        requireSession(id);
+        return streamService.info(id);
+    }
+
+    // ===== DELETE =====
+    @DeleteMapping
+    public String delete(@PathVariable Integer id) {
+        requireSession(id);
+        if (streamService.delete(id) == 0)
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session has no stream");
+        hrZoneService.refresh(id);
+        return "Stream deleted successfully";
+    }
+
+    private void requireSession(Integer id) {
+        if (!sessionRepo.existsById(id))
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
+    }
+}
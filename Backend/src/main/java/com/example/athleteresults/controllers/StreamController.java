@@ -0,0 +1,63 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.Coach;
+import com.example.athleteresults.entities.User;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.repositories.UserRepository;
+import com.example.athleteresults.services.LiveUpdateService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_COACH')")
+public class StreamController {
+
+    private final LiveUpdateService liveUpdateService;
+    private final CoachRepository coachRepo;
+    private final UserRepository userRepo;
+
+    public StreamController(LiveUpdateService liveUpdateService,
+                            CoachRepository coachRepo,
+                            UserRepository userRepo) {
+        this.liveUpdateService = liveUpdateService;
+        this.coachRepo = coachRepo;
+        this.userRepo = userRepo;
+    }
+
+    // ===== SSE — changes of the coach's accepted athletes =====
+    @GetMapping(value = "/coach/{coachId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @PathVariable Integer coachId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        if (userDetails == null)
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not logged in");
+
+        boolean isAdmin = userDetails.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+
+        // 🛡 Coach can only listen to his own feed
+        if (!isAdmin) {
+            User user = userRepo.findByUsername(userDetails.getUsername())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+            Coach loggedCoach = coachRepo.findByUserId(user.getId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Not a coach"));
+            if (!loggedCoach.getId().equals(coachId)) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                        "You cannot listen to another coach's feed.");
+            }
+        } else if (!coachRepo.existsById(coachId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coach not found");
+        }
+
+        return liveUpdateService.subscribe(coachId);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.services.ChangeFeedService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Delta sync: a client stores the returned cursor and next time asks only for what changed
+ * after it (since=0 for the first sync). Tombstones ("deleted", data null) tell it what to
+ * drop; a deleted gym session takes its metrics with it, an "athlete" tombstone everything
+ * of that athlete. A deleted athlete's feed stays readable so the tombstone can be fetched;
+ * in the coach feed the same tombstone means the athlete left the squad.
+ */
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = "*")
+public class SyncController {
+
+    private static final int DEFAULT_LIMIT = 500;
+    private static final int MAX_LIMIT = 2000;
+
+    private final ChangeFeedService changeFeedService;
+    private final AthleteRepository athleteRepo;
+    private final CoachRepository coachRepo;
+
+    public SyncController(ChangeFeedService changeFeedService, AthleteRepository athleteRepo, CoachRepository coachRepo) {
+        this.changeFeedService = changeFeedService;
+        this.athleteRepo = athleteRepo;
+        this.coachRepo = coachRepo;
+    }
+
+    // ===== GET — changes of one athlete after the cursor =====
+    @GetMapping("/athlete/{athleteId}")
+    public ChangeFeedService.ChangePage athlete(
+            @PathVariable Integer athleteId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit
+    ) {
+        checkPage(since, limit);
+        if (!athleteRepo.existsById(athleteId) && !changeFeedService.hasFeed(athleteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Athlete not found");
+        }
+        return changeFeedService.athleteChanges(athleteId, since, limit);
+    }
+
+    // ===== GET — changes of all accepted athletes of a coach after the cursor =====
+    // (an athlete who joins later is synced once from since=0 through the athlete feed)
+    @GetMapping("/coach/{coachId}")
+    public ChangeFeedService.ChangePage coach(
+            @PathVariable Integer coachId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit
+    ) {
+        checkPage(since, limit);
+        if (!coachRepo.existsById(coachId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coach not found");
+        }
+        return changeFeedService.coachChanges(coachId, since, limit);
+    }
+
+    // ===== Helper — cursor / page size validation =====
+    private static void checkPage(long since, int limit) {
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since must not be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.athleteresults.controllers;
 
+import com.example.athleteresults.dto.ThrowResultSummary;
 import com.example.athleteresults.entities.ThrowResult;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.ProjectionQueries;
 import com.example.athleteresults.repositories.ThrowResultRepository;
 import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.services.QueryResultCache;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -22,22 +27,35 @@ public class ThrowResultController {
 
     private final ThrowResultRepository repo;
     private final AthleteRepository athleteRepo;
+    private final ProjectionQueries projections;
+    private final QueryResultCache queryCache;
+    private final ApplicationEventPublisher events;
 
-    public ThrowResultController(ThrowResultRepository repo, AthleteRepository athleteRepo) {
+    public ThrowResultController(ThrowResultRepository repo, AthleteRepository athleteRepo,
+                                 ProjectionQueries projections, QueryResultCache queryCache,
+                                 ApplicationEventPublisher events) {
         this.repo = repo;
         this.athleteRepo = athleteRepo;
+        this.projections = projections;
+        this.queryCache = queryCache;
+        this.events = events;
     }
 
+    // List endpoints return ThrowResultSummary rows (no notes) unless includeNotes=true.
+
     // ===== GET — all results =====
     @GetMapping
-    public List<ThrowResult> all() {
-        return repo.findAll();
+    public List<?> all(@RequestParam(defaultValue = "false") boolean includeNotes) {
+        return includeNotes ? repo.findAll() : summaries(null, Sort.unsorted());
     }
 
     // ===== GET — by athlete =====
     @GetMapping("/athlete/{athleteId}")
-    public List<ThrowResult> byAthlete(@PathVariable Integer athleteId) {
-        return repo.findByAthleteId(athleteId);
+    public List<?> byAthlete(@PathVariable Integer athleteId,
+                             @RequestParam(defaultValue = "false") boolean includeNotes) {
+        return includeNotes
+                ? repo.findByAthleteId(athleteId)
+                : summaries(buildSpec(athleteId, null, null, null, null, null), Sort.unsorted());
     }
 
     // ===== GET — single result =====
@@ -54,7 +72,10 @@ public class ThrowResultController {
                 !athleteRepo.existsById(result.getAthlete().getId())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid athleteId");
         }
-        return repo.save(result);
+        ThrowResult saved = repo.save(result);
+        events.publishEvent(DataChangeEvent.created(
+                DataChangeEvent.Kind.THROW_RESULT, result.getAthlete().getId(), saved.getId(), saved));
+        return saved;
     }
 
     // ===== PUT — update existing =====
@@ -67,6 +88,7 @@ public class ThrowResultController {
 
         return repo.findById(id)
                 .map(r -> {
+                    Integer previousOwner = r.getAthlete() != null ? r.getAthlete().getId() : null;
                     r.setAthlete(updated.getAthlete());
                     r.setThrowDate(updated.getThrowDate());
                     r.setThrowType(updated.getThrowType());
@@ -75,7 +97,11 @@ public class ThrowResultController {
                     r.setWind(updated.getWind());
                     r.setNotes(updated.getNotes());
                     r.setThrowStyle(updated.getThrowStyle());
-                    return repo.save(r);
+                    ThrowResult saved = repo.save(r);
+                    events.publishEvent(DataChangeEvent.updated(
+                            DataChangeEvent.Kind.THROW_RESULT, updated.getAthlete().getId(), saved.getId(), saved)
+                            .withPreviousOwner(previousOwner));
+                    return saved;
                 })
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Throw result not found"));
     }
@@ -86,27 +112,30 @@ public class ThrowResultController {
         if (!repo.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Throw result not found");
         }
+        Integer athleteId = repo.findAthleteIdById(id).orElse(null);
         repo.deleteById(id);
+        events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.THROW_RESULT, athleteId, id));
         return "tralalala";
     }
 
     // ===== FILTER — date range / type / event / style =====
     @GetMapping("/filter")
-    public List<ThrowResult> filterResults(
+    public List<?> filterResults(
             @RequestParam(required = false) Integer athleteId,
             @RequestParam(required = false) String throwType,
             @RequestParam(required = false) String event,
             @RequestParam(required = false) String throwStyle,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeNotes
     ) {
         Sort sort = Sort.by("throwDate").ascending();
-        return repo.findAll(buildSpec(athleteId, throwType, event, throwStyle, from, to), sort);
+        return cached(athleteId, throwType, event, throwStyle, from, to, sort, includeNotes);
     }
 
     // ===== SEARCH — supports sorting by distance/date & filters =====
     @GetMapping("/search")
-    public List<ThrowResult> searchResults(
+    public List<?> searchResults(
             @RequestParam(required = false) Integer athleteId,
             @RequestParam(required = false) String throwType,
             @RequestParam(required = false) String event,
@@ -114,7 +143,8 @@ public class ThrowResultController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(defaultValue = "date") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(defaultValue = "false") boolean includeNotes
     ) {
         // ===== Determine Sort Field =====
         String sortField;
@@ -134,7 +164,28 @@ public class ThrowResultController {
                 : Sort.by(Sort.Direction.DESC, sortField);
 
         // ===== Execute Query =====
-        return repo.findAll(buildSpec(athleteId, throwType, event, throwStyle, from, to), sort);
+        return cached(athleteId, throwType, event, throwStyle, from, to, sort, includeNotes);
+    }
+
+    // ===== Helper — filter / search through the result cache (same filters + sort = same entry) =====
+    private List<?> cached(Integer athleteId, String throwType, String event, String throwStyle,
+                           LocalDate from, LocalDate to, Sort sort, boolean includeNotes) {
+        // normalized once: the cache key and the query must see the same values
+        String throwTypeText = QueryResultCache.text(throwType);
+        String eventText = QueryResultCache.text(event);
+        String throwStyleText = QueryResultCache.text(throwStyle);
+        return queryCache.get(DataChangeEvent.Kind.THROW_RESULT, athleteId,
+                QueryResultCache.filters(throwTypeText, eventText, throwStyleText, from, to, sort, includeNotes),
+                () -> {
+                    Specification<ThrowResult> spec =
+                            buildSpec(athleteId, throwTypeText, eventText, throwStyleText, from, to);
+                    return includeNotes ? repo.findAll(spec, sort) : summaries(spec, sort);
+                });
+    }
+
+    // ===== Helper — list rows without notes =====
+    private List<ThrowResultSummary> summaries(Specification<ThrowResult> spec, Sort sort) {
+        return projections.list(ThrowResult.class, spec, sort, ThrowResultSummary.class, ThrowResultSummary.PATHS);
     }
 
     // ===== Helper — dynamic filter builder =====
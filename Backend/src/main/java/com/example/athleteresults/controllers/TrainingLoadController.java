@@ -0,0 +1,57 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.services.TrainingLoadService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/training-load")
+@CrossOrigin(origins = "*")
+public class TrainingLoadController {
+
+    private static final int DEFAULT_DAYS = 90;
+    private static final int MAX_DAYS = 366;
+    // the series is kept in memory from the first logged day on; nothing is stored outside these bounds
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final int MAX_DAYS_AHEAD = 366;
+
+    private final TrainingLoadService trainingLoadService;
+    private final AthleteRepository athleteRepo;
+
+    public TrainingLoadController(TrainingLoadService trainingLoadService, AthleteRepository athleteRepo) {
+        this.trainingLoadService = trainingLoadService;
+        this.athleteRepo = athleteRepo;
+    }
+
+    // ===== GET — daily load, ACWR and fitness/fatigue (default: last 90 days) =====
+    @GetMapping("/athlete/{athleteId}")
+    public List<TrainingLoadService.DailyLoad> series(
+            @PathVariable Integer athleteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (to == null) to = LocalDate.now();
+        if (from == null) from = to.minusDays(DEFAULT_DAYS - 1);
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range is limited to " + MAX_DAYS + " days");
+        }
+        if (from.isBefore(EARLIEST) || to.isAfter(LocalDate.now().plusDays(MAX_DAYS_AHEAD))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Dates must lie between " + EARLIEST + " and " + MAX_DAYS_AHEAD + " days from today");
+        }
+        if (!athleteRepo.existsById(athleteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Athlete not found");
+        }
+        return trainingLoadService.series(athleteId, from, to);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.*;
 import com.example.athleteresults.repositories.*;
+import com.example.athleteresults.services.CascadeDeleteService;
 import org.springframework.security.core.Authentication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +23,7 @@ public class UserController {
     private final RoleRepository roleRepo;
     private final AthleteRepository athleteRepo;
     private final CoachRepository coachRepo;
+    private final CascadeDeleteService cascadeDeleteService;
 
     // 🔹 Allowed role names
     private static final Set<String> VALID_ROLES = Set.of("ADMIN", "DATA ANALYST", "COACH", "ATHLETE");
@@ -29,11 +31,13 @@ public class UserController {
     public UserController(UserRepository userRepo,
                           RoleRepository roleRepo,
                           AthleteRepository athleteRepo,
-                          CoachRepository coachRepo) {
+                          CoachRepository coachRepo,
+                          CascadeDeleteService cascadeDeleteService) {
         this.userRepo = userRepo;
         this.roleRepo = roleRepo;
         this.athleteRepo = athleteRepo;
         this.coachRepo = coachRepo;
+        this.cascadeDeleteService = cascadeDeleteService;
     }
 
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
@@ -158,8 +162,8 @@ public class UserController {
         boolean isAthlete = user.getRoles().stream().anyMatch(r -> r.getName().equalsIgnoreCase("ATHLETE"));
 
         // Delete linked records
-        if (isCoach) coachRepo.findByUserId(id).ifPresent(coach -> coachRepo.deleteById(coach.getId()));
-        if (isAthlete) athleteRepo.findByUserId(id).ifPresent(athlete -> athleteRepo.deleteById(athlete.getId()));
+        if (isCoach) coachRepo.findByUserId(id).ifPresent(coach -> cascadeDeleteService.deleteCoach(coach.getId()));
+        if (isAthlete) athleteRepo.findByUserId(id).ifPresent(athlete -> cascadeDeleteService.deleteAthlete(athlete.getId()));
 
         // Delete roles + user
         roleRepo.deleteAll(roleRepo.findByUserId(id));
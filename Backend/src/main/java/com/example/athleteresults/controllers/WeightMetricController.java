@@ -1,7 +1,10 @@
 package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.WeightMetric;
+import com.example.athleteresults.events.DataChangeEvent;
 import com.example.athleteresults.repositories.WeightMetricRepository;
+import com.example.athleteresults.services.GymMetricService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -13,9 +16,14 @@ import java.util.List;
 public class WeightMetricController {
 
     private final WeightMetricRepository weightMetricRepository;
+    private final GymMetricService gymMetricService;
+    private final ApplicationEventPublisher events;
 
-    public WeightMetricController(WeightMetricRepository weightMetricRepository) {
+    public WeightMetricController(WeightMetricRepository weightMetricRepository, GymMetricService gymMetricService,
+                                  ApplicationEventPublisher events) {
         this.weightMetricRepository = weightMetricRepository;
+        this.gymMetricService = gymMetricService;
+        this.events = events;
     }
 
     // ✅ GET all weight metrics for a given gym session
@@ -28,7 +36,17 @@ public class WeightMetricController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public WeightMetric create(@RequestBody WeightMetric metric) {
-        return weightMetricRepository.save(metric);
+        WeightMetric saved = weightMetricRepository.save(metric);
+        events.publishEvent(DataChangeEvent.created(DataChangeEvent.Kind.WEIGHT_METRIC,
+                weightMetricRepository.findAthleteIdById(saved.getId()).orElse(null), saved.getId(), saved));
+        return saved;
+    }
+
+    // ✅ POST create many weight metrics of one gym session in one transaction
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<WeightMetric> createBatch(@RequestParam Integer gymId, @RequestBody List<WeightMetric> metrics) {
+        return gymMetricService.createWeights(gymId, metrics);
     }
 
     // ✅ DELETE a weight metric by ID
@@ -38,6 +56,8 @@ public class WeightMetricController {
         if (!weightMetricRepository.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Weight metric not found");
         }
+        Integer athleteId = weightMetricRepository.findAthleteIdById(id).orElse(null);
         weightMetricRepository.deleteById(id);
+        events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.WEIGHT_METRIC, athleteId, id));
     }
 }
@@ -0,0 +1,15 @@
+package com.example.athleteresults.dto;
+
+/**
+ * The athlete columns the performance classification groups by, plus the stored class.
+ */
+public interface AthleteProfileView {
+
+    Integer getId();
+
+    String getCategory();
+
+    String getGender();
+
+    String getPerformance();
+}
@@ -0,0 +1,6 @@
+package com.example.athleteresults.dto;
+
+/**
+ * The athlete fields list views show next to a row (instead of the whole athlete).
+ */
+public record AthleteRef(Integer id, String name, String lastname) {}
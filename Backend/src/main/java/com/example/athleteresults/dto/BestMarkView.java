@@ -0,0 +1,13 @@
+package com.example.athleteresults.dto;
+
+/**
+ * Fastest time of one athlete over one distance; input of the race-time prediction.
+ */
+public interface BestMarkView {
+
+    Integer getAthleteId();
+
+    Integer getDistance();
+
+    Integer getBest();
+}
@@ -0,0 +1,15 @@
+package com.example.athleteresults.dto;
+
+/**
+ * Best mark of one athlete in one event since a date; input of the performance classification.
+ */
+public interface EventBestView {
+
+    Integer getAthleteId();
+
+    // "400m Event", "meVrull", "Javelin" ...
+    String getEvent();
+
+    // time in ms for runs, distance in m for jumps / throws
+    Number getBest();
+}
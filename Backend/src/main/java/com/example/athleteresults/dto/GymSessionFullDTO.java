@@ -0,0 +1,86 @@
+package com.example.athleteresults.dto;
+
+import com.example.athleteresults.entities.GymSession;
+import com.example.athleteresults.entities.PlyoMetric;
+import com.example.athleteresults.entities.ReflexMetric;
+import com.example.athleteresults.entities.WeightMetric;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A gym session together with all of its metric rows.
+ * Used as request body of the combined create and as response of the "full" reads.
+ */
+public record GymSessionFullDTO(
+        Integer id,
+        Integer athleteId,
+        LocalDate sessionDate,
+        String category,
+        String exerciseName,
+        String notes,
+        List<Weight> weightMetrics,
+        List<Plyo> plyoMetrics,
+        List<Reflex> reflexMetrics
+) {
+
+    public record Weight(Integer id, Integer sets, Integer reps, Double weightGym) {
+        public static Weight fromEntity(WeightMetric m) {
+            return new Weight(m.getId(), m.getSets(), m.getReps(), m.getWeightGym());
+        }
+
+        public WeightMetric toEntity() {
+            WeightMetric m = new WeightMetric();
+            m.setSets(sets);
+            m.setReps(reps);
+            m.setWeightGym(weightGym);
+            return m;
+        }
+    }
+
+    public record Plyo(Integer id, Integer contacts, Double height, Integer intensity) {
+        public static Plyo fromEntity(PlyoMetric m) {
+            return new Plyo(m.getId(), m.getContacts(), m.getHeight(), m.getIntensity());
+        }
+
+        public PlyoMetric toEntity() {
+            PlyoMetric m = new PlyoMetric();
+            m.setContacts(contacts);
+            m.setHeight(height);
+            m.setIntensity(intensity);
+            return m;
+        }
+    }
+
+    public record Reflex(Integer id, Integer reactionTimeMs, Integer trials, Integer bestTrialMs) {
+        public static Reflex fromEntity(ReflexMetric m) {
+            return new Reflex(m.getId(), m.getReactionTimeMs(), m.getTrials(), m.getBestTrialMs());
+        }
+
+        public ReflexMetric toEntity() {
+            ReflexMetric m = new ReflexMetric();
+            m.setReactionTimeMs(reactionTimeMs);
+            m.setTrials(trials);
+            m.setBestTrialMs(bestTrialMs);
+            return m;
+        }
+    }
+
+    // metric lists must already be loaded (or fetched in the same session)
+    public static GymSessionFullDTO fromEntity(GymSession g,
+                                               List<WeightMetric> weights,
+                                               List<PlyoMetric> plyos,
+                                               List<ReflexMetric> reflexes) {
+        return new GymSessionFullDTO(
+                g.getId(),
+                g.getAthlete() != null ? g.getAthlete().getId() : null,
+                g.getSessionDate(),
+                g.getCategory(),
+                g.getExerciseName(),
+                g.getNotes(),
+                weights == null ? List.of() : weights.stream().map(Weight::fromEntity).toList(),
+                plyos == null ? List.of() : plyos.stream().map(Plyo::fromEntity).toList(),
+                reflexes == null ? List.of() : reflexes.stream().map(Reflex::fromEntity).toList()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.athleteresults.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Owner and date of a gym session, without loading the entity or its athlete.
+ */
+public interface GymSessionRefView {
+
+    Integer getId();
+
+    Integer getAthleteId();
+
+    LocalDate getSessionDate();
+}
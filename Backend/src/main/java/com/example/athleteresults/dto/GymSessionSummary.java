@@ -0,0 +1,24 @@
+package com.example.athleteresults.dto;
+
+import java.time.LocalDate;
+
+/**
+ * List row of a gym session: every column except the TEXT {@code notes}, the athlete reduced to a reference.
+ */
+public record GymSessionSummary(
+        Integer id,
+        AthleteRef athlete,
+        LocalDate sessionDate,
+        String category,
+        String exerciseName
+) {
+    // attribute paths in the order of the flat constructor below
+    public static final String[] PATHS = {
+            "id", "athlete.id", "athlete.name", "athlete.lastname", "sessionDate", "category", "exerciseName"
+    };
+
+    public GymSessionSummary(Integer id, Integer athleteId, String athleteName, String athleteLastname,
+                             LocalDate sessionDate, String category, String exerciseName) {
+        this(id, new AthleteRef(athleteId, athleteName, athleteLastname), sessionDate, category, exerciseName);
+    }
+}
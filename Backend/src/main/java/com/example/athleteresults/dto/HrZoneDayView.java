@@ -0,0 +1,23 @@
+package com.example.athleteresults.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Zone seconds of one athlete summed per day; the weekly / monthly rollups fold these.
+ */
+public interface HrZoneDayView {
+
+    LocalDate getRunDate();
+
+    Long getSessions();
+
+    Long getZone1();
+
+    Long getZone2();
+
+    Long getZone3();
+
+    Long getZone4();
+
+    Long getZone5();
+}
@@ -0,0 +1,20 @@
+package com.example.athleteresults.dto;
+
+import java.time.LocalDate;
+
+/**
+ * List row of a jump result: every column except {@code notes}.
+ */
+public record JumpResultSummary(
+        Integer jumpId,
+        Integer athleteId,
+        LocalDate jumpDate,
+        String jumpType,
+        String detail,
+        Double distanceM
+) {
+    // attribute paths in constructor order
+    public static final String[] PATHS = {
+            "jumpId", "athleteId", "jumpDate", "jumpType", "detail", "distanceM"
+    };
+}
@@ -0,0 +1,14 @@
+package com.example.athleteresults.dto;
+
+/**
+ * Load contributed by one weight or plyo metric row to its gym session.
+ */
+public interface MetricLoadView {
+
+    Integer getId();
+
+    Integer getGymId();
+
+    // kg lifted (sets × reps × weight) for weight metrics, ground contacts for plyo metrics
+    Number getAmount();
+}
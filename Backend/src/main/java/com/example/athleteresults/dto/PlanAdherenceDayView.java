@@ -0,0 +1,48 @@
+package com.example.athleteresults.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One plan next to what was logged on its date, with rolling completion over the
+ * athlete's preceding plans. Flags are 1 / 0; onTarget is null without a volume target.
+ */
+public interface PlanAdherenceDayView {
+
+    Integer getAthleteId();
+
+    LocalDate getPlanDate();
+
+    Integer getTargetMinutes();
+
+    Number getTargetKm();
+
+    Integer getTargetIntensity();
+
+    // actual_plan filled in
+    Number getReported();
+
+    // a session or gym session logged on the date
+    Number getTrained();
+
+    Number getCompleted();
+
+    Number getOnTarget();
+
+    Number getSessions();
+
+    Number getLoggedMinutes();
+
+    Number getLoggedKm();
+
+    Number getGymSessions();
+
+    // completed plans among this one and the 6 / 27 before it
+    Number getCompletedLast7();
+
+    Number getCompletedLast28();
+
+    // volume target vs. logged minutes over the same 28 plans (only plans with a minutes target)
+    Number getTargetMinutesLast28();
+
+    Number getLoggedMinutesLast28();
+}
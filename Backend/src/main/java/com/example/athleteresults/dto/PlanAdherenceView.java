@@ -0,0 +1,44 @@
+package com.example.athleteresults.dto;
+
+/**
+ * Plan adherence of one athlete over a date range, ranked within the squad.
+ * Logged volume is only summed on plans that have a target of that kind.
+ */
+public interface PlanAdherenceView {
+
+    Integer getAthleteId();
+
+    Number getPlanned();
+
+    Number getReported();
+
+    Number getTrained();
+
+    Number getCompleted();
+
+    // plans after the :recent date
+    Number getRecentPlanned();
+
+    Number getRecentCompleted();
+
+    // plans with a volume target, and those met within ±20 %
+    Number getVolumeTargets();
+
+    Number getOnTarget();
+
+    Number getTargetMinutes();
+
+    Number getLoggedMinutes();
+
+    Number getTargetKm();
+
+    Number getLoggedKm();
+
+    Number getTargetIntensity();
+
+    // 1 = highest completion rate; ties share a rank
+    Number getSquadRank();
+
+    // mean completion rate of the squad
+    Number getSquadRate();
+}
@@ -0,0 +1,25 @@
+package com.example.athleteresults.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One plan of a coach's calendar: who, when, and the start of the prediction text.
+ * actualFilled is 1 when the athlete reported the actual session.
+ */
+public interface PlanCalendarView {
+
+    Integer getAthleteId();
+
+    String getAthleteName();
+
+    String getAthleteLastname();
+
+    LocalDate getPlanDate();
+
+    Integer getPlanId();
+
+    // one character longer than asked for, so callers can tell it was cut
+    String getSummary();
+
+    Number getActualFilled();
+}
@@ -0,0 +1,13 @@
+package com.example.athleteresults.dto;
+
+/**
+ * Plans of one athlete in a date range: all of them, and those with the actual session filled in.
+ */
+public interface PlanCountView {
+
+    Integer getAthleteId();
+
+    Long getPlanned();
+
+    Long getCompleted();
+}
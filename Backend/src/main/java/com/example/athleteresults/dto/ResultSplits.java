@@ -0,0 +1,13 @@
+package com.example.athleteresults.dto;
+
+/**
+ * Splits of one race: lap times in ms, one per {@code splitDistance} metres
+ * (the last lap covers whatever remains of {@code distance}).
+ */
+public record ResultSplits(
+        Integer resultId,
+        Integer distance,
+        Integer timeMs,
+        Integer splitDistance,
+        int[] splitMs
+) {}
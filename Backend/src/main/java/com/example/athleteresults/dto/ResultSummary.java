@@ -0,0 +1,22 @@
+package com.example.athleteresults.dto;
+
+import java.time.LocalDate;
+
+/**
+ * List row of a race result: every column except {@code notes}.
+ */
+public record ResultSummary(
+        Integer id,
+        Integer athleteId,
+        String race,
+        String raceType,
+        LocalDate raceDate,
+        Integer distance,
+        Integer timeMs,
+        Integer weight
+) {
+    // attribute paths in constructor order
+    public static final String[] PATHS = {
+            "id", "athleteId", "race", "raceType", "raceDate", "distance", "timeMs", "weight"
+    };
+}
@@ -0,0 +1,22 @@
+package com.example.athleteresults.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One result or session as read by the nightly rollup job.
+ */
+public interface RollupSourceView {
+
+    Integer getAthleteId();
+
+    // "400m Event", "meVrull", "Javelin"; null for training sessions
+    String getEvent();
+
+    LocalDate getDate();
+
+    // time in ms for runs, distance in m for jumps / throws, km for sessions (may be null)
+    Number getMark();
+
+    // metres for runs, minutes for sessions, null for jumps / throws
+    Number getVolume();
+}
@@ -0,0 +1,18 @@
+package com.example.athleteresults.dto;
+
+/**
+ * Best mark of one athlete in one event for one calendar year.
+ * Filled by the grouped leaderboard queries of the result repositories.
+ */
+public interface SeasonBestView {
+
+    Integer getAthleteId();
+
+    // "400m Event", "meVrull", "Javelin" ...
+    String getEvent();
+
+    Integer getSeason();
+
+    // time in ms for runs, distance in m for jumps / throws
+    Number getBest();
+}
@@ -0,0 +1,26 @@
+package com.example.athleteresults.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * List row of a run session: every column except the TEXT {@code notes}.
+ */
+public record SessionSummary(
+        Integer id,
+        Integer athleteId,
+        LocalDate runDate,
+        BigDecimal timeMin,
+        BigDecimal distanceKm,
+        Integer heartAvg,
+        Integer heartMax,
+        BigDecimal calories,
+        String surface,
+        String weather
+) {
+    // attribute paths in constructor order
+    public static final String[] PATHS = {
+            "id", "athleteId", "runDate", "timeMin", "distanceKm",
+            "heartAvg", "heartMax", "calories", "surface", "weather"
+    };
+}
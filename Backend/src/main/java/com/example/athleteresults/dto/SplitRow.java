@@ -0,0 +1,15 @@
+package com.example.athleteresults.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A race with splits as read by the split analytics: just the columns the metrics need.
+ */
+public record SplitRow(
+        Integer resultId,
+        Integer athleteId,
+        LocalDate raceDate,
+        Integer distance,
+        Integer splitDistance,
+        int[] splitMs
+) {}
@@ -0,0 +1,13 @@
+package com.example.athleteresults.dto;
+
+/**
+ * Extent of a session's wearable stream: first / last sample (epoch ms), sample and chunk
+ * counts and the encoded size in bytes. All null / 0 when the session has no stream.
+ */
+public record StreamInfo(
+        Long start,
+        Long end,
+        Long samples,
+        Long chunks,
+        Long bytes
+) {}
@@ -0,0 +1,31 @@
+package com.example.athleteresults.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * List row of a throw result: every column except {@code notes}, the athlete reduced to a reference.
+ */
+public record ThrowResultSummary(
+        Integer id,
+        AthleteRef athlete,
+        LocalDate throwDate,
+        String throwType,
+        String event,
+        BigDecimal distance,
+        BigDecimal wind,
+        String throwStyle
+) {
+    // attribute paths in the order of the flat constructor below
+    public static final String[] PATHS = {
+            "id", "athlete.id", "athlete.name", "athlete.lastname",
+            "throwDate", "throwType", "event", "distance", "wind", "throwStyle"
+    };
+
+    public ThrowResultSummary(Integer id, Integer athleteId, String athleteName, String athleteLastname,
+                              LocalDate throwDate, String throwType, String event,
+                              BigDecimal distance, BigDecimal wind, String throwStyle) {
+        this(id, new AthleteRef(athleteId, athleteName, athleteLastname),
+                throwDate, throwType, event, distance, wind, throwStyle);
+    }
+}
@@ -3,6 +3,8 @@ package com.example.athleteresults.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -10,6 +12,8 @@ import java.util.UUID;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "athlete")
 @Table(name = "athletes")
 public class Athlete {
 
@@ -79,6 +83,7 @@ public class Athlete {
 
     // ===== Relation with CoachAthleteRelation =====
     @OneToMany(mappedBy = "athlete", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "athlete_relations")
     @JsonIgnore
     private Set<CoachAthleteRelation> coachAthleteRelations = new HashSet<>();
 
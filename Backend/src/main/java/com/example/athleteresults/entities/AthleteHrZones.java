@@ -0,0 +1,56 @@
+package com.example.athleteresults.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Heart-rate zone boundaries of one athlete: upper limit (bpm, inclusive) of zones 1–4,
+ * zone 5 is everything above. Athletes without a row get zones derived from their age.
+ */
+@Entity
+@Table(name = "athlete_hr_zones")
+public class AthleteHrZones {
+
+    @Id
+    @Column(name = "athlete_id")
+    private Integer athleteId;
+
+    @Column(name = "max_hr")
+    private Integer maxHr;
+
+    @Column(name = "zone1_max", nullable = false)
+    private int zone1Max;
+
+    @Column(name = "zone2_max", nullable = false)
+    private int zone2Max;
+
+    @Column(name = "zone3_max", nullable = false)
+    private int zone3Max;
+
+    @Column(name = "zone4_max", nullable = false)
+    private int zone4Max;
+
+    public AthleteHrZones() {}
+
+    public AthleteHrZones(Integer athleteId, Integer maxHr, int[] upper) {
+        this.athleteId = athleteId;
+        this.maxHr = maxHr;
+        setUpper(upper);
+    }
+
+    public int[] getUpper() {
+        return new int[]{zone1Max, zone2Max, zone3Max, zone4Max};
+    }
+
+    public void setUpper(int[] upper) {
+        zone1Max = upper[0];
+        zone2Max = upper[1];
+        zone3Max = upper[2];
+        zone4Max = upper[3];
+    }
+
+    public Integer getAthleteId() { return athleteId; }
+    public void setAthleteId(Integer athleteId) { this.athleteId = athleteId; }
+
+    public Integer getMaxHr() { return maxHr; }
+    public void setMaxHr(Integer maxHr) { this.maxHr = maxHr; }
+}
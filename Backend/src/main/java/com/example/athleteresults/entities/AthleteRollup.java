@@ -0,0 +1,106 @@
+package com.example.athleteresults.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Precomputed totals of one athlete, discipline and event over one day, week (from Monday)
+ * or season (calendar year), written by the nightly rollup job. Dashboards read these rows
+ * through the unique index instead of aggregating results per request.
+ *
+ * Marks: run results in ms (best = lowest), jumps / throws in m and training sessions in km
+ * (best = highest). Volume: metres raced for runs, minutes for sessions, null for field events.
+ */
+@Entity
+@Table(name = "athlete_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uq_athlete_rollups_key",
+                columnNames = {"athlete_id", "period", "period_start", "discipline", "event"}))
+public class AthleteRollup {
+
+    public enum Discipline { RUN, JUMP, THROW, SESSION }
+
+    public enum Period { DAY, WEEK, SEASON }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "athlete_rollups_seq")
+    @SequenceGenerator(name = "athlete_rollups_seq", sequenceName = "athlete_rollups_seq", allocationSize = 50)
+    @Column(name = "rollup_id")
+    private Long id;
+
+    @Column(name = "athlete_id", nullable = false)
+    private Integer athleteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "discipline", nullable = false, length = 10)
+    private Discipline discipline;
+
+    // lower-cased; "" for training sessions
+    @Column(name = "event", nullable = false, length = 100)
+    private String event;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", nullable = false, length = 10)
+    private Period period;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "entries", nullable = false)
+    private int count;
+
+    @Column(name = "volume")
+    private Double volume;
+
+    // null when no entry of the period has a mark
+    @Column(name = "best")
+    private Double best;
+
+    @Column(name = "average")
+    private Double average;
+
+    public AthleteRollup() {}
+
+    public AthleteRollup(Integer athleteId, Discipline discipline, String event, Period period,
+                         LocalDate periodStart, int count, Double volume, Double best, Double average) {
+        this.athleteId = athleteId;
+        this.discipline = discipline;
+        this.event = event;
+        this.period = period;
+        this.periodStart = periodStart;
+        this.count = count;
+        this.volume = volume;
+        this.best = best;
+        this.average = average;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getAthleteId() { return athleteId; }
+    public void setAthleteId(Integer athleteId) { this.athleteId = athleteId; }
+
+    public Discipline getDiscipline() { return discipline; }
+    public void setDiscipline(Discipline discipline) { this.discipline = discipline; }
+
+    public String getEvent() { return event; }
+    public void setEvent(String event) { this.event = event; }
+
+    public Period getPeriod() { return period; }
+    public void setPeriod(Period period) { this.period = period; }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public Double getVolume() { return volume; }
+    public void setVolume(Double volume) { this.volume = volume; }
+
+    public Double getBest() { return best; }
+    public void setBest(Double best) { this.best = best; }
+
+    public Double getAverage() { return average; }
+    public void setAverage(Double average) { this.average = average; }
+}
@@ -0,0 +1,77 @@
+package com.example.athleteresults.entities;
+
+import com.example.athleteresults.events.DataChangeEvent;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Latest change of one row, for the delta-sync feed. {@code seq} grows in commit order;
+ * a row keeps only its newest entry, deletes stay as tombstones.
+ *
+ * Entries with a {@code coachId} are addressed to that coach only: an ATHLETE tombstone
+ * telling the coach's client that the athlete left the squad.
+ */
+@Entity
+@Table(name = "change_log")
+public class ChangeLogEntry {
+
+    // allocationSize 1: ids are taken under the append lock, so seq order is commit order
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_log_seq")
+    @SequenceGenerator(name = "change_log_seq", sequenceName = "change_log_seq", allocationSize = 1)
+    @Column(name = "seq")
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 20)
+    private DataChangeEvent.Kind kind;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 10)
+    private DataChangeEvent.Action action;
+
+    @Column(name = "athlete_id", nullable = false)
+    private Integer athleteId;
+
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    @Column(name = "coach_id")
+    private Integer coachId;
+
+    public ChangeLogEntry() {}
+
+    public ChangeLogEntry(DataChangeEvent.Kind kind, DataChangeEvent.Action action,
+                          Integer athleteId, Integer entityId, Instant changedAt) {
+        this.kind = kind;
+        this.action = action;
+        this.athleteId = athleteId;
+        this.entityId = entityId;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSeq() { return seq; }
+    public void setSeq(Long seq) { this.seq = seq; }
+
+    public DataChangeEvent.Kind getKind() { return kind; }
+    public void setKind(DataChangeEvent.Kind kind) { this.kind = kind; }
+
+    public DataChangeEvent.Action getAction() { return action; }
+    public void setAction(DataChangeEvent.Action action) { this.action = action; }
+
+    public Integer getAthleteId() { return athleteId; }
+    public void setAthleteId(Integer athleteId) { this.athleteId = athleteId; }
+
+    public Integer getEntityId() { return entityId; }
+    public void setEntityId(Integer entityId) { this.entityId = entityId; }
+
+    public Instant getChangedAt() { return changedAt; }
+    public void setChangedAt(Instant changedAt) { this.changedAt = changedAt; }
+
+    public Integer getCoachId() { return coachId; }
+    public void setCoachId(Integer coachId) { this.coachId = coachId; }
+}
@@ -3,12 +3,16 @@ package com.example.athleteresults.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "coach")
 @Table(name = "coaches")
 public class Coach {
 
@@ -64,6 +68,7 @@ public class Coach {
 
     // ===== Relation Entity (status holder) =====
     @OneToMany(mappedBy = "coach", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "coach_relations")
     @JsonIgnore
     private Set<CoachAthleteRelation> coachAthleteRelations = new HashSet<>();
 
@@ -1,8 +1,12 @@
 package com.example.athleteresults.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "coach_athlete_relation")
 @Table(name = "coach_athlete_relation")
 public class CoachAthleteRelation {
 
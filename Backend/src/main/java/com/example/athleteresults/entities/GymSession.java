@@ -11,7 +11,8 @@ import java.util.List;
 public class GymSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gym_sessions_seq")
+    @SequenceGenerator(name = "gym_sessions_seq", sequenceName = "gym_sessions_seq", allocationSize = 50)
     @Column(name = "gym_id")
     private Integer id;
 
@@ -8,7 +8,8 @@ import java.time.LocalDate;
 public class JumpResult {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jump_results_seq")
+    @SequenceGenerator(name = "jump_results_seq", sequenceName = "jump_results_seq", allocationSize = 50)
     @Column(name = "jump_id")
     private Integer jumpId;
 
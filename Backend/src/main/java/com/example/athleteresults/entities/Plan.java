@@ -1,6 +1,7 @@
 package com.example.athleteresults.entities;
 
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
@@ -8,15 +9,17 @@ import java.time.LocalDate;
 public class Plan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plan_seq")
+    @SequenceGenerator(name = "plan_seq", sequenceName = "plan_seq", allocationSize = 50)
     @Column(name = "plan_id")
     private Integer id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // lazy: the list / lookup queries in PlanRepository fetch athlete and coach with the plan
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "athlete_id", nullable = false)
     private Athlete athlete;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "coach_id", nullable = true)
     private Coach coach;
 
@@ -32,6 +35,18 @@ public class Plan {
     @Column(name = "notes")
     private String notes;
 
+    // structured targets next to the text (all optional); adherence compares them with the
+    // sessions logged on plan_date
+    @Column(name = "target_minutes")
+    private Integer targetMinutes;
+
+    @Column(name = "target_km", precision = 6, scale = 2)
+    private BigDecimal targetKm;
+
+    // planned effort, RPE 1–10
+    @Column(name = "target_intensity")
+    private Integer targetIntensity;
+
     // ===== Constructors =====
     public Plan() {}
 
@@ -65,4 +80,13 @@ public class Plan {
 
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
+
+    public Integer getTargetMinutes() { return targetMinutes; }
+    public void setTargetMinutes(Integer targetMinutes) { this.targetMinutes = targetMinutes; }
+
+    public BigDecimal getTargetKm() { return targetKm; }
+    public void setTargetKm(BigDecimal targetKm) { this.targetKm = targetKm; }
+
+    public Integer getTargetIntensity() { return targetIntensity; }
+    public void setTargetIntensity(Integer targetIntensity) { this.targetIntensity = targetIntensity; }
 }
@@ -9,7 +9,8 @@ import jakarta.persistence.*;
 public class PlyoMetric {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plyo_metrics_seq")
+    @SequenceGenerator(name = "plyo_metrics_seq", sequenceName = "plyo_metrics_seq", allocationSize = 50)
     @Column(name = "metric_id")
     private Integer id;
 
@@ -9,7 +9,8 @@ import jakarta.persistence.*;
 public class ReflexMetric {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reflex_metrics_seq")
+    @SequenceGenerator(name = "reflex_metrics_seq", sequenceName = "reflex_metrics_seq", allocationSize = 50)
     @Column(name = "metric_id")
     private Integer id;
 
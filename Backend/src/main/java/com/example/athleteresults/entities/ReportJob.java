@@ -0,0 +1,130 @@
+package com.example.athleteresults.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A queued or generated season report of a coach's squad. The table is the queue: workers
+ * claim queued rows and keep {@code heartbeat_at} fresh while they build; a running row whose
+ * heartbeat went stale (its instance stopped) is queued again. Each claim stamps a fresh
+ * {@code claim_token}, and only the worker holding it may write the outcome.
+ *
+ * {@code fingerprint} identifies the data the report was built from (squad, season and the
+ * latest change_log entry of the squad); a finished report with the same fingerprint is
+ * handed out again instead of generating a new one.
+ */
+@Entity
+@Table(name = "report_jobs",
+        indexes = {
+                @Index(name = "idx_report_jobs_status_created", columnList = "status, created_at"),
+                @Index(name = "idx_report_jobs_coach_season", columnList = "coach_id, season, fingerprint")
+        })
+public class ReportJob {
+
+    public static final String QUEUED = "queued";
+    public static final String RUNNING = "running";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String id;
+
+    @Column(name = "coach_id", nullable = false)
+    private Integer coachId;
+
+    @Column(name = "season", nullable = false)
+    private Integer season;
+
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "status", nullable = false, length = 10)
+    private String status;
+
+    @Column(name = "athletes", nullable = false)
+    private int athletes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // the claim the job is running under; a requeue clears it
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    // last sign of life of the worker building the report
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    // generated file on local disk (app.reports.dir)
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "file_bytes")
+    private Long fileBytes;
+
+    @Column(name = "error", length = 500)
+    private String error;
+
+    public ReportJob() {}
+
+    public ReportJob(String id, Integer coachId, Integer season, String fingerprint, int athletes,
+                     LocalDateTime createdAt) {
+        this.id = id;
+        this.coachId = coachId;
+        this.season = season;
+        this.fingerprint = fingerprint;
+        this.athletes = athletes;
+        this.createdAt = createdAt;
+        this.status = QUEUED;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Integer getCoachId() { return coachId; }
+    public void setCoachId(Integer coachId) { this.coachId = coachId; }
+
+    public Integer getSeason() { return season; }
+    public void setSeason(Integer season) { this.season = season; }
+
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getAthletes() { return athletes; }
+    public void setAthletes(int athletes) { this.athletes = athletes; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+
+    public String getFilePath() { return filePath; }
+    public void setFilePath(String filePath) { this.filePath = filePath; }
+
+    public Long getFileBytes() { return fileBytes; }
+    public void setFileBytes(Long fileBytes) { this.fileBytes = fileBytes; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
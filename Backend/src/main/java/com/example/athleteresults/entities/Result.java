@@ -1,6 +1,10 @@
 package com.example.athleteresults.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDate;
 
 @Entity
@@ -8,7 +12,8 @@ import java.time.LocalDate;
 public class Result {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "results_seq")
+    @SequenceGenerator(name = "results_seq", sequenceName = "results_seq", allocationSize = 50)
     @Column(name = "result_id")
     private Integer id;
 
@@ -35,6 +40,17 @@ public class Result {
     @Column(name = "notes")
     private String notes;  //  new field added
 
+    // Splits: lap time (ms) of every splitDistance metres, the last one may be shorter.
+    // One integer[] column instead of a row per lap; read and written through /{id}/splits only.
+    @JsonIgnore
+    @Column(name = "split_distance")
+    private Integer splitDistance;
+
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "split_ms", columnDefinition = "integer[]")
+    private int[] splitMs;
+
     // 🔹 Constructors
     public Result() {
     }
@@ -118,6 +134,12 @@ public class Result {
     }
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
+
+    public Integer getSplitDistance() { return splitDistance; }
+    public void setSplitDistance(Integer splitDistance) { this.splitDistance = splitDistance; }
+
+    public int[] getSplitMs() { return splitMs; }
+    public void setSplitMs(int[] splitMs) { this.splitMs = splitMs; }
 }
 
 
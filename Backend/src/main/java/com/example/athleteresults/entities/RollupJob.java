@@ -0,0 +1,81 @@
+package com.example.athleteresults.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One run of the rollup job. The athletes are split into {@link RollupJobChunk}s when the
+ * run is planned; a run that did not finish is resumed from its open chunks.
+ */
+@Entity
+@Table(name = "rollup_jobs")
+public class RollupJob {
+
+    public static final String RUNNING = "running";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long id;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "status", nullable = false, length = 10)
+    private String status;
+
+    // starts of this run, the first one included
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "athletes", nullable = false)
+    private int athletes;
+
+    @Column(name = "chunks", nullable = false)
+    private int chunks;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public RollupJob() {}
+
+    public RollupJob(LocalDate runDate, int athletes, int chunks, LocalDateTime startedAt) {
+        this.runDate = runDate;
+        this.athletes = athletes;
+        this.chunks = chunks;
+        this.startedAt = startedAt;
+        this.status = RUNNING;
+        this.attempts = 1;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getRunDate() { return runDate; }
+    public void setRunDate(LocalDate runDate) { this.runDate = runDate; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public int getAthletes() { return athletes; }
+    public void setAthletes(int athletes) { this.athletes = athletes; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,86 @@
+package com.example.athleteresults.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one slice of a {@link RollupJob}: the athletes with ids from
+ * {@code firstAthleteId} to {@code lastAthleteId}. It is marked done in the same transaction
+ * that writes the slice's rollups, so a resumed run skips exactly the finished slices.
+ */
+@Entity
+@Table(name = "rollup_job_chunks",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"job_id", "chunk_no"}))
+public class RollupJobChunk {
+
+    public static final String PENDING = "pending";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "chunk_id")
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "chunk_no", nullable = false)
+    private Integer chunkNo;
+
+    @Column(name = "first_athlete_id", nullable = false)
+    private Integer firstAthleteId;
+
+    @Column(name = "last_athlete_id", nullable = false)
+    private Integer lastAthleteId;
+
+    @Column(name = "status", nullable = false, length = 10)
+    private String status;
+
+    @Column(name = "rows_written")
+    private Integer rowsWritten;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error", length = 500)
+    private String error;
+
+    public RollupJobChunk() {}
+
+    public RollupJobChunk(Long jobId, Integer chunkNo, Integer firstAthleteId, Integer lastAthleteId) {
+        this.jobId = jobId;
+        this.chunkNo = chunkNo;
+        this.firstAthleteId = firstAthleteId;
+        this.lastAthleteId = lastAthleteId;
+        this.status = PENDING;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+
+    public Integer getChunkNo() { return chunkNo; }
+    public void setChunkNo(Integer chunkNo) { this.chunkNo = chunkNo; }
+
+    public Integer getFirstAthleteId() { return firstAthleteId; }
+    public void setFirstAthleteId(Integer firstAthleteId) { this.firstAthleteId = firstAthleteId; }
+
+    public Integer getLastAthleteId() { return lastAthleteId; }
+    public void setLastAthleteId(Integer lastAthleteId) { this.lastAthleteId = lastAthleteId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getRowsWritten() { return rowsWritten; }
+    public void setRowsWritten(Integer rowsWritten) { this.rowsWritten = rowsWritten; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
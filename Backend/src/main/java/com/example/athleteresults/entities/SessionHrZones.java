@@ -0,0 +1,83 @@
+package com.example.athleteresults.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Time in each of the five heart-rate zones of one run session, computed when the session
+ * (or its wearable stream) is written. Athlete and date are copied from the session so
+ * weekly / monthly rollups sum these rows without touching sessions.
+ */
+@Entity
+@Table(name = "session_hr_zones",
+        indexes = @Index(name = "idx_session_hr_zones_athlete_date", columnList = "athlete_id, run_date"))
+public class SessionHrZones {
+
+    public static final String SOURCE_STREAM = "stream";
+    public static final String SOURCE_AVERAGE = "average";
+
+    @Id
+    @Column(name = "session_id")
+    private Integer sessionId;
+
+    @Column(name = "athlete_id", nullable = false)
+    private Integer athleteId;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    // seconds per zone
+    @Column(name = "zone1_sec", nullable = false)
+    private int zone1;
+
+    @Column(name = "zone2_sec", nullable = false)
+    private int zone2;
+
+    @Column(name = "zone3_sec", nullable = false)
+    private int zone3;
+
+    @Column(name = "zone4_sec", nullable = false)
+    private int zone4;
+
+    @Column(name = "zone5_sec", nullable = false)
+    private int zone5;
+
+    // "stream" = per-sample, "average" = whole session in the zone of its average heart rate
+    @Column(name = "source", nullable = false, length = 10)
+    private String source;
+
+    public SessionHrZones() {}
+
+    public SessionHrZones(Integer sessionId, Integer athleteId, LocalDate runDate, int[] seconds, String source) {
+        this.sessionId = sessionId;
+        this.athleteId = athleteId;
+        this.runDate = runDate;
+        this.source = source;
+        setSeconds(seconds);
+    }
+
+    public int[] getSeconds() {
+        return new int[]{zone1, zone2, zone3, zone4, zone5};
+    }
+
+    public void setSeconds(int[] seconds) {
+        zone1 = seconds[0];
+        zone2 = seconds[1];
+        zone3 = seconds[2];
+        zone4 = seconds[3];
+        zone5 = seconds[4];
+    }
+
+    public Integer getSessionId() { return sessionId; }
+    public void setSessionId(Integer sessionId) { this.sessionId = sessionId; }
+
+    public Integer getAthleteId() { return athleteId; }
+    public void setAthleteId(Integer athleteId) { this.athleteId = athleteId; }
+
+    public LocalDate getRunDate() { return runDate; }
+    public void setRunDate(LocalDate runDate) { this.runDate = runDate; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+}
@@ -0,0 +1,82 @@
+package com.example.athleteresults.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * A run of up to {@code SessionStreamService.CHUNK_SIZE} consecutive wearable samples of one
+ * session, encoded by {@code StreamCodec}. Start / end time let range reads skip chunks
+ * without decoding them.
+ */
+@Entity
+@Table(name = "session_stream_chunks",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"session_id", "chunk_no"}))
+public class SessionStreamChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_stream_chunks_seq")
+    @SequenceGenerator(name = "session_stream_chunks_seq", sequenceName = "session_stream_chunks_seq", allocationSize = 50)
+    @Column(name = "chunk_id")
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Integer sessionId;
+
+    @Column(name = "chunk_no", nullable = false)
+    private Integer chunkNo;
+
+    // epoch milliseconds of the first / last sample
+    @Column(name = "start_time", nullable = false)
+    private Long startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private Long endTime;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    // length of data, so the stream's size can be summed without reading it
+    @Column(name = "data_bytes", nullable = false)
+    private Integer dataBytes;
+
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    public SessionStreamChunk() {}
+
+    public SessionStreamChunk(Integer sessionId, Integer chunkNo, Long startTime, Long endTime,
+                              Integer sampleCount, byte[] data) {
+        this.sessionId = sessionId;
+        this.chunkNo = chunkNo;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.sampleCount = sampleCount;
+        this.data = data;
+        this.dataBytes = data.length;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getSessionId() { return sessionId; }
+    public void setSessionId(Integer sessionId) { this.sessionId = sessionId; }
+
+    public Integer getChunkNo() { return chunkNo; }
+    public void setChunkNo(Integer chunkNo) { this.chunkNo = chunkNo; }
+
+    public Long getStartTime() { return startTime; }
+    public void setStartTime(Long startTime) { this.startTime = startTime; }
+
+    public Long getEndTime() { return endTime; }
+    public void setEndTime(Long endTime) { this.endTime = endTime; }
+
+    public Integer getSampleCount() { return sampleCount; }
+    public void setSampleCount(Integer sampleCount) { this.sampleCount = sampleCount; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) {
+        this.data = data;
+        this.dataBytes = data != null ? data.length : null;
+    }
+
+    public Integer getDataBytes() { return dataBytes; }
+}
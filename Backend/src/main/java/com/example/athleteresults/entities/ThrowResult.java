@@ -1,5 +1,6 @@
 package com.example.athleteresults.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -9,12 +10,15 @@ import java.time.LocalDate;
 public class ThrowResult {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "throw_results_seq")
+    @SequenceGenerator(name = "throw_results_seq", sequenceName = "throw_results_seq", allocationSize = 50)
     @Column(name = "throw_id")
     private Integer id;
 
-    @ManyToOne
+    // lazy: ThrowResultRepository fetches the athlete where the rows are serialized
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "athlete_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Athlete athlete;
 
     @Column(name = "throw_date", nullable = false)
@@ -9,7 +9,8 @@ import jakarta.persistence.*;
 public class WeightMetric {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weight_metrics_seq")
+    @SequenceGenerator(name = "weight_metrics_seq", sequenceName = "weight_metrics_seq", allocationSize = 50)
     @Column(name = "metric_id")
     private Integer id;
 
@@ -0,0 +1,49 @@
+package com.example.athleteresults.events;
+
+/**
+ * Published by the write endpoints once a row has been saved or deleted.
+ * Listeners (live feed, caches, rollups) react to it instead of re-reading whole tables.
+ *
+ * @param kind      which table changed
+ * @param action    created / updated / deleted
+ * @param athleteId owner of the row (may be null if it could not be resolved)
+ * @param entityId  primary key of the changed row
+ * @param payload   the saved entity / DTO, or null for deletes
+ * @param previousAthleteId owner before an update that moved the row to another athlete, else null
+ */
+public record DataChangeEvent(
+        Kind kind,
+        Action action,
+        Integer athleteId,
+        Integer entityId,
+        Object payload,
+        Integer previousAthleteId
+) {
+
+    public DataChangeEvent(Kind kind, Action action, Integer athleteId, Integer entityId, Object payload) {
+        this(kind, action, athleteId, entityId, payload, null);
+    }
+
+    // ATHLETE is published for profile updates and for deletes (the athlete and all of its rows are gone)
+    public enum Kind { RESULT, JUMP_RESULT, THROW_RESULT, SESSION, GYM_SESSION, WEIGHT_METRIC, PLYO_METRIC, REFLEX_METRIC, PLAN, ATHLETE }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    public static DataChangeEvent created(Kind kind, Integer athleteId, Integer entityId, Object payload) {
+        return new DataChangeEvent(kind, Action.CREATED, athleteId, entityId, payload);
+    }
+
+    public static DataChangeEvent updated(Kind kind, Integer athleteId, Integer entityId, Object payload) {
+        return new DataChangeEvent(kind, Action.UPDATED, athleteId, entityId, payload);
+    }
+
+    public static DataChangeEvent deleted(Kind kind, Integer athleteId, Integer entityId) {
+        return new DataChangeEvent(kind, Action.DELETED, athleteId, entityId, null);
+    }
+
+    /** This event, noting the owner the row had before the write if it was a different athlete. */
+    public DataChangeEvent withPreviousOwner(Integer previousAthleteId) {
+        if (previousAthleteId == null || previousAthleteId.equals(athleteId)) return this;
+        return new DataChangeEvent(kind, action, athleteId, entityId, payload, previousAthleteId);
+    }
+}
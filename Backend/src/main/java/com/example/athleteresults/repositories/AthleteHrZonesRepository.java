@@ -0,0 +1,16 @@
+package com.example.athleteresults.repositories;
+
+import com.example.athleteresults.entities.AthleteHrZones;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AthleteHrZonesRepository extends JpaRepository<AthleteHrZones, Integer> {
+
+    @Modifying
+    @Query("DELETE FROM AthleteHrZones z WHERE z.athleteId = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+}
@@ -1,8 +1,13 @@
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.AthleteProfileView;
 import com.example.athleteresults.entities.Athlete;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +23,22 @@ public interface AthleteRepository extends JpaRepository<Athlete, Integer> {
     // 🌍 Find athlete by PUBLIC ID (safe for frontend / URLs)
     Optional<Athlete> findByPublicId(String publicId);
 
+    // Row only — children must be removed first (see CascadeDeleteService)
+    @Modifying
+    @Query("DELETE FROM Athlete a WHERE a.id = :id")
+    int deleteRowById(@Param("id") Integer id);
+
+    // ===== Rollup job — every athlete id, in the order chunks are cut =====
+    @Query("SELECT a.id FROM Athlete a ORDER BY a.id")
+    List<Integer> findAllIds();
+
+    // ===== Performance classification =====
+    @Query("SELECT a.id AS id, a.category AS category, a.gender AS gender, a.performance AS performance FROM Athlete a")
+    List<AthleteProfileView> findProfiles();
+
+    // rows that already hold the class are skipped
+    @Modifying
+    @Query("UPDATE Athlete a SET a.performance = :performance " +
+            "WHERE a.id IN :ids AND (a.performance IS NULL OR a.performance <> :performance)")
+    int updatePerformance(@Param("ids") Collection<Integer> ids, @Param("performance") String performance);
 }
@@ -0,0 +1,34 @@
+package com.example.athleteresults.repositories;
+
+import com.example.athleteresults.entities.AthleteRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AthleteRollupRepository extends JpaRepository<AthleteRollup, Long> {
+
+    // Dashboard read — a range of the unique index (athlete_id, period, period_start, ...)
+    @Query("SELECT r FROM AthleteRollup r WHERE r.athleteId = :athleteId AND r.period = :period " +
+            "AND r.periodStart >= :from AND r.periodStart <= :to " +
+            "ORDER BY r.periodStart, r.discipline, r.event")
+    List<AthleteRollup> findRange(@Param("athleteId") Integer athleteId,
+                                  @Param("period") AthleteRollup.Period period,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to);
+
+    // ===== Job — a chunk's rows are replaced as a whole =====
+    @Modifying
+    @Query("DELETE FROM AthleteRollup r WHERE r.athleteId BETWEEN :first AND :last")
+    int deleteByAthleteIdBetween(@Param("first") Integer first, @Param("last") Integer last);
+
+    // ===== Bulk delete (after the athlete cascade) =====
+    @Modifying
+    @Query("DELETE FROM AthleteRollup r WHERE r.athleteId = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+}
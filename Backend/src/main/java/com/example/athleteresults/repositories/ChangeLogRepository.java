@@ -0,0 +1,59 @@
+package com.example.athleteresults.repositories;
+
+import com.example.athleteresults.entities.ChangeLogEntry;
+import com.example.athleteresults.events.DataChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // ===== Feed — changes after the cursor, oldest first (index change_log (athlete_id, seq)) =====
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.athleteId IN :athleteIds AND c.coachId IS NULL " +
+            "AND c.seq > :since ORDER BY c.seq")
+    List<ChangeLogEntry> findChanges(@Param("athleteIds") Collection<Integer> athleteIds,
+                                     @Param("since") long since,
+                                     Pageable pageable);
+
+    // coach feed: the squad's changes plus tombstones of athletes who left it (index change_log (coach_id, seq))
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.seq > :since " +
+            "AND ((c.athleteId IN :athleteIds AND c.coachId IS NULL) OR c.coachId = :coachId) ORDER BY c.seq")
+    List<ChangeLogEntry> findCoachChanges(@Param("coachId") Integer coachId,
+                                          @Param("athleteIds") Collection<Integer> athleteIds,
+                                          @Param("since") long since,
+                                          Pageable pageable);
+
+    // the athlete has a feed (also after the athlete itself is deleted: the tombstone stays)
+    boolean existsByAthleteIdAndCoachIdIsNull(Integer athleteId);
+
+    // ===== Append =====
+    // Serializes appenders until commit (readers are not blocked), so no lower seq can commit
+    // after a higher one has become visible.
+    @Modifying
+    @Query(value = "LOCK TABLE change_log IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForAppend();
+
+    // earlier entries of a row (one per owner it had), replaced by the new one
+    List<ChangeLogEntry> findByKindAndEntityId(DataChangeEvent.Kind kind, Integer entityId);
+
+    // ===== Report cache — latest change of a squad =====
+    @Query("SELECT MAX(c.seq) FROM ChangeLogEntry c WHERE c.athleteId IN :athleteIds")
+    Long findLatestSeq(@Param("athleteIds") Collection<Integer> athleteIds);
+
+    // ===== Bulk delete (athlete cascade, replaced by one ATHLETE tombstone; coach tombstones stay) =====
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.athleteId = :athleteId AND c.coachId IS NULL")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+
+    // earlier "left the squad" tombstone of the same coach / athlete, replaced by the new one
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.coachId = :coachId AND c.athleteId = :athleteId")
+    int deleteByCoachIdAndAthleteId(@Param("coachId") Integer coachId, @Param("athleteId") Integer athleteId);
+}
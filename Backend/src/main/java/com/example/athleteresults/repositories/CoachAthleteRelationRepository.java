@@ -1,9 +1,14 @@
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.AthleteRef;
 import com.example.athleteresults.entities.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +19,29 @@ public interface CoachAthleteRelationRepository extends JpaRepository<CoachAthle
 
     boolean existsByCoachIdAndAthleteIdAndStatusId(Integer coachId, Integer athleteId, Integer statusId);
 
+    // Coaches that have the given athlete under the given status (e.g. "accept")
+    @Query("SELECT r.coach.id FROM CoachAthleteRelation r WHERE r.athlete.id = :athleteId AND r.status.statusName = :statusName")
+    List<Integer> findCoachIdsByAthleteIdAndStatusName(@Param("athleteId") Integer athleteId,
+                                                       @Param("statusName") String statusName);
+
+    // Athletes of the given coach under the given status
+    @Query("SELECT r.athlete.id FROM CoachAthleteRelation r WHERE r.coach.id = :coachId AND r.status.statusName = :statusName")
+    List<Integer> findAthleteIdsByCoachIdAndStatusName(@Param("coachId") Integer coachId,
+                                                       @Param("statusName") String statusName);
+
+    // Same, with the names list views show
+    @Query("SELECT new com.example.athleteresults.dto.AthleteRef(a.id, a.name, a.lastname) " +
+            "FROM CoachAthleteRelation r JOIN r.athlete a " +
+            "WHERE r.coach.id = :coachId AND r.status.statusName = :statusName ORDER BY a.id")
+    List<AthleteRef> findAthleteRefsByCoachIdAndStatusName(@Param("coachId") Integer coachId,
+                                                           @Param("statusName") String statusName);
+
+    // ===== Bulk delete (athlete and coach cascades) =====
+    @Modifying
+    @Query("DELETE FROM CoachAthleteRelation r WHERE r.athlete.id = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+
+    @Modifying
+    @Query("DELETE FROM CoachAthleteRelation r WHERE r.coach.id = :coachId")
+    int deleteByCoachId(@Param("coachId") Integer coachId);
 }
@@ -2,6 +2,9 @@ package com.example.athleteresults.repositories;
 
 import com.example.athleteresults.entities.Coach;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -9,4 +12,8 @@ import java.util.Optional;
 public interface CoachRepository extends JpaRepository<Coach, Integer> {
     Optional<Coach> findByUserId(Integer userId);
 
+    // Row only — children must be removed first (see CascadeDeleteService)
+    @Modifying
+    @Query("DELETE FROM Coach c WHERE c.id = :id")
+    int deleteRowById(@Param("id") Integer id);
 }
@@ -1,11 +1,56 @@
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.GymSessionRefView;
 import com.example.athleteresults.entities.GymSession;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface GymSessionRepository extends JpaRepository<GymSession, Integer> {
+public interface GymSessionRepository extends JpaRepository<GymSession, Integer>, JpaSpecificationExecutor<GymSession> {
     List<GymSession> findByAthleteId(Integer athleteId);
+
+    // One page of an athlete's sessions inside a date window, newest first (no count query)
+    @Query("SELECT g FROM GymSession g WHERE g.athlete.id = :athleteId " +
+            "AND g.sessionDate BETWEEN :from AND :to ORDER BY g.sessionDate DESC, g.id DESC")
+    List<GymSession> findPageByAthleteId(@Param("athleteId") Integer athleteId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to,
+                                         Pageable pageable);
+
+    @Query("SELECT g.athlete.id FROM GymSession g WHERE g.id = :id")
+    Optional<Integer> findAthleteIdById(@Param("id") Integer id);
+
+    // Owner + date of every gym session, paged (training-load rebuild)
+    @Query("SELECT g.id AS id, g.athlete.id AS athleteId, g.sessionDate AS sessionDate FROM GymSession g")
+    Slice<GymSessionRefView> findRefs(Pageable pageable);
+
+    // Owner + date of a squad's gym sessions inside a date range, streamed (season reports)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT g.id AS id, g.athlete.id AS athleteId, g.sessionDate AS sessionDate FROM GymSession g " +
+            "WHERE g.athlete.id IN :athleteIds AND g.sessionDate BETWEEN :from AND :to")
+    Stream<GymSessionRefView> streamRefs(@Param("athleteIds") Collection<Integer> athleteIds,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    // ===== Bulk delete (athlete cascade, after its metrics) =====
+    @Modifying
+    @Query("DELETE FROM GymSession g WHERE g.athlete.id = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
 }
@@ -1,12 +1,76 @@
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.EventBestView;
+import com.example.athleteresults.dto.RollupSourceView;
+import com.example.athleteresults.dto.SeasonBestView;
 import com.example.athleteresults.entities.JumpResult;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface JumpResultRepository extends JpaRepository<JumpResult, Integer>, JpaSpecificationExecutor<JumpResult> {
     List<JumpResult> findByAthleteId(Integer athleteId);
-    void deleteByAthleteId(Integer athleteId);
+
+    // set-based: one statement instead of loading and removing every row
+    @Modifying
+    @Query("DELETE FROM JumpResult j WHERE j.athleteId = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+
+    @Query("SELECT j.athleteId FROM JumpResult j WHERE j.jumpId = :id")
+    Optional<Integer> findAthleteIdById(@Param("id") Integer id);
+
+    // ===== Leaderboards — longest jump per athlete / jump type / year =====
+    String SEASON_BESTS = "SELECT j.athleteId AS athleteId, j.jumpType AS event, " +
+            "YEAR(j.jumpDate) AS season, MAX(j.distanceM) AS best " +
+            "FROM JumpResult j WHERE j.athleteId IS NOT NULL AND j.jumpType IS NOT NULL " +
+            "AND j.distanceM IS NOT NULL AND j.jumpDate IS NOT NULL ";
+    String SEASON_BESTS_GROUP = "GROUP BY j.athleteId, j.jumpType, YEAR(j.jumpDate)";
+
+    @Query(SEASON_BESTS + SEASON_BESTS_GROUP)
+    List<SeasonBestView> findSeasonBests();
+
+    @Query(SEASON_BESTS + "AND j.athleteId = :athleteId " + SEASON_BESTS_GROUP)
+    List<SeasonBestView> findSeasonBestsByAthleteId(@Param("athleteId") Integer athleteId);
+
+    // ===== Nightly rollups — every jump of a range of athletes =====
+    @Query("SELECT j.athleteId AS athleteId, j.jumpType AS event, j.jumpDate AS date, " +
+            "j.distanceM AS mark, CAST(NULL AS Double) AS volume " +
+            "FROM JumpResult j WHERE j.athleteId BETWEEN :first AND :last")
+    List<RollupSourceView> findRollupSource(@Param("first") Integer first, @Param("last") Integer last);
+
+    // ===== Season reports — a squad's jumps up to a date, oldest first (streamed) =====
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT j.athleteId AS athleteId, j.jumpType AS event, j.jumpDate AS date, " +
+            "j.distanceM AS mark, CAST(NULL AS Double) AS volume " +
+            "FROM JumpResult j WHERE j.athleteId IN :athleteIds AND j.jumpDate <= :until " +
+            "ORDER BY j.jumpDate, j.id")
+    Stream<RollupSourceView> streamReportSource(@Param("athleteIds") Collection<Integer> athleteIds,
+                                                @Param("until") LocalDate until);
+
+    // ===== Performance classification — longest jump per athlete / jump type since a date =====
+    String RECENT_BESTS = "SELECT j.athleteId AS athleteId, j.jumpType AS event, MAX(j.distanceM) AS best " +
+            "FROM JumpResult j WHERE j.jumpDate >= :since ";
+    String RECENT_BESTS_GROUP = "GROUP BY j.athleteId, j.jumpType";
+
+    @Query(RECENT_BESTS + RECENT_BESTS_GROUP)
+    List<EventBestView> findRecentBests(@Param("since") LocalDate since);
+
+    @Query(RECENT_BESTS + "AND j.athleteId = :athleteId " + RECENT_BESTS_GROUP)
+    List<EventBestView> findRecentBestsByAthleteId(@Param("athleteId") Integer athleteId,
+                                                   @Param("since") LocalDate since);
 }
 
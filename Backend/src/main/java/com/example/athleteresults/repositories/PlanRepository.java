@@ -1,26 +1,153 @@
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.PlanAdherenceDayView;
+import com.example.athleteresults.dto.PlanAdherenceView;
+import com.example.athleteresults.dto.PlanCalendarView;
+import com.example.athleteresults.dto.PlanCountView;
 import com.example.athleteresults.entities.Plan;
-import com.example.athleteresults.entities.Result;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PlanRepository extends JpaRepository<Plan, Integer>, JpaSpecificationExecutor<Plan> {
 
+    // ===== Fetch plans — every PlanDTO reads the athlete and coach names =====
+    @Override
+    @EntityGraph(attributePaths = {"athlete", "coach"})
+    List<Plan> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"athlete", "coach"})
+    List<Plan> findAll(Specification<Plan> spec, Sort sort);
+
+    @Override
+    @EntityGraph(attributePaths = {"athlete", "coach"})
+    Optional<Plan> findById(Integer id);
+
+    @EntityGraph(attributePaths = {"athlete", "coach"})
     List<Plan> findByAthleteIdOrderByPlanDateAsc(Integer athleteId);
 
+    @EntityGraph(attributePaths = {"athlete", "coach"})
     List<Plan> findByCoachIdOrderByPlanDateAsc(Integer coachId);
 
 
     @Query(value = "SELECT * FROM plan WHERE plan_date = :date AND athlete_id = :athleteId", nativeQuery = true)
     List<Plan> findByDateAndAthleteId(@Param("date") LocalDate date, @Param("athleteId") Integer athleteId);
+
+    @Query("SELECT p.athlete.id FROM Plan p WHERE p.id = :id")
+    Optional<Integer> findAthleteIdById(@Param("id") Integer id);
+
+    // ===== Season reports — planned vs. filled-in plans per athlete inside a date range =====
+    @Query("SELECT p.athlete.id AS athleteId, COUNT(p) AS planned, " +
+            "SUM(CASE WHEN p.actualPlan IS NOT NULL AND TRIM(p.actualPlan) <> '' THEN 1 ELSE 0 END) AS completed " +
+            "FROM Plan p WHERE p.athlete.id IN :athleteIds AND p.planDate BETWEEN :from AND :to " +
+            "GROUP BY p.athlete.id")
+    List<PlanCountView> countByAthlete(@Param("athleteIds") Collection<Integer> athleteIds,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    // ===== Adherence — plans of a date range next to the sessions logged on the same day =====
+    // run / gym: sessions per athlete and day; plan_day: one row per plan with its flags. Every
+    // part reads one (athlete_id, date) index range per athlete.
+    String ADHERENCE_DAYS = "WITH run AS (" +
+            "SELECT s.athleteId AS athleteId, s.runDate AS onDate, COUNT(s) AS n, " +
+            "SUM(s.timeMin) AS minutes, SUM(s.distanceKm) AS km FROM Session s " +
+            "WHERE s.athleteId IN :athleteIds AND s.runDate BETWEEN :from AND :to " +
+            "GROUP BY s.athleteId, s.runDate" +
+            "), gym AS (" +
+            "SELECT g.athlete.id AS athleteId, g.sessionDate AS onDate, COUNT(g) AS n FROM GymSession g " +
+            "WHERE g.athlete.id IN :athleteIds AND g.sessionDate BETWEEN :from AND :to " +
+            "GROUP BY g.athlete.id, g.sessionDate" +
+            "), planDay AS (" +
+            "SELECT p.athlete.id AS athleteId, p.planDate AS planDate, p.targetMinutes AS targetMinutes, " +
+            "p.targetKm AS targetKm, p.targetIntensity AS targetIntensity, " +
+            "CASE WHEN p.actualPlan IS NOT NULL AND TRIM(p.actualPlan) <> '' THEN 1 ELSE 0 END AS reported, " +
+            "CASE WHEN r.n IS NOT NULL OR g.n IS NOT NULL THEN 1 ELSE 0 END AS trained, " +
+            "CASE WHEN (p.actualPlan IS NOT NULL AND TRIM(p.actualPlan) <> '') " +
+            "OR r.n IS NOT NULL OR g.n IS NOT NULL THEN 1 ELSE 0 END AS completed, " +
+            // within ±20 % of the volume target; minutes win over km, null without a target
+            "CASE WHEN p.targetMinutes IS NOT NULL THEN CASE WHEN COALESCE(r.minutes, 0) " +
+            "BETWEEN p.targetMinutes * 0.8 AND p.targetMinutes * 1.2 THEN 1 ELSE 0 END " +
+            "WHEN p.targetKm IS NOT NULL THEN CASE WHEN COALESCE(r.km, 0) " +
+            "BETWEEN p.targetKm * 0.8 AND p.targetKm * 1.2 THEN 1 ELSE 0 END END AS onTarget, " +
+            "COALESCE(r.n, 0) AS sessions, COALESCE(r.minutes, 0) AS loggedMinutes, " +
+            "COALESCE(r.km, 0) AS loggedKm, COALESCE(g.n, 0) AS gymSessions " +
+            "FROM Plan p " +
+            "LEFT JOIN run r ON r.athleteId = p.athlete.id AND r.onDate = p.planDate " +
+            "LEFT JOIN gym g ON g.athleteId = p.athlete.id AND g.onDate = p.planDate " +
+            "WHERE p.athlete.id IN :athleteIds AND p.planDate BETWEEN :from AND :to) ";
+
+    // every plan, with rolling windows over the athlete's last 7 / 28 plans
+    @Query(ADHERENCE_DAYS +
+            "SELECT d.athleteId AS athleteId, d.planDate AS planDate, d.targetMinutes AS targetMinutes, " +
+            "d.targetKm AS targetKm, d.targetIntensity AS targetIntensity, d.reported AS reported, " +
+            "d.trained AS trained, d.completed AS completed, d.onTarget AS onTarget, d.sessions AS sessions, " +
+            "d.loggedMinutes AS loggedMinutes, d.loggedKm AS loggedKm, d.gymSessions AS gymSessions, " +
+            "SUM(d.completed) OVER (PARTITION BY d.athleteId ORDER BY d.planDate " +
+            "ROWS BETWEEN 6 PRECEDING AND CURRENT ROW) AS completedLast7, " +
+            "SUM(d.completed) OVER (PARTITION BY d.athleteId ORDER BY d.planDate " +
+            "ROWS BETWEEN 27 PRECEDING AND CURRENT ROW) AS completedLast28, " +
+            "SUM(d.targetMinutes) OVER (PARTITION BY d.athleteId ORDER BY d.planDate " +
+            "ROWS BETWEEN 27 PRECEDING AND CURRENT ROW) AS targetMinutesLast28, " +
+            "SUM(CASE WHEN d.targetMinutes IS NOT NULL THEN d.loggedMinutes END) OVER (PARTITION BY d.athleteId " +
+            "ORDER BY d.planDate ROWS BETWEEN 27 PRECEDING AND CURRENT ROW) AS loggedMinutesLast28 " +
+            "FROM planDay d ORDER BY d.athleteId, d.planDate")
+    List<PlanAdherenceDayView> findAdherenceDays(@Param("athleteIds") Collection<Integer> athleteIds,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
+    // one row per athlete, ranked by completion rate across the given athletes
+    @Query(ADHERENCE_DAYS +
+            "SELECT d.athleteId AS athleteId, COUNT(*) AS planned, SUM(d.reported) AS reported, " +
+            "SUM(d.trained) AS trained, SUM(d.completed) AS completed, " +
+            "SUM(CASE WHEN d.planDate > :recent THEN 1 ELSE 0 END) AS recentPlanned, " +
+            "SUM(CASE WHEN d.planDate > :recent THEN d.completed ELSE 0 END) AS recentCompleted, " +
+            "COUNT(d.onTarget) AS volumeTargets, SUM(d.onTarget) AS onTarget, " +
+            "SUM(d.targetMinutes) AS targetMinutes, " +
+            "SUM(CASE WHEN d.targetMinutes IS NOT NULL THEN d.loggedMinutes END) AS loggedMinutes, " +
+            "SUM(d.targetKm) AS targetKm, " +
+            "SUM(CASE WHEN d.targetKm IS NOT NULL THEN d.loggedKm END) AS loggedKm, " +
+            "AVG(d.targetIntensity) AS targetIntensity, " +
+            "RANK() OVER (ORDER BY SUM(d.completed) * 1.0 / COUNT(*) DESC) AS squadRank, " +
+            "AVG(SUM(d.completed) * 1.0 / COUNT(*)) OVER () AS squadRate " +
+            "FROM planDay d GROUP BY d.athleteId ORDER BY d.athleteId")
+    List<PlanAdherenceView> findAdherence(@Param("athleteIds") Collection<Integer> athleteIds,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("recent") LocalDate recent);
+
+    // ===== Calendar — the coach's plans of a date range, without notes (plan (coach_id, plan_date) index) =====
+    @Query("SELECT a.id AS athleteId, a.name AS athleteName, a.lastname AS athleteLastname, " +
+            "p.planDate AS planDate, p.id AS planId, " +
+            "SUBSTRING(p.predictionPlan, 1, :summaryLength + 1) AS summary, " +
+            "CASE WHEN p.actualPlan IS NOT NULL AND TRIM(p.actualPlan) <> '' THEN 1 ELSE 0 END AS actualFilled " +
+            "FROM Plan p JOIN p.athlete a " +
+            "WHERE p.coach.id = :coachId AND p.planDate BETWEEN :from AND :to " +
+            "ORDER BY a.id, p.planDate, p.id")
+    List<PlanCalendarView> findCalendar(@Param("coachId") Integer coachId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("summaryLength") int summaryLength);
+
+    // ===== Bulk delete / detach (athlete and coach cascades) =====
+    @Modifying
+    @Query("DELETE FROM Plan p WHERE p.athlete.id = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+
+    // plans outlive their coach, they just lose the reference
+    @Modifying
+    @Query("UPDATE Plan p SET p.coach = null WHERE p.coach.id = :coachId")
+    int detachCoach(@Param("coachId") Integer coachId);
 }
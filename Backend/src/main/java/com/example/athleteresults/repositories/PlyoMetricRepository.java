@@ -1,12 +1,36 @@
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.MetricLoadView;
 import com.example.athleteresults.entities.PlyoMetric;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PlyoMetricRepository extends JpaRepository<PlyoMetric, Integer> {
     List<PlyoMetric> findByGymSessionId(Integer gymId);
-}
 
+    // All rows of several gym sessions in one IN query
+    List<PlyoMetric> findByGymSessionIdIn(Collection<Integer> gymIds);
+
+    // Owner lookup used when publishing change events
+    @Query("SELECT p.gymSession.athlete.id FROM PlyoMetric p WHERE p.id = :id")
+    Optional<Integer> findAthleteIdById(@Param("id") Integer id);
+
+    // ground contacts per row, paged (training-load rebuild)
+    @Query("SELECT p.id AS id, p.gymSession.id AS gymId, COALESCE(p.contacts, 0) AS amount FROM PlyoMetric p")
+    Slice<MetricLoadView> findLoadRows(Pageable pageable);
+
+    // ===== Bulk delete (athlete cascade) =====
+    @Modifying
+    @Query("DELETE FROM PlyoMetric p WHERE p.gymSession.id IN " +
+            "(SELECT g.id FROM GymSession g WHERE g.athlete.id = :athleteId)")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+}
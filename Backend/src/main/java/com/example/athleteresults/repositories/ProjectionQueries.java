@@ -0,0 +1,67 @@
+package com.example.athleteresults.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the same {@link Specification}s as the repositories but selects only the given
+ * attribute paths, passed to a constructor of the result type. List endpoints use it so
+ * large free-text columns are neither read nor serialized.
+ *
+ * Nested paths ("athlete.name") are resolved through LEFT joins, so rows with an empty
+ * association are kept.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class ProjectionQueries {
+
+    private final EntityManager em;
+
+    public ProjectionQueries(EntityManager em) {
+        this.em = em;
+    }
+
+    public <T, D> List<D> list(Class<T> entity, Specification<T> spec, Sort sort, Class<D> type, String... paths) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(type);
+        Root<T> root = query.from(entity);
+
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        Selection<?>[] columns = new Selection<?>[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            columns[i] = path(root, paths[i], joins);
+        }
+        query.select(cb.construct(type, columns));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) query.where(predicate);
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return em.createQuery(query).getResultList();
+    }
+
+    private static Path<?> path(Root<?> root, String path, Map<String, From<?, ?>> joins) {
+        String[] parts = path.split("\\.");
+        From<?, ?> from = root;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < parts.length - 1; i++) {
+            prefix.append(parts[i]).append('.');
+            From<?, ?> parent = from;
+            String attribute = parts[i];
+            from = joins.computeIfAbsent(prefix.toString(), k -> parent.join(attribute, JoinType.LEFT));
+        }
+        return from.get(parts[parts.length - 1]);
+    }
+}
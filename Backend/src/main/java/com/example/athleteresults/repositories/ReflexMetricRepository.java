@@ -3,11 +3,29 @@ package com.example.athleteresults.repositories;
 
 import com.example.athleteresults.entities.ReflexMetric;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReflexMetricRepository extends JpaRepository<ReflexMetric, Integer> {
     // Returns all ReflexMetric records for a given gym session ID
     List<ReflexMetric> findByGymSessionId(Integer gymId);
+
+    // All rows of several gym sessions in one IN query
+    List<ReflexMetric> findByGymSessionIdIn(Collection<Integer> gymIds);
+
+    // Owner lookup used when publishing change events
+    @Query("SELECT r.gymSession.athlete.id FROM ReflexMetric r WHERE r.id = :id")
+    Optional<Integer> findAthleteIdById(@Param("id") Integer id);
+
+    // ===== Bulk delete (athlete cascade) =====
+    @Modifying
+    @Query("DELETE FROM ReflexMetric r WHERE r.gymSession.id IN " +
+            "(SELECT g.id FROM GymSession g WHERE g.athlete.id = :athleteId)")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
 }
@@ -0,0 +1,63 @@
+package com.example.athleteresults.repositories;
+
+import com.example.athleteresults.entities.ReportJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    // a report of the same data that is done or on its way
+    Optional<ReportJob> findFirstByCoachIdAndSeasonAndFingerprintAndStatusInOrderByCreatedAtDesc(
+            Integer coachId, Integer season, String fingerprint, Collection<String> statuses);
+
+    // finished reports replaced by a newer one
+    List<ReportJob> findByCoachIdAndSeasonAndStatusAndCreatedAtBefore(Integer coachId, Integer season,
+                                                                      String status, LocalDateTime before);
+
+    // ===== Queue — oldest first (index report_jobs (status, created_at)) =====
+    @Query("SELECT j.id FROM ReportJob j WHERE j.status = 'queued' ORDER BY j.createdAt")
+    List<String> findQueuedIds(Pageable pageable);
+
+    // only one worker wins a job
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = 'running', j.claimToken = :claim, j.startedAt = :now, "
+            + "j.heartbeatAt = :now WHERE j.id = :id AND j.status = 'queued'")
+    int claim(@Param("id") String id, @Param("claim") String claim, @Param("now") LocalDateTime now);
+
+    // the jobs this instance is building are still alive
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.heartbeatAt = :now WHERE j.claimToken IN :claims AND j.status = 'running'")
+    int heartbeat(@Param("claims") Collection<String> claims, @Param("now") LocalDateTime now);
+
+    // the outcome is written only while the job is still running under the worker's claim
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :status, j.fingerprint = :fingerprint, j.athletes = :athletes, "
+            + "j.filePath = :filePath, j.fileBytes = :fileBytes, j.error = :error, j.finishedAt = :finishedAt, "
+            + "j.claimToken = null, j.heartbeatAt = null "
+            + "WHERE j.id = :id AND j.claimToken = :claim AND j.status = 'running'")
+    int finish(@Param("id") String id,
+               @Param("claim") String claim,
+               @Param("status") String status,
+               @Param("fingerprint") String fingerprint,
+               @Param("athletes") int athletes,
+               @Param("filePath") String filePath,
+               @Param("fileBytes") Long fileBytes,
+               @Param("error") String error,
+               @Param("finishedAt") LocalDateTime finishedAt);
+
+    // jobs of a stopped instance (no heartbeat since :before) go back into the queue
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = 'queued', j.claimToken = null, j.startedAt = null, "
+            + "j.heartbeatAt = null WHERE j.status = 'running' AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :before)")
+    int requeueStale(@Param("before") LocalDateTime before);
+}
@@ -1,12 +1,105 @@
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.BestMarkView;
+import com.example.athleteresults.dto.EventBestView;
+import com.example.athleteresults.dto.RollupSourceView;
+import com.example.athleteresults.dto.SeasonBestView;
+import com.example.athleteresults.dto.SplitRow;
 import com.example.athleteresults.entities.Result;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ResultRepository extends JpaRepository<Result, Integer>, JpaSpecificationExecutor<Result> {
     List<Result> findByAthleteId(Integer athleteId);
-    void deleteByAthleteId(Integer athleteId);
+
+    // set-based: one statement instead of loading and removing every row
+    @Modifying
+    @Query("DELETE FROM Result r WHERE r.athleteId = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+
+    @Query("SELECT r.athleteId FROM Result r WHERE r.id = :id")
+    Optional<Integer> findAthleteIdById(@Param("id") Integer id);
+
+    // ===== Leaderboards — best time per athlete / distance+race / year =====
+    String SEASON_BESTS = "SELECT r.athleteId AS athleteId, " +
+            "CONCAT(CAST(r.distance AS String), 'm ', COALESCE(r.race, '')) AS event, " +
+            "YEAR(r.raceDate) AS season, MIN(r.timeMs) AS best " +
+            "FROM Result r WHERE r.athleteId IS NOT NULL AND r.distance IS NOT NULL " +
+            "AND r.timeMs IS NOT NULL AND r.raceDate IS NOT NULL ";
+    String SEASON_BESTS_GROUP = "GROUP BY r.athleteId, r.distance, r.race, YEAR(r.raceDate)";
+
+    @Query(SEASON_BESTS + SEASON_BESTS_GROUP)
+    List<SeasonBestView> findSeasonBests();
+
+    @Query(SEASON_BESTS + "AND r.athleteId = :athleteId " + SEASON_BESTS_GROUP)
+    List<SeasonBestView> findSeasonBestsByAthleteId(@Param("athleteId") Integer athleteId);
+
+    // ===== Performance classification — best time per athlete / distance+race since a date =====
+    String RECENT_BESTS = "SELECT r.athleteId AS athleteId, " +
+            "CONCAT(CAST(r.distance AS String), 'm ', COALESCE(r.race, '')) AS event, MIN(r.timeMs) AS best " +
+            "FROM Result r WHERE r.athleteId IS NOT NULL AND r.distance IS NOT NULL " +
+            "AND r.timeMs IS NOT NULL AND r.raceDate >= :since ";
+    String RECENT_BESTS_GROUP = "GROUP BY r.athleteId, r.distance, r.race";
+
+    @Query(RECENT_BESTS + RECENT_BESTS_GROUP)
+    List<EventBestView> findRecentBests(@Param("since") LocalDate since);
+
+    @Query(RECENT_BESTS + "AND r.athleteId = :athleteId " + RECENT_BESTS_GROUP)
+    List<EventBestView> findRecentBestsByAthleteId(@Param("athleteId") Integer athleteId,
+                                                   @Param("since") LocalDate since);
+
+    // ===== Nightly rollups — every timed result of a range of athletes =====
+    @Query("SELECT r.athleteId AS athleteId, " +
+            "CONCAT(CAST(r.distance AS String), 'm ', COALESCE(r.race, '')) AS event, " +
+            "r.raceDate AS date, r.timeMs AS mark, r.distance AS volume " +
+            "FROM Result r WHERE r.athleteId BETWEEN :first AND :last AND r.distance IS NOT NULL " +
+            "AND r.timeMs IS NOT NULL AND r.raceDate IS NOT NULL")
+    List<RollupSourceView> findRollupSource(@Param("first") Integer first, @Param("last") Integer last);
+
+    // ===== Season reports — a squad's timed results up to a date, oldest first (streamed) =====
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.athleteId AS athleteId, " +
+            "CONCAT(CAST(r.distance AS String), 'm ', COALESCE(r.race, '')) AS event, " +
+            "r.raceDate AS date, r.timeMs AS mark, r.distance AS volume " +
+            "FROM Result r WHERE r.athleteId IN :athleteIds AND r.distance IS NOT NULL " +
+            "AND r.timeMs IS NOT NULL AND r.raceDate <= :until ORDER BY r.raceDate, r.id")
+    Stream<RollupSourceView> streamReportSource(@Param("athleteIds") Collection<Integer> athleteIds,
+                                                @Param("until") LocalDate until);
+
+    // ===== Race-time prediction — best time per athlete and distance since a date =====
+    @Query("SELECT r.athleteId AS athleteId, r.distance AS distance, MIN(r.timeMs) AS best " +
+            "FROM Result r WHERE r.athleteId IN :athleteIds AND r.raceDate >= :since " +
+            "AND r.distance >= :minDistance AND r.timeMs > 0 " +
+            "GROUP BY r.athleteId, r.distance")
+    List<BestMarkView> findBestMarks(@Param("athleteIds") Collection<Integer> athleteIds,
+                                     @Param("since") LocalDate since,
+                                     @Param("minDistance") int minDistance);
+
+    // ===== Split analytics — races with splits, streamed in date order (caller holds the transaction) =====
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.athleteresults.dto.SplitRow(r.id, r.athleteId, r.raceDate, " +
+            "r.distance, r.splitDistance, r.splitMs) FROM Result r " +
+            "WHERE r.athleteId IN :athleteIds AND r.splitMs IS NOT NULL AND r.splitDistance IS NOT NULL " +
+            "AND r.distance IS NOT NULL AND (:distance IS NULL OR r.distance = :distance) " +
+            "ORDER BY r.raceDate, r.id")
+    Stream<SplitRow> streamSplitRows(@Param("athleteIds") Collection<Integer> athleteIds,
+                                     @Param("distance") Integer distance);
 }
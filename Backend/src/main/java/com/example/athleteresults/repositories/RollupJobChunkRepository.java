@@ -0,0 +1,16 @@
+package com.example.athleteresults.repositories;
+
+import com.example.athleteresults.entities.RollupJobChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RollupJobChunkRepository extends JpaRepository<RollupJobChunk, Long> {
+
+    // open chunks of a run (pending, or failed on an earlier attempt)
+    List<RollupJobChunk> findByJobIdAndStatusNotOrderByChunkNo(Long jobId, String status);
+
+    long countByJobIdAndStatus(Long jobId, String status);
+}
@@ -0,0 +1,13 @@
+package com.example.athleteresults.repositories;
+
+import com.example.athleteresults.entities.RollupJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RollupJobRepository extends JpaRepository<RollupJob, Long> {
+
+    Optional<RollupJob> findTopByOrderByIdDesc();
+}
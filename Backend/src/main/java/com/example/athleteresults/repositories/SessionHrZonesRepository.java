@@ -0,0 +1,32 @@
+package com.example.athleteresults.repositories;
+
+import com.example.athleteresults.dto.HrZoneDayView;
+import com.example.athleteresults.entities.SessionHrZones;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SessionHrZonesRepository extends JpaRepository<SessionHrZones, Integer> {
+
+    // Per-day sums of the stored counters (index on athlete_id, run_date)
+    @Query("SELECT z.runDate AS runDate, COUNT(z) AS sessions, " +
+            "SUM(z.zone1) AS zone1, SUM(z.zone2) AS zone2, SUM(z.zone3) AS zone3, " +
+            "SUM(z.zone4) AS zone4, SUM(z.zone5) AS zone5 " +
+            "FROM SessionHrZones z WHERE z.athleteId = :athleteId " +
+            "AND z.runDate >= :from AND z.runDate <= :to " +
+            "GROUP BY z.runDate ORDER BY z.runDate")
+    List<HrZoneDayView> sumPerDay(@Param("athleteId") Integer athleteId,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to);
+
+    // ===== Bulk delete (after the athlete cascade) =====
+    @Modifying
+    @Query("DELETE FROM SessionHrZones z WHERE z.athleteId = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+}
@@ -1,11 +1,21 @@
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.RollupSourceView;
 import com.example.athleteresults.entities.Session;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SessionRepository extends JpaRepository<Session, Integer> {
@@ -18,5 +28,31 @@ public interface SessionRepository extends JpaRepository<Session, Integer> {
 
     //  Get sessions by athlete + specific date (for calendar filter)
     List<Session> findByAthleteIdAndRunDate(Integer athleteId, LocalDate runDate);
-}
 
+    //  Owner lookup used when publishing delete events
+    @Query("SELECT s.athleteId FROM Session s WHERE s.id = :id")
+    Optional<Integer> findAthleteIdById(@Param("id") Integer id);
+
+    // ===== Nightly rollups — every session of a range of athletes =====
+    @Query("SELECT s.athleteId AS athleteId, CAST(NULL AS String) AS event, s.runDate AS date, " +
+            "s.distanceKm AS mark, s.timeMin AS volume " +
+            "FROM Session s WHERE s.athleteId BETWEEN :first AND :last")
+    List<RollupSourceView> findRollupSource(@Param("first") Integer first, @Param("last") Integer last);
+
+    // ===== Season reports — a squad's sessions inside a date range (streamed) =====
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.athleteId AS athleteId, CAST(NULL AS String) AS event, s.runDate AS date, " +
+            "s.distanceKm AS mark, s.timeMin AS volume " +
+            "FROM Session s WHERE s.athleteId IN :athleteIds AND s.runDate BETWEEN :from AND :to")
+    Stream<RollupSourceView> streamReportSource(@Param("athleteIds") Collection<Integer> athleteIds,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    // ===== Bulk delete (athlete cascade) =====
+    @Modifying
+    @Query("DELETE FROM Session s WHERE s.athleteId = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+}
@@ -0,0 +1,40 @@
+package com.example.athleteresults.repositories;
+
+import com.example.athleteresults.dto.StreamInfo;
+import com.example.athleteresults.entities.SessionStreamChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SessionStreamChunkRepository extends JpaRepository<SessionStreamChunk, Long> {
+
+    // Chunks overlapping [from, to] (epoch ms), in time order — only these are decoded
+    @Query("SELECT c FROM SessionStreamChunk c WHERE c.sessionId = :sessionId " +
+            "AND c.endTime >= :from AND c.startTime <= :to ORDER BY c.chunkNo")
+    List<SessionStreamChunk> findOverlapping(@Param("sessionId") Integer sessionId,
+                                             @Param("from") long from,
+                                             @Param("to") long to);
+
+    List<SessionStreamChunk> findBySessionIdOrderByChunkNo(Integer sessionId);
+
+    // Extent of the stream without reading any chunk data
+    @Query("SELECT new com.example.athleteresults.dto.StreamInfo(MIN(c.startTime), MAX(c.endTime), " +
+            "SUM(c.sampleCount), COUNT(c), SUM(c.dataBytes)) " +
+            "FROM SessionStreamChunk c WHERE c.sessionId = :sessionId")
+    StreamInfo findInfo(@Param("sessionId") Integer sessionId);
+
+    @Modifying
+    @Query("DELETE FROM SessionStreamChunk c WHERE c.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") Integer sessionId);
+
+    // ===== Bulk delete (athlete cascade) =====
+    @Modifying
+    @Query("DELETE FROM SessionStreamChunk c WHERE c.sessionId IN " +
+            "(SELECT s.id FROM Session s WHERE s.athleteId = :athleteId)")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+}
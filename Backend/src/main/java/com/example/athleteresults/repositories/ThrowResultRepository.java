@@ -1,12 +1,94 @@
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.EventBestView;
+import com.example.athleteresults.dto.RollupSourceView;
+import com.example.athleteresults.dto.SeasonBestView;
 import com.example.athleteresults.entities.ThrowResult;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ThrowResultRepository
         extends JpaRepository<ThrowResult, Integer>, JpaSpecificationExecutor<ThrowResult> {
+
+    // ===== Fetch rows with their athlete (serialized as a nested object) =====
+    @Override
+    @EntityGraph(attributePaths = "athlete")
+    List<ThrowResult> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "athlete")
+    List<ThrowResult> findAll(Specification<ThrowResult> spec, Sort sort);
+
+    @Override
+    @EntityGraph(attributePaths = "athlete")
+    Optional<ThrowResult> findById(Integer id);
+
+    @EntityGraph(attributePaths = "athlete")
     List<ThrowResult> findByAthleteId(Integer athleteId);
-}
 
+    @Query("SELECT t.athlete.id FROM ThrowResult t WHERE t.id = :id")
+    Optional<Integer> findAthleteIdById(@Param("id") Integer id);
+
+    // ===== Leaderboards — longest throw per athlete / event / year =====
+    String SEASON_BESTS = "SELECT t.athlete.id AS athleteId, t.event AS event, " +
+            "YEAR(t.throwDate) AS season, MAX(t.distance) AS best " +
+            "FROM ThrowResult t WHERE t.athlete.id IS NOT NULL AND t.event IS NOT NULL " +
+            "AND t.distance IS NOT NULL AND t.throwDate IS NOT NULL ";
+    String SEASON_BESTS_GROUP = "GROUP BY t.athlete.id, t.event, YEAR(t.throwDate)";
+
+    @Query(SEASON_BESTS + SEASON_BESTS_GROUP)
+    List<SeasonBestView> findSeasonBests();
+
+    @Query(SEASON_BESTS + "AND t.athlete.id = :athleteId " + SEASON_BESTS_GROUP)
+    List<SeasonBestView> findSeasonBestsByAthleteId(@Param("athleteId") Integer athleteId);
+
+    // ===== Nightly rollups — every throw of a range of athletes =====
+    @Query("SELECT t.athlete.id AS athleteId, t.event AS event, t.throwDate AS date, " +
+            "t.distance AS mark, CAST(NULL AS Double) AS volume " +
+            "FROM ThrowResult t WHERE t.athlete.id BETWEEN :first AND :last")
+    List<RollupSourceView> findRollupSource(@Param("first") Integer first, @Param("last") Integer last);
+
+    // ===== Season reports — a squad's throws up to a date, oldest first (streamed) =====
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.athlete.id AS athleteId, t.event AS event, t.throwDate AS date, " +
+            "t.distance AS mark, CAST(NULL AS Double) AS volume " +
+            "FROM ThrowResult t WHERE t.athlete.id IN :athleteIds AND t.throwDate <= :until " +
+            "ORDER BY t.throwDate, t.id")
+    Stream<RollupSourceView> streamReportSource(@Param("athleteIds") Collection<Integer> athleteIds,
+                                                @Param("until") LocalDate until);
+
+    // ===== Performance classification — longest throw per athlete / event since a date =====
+    String RECENT_BESTS = "SELECT t.athlete.id AS athleteId, t.event AS event, MAX(t.distance) AS best " +
+            "FROM ThrowResult t WHERE t.throwDate >= :since ";
+    String RECENT_BESTS_GROUP = "GROUP BY t.athlete.id, t.event";
+
+    @Query(RECENT_BESTS + RECENT_BESTS_GROUP)
+    List<EventBestView> findRecentBests(@Param("since") LocalDate since);
+
+    @Query(RECENT_BESTS + "AND t.athlete.id = :athleteId " + RECENT_BESTS_GROUP)
+    List<EventBestView> findRecentBestsByAthleteId(@Param("athleteId") Integer athleteId,
+                                                   @Param("since") LocalDate since);
+
+    // ===== Bulk delete (athlete cascade) =====
+    @Modifying
+    @Query("DELETE FROM ThrowResult t WHERE t.athlete.id = :athleteId")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
+}
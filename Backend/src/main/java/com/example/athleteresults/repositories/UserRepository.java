@@ -1,13 +1,25 @@
 package com.example.athleteresults.repositories;
 
 import com.example.athleteresults.entities.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     boolean existsByUsername(String username);
 
+    // ===== Fetch users with their roles (authorities, role checks, admin list) =====
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
+
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    List<User> findAll();
 }
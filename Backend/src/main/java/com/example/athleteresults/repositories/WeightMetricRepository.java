@@ -1,13 +1,38 @@
 
 package com.example.athleteresults.repositories;
 
+import com.example.athleteresults.dto.MetricLoadView;
 import com.example.athleteresults.entities.WeightMetric;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WeightMetricRepository extends JpaRepository<WeightMetric, Integer> {
     // Returns all WeightMetric records for a given gym session ID
     List<WeightMetric> findByGymSessionId(Integer gymId);
+
+    // All rows of several gym sessions in one IN query
+    List<WeightMetric> findByGymSessionIdIn(Collection<Integer> gymIds);
+
+    // Owner lookup used when publishing change events
+    @Query("SELECT w.gymSession.athlete.id FROM WeightMetric w WHERE w.id = :id")
+    Optional<Integer> findAthleteIdById(@Param("id") Integer id);
+
+    // kg lifted per row, paged (training-load rebuild)
+    @Query("SELECT w.id AS id, w.gymSession.id AS gymId, COALESCE(w.sets, 1) * COALESCE(w.reps, 0) * COALESCE(w.weightGym, 0) AS amount FROM WeightMetric w")
+    Slice<MetricLoadView> findLoadRows(Pageable pageable);
+
+    // ===== Bulk delete (athlete cascade) =====
+    @Modifying
+    @Query("DELETE FROM WeightMetric w WHERE w.gymSession.id IN " +
+            "(SELECT g.id FROM GymSession g WHERE g.athlete.id = :athleteId)")
+    int deleteByAthleteId(@Param("athleteId") Integer athleteId);
 }
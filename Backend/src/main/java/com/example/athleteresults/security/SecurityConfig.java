@@ -1,5 +1,6 @@
 package com.example.athleteresults.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -39,6 +40,9 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
 
+                        // 🔓 Async re-dispatch of SSE streams (already authorized on the first request)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // 🔓 PUBLIC ENDPOINTS
                         .requestMatchers(
                                 "/api/auth/**",
@@ -0,0 +1,233 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.entities.JumpResult;
+import com.example.athleteresults.entities.Result;
+import com.example.athleteresults.entities.Session;
+import com.example.athleteresults.entities.ThrowResult;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.JumpResultRepository;
+import com.example.athleteresults.repositories.ResultRepository;
+import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.repositories.ThrowResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * In-memory columnar mirror of results, jump_results, throw_results and sessions
+ * for analytic queries (averages, trends, per-event comparisons).
+ *
+ * Loaded page by page at startup, then kept in sync from {@link DataChangeEvent}
+ * payloads without touching the database. Marks are stored as scaled longs:
+ * results in ms (+ distance in m), jumps/throws in mm, sessions in 1/100 min (+ 1/100 km).
+ */
+@Service
+public class AnalyticsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsStore.class);
+    private static final int PAGE_SIZE = 5000;
+
+    public enum Table {
+        RESULTS(1, 1), JUMPS(1000, 1), THROWS(1000, 1), SESSIONS(100, 100);
+
+        // divide stored longs by these to get ms / m / min (value) and m / km (value2)
+        final int scale;
+        final int scale2;
+
+        Table(int scale, int scale2) {
+            this.scale = scale;
+            this.scale2 = scale2;
+        }
+    }
+
+    public enum GroupBy { NONE, ATHLETE, EVENT, MONTH }
+
+    /** Filter of a query; every field is optional. */
+    public record Query(Integer athleteId, String event, LocalDate from, LocalDate to) {}
+
+    /** One aggregate row, in natural units. {@code key} is null for NONE. */
+    public record Aggregate(String key, long count, double sum, double min, double max, double avg, double sum2) {}
+
+    private final ResultRepository resultRepo;
+    private final JumpResultRepository jumpRepo;
+    private final ThrowResultRepository throwRepo;
+    private final SessionRepository sessionRepo;
+
+    private final Map<Table, ColumnTable> tables = new EnumMap<>(Table.class);
+
+    public AnalyticsStore(ResultRepository resultRepo,
+                          JumpResultRepository jumpRepo,
+                          ThrowResultRepository throwRepo,
+                          SessionRepository sessionRepo) {
+        this.resultRepo = resultRepo;
+        this.jumpRepo = jumpRepo;
+        this.throwRepo = throwRepo;
+        this.sessionRepo = sessionRepo;
+        for (Table t : Table.values()) tables.put(t, new ColumnTable());
+    }
+
+    // ====== LOAD (startup) ======
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loadAll(resultRepo, "id", this::put);
+        loadAll(jumpRepo, "jumpId", this::put);
+        loadAll(throwRepo, "id", this::put);
+        loadAll(sessionRepo, "id", this::put);
+        log.info("Analytics store loaded: results={}, jumps={}, throws={}, sessions={}",
+                rows(Table.RESULTS), rows(Table.JUMPS), rows(Table.THROWS), rows(Table.SESSIONS));
+    }
+
+    private <T> void loadAll(JpaRepository<T, Integer> repo, String idProperty, Consumer<T> sink) {
+        Page<T> page;
+        int n = 0;
+        do {
+            page = repo.findAll(PageRequest.of(n++, PAGE_SIZE, Sort.by(idProperty)));
+            page.forEach(sink);
+        } while (page.hasNext());
+    }
+
+    // ====== INCREMENTAL UPDATE ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.kind() == DataChangeEvent.Kind.ATHLETE) {
+            if (event.action() == DataChangeEvent.Action.DELETED && event.athleteId() != null) {
+                tables.values().forEach(t -> t.deleteAthlete(event.athleteId()));
+            }
+            return;
+        }
+        Table table = switch (event.kind()) {
+            case RESULT -> Table.RESULTS;
+            case JUMP_RESULT -> Table.JUMPS;
+            case THROW_RESULT -> Table.THROWS;
+            case SESSION -> Table.SESSIONS;
+            default -> null;
+        };
+        if (table == null || event.entityId() == null) return;
+
+        if (event.action() == DataChangeEvent.Action.DELETED) {
+            tables.get(table).delete(event.entityId());
+            return;
+        }
+        Object payload = event.payload();
+        if (payload instanceof Result r) put(r);
+        else if (payload instanceof JumpResult j) put(j);
+        else if (payload instanceof ThrowResult t) put(t);
+        else if (payload instanceof Session s) put(s);
+    }
+
+    // ====== ROW MAPPING ======
+    void put(Result r) {
+        if (r.getId() == null) return;
+        if (r.getAthleteId() == null || r.getRaceDate() == null || r.getTimeMs() == null) {
+            tables.get(Table.RESULTS).delete(r.getId());
+            return;
+        }
+        String event = r.getDistance() == null ? null
+                : r.getDistance() + "m " + (r.getRace() != null ? r.getRace() : "");
+        tables.get(Table.RESULTS).upsert(r.getId(), r.getAthleteId(),
+                day(r.getRaceDate()), month(r.getRaceDate()), event,
+                r.getTimeMs(), r.getDistance() != null ? r.getDistance() : 0);
+    }
+
+    void put(JumpResult j) {
+        if (j.getJumpId() == null) return;
+        if (j.getAthleteId() == null || j.getJumpDate() == null || j.getDistanceM() == null) {
+            tables.get(Table.JUMPS).delete(j.getJumpId());
+            return;
+        }
+        tables.get(Table.JUMPS).upsert(j.getJumpId(), j.getAthleteId(),
+                day(j.getJumpDate()), month(j.getJumpDate()), j.getJumpType(),
+                Math.round(j.getDistanceM() * 1000), 0);
+    }
+
+    void put(ThrowResult t) {
+        if (t.getId() == null) return;
+        if (t.getAthlete() == null || t.getAthlete().getId() == null
+                || t.getThrowDate() == null || t.getDistance() == null) {
+            tables.get(Table.THROWS).delete(t.getId());
+            return;
+        }
+        tables.get(Table.THROWS).upsert(t.getId(), t.getAthlete().getId(),
+                day(t.getThrowDate()), month(t.getThrowDate()), t.getEvent(),
+                scaled(t.getDistance(), 1000), 0);
+    }
+
+    void put(Session s) {
+        if (s.getId() == null) return;
+        if (s.getAthleteId() == null || s.getRunDate() == null || s.getTimeMin() == null) {
+            tables.get(Table.SESSIONS).delete(s.getId());
+            return;
+        }
+        tables.get(Table.SESSIONS).upsert(s.getId(), s.getAthleteId(),
+                day(s.getRunDate()), month(s.getRunDate()), s.getSurface(),
+                scaled(s.getTimeMin(), 100), scaled(s.getDistanceKm(), 100));
+    }
+
+    // ====== QUERY API ======
+    public int rows(Table table) {
+        return tables.get(table).liveRows();
+    }
+
+    public List<Aggregate> query(Table table, Query q, GroupBy groupBy) {
+        ColumnTable t = tables.get(table);
+        ColumnTable.Filter f = new ColumnTable.Filter(
+                q.athleteId() != null ? q.athleteId() : ColumnTable.ANY,
+                t.eventCode(q.event()),
+                q.from() != null ? day(q.from()) : Integer.MIN_VALUE,
+                q.to() != null ? day(q.to()) : Integer.MAX_VALUE);
+
+        if (groupBy == GroupBy.NONE) {
+            ColumnTable.Stats s = t.aggregate(f);
+            return s.count() == 0 ? List.of() : List.of(toAggregate(table, null, s));
+        }
+
+        ColumnTable.GroupBy by = ColumnTable.GroupBy.valueOf(groupBy.name());
+        List<Aggregate> out = new ArrayList<>();
+        t.groupBy(f, by).forEach((key, s) -> out.add(toAggregate(table, label(t, by, key), s)));
+        return out;
+    }
+
+    // ====== HELPERS ======
+    private static Aggregate toAggregate(Table table, String key, ColumnTable.Stats s) {
+        double scale = table.scale;
+        return new Aggregate(key, s.count(),
+                s.sum() / scale,
+                s.min() / scale,
+                s.max() / scale,
+                s.sum() / scale / s.count(),
+                s.sum2() / (double) table.scale2);
+    }
+
+    private static String label(ColumnTable t, ColumnTable.GroupBy by, int key) {
+        return switch (by) {
+            case ATHLETE -> Integer.toString(key);
+            case EVENT -> t.eventName(key);
+            case MONTH -> String.format("%04d-%02d", key / 12, key % 12 + 1);
+        };
+    }
+
+    static int day(LocalDate d) {
+        return (int) d.toEpochDay();
+    }
+
+    static int month(LocalDate d) {
+        return d.getYear() * 12 + d.getMonthValue() - 1;
+    }
+
+    static long scaled(BigDecimal v, int scale) {
+        return v == null ? 0 : v.multiply(BigDecimal.valueOf(scale)).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+
+/**
+ * Removes an athlete or a coach together with everything that references it, using
+ * one set-based DELETE per table in dependency order (children first) inside a single
+ * transaction — no entity is loaded.
+ *
+ * Runs inline or as a background job; jobs report which table is being cleared and
+ * how many rows each step removed. The coaches a deleted athlete trained with get a
+ * "left the squad" tombstone in their sync feed once the delete is committed.
+ */
+@Service
+public class CascadeDeleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(CascadeDeleteService.class);
+    static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    public enum Target { ATHLETE, COACH }
+
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    /** Snapshot of one cascade delete. {@code deleted} maps table → affected rows, in execution order. */
+    public record Progress(
+            String jobId,
+            Target target,
+            Integer targetId,
+            State state,
+            int completedSteps,
+            int totalSteps,
+            String currentStep,
+            Map<String, Integer> deleted,
+            String error
+    ) {}
+
+    private record Step(String table, IntSupplier statement) {}
+
+    private final AthleteRepository athleteRepo;
+    private final CoachRepository coachRepo;
+    private final ResultRepository resultRepo;
+    private final JumpResultRepository jumpRepo;
+    private final ThrowResultRepository throwRepo;
+    private final SessionRepository sessionRepo;
+    private final SessionStreamChunkRepository streamRepo;
+    private final GymSessionRepository gymRepo;
+    private final WeightMetricRepository weightRepo;
+    private final PlyoMetricRepository plyoRepo;
+    private final ReflexMetricRepository reflexRepo;
+    private final PlanRepository planRepo;
+    private final CoachAthleteRelationRepository relationRepo;
+    private final ChangeFeedService changeFeedService;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final ExecutorService worker;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CascadeDeleteService(AthleteRepository athleteRepo,
+                                CoachRepository coachRepo,
+                                ResultRepository resultRepo,
+                                JumpResultRepository jumpRepo,
+                                ThrowResultRepository throwRepo,
+                                SessionRepository sessionRepo,
+                                SessionStreamChunkRepository streamRepo,
+                                GymSessionRepository gymRepo,
+                                WeightMetricRepository weightRepo,
+                                PlyoMetricRepository plyoRepo,
+                                ReflexMetricRepository reflexRepo,
+                                PlanRepository planRepo,
+                                CoachAthleteRelationRepository relationRepo,
+                                ChangeFeedService changeFeedService,
+                                PlatformTransactionManager txManager,
+                                ApplicationEventPublisher events) {
+        this(athleteRepo, coachRepo, resultRepo, jumpRepo, throwRepo, sessionRepo, streamRepo, gymRepo,
+                weightRepo, plyoRepo, reflexRepo, planRepo, relationRepo, changeFeedService, txManager, events,
+                // one job at a time: cascades of different owners should not compete for locks
+                Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "cascade-delete");
+                    t.setDaemon(true);
+                    return t;
+                }));
+    }
+
+    CascadeDeleteService(AthleteRepository athleteRepo,
+                         CoachRepository coachRepo,
+                         ResultRepository resultRepo,
+                         JumpResultRepository jumpRepo,
+                         ThrowResultRepository throwRepo,
+                         SessionRepository sessionRepo,
+                         SessionStreamChunkRepository streamRepo,
+                         GymSessionRepository gymRepo,
+                         WeightMetricRepository weightRepo,
+                         PlyoMetricRepository plyoRepo,
+                         ReflexMetricRepository reflexRepo,
+                         PlanRepository planRepo,
+                         CoachAthleteRelationRepository relationRepo,
+                         ChangeFeedService changeFeedService,
+                         PlatformTransactionManager txManager,
+                         ApplicationEventPublisher events,
+                         ExecutorService worker) {
+        this.athleteRepo = athleteRepo;
+        this.coachRepo = coachRepo;
+        this.resultRepo = resultRepo;
+        this.jumpRepo = jumpRepo;
+        this.throwRepo = throwRepo;
+        this.sessionRepo = sessionRepo;
+        this.streamRepo = streamRepo;
+        this.gymRepo = gymRepo;
+        this.weightRepo = weightRepo;
+        this.plyoRepo = plyoRepo;
+        this.reflexRepo = reflexRepo;
+        this.planRepo = planRepo;
+        this.relationRepo = relationRepo;
+        this.changeFeedService = changeFeedService;
+        this.tx = new TransactionTemplate(txManager);
+        this.events = events;
+        this.worker = worker;
+    }
+
+    // ====== INLINE ======
+    public Progress deleteAthlete(Integer athleteId) {
+        Job job = newJob(Target.ATHLETE, athleteId);
+        run(job);
+        return job.snapshot();
+    }
+
+    public Progress deleteCoach(Integer coachId) {
+        Job job = newJob(Target.COACH, coachId);
+        run(job);
+        return job.snapshot();
+    }
+
+    // ====== BACKGROUND ======
+    public Progress deleteAthleteAsync(Integer athleteId) {
+        return submit(newJob(Target.ATHLETE, athleteId));
+    }
+
+    public Progress deleteCoachAsync(Integer coachId) {
+        return submit(newJob(Target.COACH, coachId));
+    }
+
+    public Optional<Progress> progress(String jobId) {
+        Job job = jobs.get(jobId);
+        return job == null ? Optional.empty() : Optional.of(job.snapshot());
+    }
+
+    // ====== STEPS (dependency order) ======
+    private List<Step> athleteSteps(Integer id, List<Integer> squadCoaches) {
+        return List.of(
+                new Step("weight_metrics", () -> weightRepo.deleteByAthleteId(id)),
+                new Step("plyo_metrics", () -> plyoRepo.deleteByAthleteId(id)),
+                new Step("reflex_metrics", () -> reflexRepo.deleteByAthleteId(id)),
+                new Step("gym_sessions", () -> gymRepo.deleteByAthleteId(id)),
+                new Step("session_stream_chunks", () -> streamRepo.deleteByAthleteId(id)),
+                new Step("sessions", () -> sessionRepo.deleteByAthleteId(id)),
+                new Step("results", () -> resultRepo.deleteByAthleteId(id)),
+                new Step("jump_results", () -> jumpRepo.deleteByAthleteId(id)),
+                new Step("throw_results", () -> throwRepo.deleteByAthleteId(id)),
+                new Step("plan", () -> planRepo.deleteByAthleteId(id)),
+                new Step("coach_athlete_relation", () -> {
+                    squadCoaches.addAll(relationRepo.findCoachIdsByAthleteIdAndStatusName(id, LiveUpdateService.ACCEPTED));
+                    return relationRepo.deleteByAthleteId(id);
+                }),
+                new Step("athletes", () -> athleteRepo.deleteRowById(id))
+        );
+    }
+
+    private List<Step> coachSteps(Integer id) {
+        return List.of(
+                new Step("plan", () -> planRepo.detachCoach(id)),
+                new Step("coach_athlete_relation", () -> relationRepo.deleteByCoachId(id)),
+                new Step("coaches", () -> coachRepo.deleteRowById(id))
+        );
+    }
+
+    // ====== EXECUTION ======
+    private Job newJob(Target target, Integer id) {
+        pruneFinished();
+        List<Integer> squadCoaches = new ArrayList<>();
+        Job job = new Job(UUID.randomUUID().toString(), target, id,
+                target == Target.ATHLETE ? athleteSteps(id, squadCoaches) : coachSteps(id), squadCoaches);
+        jobs.put(job.id, job);
+        return job;
+    }
+
+    private Progress submit(Job job) {
+        Progress queued = job.snapshot();
+        worker.execute(() -> {
+            try {
+                run(job);
+            } catch (RuntimeException e) {
+                log.warn("Cascade delete of {} {} failed", job.target, job.targetId, e);
+            }
+        });
+        return queued;
+    }
+
+    private void run(Job job) {
+        job.state = State.RUNNING;
+        try {
+            tx.executeWithoutResult(status -> {
+                for (Step step : job.steps) {
+                    job.current = step.table();
+                    int rows = step.statement().getAsInt();
+                    job.deleted.put(step.table(), rows);
+                    job.completed++;
+                }
+            });
+            job.current = null;
+            job.state = State.DONE;
+            job.finishedAt = Instant.now();
+            if (job.target == Target.ATHLETE) {
+                // in-memory views (leaderboards, analytics, training load) drop the athlete
+                events.publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.ATHLETE, job.targetId, job.targetId));
+                job.squadCoaches.forEach(coachId -> changeFeedService.leftSquad(coachId, job.targetId));
+            }
+        } catch (RuntimeException e) {
+            // rolled back: report the failing table, the counts of earlier steps no longer apply
+            job.error = e.getMessage();
+            job.state = State.FAILED;
+            job.finishedAt = Instant.now();
+            throw e;
+        }
+    }
+
+    private void pruneFinished() {
+        Instant cutoff = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(j -> j.finishedAt != null && j.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // ====== TYPES ======
+    private static final class Job {
+        final String id;
+        final Target target;
+        final Integer targetId;
+        final List<Step> steps;
+        final List<Integer> squadCoaches;   // accepted coaches, collected by the relation step
+        final Map<String, Integer> deleted = Collections.synchronizedMap(new LinkedHashMap<>());
+        volatile State state = State.QUEUED;
+        volatile int completed;
+        volatile String current;
+        volatile String error;
+        volatile Instant finishedAt;
+
+        Job(String id, Target target, Integer targetId, List<Step> steps, List<Integer> squadCoaches) {
+            this.id = id;
+            this.target = target;
+            this.targetId = targetId;
+            this.steps = steps;
+            this.squadCoaches = squadCoaches;
+        }
+
+        Progress snapshot() {
+            Map<String, Integer> copy;
+            synchronized (deleted) {
+                copy = new LinkedHashMap<>(deleted);
+            }
+            return new Progress(id, target, targetId, state, completed, steps.size(), current, copy, error);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.controllers.PlanController.PlanDTO;
+import com.example.athleteresults.entities.*;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.ChangeLogRepository;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for clients that keep a local copy: "everything that changed for these
+ * athletes since cursor X".
+ *
+ * Every {@link DataChangeEvent} is appended to change_log with a sequence number that
+ * grows in commit order. A row keeps only its latest entry, so a sync reads one entry per
+ * changed row no matter how often it was edited, and never touches unchanged history.
+ * Deletes stay as tombstones; a deleted athlete collapses into a single ATHLETE tombstone,
+ * a profile update is an ATHLETE entry carrying the athlete.
+ * An athlete leaving a coach's squad (unlinked, refused after accepting, deleted) leaves an
+ * ATHLETE tombstone addressed to that coach, so the coach's client drops the athlete too.
+ *
+ * The rows themselves are read when the feed is requested, so a change always carries
+ * the current state (or a tombstone if the row is gone by then).
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    /** One changed row. {@code kind} / {@code action} as in the live feed ("result", "updated"); data is null for deletes. */
+    public record Change(long seq, String kind, String action, Integer athleteId, Integer id, Object data) {}
+
+    /** A page of changes; pass {@code cursor} as {@code since} to continue, {@code hasMore} means call again right away. */
+    public record ChangePage(List<Change> changes, long cursor, boolean hasMore) {}
+
+    // where the current state of a kind is read from
+    private record Source<T>(Class<T> entity, String idAttribute, Function<T, Integer> id,
+                             Function<T, Object> view, String... fetch) {}
+
+    private static final Map<DataChangeEvent.Kind, Source<?>> SOURCES = new EnumMap<>(DataChangeEvent.Kind.class);
+
+    static {
+        SOURCES.put(DataChangeEvent.Kind.RESULT,
+                new Source<>(Result.class, "id", Result::getId, r -> r));
+        SOURCES.put(DataChangeEvent.Kind.JUMP_RESULT,
+                new Source<>(JumpResult.class, "jumpId", JumpResult::getJumpId, j -> j));
+        SOURCES.put(DataChangeEvent.Kind.THROW_RESULT,
+                new Source<>(ThrowResult.class, "id", ThrowResult::getId, t -> t, "athlete"));
+        SOURCES.put(DataChangeEvent.Kind.SESSION,
+                new Source<>(Session.class, "id", Session::getId, s -> s));
+        SOURCES.put(DataChangeEvent.Kind.GYM_SESSION,
+                new Source<>(GymSession.class, "id", GymSession::getId, g -> g, "athlete"));
+        SOURCES.put(DataChangeEvent.Kind.WEIGHT_METRIC,
+                new Source<>(WeightMetric.class, "id", WeightMetric::getId, m -> m, "gymSession"));
+        SOURCES.put(DataChangeEvent.Kind.PLYO_METRIC,
+                new Source<>(PlyoMetric.class, "id", PlyoMetric::getId, m -> m, "gymSession"));
+        SOURCES.put(DataChangeEvent.Kind.REFLEX_METRIC,
+                new Source<>(ReflexMetric.class, "id", ReflexMetric::getId, m -> m, "gymSession"));
+        SOURCES.put(DataChangeEvent.Kind.ATHLETE,
+                new Source<>(Athlete.class, "id", Athlete::getId, a -> a));
+        SOURCES.put(DataChangeEvent.Kind.PLAN,
+                new Source<>(Plan.class, "id", Plan::getId, PlanDTO::fromEntity, "athlete", "coach"));
+    }
+
+    private final ChangeLogRepository changeLogRepo;
+    private final CoachAthleteRelationRepository relationRepo;
+    private final EntityManager em;
+    private final TransactionTemplate appendTx;
+    private final Clock clock;
+
+    @Autowired
+    public ChangeFeedService(ChangeLogRepository changeLogRepo,
+                             CoachAthleteRelationRepository relationRepo,
+                             EntityManager em,
+                             PlatformTransactionManager txManager) {
+        this(changeLogRepo, relationRepo, em, txManager, Clock.systemUTC());
+    }
+
+    ChangeFeedService(ChangeLogRepository changeLogRepo,
+                      CoachAthleteRelationRepository relationRepo,
+                      EntityManager em,
+                      PlatformTransactionManager txManager,
+                      Clock clock) {
+        this.changeLogRepo = changeLogRepo;
+        this.relationRepo = relationRepo;
+        this.em = em;
+        // the listener runs after the writer's commit, so the entry gets its own transaction
+        this.appendTx = new TransactionTemplate(txManager);
+        this.appendTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+    }
+
+    // ====== APPEND (runs after the write has been committed) ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        // rows without a resolvable owner cannot be placed in any feed
+        if (event.athleteId() == null || event.entityId() == null) return;
+        if (!SOURCES.containsKey(event.kind())) return;
+
+        try {
+            appendTx.executeWithoutResult(status -> append(event));
+        } catch (RuntimeException e) {
+            // the write itself is committed; a client only misses this entry until the row changes again
+            log.error("Could not record {} {} #{} in the change log", event.kind(), event.action(), event.entityId(), e);
+        }
+    }
+
+    /** The athlete is no longer in the coach's squad; call once the removal is committed. */
+    public void leftSquad(Integer coachId, Integer athleteId) {
+        try {
+            appendTx.executeWithoutResult(status -> {
+                changeLogRepo.lockForAppend();
+                changeLogRepo.deleteByCoachIdAndAthleteId(coachId, athleteId);
+                ChangeLogEntry tombstone = entry(DataChangeEvent.Kind.ATHLETE, DataChangeEvent.Action.DELETED,
+                        athleteId, athleteId);
+                tombstone.setCoachId(coachId);
+                changeLogRepo.save(tombstone);
+            });
+        } catch (RuntimeException e) {
+            log.error("Could not record athlete #{} leaving coach #{} in the change log", athleteId, coachId, e);
+        }
+    }
+
+    /** The athlete (re)joined the squad: an old "left" tombstone would wipe the athlete from a full coach sync. */
+    public void joinedSquad(Integer coachId, Integer athleteId) {
+        try {
+            appendTx.executeWithoutResult(status -> {
+                changeLogRepo.lockForAppend();
+                changeLogRepo.deleteByCoachIdAndAthleteId(coachId, athleteId);
+            });
+        } catch (RuntimeException e) {
+            log.error("Could not clear athlete #{} leaving coach #{} in the change log", athleteId, coachId, e);
+        }
+    }
+
+    void append(DataChangeEvent event) {
+        changeLogRepo.lockForAppend();
+
+        if (event.kind() == DataChangeEvent.Kind.ATHLETE && event.action() == DataChangeEvent.Action.DELETED) {
+            changeLogRepo.deleteByAthleteId(event.athleteId());
+            changeLogRepo.save(entry(DataChangeEvent.Kind.ATHLETE, DataChangeEvent.Action.DELETED,
+                    event.athleteId(), event.athleteId()));
+            return;
+        }
+
+        for (ChangeLogEntry previous : changeLogRepo.findByKindAndEntityId(event.kind(), event.entityId())) {
+            if (previous.getCoachId() != null) {
+                // a coach's "left the squad" tombstone, not an earlier version of this row
+                continue;
+            }
+            if (previous.getAthleteId().equals(event.athleteId())) {
+                changeLogRepo.delete(previous);
+            } else if (previous.getAction() != DataChangeEvent.Action.DELETED) {
+                // the row moved to another athlete: it is gone from the old owner's feed
+                changeLogRepo.delete(previous);
+                changeLogRepo.save(entry(event.kind(), DataChangeEvent.Action.DELETED,
+                        previous.getAthleteId(), event.entityId()));
+            }
+        }
+        changeLogRepo.save(entry(event.kind(), event.action(), event.athleteId(), event.entityId()));
+    }
+
+    // ====== READ ======
+    @Transactional(readOnly = true)
+    public ChangePage athleteChanges(Integer athleteId, long since, int limit) {
+        return changes(changeLogRepo.findChanges(List.of(athleteId), since, PageRequest.of(0, limit + 1)), since, limit);
+    }
+
+    // the athlete has entries to sync; still true for a deleted athlete, whose tombstone must reach the client
+    @Transactional(readOnly = true)
+    public boolean hasFeed(Integer athleteId) {
+        return changeLogRepo.existsByAthleteIdAndCoachIdIsNull(athleteId);
+    }
+
+    // changes of every athlete the coach has accepted, plus tombstones of those who left the squad
+    @Transactional(readOnly = true)
+    public ChangePage coachChanges(Integer coachId, long since, int limit) {
+        List<Integer> athleteIds = relationRepo.findAthleteIdsByCoachIdAndStatusName(coachId, LiveUpdateService.ACCEPTED);
+        return changes(changeLogRepo.findCoachChanges(coachId, athleteIds, since, PageRequest.of(0, limit + 1)),
+                since, limit);
+    }
+
+    // entries holds up to limit + 1 rows; the extra one only signals hasMore
+    private ChangePage changes(List<ChangeLogEntry> entries, long since, int limit) {
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) entries = entries.subList(0, limit);
+        if (entries.isEmpty()) return new ChangePage(List.of(), since, false);
+
+        // current rows, one query per kind on the page
+        Map<DataChangeEvent.Kind, Map<Integer, Object>> rows = new EnumMap<>(DataChangeEvent.Kind.class);
+        entries.stream()
+                .filter(e -> e.getAction() != DataChangeEvent.Action.DELETED && SOURCES.containsKey(e.getKind()))
+                .collect(Collectors.groupingBy(ChangeLogEntry::getKind,
+                        Collectors.mapping(ChangeLogEntry::getEntityId, Collectors.toSet())))
+                .forEach((kind, ids) -> rows.put(kind, load(SOURCES.get(kind), ids)));
+
+        List<Change> changes = new ArrayList<>(entries.size());
+        for (ChangeLogEntry e : entries) {
+            Object data = rows.getOrDefault(e.getKind(), Map.of()).get(e.getEntityId());
+            // deleted after the entry was written: its own tombstone comes later, report it now
+            DataChangeEvent.Action action = data == null ? DataChangeEvent.Action.DELETED : e.getAction();
+            changes.add(new Change(e.getSeq(), name(e.getKind()), name(action), e.getAthleteId(), e.getEntityId(), data));
+        }
+        return new ChangePage(changes, entries.get(entries.size() - 1).getSeq(), hasMore);
+    }
+
+    // ====== HELPERS ======
+    private <T> Map<Integer, Object> load(Source<T> source, Collection<Integer> ids) {
+        EntityGraph<T> graph = em.createEntityGraph(source.entity());
+        if (source.fetch().length > 0) graph.addAttributeNodes(source.fetch());
+
+        Map<Integer, Object> out = new HashMap<>();
+        em.createQuery("SELECT e FROM " + source.entity().getSimpleName() + " e WHERE e."
+                        + source.idAttribute() + " IN :ids", source.entity())
+                .setParameter("ids", ids)
+                .setHint("jakarta.persistence.fetchgraph", graph)
+                .getResultList()
+                .forEach(row -> out.put(source.id().apply(row), source.view().apply(row)));
+        return out;
+    }
+
+    private ChangeLogEntry entry(DataChangeEvent.Kind kind, DataChangeEvent.Action action,
+                                 Integer athleteId, Integer entityId) {
+        return new ChangeLogEntry(kind, action, athleteId, entityId, clock.instant());
+    }
+
+    private static String name(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
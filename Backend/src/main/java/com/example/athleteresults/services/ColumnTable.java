@@ -0,0 +1,309 @@
+package com.example.athleteresults.services;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of one result table, built for fast scans.
+ *
+ * Every row is a handful of primitives at the same index in parallel arrays:
+ * entity id, athlete id, epoch day, month index (year*12 + month-1), dictionary-encoded
+ * event and two scaled long marks. Scans walk the arrays directly and never create
+ * objects per row. Deletes leave a tombstone; the arrays are compacted once a quarter
+ * of the rows are dead.
+ */
+final class ColumnTable {
+
+    static final int ANY = Integer.MIN_VALUE;
+    static final int NO_EVENT = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Row filter. Use {@link #ANY} for "no constraint". An unknown event never matches. */
+    record Filter(int athleteId, int eventCode, int fromDay, int toDay) {
+        static Filter all() {
+            return new Filter(ANY, ANY, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+    }
+
+    enum GroupBy { ATHLETE, EVENT, MONTH }
+
+    /** Aggregate over the primary mark ({@code sum/min/max}) and the secondary one ({@code sum2}). */
+    record Stats(long count, long sum, long min, long max, long sum2) {
+        static final Stats EMPTY = new Stats(0, 0, 0, 0, 0);
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int dead;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] athletes = new int[INITIAL_CAPACITY];
+    private int[] days = new int[INITIAL_CAPACITY];
+    private int[] months = new int[INITIAL_CAPACITY];
+    private int[] events = new int[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private long[] values2 = new long[INITIAL_CAPACITY];
+    private boolean[] live = new boolean[INITIAL_CAPACITY];
+
+    private final Map<Integer, Integer> rowById = new HashMap<>();
+
+    // event dictionary, lower-cased
+    private final Map<String, Integer> eventCodes = new HashMap<>();
+    private final List<String> eventNames = new ArrayList<>();
+
+    // ====== WRITE ======
+    void upsert(int id, int athleteId, int epochDay, int month, String event, long value, long value2) {
+        lock.writeLock().lock();
+        try {
+            int code = encode(event);
+            Integer row = rowById.get(id);
+            if (row == null) {
+                ensureCapacity(size + 1);
+                row = size++;
+                rowById.put(id, row);
+                ids[row] = id;
+                live[row] = true;
+            }
+            athletes[row] = athleteId;
+            days[row] = epochDay;
+            months[row] = month;
+            events[row] = code;
+            values[row] = value;
+            values2[row] = value2;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean delete(int id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(id);
+            if (row == null) return false;
+            live[row] = false;
+            dead++;
+            if (dead > 64 && dead * 4 > size) compact();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops every row of one athlete; returns how many were live. */
+    int deleteAthlete(int athleteId) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (int i = 0; i < size; i++) {
+                if (live[i] && athletes[i] == athleteId) {
+                    live[i] = false;
+                    rowById.remove(ids[i]);
+                    removed++;
+                }
+            }
+            dead += removed;
+            if (dead > 64 && dead * 4 > size) compact();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            dead = 0;
+            rowById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ====== READ ======
+    int liveRows() {
+        lock.readLock().lock();
+        try {
+            return size - dead;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Dictionary code of an event, {@link #ANY} for null, {@link #NO_EVENT} if never seen. */
+    int eventCode(String event) {
+        if (event == null || event.isBlank()) return ANY;
+        lock.readLock().lock();
+        try {
+            return eventCodes.getOrDefault(normalize(event), NO_EVENT);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    String eventName(int code) {
+        lock.readLock().lock();
+        try {
+            return code >= 0 && code < eventNames.size() ? eventNames.get(code) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Stats aggregate(Filter f) {
+        if (f.eventCode() == NO_EVENT) return Stats.EMPTY;
+        lock.readLock().lock();
+        try {
+            long count = 0, sum = 0, sum2 = 0;
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+            final int n = size;
+            for (int i = 0; i < n; i++) {
+                if (!matches(i, f)) continue;
+                long v = values[i];
+                count++;
+                sum += v;
+                sum2 += values2[i];
+                if (v < min) min = v;
+                if (v > max) max = v;
+            }
+            return count == 0 ? Stats.EMPTY : new Stats(count, sum, min, max, sum2);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Same as {@link #aggregate} but one {@link Stats} per group key, keys in ascending order. */
+    SortedMap<Integer, Stats> groupBy(Filter f, GroupBy by) {
+        SortedMap<Integer, Stats> out = new TreeMap<>();
+        if (f.eventCode() == NO_EVENT) return out;
+
+        lock.readLock().lock();
+        try {
+            int[] keyColumn = switch (by) {
+                case ATHLETE -> athletes;
+                case EVENT -> events;
+                case MONTH -> months;
+            };
+
+            // open-addressing int → slot, accumulators in parallel arrays (no boxing per row)
+            int cap = 64;
+            int[] keys = new int[cap];
+            boolean[] used = new boolean[cap];
+            long[] count = new long[cap], sum = new long[cap], sum2 = new long[cap];
+            long[] min = new long[cap], max = new long[cap];
+            int groups = 0;
+
+            final int n = size;
+            for (int i = 0; i < n; i++) {
+                if (!matches(i, f)) continue;
+                int key = keyColumn[i];
+                int slot = slotOf(keys, used, key);
+                if (!used[slot]) {
+                    if ((groups + 1) * 2 > cap) {
+                        // grow and rehash
+                        int newCap = cap * 2;
+                        int[] nk = new int[newCap];
+                        boolean[] nu = new boolean[newCap];
+                        long[] nc = new long[newCap], ns = new long[newCap], ns2 = new long[newCap];
+                        long[] nmin = new long[newCap], nmax = new long[newCap];
+                        for (int s = 0; s < cap; s++) {
+                            if (!used[s]) continue;
+                            int t = slotOf(nk, nu, keys[s]);
+                            nk[t] = keys[s];
+                            nu[t] = true;
+                            nc[t] = count[s];
+                            ns[t] = sum[s];
+                            ns2[t] = sum2[s];
+                            nmin[t] = min[s];
+                            nmax[t] = max[s];
+                        }
+                        cap = newCap;
+                        keys = nk; used = nu; count = nc; sum = ns; sum2 = ns2; min = nmin; max = nmax;
+                        slot = slotOf(keys, used, key);
+                    }
+                    used[slot] = true;
+                    keys[slot] = key;
+                    min[slot] = Long.MAX_VALUE;
+                    max[slot] = Long.MIN_VALUE;
+                    groups++;
+                }
+                long v = values[i];
+                count[slot]++;
+                sum[slot] += v;
+                sum2[slot] += values2[i];
+                if (v < min[slot]) min[slot] = v;
+                if (v > max[slot]) max[slot] = v;
+            }
+
+            for (int s = 0; s < cap; s++) {
+                if (used[s]) out.put(keys[s], new Stats(count[s], sum[s], min[s], max[s], sum2[s]));
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====== INTERNALS ======
+    private boolean matches(int i, Filter f) {
+        return live[i]
+                && (f.athleteId() == ANY || athletes[i] == f.athleteId())
+                && (f.eventCode() == ANY || events[i] == f.eventCode())
+                && days[i] >= f.fromDay()
+                && days[i] <= f.toDay();
+    }
+
+    private static int slotOf(int[] keys, boolean[] used, int key) {
+        int mask = keys.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 7 & mask;
+        while (used[slot] && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private int encode(String event) {
+        if (event == null || event.isBlank()) return NO_EVENT;
+        return eventCodes.computeIfAbsent(normalize(event), e -> {
+            eventNames.add(e);
+            return eventNames.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) return;
+        int cap = Math.max(needed, ids.length * 2);
+        ids = Arrays.copyOf(ids, cap);
+        athletes = Arrays.copyOf(athletes, cap);
+        days = Arrays.copyOf(days, cap);
+        months = Arrays.copyOf(months, cap);
+        events = Arrays.copyOf(events, cap);
+        values = Arrays.copyOf(values, cap);
+        values2 = Arrays.copyOf(values2, cap);
+        live = Arrays.copyOf(live, cap);
+    }
+
+    // caller holds the write lock
+    private void compact() {
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            if (!live[r]) continue;
+            if (w != r) {
+                ids[w] = ids[r];
+                athletes[w] = athletes[r];
+                days[w] = days[r];
+                months[w] = months[r];
+                events[w] = events[r];
+                values[w] = values[r];
+                values2[w] = values2[r];
+                live[w] = true;
+                rowById.put(ids[w], w);
+            }
+            w++;
+        }
+        size = w;
+        dead = 0;
+    }
+
+    private static String normalize(String event) {
+        return event.trim().toLowerCase(Locale.ROOT);
+    }
+}
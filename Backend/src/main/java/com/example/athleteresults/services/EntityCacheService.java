@@ -0,0 +1,76 @@
+package com.example.athleteresults.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hit / miss counters and manual eviction for the Hibernate second-level cache
+ * (regions and bounds in application.conf).
+ *
+ * The cache lives in-process on each node. Entity writes through Hibernate — including
+ * bulk JPQL deletes — keep the local regions consistent; other nodes only notice after
+ * their entries expire. Data changed outside the application (SQL, another node that must
+ * be visible right away) is made visible with {@link #evict(String)} on every node.
+ */
+@Service
+public class EntityCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCacheService.class);
+
+    public record Region(String name, long hits, long misses, long puts, Long entries, Double hitRatio) {}
+
+    private final EntityManagerFactory emf;
+
+    public EntityCacheService(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    // ====== QUERY ======
+    public List<Region> regions() {
+        Statistics stats = statistics();
+        return Arrays.stream(stats.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> region(name, stats.getDomainDataRegionStatistics(name)))
+                .toList();
+    }
+
+    // ====== EVICT (one region, or all of them when name is null) ======
+    public void evict(String name) {
+        SessionFactoryImplementor sf = emf.unwrap(SessionFactoryImplementor.class);
+        if (name == null || name.isBlank()) {
+            sf.getCache().evictAllRegions();
+            log.info("Evicted all second-level cache regions");
+            return;
+        }
+        if (!Arrays.asList(statistics().getSecondLevelCacheRegionNames()).contains(name)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown cache region: " + name);
+        }
+        sf.getCache().evictRegion(name);
+        log.info("Evicted second-level cache region {}", name);
+    }
+
+    // ====== HELPERS ======
+    private Statistics statistics() {
+        return emf.unwrap(SessionFactoryImplementor.class).getStatistics();
+    }
+
+    private static Region region(String name, CacheRegionStatistics s) {
+        long hits = s.getHitCount();
+        long misses = s.getMissCount();
+        // providers without size support report a negative count
+        long entries = s.getElementCountInMemory();
+        return new Region(name, hits, misses, s.getPutCount(),
+                entries >= 0 ? entries : null,
+                hits + misses > 0 ? Math.round(1000.0 * hits / (hits + misses)) / 1000.0 : null);
+    }
+}
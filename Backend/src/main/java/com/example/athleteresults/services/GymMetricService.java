@@ -0,0 +1,196 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.GymSessionFullDTO;
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.GymSession;
+import com.example.athleteresults.entities.PlyoMetric;
+import com.example.athleteresults.entities.ReflexMetric;
+import com.example.athleteresults.entities.WeightMetric;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.GymSessionRepository;
+import com.example.athleteresults.repositories.PlyoMetricRepository;
+import com.example.athleteresults.repositories.ReflexMetricRepository;
+import com.example.athleteresults.repositories.WeightMetricRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Multi-row writes for gym sessions and their metrics: one request, one transaction,
+ * one lookup of the parent session. Change events are published per row and delivered
+ * after commit.
+ */
+@Service
+@Transactional
+public class GymMetricService {
+
+    public static final int MAX_BATCH = 500;
+
+    // open ends of the optional date window
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private final GymSessionRepository gymSessionRepository;
+    private final AthleteRepository athleteRepository;
+    private final WeightMetricRepository weightMetricRepository;
+    private final PlyoMetricRepository plyoMetricRepository;
+    private final ReflexMetricRepository reflexMetricRepository;
+    private final ApplicationEventPublisher events;
+
+    public GymMetricService(GymSessionRepository gymSessionRepository,
+                            AthleteRepository athleteRepository,
+                            WeightMetricRepository weightMetricRepository,
+                            PlyoMetricRepository plyoMetricRepository,
+                            ReflexMetricRepository reflexMetricRepository,
+                            ApplicationEventPublisher events) {
+        this.gymSessionRepository = gymSessionRepository;
+        this.athleteRepository = athleteRepository;
+        this.weightMetricRepository = weightMetricRepository;
+        this.plyoMetricRepository = plyoMetricRepository;
+        this.reflexMetricRepository = reflexMetricRepository;
+        this.events = events;
+    }
+
+    // ====== BATCH CREATE (one gym session, many rows) ======
+    public List<WeightMetric> createWeights(Integer gymId, List<WeightMetric> metrics) {
+        GymSession parent = attach(gymId, metrics, WeightMetric::getGymSession, WeightMetric::setGymSession);
+        List<WeightMetric> saved = weightMetricRepository.saveAll(metrics);
+        publish(DataChangeEvent.Kind.WEIGHT_METRIC, parent, saved, WeightMetric::getId);
+        return saved;
+    }
+
+    public List<PlyoMetric> createPlyos(Integer gymId, List<PlyoMetric> metrics) {
+        GymSession parent = attach(gymId, metrics, PlyoMetric::getGymSession, PlyoMetric::setGymSession);
+        List<PlyoMetric> saved = plyoMetricRepository.saveAll(metrics);
+        publish(DataChangeEvent.Kind.PLYO_METRIC, parent, saved, PlyoMetric::getId);
+        return saved;
+    }
+
+    public List<ReflexMetric> createReflexes(Integer gymId, List<ReflexMetric> metrics) {
+        GymSession parent = attach(gymId, metrics, ReflexMetric::getGymSession, ReflexMetric::setGymSession);
+        List<ReflexMetric> saved = reflexMetricRepository.saveAll(metrics);
+        publish(DataChangeEvent.Kind.REFLEX_METRIC, parent, saved, ReflexMetric::getId);
+        return saved;
+    }
+
+    // ====== COMBINED CREATE (session + all metrics, via cascade) ======
+    public GymSessionFullDTO createWithMetrics(GymSessionFullDTO request) {
+        if (request.athleteId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Athlete ID is required");
+        }
+        if (request.sessionDate() == null || request.exerciseName() == null || request.exerciseName().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Session date and exercise name are required");
+        }
+        Athlete athlete = athleteRepository.findById(request.athleteId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Athlete not found"));
+
+        GymSession session = new GymSession();
+        session.setAthlete(athlete);
+        session.setSessionDate(request.sessionDate());
+        session.setCategory(request.category());
+        session.setExerciseName(request.exerciseName());
+        session.setNotes(request.notes());
+
+        List<WeightMetric> weights = children(request.weightMetrics(), GymSessionFullDTO.Weight::toEntity);
+        List<PlyoMetric> plyos = children(request.plyoMetrics(), GymSessionFullDTO.Plyo::toEntity);
+        List<ReflexMetric> reflexes = children(request.reflexMetrics(), GymSessionFullDTO.Reflex::toEntity);
+        checkSize(weights.size() + plyos.size() + reflexes.size());
+        weights.forEach(m -> m.setGymSession(session));
+        plyos.forEach(m -> m.setGymSession(session));
+        reflexes.forEach(m -> m.setGymSession(session));
+        session.setWeightMetrics(weights);
+        session.setPlyoMetrics(plyos);
+        session.setReflexMetrics(reflexes);
+
+        GymSession saved = gymSessionRepository.save(session);
+
+        Integer athleteId = athlete.getId();
+        events.publishEvent(DataChangeEvent.created(DataChangeEvent.Kind.GYM_SESSION, athleteId, saved.getId(), saved));
+        for (WeightMetric m : weights) {
+            events.publishEvent(DataChangeEvent.created(DataChangeEvent.Kind.WEIGHT_METRIC, athleteId, m.getId(), m));
+        }
+        for (PlyoMetric m : plyos) {
+            events.publishEvent(DataChangeEvent.created(DataChangeEvent.Kind.PLYO_METRIC, athleteId, m.getId(), m));
+        }
+        for (ReflexMetric m : reflexes) {
+            events.publishEvent(DataChangeEvent.created(DataChangeEvent.Kind.REFLEX_METRIC, athleteId, m.getId(), m));
+        }
+        return GymSessionFullDTO.fromEntity(saved, weights, plyos, reflexes);
+    }
+
+    // ====== READ (sessions + all metrics, 4 queries per page) ======
+    @Transactional(readOnly = true)
+    public List<GymSessionFullDTO> findFullByAthlete(Integer athleteId, LocalDate from, LocalDate to,
+                                                     int page, int size) {
+        List<GymSession> sessions = gymSessionRepository.findPageByAthleteId(athleteId,
+                from != null ? from : EARLIEST, to != null ? to : LATEST, PageRequest.of(page, size));
+        if (sessions.isEmpty()) return List.of();
+
+        List<Integer> ids = sessions.stream().map(GymSession::getId).toList();
+        Map<Integer, List<WeightMetric>> weights = weightMetricRepository.findByGymSessionIdIn(ids).stream()
+                .collect(Collectors.groupingBy(m -> m.getGymSession().getId()));
+        Map<Integer, List<PlyoMetric>> plyos = plyoMetricRepository.findByGymSessionIdIn(ids).stream()
+                .collect(Collectors.groupingBy(m -> m.getGymSession().getId()));
+        Map<Integer, List<ReflexMetric>> reflexes = reflexMetricRepository.findByGymSessionIdIn(ids).stream()
+                .collect(Collectors.groupingBy(m -> m.getGymSession().getId()));
+
+        return sessions.stream()
+                .map(g -> GymSessionFullDTO.fromEntity(g,
+                        weights.get(g.getId()), plyos.get(g.getId()), reflexes.get(g.getId())))
+                .toList();
+    }
+
+    // ====== HELPERS ======
+
+    // loads the parent once and points every row at it
+    private <M> GymSession attach(Integer gymId, List<M> metrics,
+                                  Function<M, GymSession> getter, BiConsumer<M, GymSession> setter) {
+        if (metrics == null || metrics.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one metric is required");
+        }
+        checkSize(metrics.size());
+        GymSession parent = gymSessionRepository.findById(gymId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Gym session not found"));
+        for (M m : metrics) {
+            GymSession given = getter.apply(m);
+            if (given != null && given.getId() != null && !given.getId().equals(gymId)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "All metrics must belong to gym session " + gymId);
+            }
+            setter.accept(m, parent);
+        }
+        return parent;
+    }
+
+    private <M> void publish(DataChangeEvent.Kind kind, GymSession parent, List<M> saved, Function<M, Integer> id) {
+        Integer athleteId = parent.getAthlete() != null ? parent.getAthlete().getId() : null;
+        for (M m : saved) {
+            events.publishEvent(DataChangeEvent.created(kind, athleteId, id.apply(m), m));
+        }
+    }
+
+    private static <D, M> List<M> children(List<D> items, Function<D, M> toEntity) {
+        List<M> out = new ArrayList<>();
+        if (items != null) items.forEach(d -> out.add(toEntity.apply(d)));
+        return out;
+    }
+
+    private static void checkSize(int size) {
+        if (size > MAX_BATCH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH + " metrics per request");
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.HrZoneDayView;
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.AthleteHrZones;
+import com.example.athleteresults.entities.Session;
+import com.example.athleteresults.entities.SessionHrZones;
+import com.example.athleteresults.entities.SessionStreamChunk;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.AthleteHrZonesRepository;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.SessionHrZonesRepository;
+import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.repositories.SessionStreamChunkRepository;
+import com.example.athleteresults.services.StreamCodec.Sample;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Time-in-zone per run session, computed once when the session is written and stored as
+ * five counters ({@link SessionHrZones}); weekly / monthly rollups only sum those counters.
+ *
+ * A session with a wearable stream is counted per sample: each sample's heart rate holds
+ * until the next sample (gaps longer than {@link #MAX_GAP_MS} count only that long, so a
+ * paused watch does not inflate a zone). Without a stream the whole session goes into the
+ * zone of its average heart rate. Changing an athlete's zones recomputes their sessions, so
+ * does a profile update of an athlete whose zones are derived from age.
+ */
+@Service
+public class HrZoneService {
+
+    private static final Logger log = LoggerFactory.getLogger(HrZoneService.class);
+
+    static final int ZONES = 5;
+    static final long MAX_GAP_MS = 10_000;
+    // upper limits of zones 1–4 in % of max heart rate when the athlete has no own zones
+    private static final double[] DEFAULT_UPPER_PCT = {0.60, 0.70, 0.80, 0.90};
+
+    public enum Granularity { WEEK, MONTH }
+
+    /** Zones of an athlete; {@code source} is "custom" (set for the athlete) or "age" (220 − age). */
+    public record HrZones(Integer athleteId, String source, Integer maxHr, int[] upper) {}
+
+    public record SessionZones(Integer sessionId, LocalDate runDate, String source, int[] seconds) {}
+
+    /** Sum over one week (starting Monday) or calendar month. */
+    public record ZoneRollup(LocalDate periodStart, long sessions, long totalSeconds, long[] seconds, double[] percent) {}
+
+    private final SessionHrZonesRepository zonesRepo;
+    private final AthleteHrZonesRepository athleteZonesRepo;
+    private final SessionRepository sessionRepo;
+    private final SessionStreamChunkRepository chunkRepo;
+    private final AthleteRepository athleteRepo;
+    private final TransactionTemplate writeTx;
+
+    public HrZoneService(SessionHrZonesRepository zonesRepo,
+                         AthleteHrZonesRepository athleteZonesRepo,
+                         SessionRepository sessionRepo,
+                         SessionStreamChunkRepository chunkRepo,
+                         AthleteRepository athleteRepo,
+                         PlatformTransactionManager txManager) {
+        this.zonesRepo = zonesRepo;
+        this.athleteZonesRepo = athleteZonesRepo;
+        this.sessionRepo = sessionRepo;
+        this.chunkRepo = chunkRepo;
+        this.athleteRepo = athleteRepo;
+        // the listener runs after the session write has committed
+        this.writeTx = new TransactionTemplate(txManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ====== ZONES ======
+    public Optional<HrZones> zones(Integer athleteId) {
+        Optional<AthleteHrZones> own = athleteZonesRepo.findById(athleteId);
+        if (own.isPresent()) {
+            return Optional.of(new HrZones(athleteId, "custom", own.get().getMaxHr(), own.get().getUpper()));
+        }
+        return athleteRepo.findById(athleteId)
+                .map(HrZoneService::ageOf)
+                .map(age -> fromMaxHr(athleteId, "age", 220 - age));
+    }
+
+    /** Sets zones from explicit limits, or from max heart rate alone; recomputes the athlete's sessions. */
+    @Transactional
+    public HrZones setZones(Integer athleteId, Integer maxHr, int[] upper) {
+        if (maxHr == null && upper == null) {
+            throw new IllegalArgumentException("maxHr or upper is required");
+        }
+        int[] limits = upper != null ? upper.clone() : fromMaxHr(athleteId, "custom", maxHr).upper();
+        athleteZonesRepo.save(new AthleteHrZones(athleteId, maxHr, limits));
+        HrZones zones = new HrZones(athleteId, "custom", maxHr, limits);
+        for (Session s : sessionRepo.findByAthleteId(athleteId)) store(s, zones);
+        return zones;
+    }
+
+    static HrZones fromMaxHr(Integer athleteId, String source, int maxHr) {
+        int[] upper = new int[ZONES - 1];
+        for (int i = 0; i < upper.length; i++) upper[i] = (int) Math.round(maxHr * DEFAULT_UPPER_PCT[i]);
+        return new HrZones(athleteId, source, maxHr, upper);
+    }
+
+    private static Integer ageOf(Athlete a) {
+        if (a.getBirthDate() != null) {
+            return Period.between(a.getBirthDate().toLocalDate(), LocalDate.now()).getYears();
+        }
+        return a.getAge() != null && a.getAge() > 0 ? a.getAge() : null;
+    }
+
+    static int zoneOf(double heartRate, int[] upper) {
+        for (int z = 0; z < upper.length; z++) {
+            if (heartRate <= upper[z]) return z;
+        }
+        return upper.length;
+    }
+
+    // ====== PER SESSION (on write) ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.entityId() == null) return;
+        try {
+            switch (event.kind()) {
+                case SESSION -> writeTx.executeWithoutResult(status -> {
+                    if (event.action() == DataChangeEvent.Action.DELETED) {
+                        zonesRepo.deleteById(event.entityId());
+                    } else if (event.payload() instanceof Session s) {
+                        refresh(s);
+                    }
+                });
+                case ATHLETE -> writeTx.executeWithoutResult(status -> {
+                    if (event.action() == DataChangeEvent.Action.DELETED) {
+                        zonesRepo.deleteByAthleteId(event.entityId());
+                        athleteZonesRepo.deleteByAthleteId(event.entityId());
+                    } else if (!athleteZonesRepo.existsById(event.entityId())) {
+                        // age-based zones follow birth date / age
+                        Optional<HrZones> zones = zones(event.entityId());
+                        if (zones.isEmpty()) {
+                            zonesRepo.deleteByAthleteId(event.entityId());
+                        } else {
+                            for (Session s : sessionRepo.findByAthleteId(event.entityId())) store(s, zones.get());
+                        }
+                    }
+                });
+                default -> { }
+            }
+        } catch (RuntimeException e) {
+            // the session itself is saved; its zones are recomputed on the next write
+            log.error("Could not update heart-rate zones for {} #{}", event.kind(), event.entityId(), e);
+        }
+    }
+
+    /** Recomputes a session's zones, e.g. after its stream was uploaded or removed. */
+    @Transactional
+    public Optional<SessionZones> refresh(Integer sessionId) {
+        return sessionRepo.findById(sessionId).flatMap(this::refresh);
+    }
+
+    private Optional<SessionZones> refresh(Session s) {
+        Optional<HrZones> zones = zones(s.getAthleteId());
+        if (zones.isEmpty()) {
+            zonesRepo.deleteById(s.getId());
+            return Optional.empty();
+        }
+        return store(s, zones.get());
+    }
+
+    private Optional<SessionZones> store(Session s, HrZones zones) {
+        SessionHrZones row = compute(s, zones);
+        if (row == null) {
+            zonesRepo.deleteById(s.getId());
+            return Optional.empty();
+        }
+        zonesRepo.save(row);
+        return Optional.of(toView(row));
+    }
+
+    // null = no heart rate to place
+    SessionHrZones compute(Session s, HrZones zones) {
+        List<SessionStreamChunk> chunks = chunkRepo.findBySessionIdOrderByChunkNo(s.getId());
+        if (!chunks.isEmpty()) {
+            long[] ms = new long[ZONES];
+            boolean any = false;
+            Sample prev = null;
+            for (SessionStreamChunk chunk : chunks) {
+                for (Sample sample : StreamCodec.decode(chunk.getData())) {
+                    if (prev != null && !Double.isNaN(prev.heartRate())) {
+                        ms[zoneOf(prev.heartRate(), zones.upper())] += Math.min(sample.time() - prev.time(), MAX_GAP_MS);
+                        any = true;
+                    }
+                    prev = sample;
+                }
+            }
+            if (any) {
+                int[] seconds = new int[ZONES];
+                for (int z = 0; z < ZONES; z++) seconds[z] = (int) Math.round(ms[z] / 1000.0);
+                return new SessionHrZones(s.getId(), s.getAthleteId(), s.getRunDate(), seconds,
+                        SessionHrZones.SOURCE_STREAM);
+            }
+        }
+        if (s.getHeartAvg() == null || s.getTimeMin() == null) return null;
+        int[] seconds = new int[ZONES];
+        seconds[zoneOf(s.getHeartAvg(), zones.upper())] = (int) Math.round(s.getTimeMin().doubleValue() * 60);
+        return new SessionHrZones(s.getId(), s.getAthleteId(), s.getRunDate(), seconds, SessionHrZones.SOURCE_AVERAGE);
+    }
+
+    public Optional<SessionZones> sessionZones(Integer sessionId) {
+        return zonesRepo.findById(sessionId).map(HrZoneService::toView);
+    }
+
+    private static SessionZones toView(SessionHrZones row) {
+        return new SessionZones(row.getSessionId(), row.getRunDate(), row.getSource(), row.getSeconds());
+    }
+
+    // ====== ROLLUPS (sums of the stored counters, empty periods included) ======
+    public List<ZoneRollup> rollup(Integer athleteId, LocalDate from, LocalDate to, Granularity granularity) {
+        LocalDate first = periodStart(from, granularity);
+        Map<LocalDate, long[]> sums = new TreeMap<>();
+        for (LocalDate p = first; !p.isAfter(to); p = granularity == Granularity.WEEK ? p.plusWeeks(1) : p.plusMonths(1)) {
+            sums.put(p, new long[ZONES + 1]);
+        }
+        for (HrZoneDayView day : zonesRepo.sumPerDay(athleteId, first, to)) {
+            long[] sum = sums.get(periodStart(day.getRunDate(), granularity));
+            sum[0] += day.getSessions();
+            sum[1] += day.getZone1();
+            sum[2] += day.getZone2();
+            sum[3] += day.getZone3();
+            sum[4] += day.getZone4();
+            sum[5] += day.getZone5();
+        }
+
+        List<ZoneRollup> out = new ArrayList<>(sums.size());
+        sums.forEach((start, sum) -> {
+            long[] seconds = Arrays.copyOfRange(sum, 1, ZONES + 1);
+            long total = Arrays.stream(seconds).sum();
+            double[] percent = new double[ZONES];
+            for (int z = 0; z < ZONES && total > 0; z++) percent[z] = Math.round(seconds[z] * 1000.0 / total) / 10.0;
+            out.add(new ZoneRollup(start, sum[0], total, seconds, percent));
+        });
+        return out;
+    }
+
+    static LocalDate periodStart(LocalDate date, Granularity granularity) {
+        return granularity == Granularity.WEEK
+                ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : date.withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.SeasonBestView;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.JumpResultRepository;
+import com.example.athleteresults.repositories.ResultRepository;
+import com.example.athleteresults.repositories.ThrowResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory leaderboards: best mark per athlete for every run distance/race, jump type
+ * and throw event, both all-time and per calendar year.
+ *
+ * Boards are rebuilt from grouped queries at startup and then kept current from
+ * {@link DataChangeEvent}s — only the changed athlete's bests are re-read.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    public enum Discipline {
+        RUN(true), JUMP(false), THROW(false);
+
+        // runs: lower time wins; jumps/throws: longer distance wins
+        final boolean lowerIsBetter;
+
+        Discipline(boolean lowerIsBetter) {
+            this.lowerIsBetter = lowerIsBetter;
+        }
+    }
+
+    /** season == null → all-time board. Event is stored lower-cased. */
+    public record BoardKey(Discipline discipline, String event, Integer season) {
+        public BoardKey {
+            event = normalize(event);
+        }
+    }
+
+    public record Standing(int rank, Integer athleteId, double mark) {}
+
+    public record AthleteStanding(Integer athleteId, int rank, int boardSize, double percentile, double mark) {}
+
+    private final ResultRepository resultRepo;
+    private final JumpResultRepository jumpRepo;
+    private final ThrowResultRepository throwRepo;
+
+    private final Map<BoardKey, RankedBoard> boards = new ConcurrentHashMap<>();
+    // reverse index so an athlete can be pulled off every board he is on
+    private final Map<Discipline, Map<Integer, Set<BoardKey>>> boardsByAthlete = new EnumMap<>(Discipline.class);
+
+    public LeaderboardService(ResultRepository resultRepo,
+                              JumpResultRepository jumpRepo,
+                              ThrowResultRepository throwRepo) {
+        this.resultRepo = resultRepo;
+        this.jumpRepo = jumpRepo;
+        this.throwRepo = throwRepo;
+        for (Discipline d : Discipline.values()) boardsByAthlete.put(d, new HashMap<>());
+    }
+
+    // ====== REBUILD (startup) ======
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (Discipline d : Discipline.values()) {
+            List<SeasonBestView> rows = switch (d) {
+                case RUN -> resultRepo.findSeasonBests();
+                case JUMP -> jumpRepo.findSeasonBests();
+                case THROW -> throwRepo.findSeasonBests();
+            };
+            Map<Integer, List<SeasonBestView>> byAthlete = new HashMap<>();
+            for (SeasonBestView row : rows) {
+                byAthlete.computeIfAbsent(row.getAthleteId(), id -> new ArrayList<>()).add(row);
+            }
+            synchronized (boardsByAthlete.get(d)) {
+                clear(d);
+                byAthlete.forEach((athleteId, list) -> apply(d, athleteId, list));
+            }
+        }
+        log.info("Leaderboards rebuilt: {} boards", boards.size());
+    }
+
+    // ====== INCREMENTAL UPDATE ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.athleteId() == null) return;
+        // a mark moved to another athlete also leaves the previous owner's boards
+        if (event.previousAthleteId() != null) {
+            onDataChange(new DataChangeEvent(event.kind(), event.action(), event.previousAthleteId(),
+                    event.entityId(), null));
+        }
+        switch (event.kind()) {
+            case RESULT -> refreshAthlete(Discipline.RUN, event.athleteId());
+            case JUMP_RESULT -> refreshAthlete(Discipline.JUMP, event.athleteId());
+            case THROW_RESULT -> refreshAthlete(Discipline.THROW, event.athleteId());
+            case ATHLETE -> {
+                if (event.action() != DataChangeEvent.Action.DELETED) return;
+                for (Discipline d : Discipline.values()) refreshAthlete(d, event.athleteId());
+            }
+            default -> { }
+        }
+    }
+
+    public void refreshAthlete(Discipline d, Integer athleteId) {
+        List<SeasonBestView> rows = switch (d) {
+            case RUN -> resultRepo.findSeasonBestsByAthleteId(athleteId);
+            case JUMP -> jumpRepo.findSeasonBestsByAthleteId(athleteId);
+            case THROW -> throwRepo.findSeasonBestsByAthleteId(athleteId);
+        };
+        synchronized (boardsByAthlete.get(d)) {
+            apply(d, athleteId, rows);
+        }
+    }
+
+    // ====== QUERIES ======
+    public List<Standing> top(Discipline d, String event, Integer season, int limit) {
+        BoardKey key = new BoardKey(d, event, season);
+        RankedBoard board = boards.get(key);
+        if (board == null) return List.of();
+        return board.top(limit).stream()
+                .map(e -> new Standing(e.rank(), e.athleteId(), toMark(d, e.score())))
+                .toList();
+    }
+
+    public Optional<AthleteStanding> standingOf(Discipline d, String event, Integer season, Integer athleteId) {
+        RankedBoard board = boards.get(new BoardKey(d, event, season));
+        if (board == null) return Optional.empty();
+        OptionalLong score = board.scoreOf(athleteId);
+        if (score.isEmpty()) return Optional.empty();
+        return Optional.of(new AthleteStanding(
+                athleteId,
+                board.rankOf(athleteId),
+                board.size(),
+                board.percentileOf(athleteId),
+                toMark(d, score.getAsLong())));
+    }
+
+    public Map<BoardKey, Integer> boardSizes() {
+        Map<BoardKey, Integer> out = new TreeMap<>(Comparator
+                .comparing((BoardKey k) -> k.discipline())
+                .thenComparing(BoardKey::event)
+                .thenComparing(BoardKey::season, Comparator.nullsFirst(Comparator.naturalOrder())));
+        boards.forEach((k, b) -> out.put(k, b.size()));
+        return out;
+    }
+
+    // ====== HELPERS ======
+
+    // caller holds the discipline lock
+    private void apply(Discipline d, Integer athleteId, List<SeasonBestView> rows) {
+        Map<Integer, Set<BoardKey>> index = boardsByAthlete.get(d);
+        Set<BoardKey> previous = index.getOrDefault(athleteId, Set.of());
+
+        // best per board: every season board + the all-time board of the same event
+        Map<BoardKey, Long> best = new HashMap<>();
+        for (SeasonBestView row : rows) {
+            if (row.getEvent() == null || row.getBest() == null) continue;
+            long score = toScore(d, row.getBest());
+            best.merge(new BoardKey(d, row.getEvent(), row.getSeason()), score, Math::min);
+            best.merge(new BoardKey(d, row.getEvent(), null), score, Math::min);
+        }
+
+        for (BoardKey key : previous) {
+            if (!best.containsKey(key)) {
+                RankedBoard board = boards.get(key);
+                if (board != null) {
+                    board.remove(athleteId);
+                    if (board.size() == 0) boards.remove(key);
+                }
+            }
+        }
+        best.forEach((key, score) -> boards.computeIfAbsent(key, k -> new RankedBoard()).put(athleteId, score));
+
+        if (best.isEmpty()) index.remove(athleteId);
+        else index.put(athleteId, new HashSet<>(best.keySet()));
+    }
+
+    private void clear(Discipline d) {
+        boards.keySet().removeIf(k -> k.discipline() == d);
+        boardsByAthlete.get(d).clear();
+    }
+
+    // runs are kept in ms, field events in mm; negated where higher is better
+    static long toScore(Discipline d, Number mark) {
+        if (d.lowerIsBetter) return mark.longValue();
+        return -Math.round(mark.doubleValue() * 1000);
+    }
+
+    static double toMark(Discipline d, long score) {
+        return d.lowerIsBetter ? score : -score / 1000.0;
+    }
+
+    static String normalize(String event) {
+        return event == null ? "" : event.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes small change deltas to coach dashboards over Server-Sent Events.
+ *
+ * Each subscriber owns a bounded queue. Publishing only enqueues (never blocks the
+ * request thread); a small worker pool drains the queues into the SSE connections.
+ * A subscriber whose queue is full is considered too slow and is disconnected —
+ * the client reconnects and reloads its lists once.
+ */
+@Service
+public class LiveUpdateService {
+
+    static final int BUFFER_SIZE = 256;
+    static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L; // 30 min, client reconnects after
+    public static final String ACCEPTED = "accept";
+
+    private final CoachAthleteRelationRepository relationRepo;
+    private final ExecutorService dispatcher;
+
+    // coachId → open connections of that coach (several tabs are allowed)
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LiveUpdateService(CoachAthleteRelationRepository relationRepo) {
+        this(relationRepo, Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "live-updates");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    LiveUpdateService(CoachAthleteRelationRepository relationRepo, ExecutorService dispatcher) {
+        this.relationRepo = relationRepo;
+        this.dispatcher = dispatcher;
+    }
+
+    // ====== SUBSCRIBE ======
+    public SseEmitter subscribe(Integer coachId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber sub = new Subscriber(coachId, emitter);
+
+        subscribers.computeIfAbsent(coachId, id -> ConcurrentHashMap.newKeySet()).add(sub);
+        emitter.onCompletion(() -> remove(sub));
+        emitter.onTimeout(() -> remove(sub));
+        emitter.onError(e -> remove(sub));
+
+        // first frame so the client knows the stream is open
+        sub.offer(new LiveUpdate("connected", null, null, null, null));
+        schedule(sub);
+        return emitter;
+    }
+
+    public int subscriberCount(Integer coachId) {
+        Set<Subscriber> set = subscribers.get(coachId);
+        return set == null ? 0 : set.size();
+    }
+
+    // ====== FAN-OUT (runs after the write has been committed) ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.athleteId() == null || subscribers.isEmpty()) return;
+
+        Set<Integer> coachIds = new HashSet<>(
+                relationRepo.findCoachIdsByAthleteIdAndStatusName(event.athleteId(), ACCEPTED));
+
+        LiveUpdate update = LiveUpdate.from(event);
+        for (Integer coachId : coachIds) {
+            Set<Subscriber> set = subscribers.get(coachId);
+            if (set == null) continue;
+
+            for (Subscriber sub : set) {
+                if (sub.offer(update)) {
+                    schedule(sub);
+                } else {
+                    // slow consumer → evict, it will reconnect and re-sync
+                    remove(sub);
+                    sub.emitter.complete();
+                }
+            }
+        }
+    }
+
+    // ====== DRAIN ======
+    private void schedule(Subscriber sub) {
+        if (sub.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(sub));
+            } catch (RejectedExecutionException e) {
+                sub.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber sub) {
+        try {
+            LiveUpdate next;
+            while ((next = sub.queue.poll()) != null) {
+                sub.emitter.send(SseEmitter.event()
+                        .name(next.type())
+                        .data(next, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(sub);
+            return;
+        } finally {
+            sub.scheduled.set(false);
+        }
+        // an event may have arrived between the last poll and the flag reset
+        if (!sub.queue.isEmpty()) schedule(sub);
+    }
+
+    private void remove(Subscriber sub) {
+        subscribers.computeIfPresent(sub.coachId, (id, set) -> {
+            set.remove(sub);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    // ====== TYPES ======
+    private static final class Subscriber {
+        final Integer coachId;
+        final SseEmitter emitter;
+        final BlockingQueue<LiveUpdate> queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        Subscriber(Integer coachId, SseEmitter emitter) {
+            this.coachId = coachId;
+            this.emitter = emitter;
+        }
+
+        boolean offer(LiveUpdate update) {
+            return queue.offer(update);
+        }
+    }
+
+    /** Wire format of one SSE frame. {@code type} is e.g. "result.created". */
+    public record LiveUpdate(String type, String action, Integer athleteId, Integer id, Object data) {
+        static LiveUpdate from(DataChangeEvent e) {
+            String kind = e.kind().name().toLowerCase(Locale.ROOT);
+            String action = e.action().name().toLowerCase(Locale.ROOT);
+            return new LiveUpdate(kind + "." + action, action, e.athleteId(), e.entityId(), e.payload());
+        }
+    }
+}
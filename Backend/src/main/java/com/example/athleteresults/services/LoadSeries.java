@@ -0,0 +1,183 @@
+package com.example.athleteresults.services;
+
+import java.util.Arrays;
+
+/**
+ * Daily training-load series of one athlete plus the models derived from it.
+ *
+ * Inputs are three per-day totals (run load, gym tonnage, plyo contacts) folded into one
+ * load in arbitrary units. Derived values are simple recurrences over the previous day
+ * (7/28-day rolling sums, Banister fitness/fatigue), so a change on day d only
+ * invalidates days ≥ d and they are recomputed lazily on the next read.
+ *
+ * Storage spans every day from the first to the last one written, so callers keep the
+ * days within a bounded window ({@link TrainingLoadService#inWindow}).
+ */
+final class LoadSeries {
+
+    static final int RUN = 0;
+    static final int TONNAGE = 1;
+    static final int CONTACTS = 2;
+
+    // 1 AU = 1 min of running at intensity 1.0; 100 kg lifted and 2 contacts count as 1 AU
+    private static final double[] AU_PER_UNIT = { 1.0, 1.0 / 100, 1.0 / 2 };
+
+    static final int ACUTE_DAYS = 7;
+    static final int CHRONIC_DAYS = 28;
+
+    // Banister: fitness decays with τ1 = 42 d, fatigue with τ2 = 7 d; form = k1·fitness − k2·fatigue
+    private static final double FITNESS_DECAY = Math.exp(-1.0 / 42);
+    private static final double FATIGUE_DECAY = Math.exp(-1.0 / 7);
+    static final double K1 = 1.0;
+    static final double K2 = 2.0;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** One derived day. {@code acwr} is NaN while the chronic window is still empty. */
+    record Day(int epochDay, double run, double tonnage, double contacts, double load,
+               double acute, double chronic, double acwr, double fitness, double fatigue, double form) {}
+
+    private boolean empty = true;
+    private int firstDay;      // epoch day of index 0
+    private int size;          // days stored: index 0 … size - 1
+
+    private double[] run = new double[INITIAL_CAPACITY];
+    private double[] tonnage = new double[INITIAL_CAPACITY];
+    private double[] contacts = new double[INITIAL_CAPACITY];
+    private double[] load = new double[INITIAL_CAPACITY];
+    private double[] sum7 = new double[INITIAL_CAPACITY];
+    private double[] sum28 = new double[INITIAL_CAPACITY];
+    private double[] fitness = new double[INITIAL_CAPACITY];
+    private double[] fatigue = new double[INITIAL_CAPACITY];
+
+    private int valid;         // derived arrays are up to date for indices < valid
+
+    // ====== WRITE ======
+    synchronized void add(int epochDay, int component, double amount) {
+        if (amount == 0) return;
+        int i = indexFor(epochDay);
+        double[] column = switch (component) {
+            case RUN -> run;
+            case TONNAGE -> tonnage;
+            case CONTACTS -> contacts;
+            default -> throw new IllegalArgumentException("component " + component);
+        };
+        column[i] += amount;
+        load[i] += amount * AU_PER_UNIT[component];
+        if (i < valid) valid = i;
+    }
+
+    // ====== READ ======
+    synchronized Day day(int epochDay) {
+        if (empty || epochDay < firstDay) {
+            return new Day(epochDay, 0, 0, 0, 0, 0, 0, Double.NaN, 0, 0, 0);
+        }
+        int i = epochDay - firstDay;
+        if (i >= size) return after(epochDay, i);
+        derive(i);
+        double acute = sum7[i] / ACUTE_DAYS;
+        double chronic = sum28[i] / CHRONIC_DAYS;
+        return new Day(epochDay, run[i], tonnage[i], contacts[i], load[i],
+                acute, chronic,
+                chronic > 0 ? acute / chronic : Double.NaN,
+                fitness[i], fatigue[i],
+                K1 * fitness[i] - K2 * fatigue[i]);
+    }
+
+    synchronized boolean isEmpty() {
+        return empty;
+    }
+
+    synchronized int span() {
+        return size;
+    }
+
+    // ====== INTERNALS ======
+
+    // a day past the stored range: no load, the windows drain and the models decay from the last day —
+    // reads never grow the arrays
+    private Day after(int epochDay, int i) {
+        int last = size - 1;
+        derive(last);
+        double sum7 = 0, sum28 = 0;
+        for (int j = Math.max(i - CHRONIC_DAYS + 1, 0); j <= last; j++) {
+            sum28 += load[j];
+            if (j > i - ACUTE_DAYS) sum7 += load[j];
+        }
+        int gap = i - last;
+        double fit = fitness[last] * Math.pow(FITNESS_DECAY, gap);
+        double fat = fatigue[last] * Math.pow(FATIGUE_DECAY, gap);
+        double acute = sum7 / ACUTE_DAYS;
+        double chronic = sum28 / CHRONIC_DAYS;
+        return new Day(epochDay, 0, 0, 0, 0, acute, chronic,
+                chronic > 0 ? acute / chronic : Double.NaN,
+                fit, fat, K1 * fit - K2 * fat);
+    }
+
+    private void derive(int upTo) {
+        ensureCapacity(upTo + 1);
+        for (int i = valid; i <= upTo; i++) {
+            double l = load[i];
+            if (i == 0) {
+                sum7[i] = l;
+                sum28[i] = l;
+                fitness[i] = l;
+                fatigue[i] = l;
+                continue;
+            }
+            sum7[i] = sum7[i - 1] + l - (i >= ACUTE_DAYS ? load[i - ACUTE_DAYS] : 0);
+            sum28[i] = sum28[i - 1] + l - (i >= CHRONIC_DAYS ? load[i - CHRONIC_DAYS] : 0);
+            fitness[i] = fitness[i - 1] * FITNESS_DECAY + l;
+            fatigue[i] = fatigue[i - 1] * FATIGUE_DECAY + l;
+        }
+        if (upTo + 1 > valid) valid = upTo + 1;
+    }
+
+    private int indexFor(int epochDay) {
+        if (empty) {
+            empty = false;
+            firstDay = epochDay;
+        } else if (epochDay < firstDay) {
+            shift(firstDay - epochDay);
+            size += firstDay - epochDay;
+            firstDay = epochDay;
+        }
+        int i = epochDay - firstDay;
+        ensureCapacity(i + 1);
+        if (i >= size) size = i + 1;
+        return i;
+    }
+
+    // prepend `by` empty days; every derived value moves, so all of them are recomputed
+    private void shift(int by) {
+        int cap = Math.max(run.length + by, INITIAL_CAPACITY);
+        run = shifted(run, by, cap);
+        tonnage = shifted(tonnage, by, cap);
+        contacts = shifted(contacts, by, cap);
+        load = shifted(load, by, cap);
+        sum7 = new double[cap];
+        sum28 = new double[cap];
+        fitness = new double[cap];
+        fatigue = new double[cap];
+        valid = 0;
+    }
+
+    private static double[] shifted(double[] a, int by, int cap) {
+        double[] out = new double[cap];
+        System.arraycopy(a, 0, out, by, a.length);
+        return out;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= run.length) return;
+        int cap = Math.max(needed, run.length * 2);
+        run = Arrays.copyOf(run, cap);
+        tonnage = Arrays.copyOf(tonnage, cap);
+        contacts = Arrays.copyOf(contacts, cap);
+        load = Arrays.copyOf(load, cap);
+        sum7 = Arrays.copyOf(sum7, cap);
+        sum28 = Arrays.copyOf(sum28, cap);
+        fitness = Arrays.copyOf(fitness, cap);
+        fatigue = Arrays.copyOf(fatigue, cap);
+    }
+}
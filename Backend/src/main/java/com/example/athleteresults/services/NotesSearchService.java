@@ -0,0 +1,88 @@
+package com.example.athleteresults.services;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over the free-text columns of results, jumps, throws, sessions,
+ * gym sessions and plans.
+ *
+ * Each table carries a generated {@code notes_tsv} column with a GIN index (V4 migration),
+ * so PostgreSQL keeps it current on every write and a search reads only matching rows.
+ * The 'simple' configuration is used because notes are written in more than one language:
+ * words are lower-cased but not stemmed. Snippets are plain text with the matches
+ * wrapped in « ».
+ */
+@Service
+public class NotesSearchService {
+
+    public record Hit(String kind, Integer id, Integer athleteId, LocalDate date, double rank, String snippet) {}
+
+    public record HitPage(List<Hit> hits, int page, int size, boolean hasMore) {}
+
+    // text = what notes_tsv is built from, used for the snippet
+    private record Source(String kind, String table, String id, String date, String text) {}
+
+    private static final List<Source> SOURCES = List.of(
+            new Source("result", "results", "result_id", "race_date", "notes"),
+            new Source("jump_result", "jump_results", "jump_id", "jump_date", "notes"),
+            new Source("throw_result", "throw_results", "throw_id", "throw_date", "notes"),
+            new Source("session", "sessions", "session_id", "run_date", "notes"),
+            new Source("gym_session", "gym_sessions", "gym_id", "session_date", "notes"),
+            new Source("plan", "plan", "plan_id", "plan_date",
+                    "concat_ws(' ', prediction_plan, actual_plan, notes)"));
+
+    static final String HEADLINE_OPTIONS =
+            "MaxFragments=2, MaxWords=20, MinWords=6, FragmentDelimiter=\" … \", StartSel=«, StopSel=»";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public NotesSearchService(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // ====== SEARCH (athleteIds null = no restriction) ======
+    public HitPage search(String query, Collection<Integer> athleteIds, int page, int size) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", query)
+                .addValue("headline", HEADLINE_OPTIONS)
+                .addValue("limit", size + 1)
+                .addValue("offset", (long) page * size);
+        if (athleteIds != null) params.addValue("athleteIds", athleteIds);
+
+        List<Hit> hits = jdbc.query(sql(athleteIds != null), params, (rs, n) -> new Hit(
+                rs.getString("kind"),
+                rs.getInt("id"),
+                (Integer) rs.getObject("athlete_id"),
+                rs.getObject("date", LocalDate.class),
+                rs.getDouble("rank"),
+                rs.getString("snippet")));
+
+        boolean hasMore = hits.size() > size;
+        return new HitPage(hasMore ? hits.subList(0, size) : hits, page, size, hasMore);
+    }
+
+    // ranks every match, then builds snippets for the requested page only
+    static String sql(boolean scoped) {
+        String matches = SOURCES.stream()
+                .map(s -> "SELECT '" + s.kind() + "' AS kind, " + s.id() + " AS id, athlete_id, "
+                        + s.date() + " AS date, " + s.text() + " AS text, "
+                        + "ts_rank(notes_tsv, websearch_to_tsquery('simple', :q)) AS rank "
+                        + "FROM " + s.table() + " "
+                        + "WHERE notes_tsv @@ websearch_to_tsquery('simple', :q)"
+                        + (scoped ? " AND athlete_id IN (:athleteIds)" : ""))
+                .collect(Collectors.joining("\nUNION ALL\n"));
+
+        return "SELECT kind, id, athlete_id, date, rank, "
+                + "ts_headline('simple', text, websearch_to_tsquery('simple', :q), :headline) AS snippet\n"
+                + "FROM (\n" + matches + "\nORDER BY rank DESC, date DESC NULLS LAST, kind, id\n"
+                + "LIMIT :limit OFFSET :offset\n) page\n"
+                + "ORDER BY rank DESC, date DESC NULLS LAST, kind, id";
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.athleteresults.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Yearly range partitioning (PostgreSQL) of the date-keyed result tables.
+ *
+ * Hibernate creates plain tables; when enabled, each of them is converted once at startup
+ * into a table partitioned by its date column, with one partition per year and a DEFAULT
+ * partition for NULL / far-out dates. Date filters then only touch the matching years.
+ * Future years are created ahead of time, and old years can be detached into the
+ * {@code archive} schema. The conversion is a schema migration: MigrationConfig runs it
+ * after Hibernate's schema update and before the web server accepts requests.
+ *
+ * PostgreSQL requires the partition key in every unique key of a partitioned table, and the
+ * date column may be NULL, so the id primary key cannot be carried over as such. Instead every
+ * partition gets a unique index on the id: an id is unique within its year (and among the
+ * undated rows). Ids are only ever assigned from the table's sequence, so the same id cannot
+ * reappear in another year unless a row is inserted with a hand-picked id.
+ *
+ * gym_sessions is not partitioned: the metric tables reference it by id alone, which needs
+ * a real primary key.
+ */
+@Service
+public class PartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionService.class);
+
+    static final String ARCHIVE_SCHEMA = "archive";
+    // partitions kept ahead of the current year
+    static final int YEARS_AHEAD = 1;
+
+    /** A partitioned table: its key column and identity column. */
+    record Spec(String table, String dateColumn, String idColumn) {}
+
+    static final Map<String, Spec> TABLES = specs(
+            new Spec("results", "race_date", "result_id"),
+            new Spec("sessions", "run_date", "session_id"),
+            new Spec("jump_results", "jump_date", "jump_id"),
+            new Spec("throw_results", "throw_date", "throw_id")
+    );
+
+    public record Partition(String table, String name, String bounds, long estimatedRows, long bytes, boolean archived) {}
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final Clock clock;
+
+    @Autowired
+    public PartitionService(JdbcTemplate jdbc,
+                            PlatformTransactionManager txManager,
+                            @Value("${app.partitioning.enabled:false}") boolean enabled) {
+        this(jdbc, txManager, enabled, Clock.systemDefaultZone());
+    }
+
+    PartitionService(JdbcTemplate jdbc, PlatformTransactionManager txManager, boolean enabled, Clock clock) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.enabled = enabled;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ====== STARTUP (called by MigrationConfig, before requests are served) ======
+    public void initialize() {
+        if (!enabled) return;
+        for (Spec spec : TABLES.values()) {
+            try {
+                if (isPartitioned(spec.table())) ensureUniqueIds(spec);
+                else convert(spec);
+                ensureYears(spec);
+            } catch (DataAccessException e) {
+                log.warn("Partitioning of {} skipped", spec.table(), e);
+            }
+        }
+    }
+
+    // ====== MAINTENANCE (next year's partition exists before the first row arrives) ======
+    @Scheduled(cron = "0 30 3 1 * *")
+    public void maintain() {
+        if (!enabled) return;
+        for (Spec spec : TABLES.values()) {
+            try {
+                if (isPartitioned(spec.table())) ensureYears(spec);
+            } catch (DataAccessException e) {
+                log.warn("Partition maintenance of {} failed", spec.table(), e);
+            }
+        }
+    }
+
+    // ====== QUERY ======
+    public List<Partition> partitions(String table) {
+        Spec spec = spec(table);
+        requireEnabled();
+        List<Partition> out = new ArrayList<>(jdbc.query("""
+                SELECT c.relname, pg_get_expr(c.relpartbound, c.oid),
+                       GREATEST(c.reltuples, 0)::bigint, pg_total_relation_size(c.oid)
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                JOIN pg_namespace n ON n.oid = p.relnamespace
+                WHERE p.relname = ? AND n.nspname = current_schema()
+                ORDER BY c.relname
+                """, (rs, i) -> new Partition(spec.table(), rs.getString(1), rs.getString(2),
+                rs.getLong(3), rs.getLong(4), false), spec.table()));
+        out.addAll(jdbc.query("""
+                SELECT c.relname, GREATEST(c.reltuples, 0)::bigint, pg_total_relation_size(c.oid)
+                FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = ? AND c.relname LIKE ? AND c.relkind = 'r'
+                ORDER BY c.relname
+                """, (rs, i) -> new Partition(spec.table(), rs.getString(1), null,
+                rs.getLong(2), rs.getLong(3), true), ARCHIVE_SCHEMA, spec.table() + "\\_y%"));
+        return out;
+    }
+
+    // ====== ARCHIVE (detach a past year, move it out of the live schema and compact it) ======
+    public Partition archive(String table, int year) {
+        Spec spec = spec(table);
+        requireEnabled();
+        if (year >= LocalDate.now(clock).getYear()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only past years can be archived");
+        }
+        String name = partitionName(spec, year);
+        Boolean attached = jdbc.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_inherits i
+                               JOIN pg_class c ON c.oid = i.inhrelid
+                               JOIN pg_class p ON p.oid = i.inhparent
+                               WHERE p.relname = ? AND c.relname = ?)
+                """, Boolean.class, spec.table(), name);
+        if (!Boolean.TRUE.equals(attached)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Partition " + name + " not found");
+        }
+
+        tx.executeWithoutResult(status -> {
+            jdbc.execute("CREATE SCHEMA IF NOT EXISTS " + ARCHIVE_SCHEMA);
+            jdbc.execute("ALTER TABLE " + spec.table() + " DETACH PARTITION " + name);
+            jdbc.execute("ALTER TABLE " + name + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        });
+        // rewrites the table without dead tuples or free space; cannot run inside a transaction
+        jdbc.execute("VACUUM FULL " + ARCHIVE_SCHEMA + "." + name);
+        log.info("Archived {} into schema {}", name, ARCHIVE_SCHEMA);
+
+        return partitions(table).stream()
+                .filter(p -> p.archived() && p.name().equals(name))
+                .findFirst()
+                .orElse(new Partition(spec.table(), name, null, 0, 0, true));
+    }
+
+    // ====== CONVERSION ======
+    private boolean isPartitioned(String table) {
+        Boolean partitioned = jdbc.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_class c
+                               JOIN pg_namespace n ON n.oid = c.relnamespace
+                               WHERE c.relname = ? AND n.nspname = current_schema() AND c.relkind = 'p')
+                """, Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    // swaps the plain table for a partitioned copy in one transaction
+    private void convert(Spec spec) {
+        String t = spec.table();
+        String legacy = t + "_unpartitioned";
+        tx.executeWithoutResult(status -> {
+            jdbc.execute("LOCK TABLE " + t + " IN ACCESS EXCLUSIVE MODE");
+            Integer first = jdbc.queryForObject(
+                    "SELECT EXTRACT(YEAR FROM MIN(" + spec.dateColumn() + "))::int FROM " + t, Integer.class);
+
+            jdbc.execute("ALTER TABLE " + t + " RENAME TO " + legacy);
+            jdbc.execute("CREATE TABLE " + t + " (LIKE " + legacy + " INCLUDING DEFAULTS INCLUDING IDENTITY INCLUDING GENERATED)"
+                    + " PARTITION BY RANGE (" + spec.dateColumn() + ")");
+            jdbc.execute("CREATE TABLE " + t + "_default PARTITION OF " + t + " DEFAULT");
+            uniqueIds(spec, t + "_default");
+            int current = LocalDate.now(clock).getYear();
+            for (int y = first != null ? Math.min(first, current) : current; y <= current + YEARS_AHEAD; y++) {
+                createYear(spec, y);
+            }
+
+            // LIKE does not copy foreign keys; re-create the outgoing ones (e.g. throw_results → athletes)
+            List<String> foreignKeys = jdbc.queryForList(
+                    "SELECT pg_get_constraintdef(oid) FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'",
+                    String.class, legacy);
+            // non-unique indexes (the query indexes from db/migration) move to the new parent
+            List<String> indexes = jdbc.queryForList(
+                    "SELECT indexdef FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ?"
+                            + " AND indexdef NOT LIKE 'CREATE UNIQUE%'",
+                    String.class, legacy);
+
+            // generated columns (notes_tsv) are recomputed by the new table, not copied
+            String columns = String.join(", ", jdbc.queryForList(
+                    "SELECT column_name FROM information_schema.columns WHERE table_schema = current_schema()"
+                            + " AND table_name = ? AND is_generated = 'NEVER' ORDER BY ordinal_position",
+                    String.class, legacy));
+
+            jdbc.execute("INSERT INTO " + t + " (" + columns + ") OVERRIDING SYSTEM VALUE SELECT "
+                    + columns + " FROM " + legacy);
+            // the copied identity starts at 1; continue after the highest existing id
+            jdbc.execute("SELECT setval(pg_get_serial_sequence('" + t + "', '" + spec.idColumn() + "'),"
+                    + " COALESCE((SELECT MAX(" + spec.idColumn() + ") FROM " + t + "), 0) + 1, false)");
+            jdbc.execute("DROP TABLE " + legacy);
+            for (String fk : foreignKeys) {
+                jdbc.execute("ALTER TABLE " + t + " ADD " + fk);
+            }
+            for (String index : indexes) {
+                jdbc.execute(index.replace("." + legacy + " ", "." + t + " "));
+            }
+        });
+        log.info("Converted {} to yearly partitions on {}", t, spec.dateColumn());
+    }
+
+    private void ensureYears(Spec spec) {
+        int current = LocalDate.now(clock).getYear();
+        for (int y = current; y <= current + YEARS_AHEAD; y++) {
+            createYear(spec, y);
+        }
+    }
+
+    private void createYear(Spec spec, int year) {
+        String name = partitionName(spec, year);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + name
+                + " PARTITION OF " + spec.table()
+                + " FOR VALUES FROM ('" + year + "-01-01') TO ('" + (year + 1) + "-01-01')");
+        uniqueIds(spec, name);
+    }
+
+    // tables converted before the per-partition id indexes existed
+    private void ensureUniqueIds(Spec spec) {
+        List<String> partitions = jdbc.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                JOIN pg_namespace n ON n.oid = p.relnamespace
+                WHERE p.relname = ? AND n.nspname = current_schema()
+                """, String.class, spec.table());
+        for (String partition : partitions) uniqueIds(spec, partition);
+    }
+
+    private void uniqueIds(Spec spec, String partition) {
+        jdbc.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + partition + "_id_key ON " + partition
+                + " (" + spec.idColumn() + ")");
+    }
+
+    // ====== HELPERS ======
+    static String partitionName(Spec spec, int year) {
+        return spec.table() + "_y" + year;
+    }
+
+    // table names are only ever taken from TABLES, never from the request
+    private static Spec spec(String table) {
+        Spec spec = table != null ? TABLES.get(table.trim().toLowerCase(Locale.ROOT)) : null;
+        if (spec == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown partitioned table: " + table);
+        }
+        return spec;
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Partitioning is disabled");
+        }
+    }
+
+    private static Map<String, Spec> specs(Spec... specs) {
+        Map<String, Spec> out = new LinkedHashMap<>();
+        for (Spec s : specs) out.put(s.table(), s);
+        return Collections.unmodifiableMap(out);
+    }
+}
@@ -0,0 +1,461 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.AthleteProfileView;
+import com.example.athleteresults.dto.EventBestView;
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.JumpResultRepository;
+import com.example.athleteresults.repositories.ResultRepository;
+import com.example.athleteresults.repositories.ThrowResultRepository;
+import com.example.athleteresults.services.LeaderboardService.Discipline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Derives {@code Athlete.performance} from results: the athlete's percentile among the
+ * athletes of the same category and gender in the same event, over the best marks of the
+ * last {@link #WINDOW_DAYS} days. An athlete ranked in several events is classed by the
+ * strongest one. Cohorts smaller than {@link #MIN_COHORT} do not count; an athlete without
+ * any usable cohort keeps the stored value (the "average" default or a hand-set class).
+ *
+ * Cohorts are {@link RankedBoard}s kept in memory. A result write re-reads only that
+ * athlete's bests in the discipline and re-classes the cohorts they enter or leave, since
+ * every member's percentile moves with them. A pass at startup and every night rebuilds all
+ * cohorts from three grouped queries, ranks them in parallel on a fork-join pool and lets
+ * old marks drop out of the window. Only changed classes are written, in bulk per class.
+ */
+@Service
+public class PerformanceClassificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceClassificationService.class);
+
+    static final int WINDOW_DAYS = 365;
+    static final int MIN_COHORT = 5;
+    // cohort entries a fork-join task ranks itself instead of splitting further
+    static final int SPLIT_THRESHOLD = 4_096;
+    private static final int WRITE_BATCH = 1_000;
+
+    /** Classes from the top down; an athlete gets the first one whose bound their percentile reaches. */
+    public enum Level {
+        ELITE("elite", 90), GOOD("good", 70), AVERAGE("average", 30), DEVELOPING("developing", 0);
+
+        public final String label;
+        final double minPercentile;
+
+        Level(String label, double minPercentile) {
+            this.label = label;
+            this.minPercentile = minPercentile;
+        }
+
+        public static Level of(double percentile) {
+            for (Level level : values()) {
+                if (percentile >= level.minPercentile) return level;
+            }
+            return DEVELOPING;
+        }
+    }
+
+    /** Category and gender lower-cased, event normalized like the leaderboards. */
+    record Cohort(Discipline discipline, String category, String gender, String event) {}
+
+    private record Profile(String category, String gender) {
+        static Profile of(String category, String gender) {
+            return new Profile(LeaderboardService.normalize(category), LeaderboardService.normalize(gender));
+        }
+
+        Cohort cohort(Discipline d, String event) {
+            return new Cohort(d, category, gender, LeaderboardService.normalize(event));
+        }
+    }
+
+    private final ResultRepository resultRepo;
+    private final JumpResultRepository jumpRepo;
+    private final ThrowResultRepository throwRepo;
+    private final AthleteRepository athleteRepo;
+    private final TransactionTemplate writeTx;
+    private final Clock clock;
+
+    // everything below is guarded by lock; a full pass swaps in new maps
+    private final Object lock = new Object();
+    private Map<Cohort, RankedBoard> cohorts = new HashMap<>();
+    private Map<Integer, Set<Cohort>> cohortsByAthlete = new HashMap<>();
+    private Map<Integer, Profile> profiles = new HashMap<>();
+    // performance column as last read or written
+    private Map<Integer, String> stored = new HashMap<>();
+    private boolean rebuilding;
+    private final Set<Integer> changedDuringRebuild = new HashSet<>();
+
+    @Autowired
+    public PerformanceClassificationService(ResultRepository resultRepo,
+                                            JumpResultRepository jumpRepo,
+                                            ThrowResultRepository throwRepo,
+                                            AthleteRepository athleteRepo,
+                                            PlatformTransactionManager txManager) {
+        this(resultRepo, jumpRepo, throwRepo, athleteRepo, txManager, Clock.systemDefaultZone());
+    }
+
+    PerformanceClassificationService(ResultRepository resultRepo,
+                                     JumpResultRepository jumpRepo,
+                                     ThrowResultRepository throwRepo,
+                                     AthleteRepository athleteRepo,
+                                     PlatformTransactionManager txManager,
+                                     Clock clock) {
+        this.resultRepo = resultRepo;
+        this.jumpRepo = jumpRepo;
+        this.throwRepo = throwRepo;
+        this.athleteRepo = athleteRepo;
+        // the listener runs after the result write has committed
+        this.writeTx = new TransactionTemplate(txManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+    }
+
+    // ====== FULL PASS (startup + nightly) ======
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 15 2 * * *")
+    public void reclassifyAll() {
+        synchronized (lock) {
+            if (rebuilding) return;
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+        Set<Integer> missed = Set.of();
+        try {
+            missed = rebuild();
+        } catch (RuntimeException e) {
+            // the previous cohorts stay in place until the next pass
+            log.error("Performance classification pass failed", e);
+        } finally {
+            synchronized (lock) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+        // results written while the pass was reading
+        for (Integer athleteId : missed) {
+            for (Discipline d : Discipline.values()) refresh(d, athleteId);
+        }
+    }
+
+    // returns the athletes whose data changed while the pass ran
+    private Set<Integer> rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Integer, Profile> newProfiles = new HashMap<>();
+        Map<Integer, String> newStored = new HashMap<>();
+        for (AthleteProfileView a : athleteRepo.findProfiles()) {
+            newProfiles.put(a.getId(), Profile.of(a.getCategory(), a.getGender()));
+            if (a.getPerformance() != null) newStored.put(a.getId(), a.getPerformance());
+        }
+
+        LocalDate since = since();
+        Map<Cohort, Map<Integer, Long>> marks = new HashMap<>();
+        for (Discipline d : Discipline.values()) {
+            for (EventBestView row : recentBests(d, since)) {
+                Profile profile = newProfiles.get(row.getAthleteId());
+                if (profile == null || row.getEvent() == null || row.getBest() == null) continue;
+                marks.computeIfAbsent(profile.cohort(d, row.getEvent()), c -> new HashMap<>())
+                        .merge(row.getAthleteId(), LeaderboardService.toScore(d, row.getBest()), Math::min);
+            }
+        }
+
+        Map<Cohort, RankedBoard> newCohorts = new ConcurrentHashMap<>();
+        Map<Integer, Double> percentiles;
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            percentiles = pool.invoke(new RankTask(List.copyOf(marks.entrySet()), newCohorts));
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Integer, Set<Cohort>> newByAthlete = new HashMap<>();
+        marks.forEach((cohort, entries) -> entries.keySet()
+                .forEach(id -> newByAthlete.computeIfAbsent(id, k -> new HashSet<>()).add(cohort)));
+
+        Map<String, List<Integer>> changes = new HashMap<>();
+        percentiles.forEach((id, percentile) -> {
+            String label = Level.of(percentile).label;
+            if (!label.equals(newStored.get(id))) {
+                newStored.put(id, label);
+                changes.computeIfAbsent(label, l -> new ArrayList<>()).add(id);
+            }
+        });
+        int written = write(changes);
+
+        Set<Integer> missed;
+        synchronized (lock) {
+            cohorts = new HashMap<>(newCohorts);
+            cohortsByAthlete = newByAthlete;
+            profiles = newProfiles;
+            stored = newStored;
+            missed = new HashSet<>(changedDuringRebuild);
+        }
+        log.info("Performance classes: {} cohorts, {} athletes classed, {} updated in {} ms",
+                newCohorts.size(), percentiles.size(), written, System.currentTimeMillis() - started);
+        return missed;
+    }
+
+    // ranks a slice of the cohorts; every leaf builds its own boards, percentiles merge upwards
+    private static final class RankTask extends RecursiveTask<Map<Integer, Double>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Map.Entry<Cohort, Map<Integer, Long>>> slice;
+        private final Map<Cohort, RankedBoard> boards;
+
+        RankTask(List<Map.Entry<Cohort, Map<Integer, Long>>> slice, Map<Cohort, RankedBoard> boards) {
+            this.slice = slice;
+            this.boards = boards;
+        }
+
+        @Override
+        protected Map<Integer, Double> compute() {
+            int entries = 0;
+            for (Map.Entry<Cohort, Map<Integer, Long>> e : slice) entries += e.getValue().size();
+
+            if (entries <= SPLIT_THRESHOLD || slice.size() == 1) {
+                Map<Integer, Double> best = new HashMap<>();
+                for (Map.Entry<Cohort, Map<Integer, Long>> e : slice) {
+                    RankedBoard board = new RankedBoard();
+                    e.getValue().forEach(board::put);
+                    boards.put(e.getKey(), board);
+                    if (board.size() < MIN_COHORT) continue;
+                    for (Integer id : e.getValue().keySet()) best.merge(id, board.percentileOf(id), Math::max);
+                }
+                return best;
+            }
+
+            int mid = slice.size() / 2;
+            RankTask left = new RankTask(slice.subList(0, mid), boards);
+            left.fork();
+            Map<Integer, Double> right = new RankTask(slice.subList(mid, slice.size()), boards).compute();
+            Map<Integer, Double> merged = left.join();
+            right.forEach((id, percentile) -> merged.merge(id, percentile, Math::max));
+            return merged;
+        }
+    }
+
+    // ====== INCREMENTAL ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.athleteId() == null) return;
+        // a mark moved to another athlete also changes the previous owner's class
+        if (event.previousAthleteId() != null) {
+            onDataChange(new DataChangeEvent(event.kind(), event.action(), event.previousAthleteId(),
+                    event.entityId(), null));
+        }
+        try {
+            switch (event.kind()) {
+                case RESULT -> refresh(Discipline.RUN, event.athleteId());
+                case JUMP_RESULT -> refresh(Discipline.JUMP, event.athleteId());
+                case THROW_RESULT -> refresh(Discipline.THROW, event.athleteId());
+                case ATHLETE -> {
+                    // profile updates re-class through refreshProfile in the same request
+                    if (event.action() == DataChangeEvent.Action.DELETED) remove(event.athleteId());
+                }
+                default -> { }
+            }
+        } catch (RuntimeException e) {
+            // the result itself is saved; the class catches up with the next write or the nightly pass
+            log.error("Could not reclassify athlete #{} after {}", event.athleteId(), event.kind(), e);
+        }
+    }
+
+    /** Re-reads the athlete's recent bests in one discipline and re-classes every cohort they touch. */
+    public void refresh(Discipline d, Integer athleteId) {
+        Profile profile = profile(athleteId);
+        if (profile == null) return;
+        List<EventBestView> rows = switch (d) {
+            case RUN -> resultRepo.findRecentBestsByAthleteId(athleteId, since());
+            case JUMP -> jumpRepo.findRecentBestsByAthleteId(athleteId, since());
+            case THROW -> throwRepo.findRecentBestsByAthleteId(athleteId, since());
+        };
+
+        Map<String, List<Integer>> changes;
+        synchronized (lock) {
+            if (rebuilding) changedDuringRebuild.add(athleteId);
+            Map<Cohort, Long> best = new HashMap<>();
+            for (EventBestView row : rows) {
+                if (row.getEvent() == null || row.getBest() == null) continue;
+                best.merge(profile.cohort(d, row.getEvent()), LeaderboardService.toScore(d, row.getBest()), Math::min);
+            }
+
+            Set<Cohort> affected = new HashSet<>(best.keySet());
+            for (Cohort c : Set.copyOf(cohortsByAthlete.getOrDefault(athleteId, Set.of()))) {
+                if (c.discipline() == d && !best.containsKey(c)) {
+                    leave(c, athleteId);
+                    affected.add(c);
+                }
+            }
+            best.forEach((c, score) -> join(c, athleteId, score));
+            changes = reclassify(members(affected));
+        }
+        write(changes);
+    }
+
+    /**
+     * Moves an edited athlete to the cohorts of their category and gender and re-classes them.
+     * Returns the class the athlete ends up with — the derived one whenever marks exist.
+     */
+    public String refreshProfile(Athlete athlete) {
+        Integer athleteId = athlete.getId();
+        Profile profile = Profile.of(athlete.getCategory(), athlete.getGender());
+        Map<String, List<Integer>> changes;
+        String performance;
+        synchronized (lock) {
+            if (rebuilding) changedDuringRebuild.add(athleteId);
+            if (athlete.getPerformance() != null) stored.put(athleteId, athlete.getPerformance());
+            else stored.remove(athleteId);
+
+            Profile old = profiles.put(athleteId, profile);
+            Set<Cohort> affected = new HashSet<>();
+            if (old != null && !old.equals(profile)) {
+                for (Cohort c : Set.copyOf(cohortsByAthlete.getOrDefault(athleteId, Set.of()))) {
+                    long score = cohorts.get(c).scoreOf(athleteId).getAsLong();
+                    leave(c, athleteId);
+                    Cohort target = profile.cohort(c.discipline(), c.event());
+                    join(target, athleteId, score);
+                    affected.add(c);
+                    affected.add(target);
+                }
+            }
+            Set<Integer> members = members(affected);
+            members.add(athleteId);
+            changes = reclassify(members);
+            performance = stored.get(athleteId);
+        }
+        write(changes);
+        return performance;
+    }
+
+    private void remove(Integer athleteId) {
+        Map<String, List<Integer>> changes;
+        synchronized (lock) {
+            if (rebuilding) changedDuringRebuild.add(athleteId);
+            Set<Cohort> affected = Set.copyOf(cohortsByAthlete.getOrDefault(athleteId, Set.of()));
+            for (Cohort c : affected) leave(c, athleteId);
+            profiles.remove(athleteId);
+            stored.remove(athleteId);
+            changes = reclassify(members(affected));
+        }
+        write(changes);
+    }
+
+    // ====== QUERIES ======
+    /** Best percentile over the athlete's cohorts large enough to count; empty if there is none. */
+    public OptionalDouble percentileOf(Integer athleteId) {
+        synchronized (lock) {
+            return bestPercentile(athleteId);
+        }
+    }
+
+    // ====== HELPERS (callers hold the lock unless noted) ======
+    private Profile profile(Integer athleteId) {
+        synchronized (lock) {
+            Profile known = profiles.get(athleteId);
+            if (known != null) return known;
+        }
+        // not seen by the last full pass
+        Optional<Athlete> athlete = athleteRepo.findById(athleteId);
+        if (athlete.isEmpty()) return null;
+        Profile profile = Profile.of(athlete.get().getCategory(), athlete.get().getGender());
+        synchronized (lock) {
+            profiles.putIfAbsent(athleteId, profile);
+            if (athlete.get().getPerformance() != null) stored.putIfAbsent(athleteId, athlete.get().getPerformance());
+            return profiles.get(athleteId);
+        }
+    }
+
+    private void join(Cohort c, Integer athleteId, long score) {
+        cohorts.computeIfAbsent(c, k -> new RankedBoard()).put(athleteId, score);
+        cohortsByAthlete.computeIfAbsent(athleteId, k -> new HashSet<>()).add(c);
+    }
+
+    private void leave(Cohort c, Integer athleteId) {
+        RankedBoard board = cohorts.get(c);
+        if (board != null) {
+            board.remove(athleteId);
+            if (board.size() == 0) cohorts.remove(c);
+        }
+        Set<Cohort> own = cohortsByAthlete.get(athleteId);
+        if (own != null) {
+            own.remove(c);
+            if (own.isEmpty()) cohortsByAthlete.remove(athleteId);
+        }
+    }
+
+    private Set<Integer> members(Collection<Cohort> affected) {
+        Set<Integer> out = new HashSet<>();
+        for (Cohort c : affected) {
+            RankedBoard board = cohorts.get(c);
+            if (board != null) out.addAll(board.athleteIds());
+        }
+        return out;
+    }
+
+    private Map<String, List<Integer>> reclassify(Collection<Integer> athleteIds) {
+        Map<String, List<Integer>> changes = new HashMap<>();
+        for (Integer id : athleteIds) {
+            OptionalDouble percentile = bestPercentile(id);
+            if (percentile.isEmpty()) continue;
+            String label = Level.of(percentile.getAsDouble()).label;
+            if (!label.equals(stored.get(id))) {
+                stored.put(id, label);
+                changes.computeIfAbsent(label, l -> new ArrayList<>()).add(id);
+            }
+        }
+        return changes;
+    }
+
+    private OptionalDouble bestPercentile(Integer athleteId) {
+        OptionalDouble best = OptionalDouble.empty();
+        for (Cohort c : cohortsByAthlete.getOrDefault(athleteId, Set.of())) {
+            RankedBoard board = cohorts.get(c);
+            if (board == null || board.size() < MIN_COHORT) continue;
+            double percentile = board.percentileOf(athleteId);
+            if (best.isEmpty() || percentile > best.getAsDouble()) best = OptionalDouble.of(percentile);
+        }
+        return best;
+    }
+
+    // without the lock: one transaction per batch of ids
+    private int write(Map<String, List<Integer>> changes) {
+        int rows = 0;
+        for (Map.Entry<String, List<Integer>> e : changes.entrySet()) {
+            List<Integer> ids = e.getValue();
+            for (int i = 0; i < ids.size(); i += WRITE_BATCH) {
+                List<Integer> batch = ids.subList(i, Math.min(i + WRITE_BATCH, ids.size()));
+                Integer updated = writeTx.execute(status -> athleteRepo.updatePerformance(batch, e.getKey()));
+                rows += updated != null ? updated : 0;
+            }
+        }
+        return rows;
+    }
+
+    private List<EventBestView> recentBests(Discipline d, LocalDate since) {
+        return switch (d) {
+            case RUN -> resultRepo.findRecentBests(since);
+            case JUMP -> jumpRepo.findRecentBests(since);
+            case THROW -> throwRepo.findRecentBests(since);
+        };
+    }
+
+    private LocalDate since() {
+        return LocalDate.now(clock).minusDays(WINDOW_DAYS);
+    }
+}
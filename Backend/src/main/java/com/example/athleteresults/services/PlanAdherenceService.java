@@ -0,0 +1,211 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.PlanAdherenceDayView;
+import com.example.athleteresults.dto.PlanAdherenceView;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+import com.example.athleteresults.repositories.PlanRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How closely athletes follow their plans.
+ *
+ * A plan counts as completed when the athlete reported the actual session (actual_plan)
+ * or logged a session or gym session on the plan date. Plans with a volume target
+ * (minutes, otherwise km) are on target when the logged running volume of the day is
+ * within ±20 % of it. All matching and aggregation happens in PlanRepository's adherence
+ * queries — per plan with rolling windows for one athlete, per athlete with a squad rank
+ * for a coach — so a squad-year is one query instead of a plan list per athlete.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PlanAdherenceService {
+
+    // "recent" completion of the coach view
+    static final int RECENT_DAYS = 28;
+
+    public record Day(
+            LocalDate date,
+            Integer targetMinutes,
+            Double targetKm,
+            Integer targetIntensity,
+            boolean reported,
+            boolean trained,
+            boolean completed,
+            Boolean onTarget,
+            int sessions,
+            double loggedMinutes,
+            double loggedKm,
+            int gymSessions,
+            // completion over this plan and the ones before it (up to 7 / 28)
+            double completionLast7,
+            double completionLast28,
+            // logged / target minutes over the last 28 plans with a minutes target
+            Double minutesRatioLast28
+    ) {}
+
+    public record Summary(
+            int planned,
+            int reported,
+            int trained,
+            int completed,
+            Double completionRate,
+            int volumeTargets,
+            int onTarget,
+            Double minutesRatio,
+            Double kmRatio,
+            Double averageIntensity,
+            int currentStreak,
+            int longestStreak
+    ) {}
+
+    public record AthleteAdherence(Integer athleteId, LocalDate from, LocalDate to, Summary summary, List<Day> days) {}
+
+    public record AthleteRow(
+            Integer athleteId,
+            int planned,
+            int reported,
+            int trained,
+            int completed,
+            Double completionRate,
+            Double recentRate,
+            int volumeTargets,
+            int onTarget,
+            Double minutesRatio,
+            Double kmRatio,
+            Double averageIntensity,
+            int squadRank
+    ) {}
+
+    public record CoachAdherence(
+            Integer coachId,
+            LocalDate from,
+            LocalDate to,
+            int athletes,
+            int withPlans,
+            Double squadRate,
+            List<AthleteRow> rows
+    ) {}
+
+    private final PlanRepository planRepo;
+    private final CoachAthleteRelationRepository relationRepo;
+
+    public PlanAdherenceService(PlanRepository planRepo, CoachAthleteRelationRepository relationRepo) {
+        this.planRepo = planRepo;
+        this.relationRepo = relationRepo;
+    }
+
+    // ====== ATHLETE — every plan of the range ======
+    public AthleteAdherence forAthlete(Integer athleteId, LocalDate from, LocalDate to) {
+        List<Day> days = new ArrayList<>();
+        int reported = 0, trained = 0, completed = 0, volumeTargets = 0, onTarget = 0, intensities = 0;
+        int streak = 0, longest = 0;
+        double targetMinutes = 0, loggedMinutes = 0, targetKm = 0, loggedKm = 0, intensity = 0;
+        boolean minutesTargets = false, kmTargets = false;
+
+        for (PlanAdherenceDayView row : planRepo.findAdherenceDays(List.of(athleteId), from, to)) {
+            int n = days.size() + 1;
+            Day day = new Day(row.getPlanDate(), row.getTargetMinutes(), toDouble(row.getTargetKm()),
+                    row.getTargetIntensity(), flag(row.getReported()), flag(row.getTrained()),
+                    flag(row.getCompleted()), row.getOnTarget() == null ? null : flag(row.getOnTarget()),
+                    toInt(row.getSessions()), round(toDouble(row.getLoggedMinutes(), 0)),
+                    round(toDouble(row.getLoggedKm(), 0)), toInt(row.getGymSessions()),
+                    round(toDouble(row.getCompletedLast7(), 0) / Math.min(n, 7)),
+                    round(toDouble(row.getCompletedLast28(), 0) / Math.min(n, 28)),
+                    ratio(toDouble(row.getLoggedMinutesLast28()), toDouble(row.getTargetMinutesLast28())));
+            days.add(day);
+
+            if (day.reported()) reported++;
+            if (day.trained()) trained++;
+            if (day.completed()) {
+                completed++;
+                longest = Math.max(longest, ++streak);
+            } else {
+                streak = 0;
+            }
+            if (day.onTarget() != null) {
+                volumeTargets++;
+                if (day.onTarget()) onTarget++;
+            }
+            if (day.targetMinutes() != null) {
+                minutesTargets = true;
+                targetMinutes += day.targetMinutes();
+                loggedMinutes += day.loggedMinutes();
+            }
+            if (day.targetKm() != null) {
+                kmTargets = true;
+                targetKm += day.targetKm();
+                loggedKm += day.loggedKm();
+            }
+            if (day.targetIntensity() != null) {
+                intensities++;
+                intensity += day.targetIntensity();
+            }
+        }
+
+        Summary summary = new Summary(days.size(), reported, trained, completed,
+                ratio((double) completed, (double) days.size()), volumeTargets, onTarget,
+                minutesTargets ? ratio(loggedMinutes, targetMinutes) : null,
+                kmTargets ? ratio(loggedKm, targetKm) : null,
+                intensities == 0 ? null : round(intensity / intensities),
+                // plans are ordered by date, so the open run is the current streak
+                streak, longest);
+        return new AthleteAdherence(athleteId, from, to, summary, days);
+    }
+
+    // ====== COACH — one row per accepted athlete with plans in the range ======
+    public CoachAdherence forCoach(Integer coachId, LocalDate from, LocalDate to) {
+        List<Integer> squad = relationRepo.findAthleteIdsByCoachIdAndStatusName(coachId, LiveUpdateService.ACCEPTED);
+        if (squad.isEmpty()) return new CoachAdherence(coachId, from, to, 0, 0, null, List.of());
+
+        LocalDate recent = to.minusDays(RECENT_DAYS);
+        List<AthleteRow> rows = new ArrayList<>();
+        Double squadRate = null;
+        for (PlanAdherenceView row : planRepo.findAdherence(squad, from, to, recent)) {
+            int planned = toInt(row.getPlanned());
+            int recentPlanned = toInt(row.getRecentPlanned());
+            rows.add(new AthleteRow(row.getAthleteId(), planned, toInt(row.getReported()), toInt(row.getTrained()),
+                    toInt(row.getCompleted()),
+                    ratio(toDouble(row.getCompleted()), (double) planned),
+                    ratio(toDouble(row.getRecentCompleted()), (double) recentPlanned),
+                    toInt(row.getVolumeTargets()), toInt(row.getOnTarget()),
+                    ratio(toDouble(row.getLoggedMinutes()), toDouble(row.getTargetMinutes())),
+                    ratio(toDouble(row.getLoggedKm()), toDouble(row.getTargetKm())),
+                    row.getTargetIntensity() == null ? null : round(row.getTargetIntensity().doubleValue()),
+                    toInt(row.getSquadRank())));
+            squadRate = row.getSquadRate() == null ? null : round(row.getSquadRate().doubleValue());
+        }
+        return new CoachAdherence(coachId, from, to, squad.size(), rows.size(), squadRate, rows);
+    }
+
+    // ====== HELPERS ======
+    private static boolean flag(Number n) {
+        return n != null && n.intValue() != 0;
+    }
+
+    private static int toInt(Number n) {
+        return n == null ? 0 : n.intValue();
+    }
+
+    private static Double toDouble(Number n) {
+        return n == null ? null : n.doubleValue();
+    }
+
+    private static double toDouble(Number n, double fallback) {
+        return n == null ? fallback : n.doubleValue();
+    }
+
+    // null when there is nothing to compare with
+    private static Double ratio(Double part, Double whole) {
+        if (part == null || whole == null || whole == 0) return null;
+        return round(part / whole);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.AthleteRef;
+import com.example.athleteresults.dto.PlanCalendarView;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+import com.example.athleteresults.repositories.PlanRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Month view of a coach's plans: one row per athlete, one cell per day.
+ *
+ * Rows are the accepted squad plus anyone else the coach planned for in the month.
+ * A day holds one cell per plan of that day (plan has no uniqueness on athlete and date),
+ * each with the plan id, the start of the prediction and whether the actual was filled
+ * in — enough to draw the calendar; the editor loads a plan by id when opened.
+ * The planned / actual counts are the number of cells, so they always match the grid.
+ * The plans come from one range query on plan (coach_id, plan_date).
+ */
+@Service
+@Transactional(readOnly = true)
+public class PlanCalendarService {
+
+    static final int SUMMARY_LENGTH = 60;
+
+    public record Cell(Integer planId, String summary, boolean actual) {}
+
+    // cells[day - 1] = the day's plans in id order; null where nothing is planned
+    public record AthleteRow(Integer athleteId, String name, String lastname, int planned, int actual, Cell[][] cells) {}
+
+    public record Calendar(Integer coachId, YearMonth month, LocalDate from, LocalDate to, int days,
+                           int planned, int actual, List<AthleteRow> athletes) {}
+
+    private final PlanRepository planRepo;
+    private final CoachAthleteRelationRepository relationRepo;
+
+    public PlanCalendarService(PlanRepository planRepo, CoachAthleteRelationRepository relationRepo) {
+        this.planRepo = planRepo;
+        this.relationRepo = relationRepo;
+    }
+
+    public Calendar forCoach(Integer coachId, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+        int days = month.lengthOfMonth();
+
+        // squad first so athletes without plans still get a row
+        Map<Integer, Row> rows = new LinkedHashMap<>();
+        for (AthleteRef a : relationRepo.findAthleteRefsByCoachIdAndStatusName(coachId, LiveUpdateService.ACCEPTED)) {
+            rows.put(a.id(), new Row(a.id(), a.name(), a.lastname(), days));
+        }
+
+        int planned = 0, actual = 0;
+        for (PlanCalendarView p : planRepo.findCalendar(coachId, from, to, SUMMARY_LENGTH)) {
+            Row row = rows.computeIfAbsent(p.getAthleteId(),
+                    id -> new Row(id, p.getAthleteName(), p.getAthleteLastname(), days));
+            boolean filled = p.getActualFilled() != null && p.getActualFilled().intValue() != 0;
+            row.add(p.getPlanDate().getDayOfMonth() - 1, new Cell(p.getPlanId(), shorten(p.getSummary()), filled));
+            row.planned++;
+            planned++;
+            if (filled) {
+                row.actual++;
+                actual++;
+            }
+        }
+
+        List<AthleteRow> athletes = new ArrayList<>(rows.size());
+        for (Row r : rows.values()) {
+            athletes.add(new AthleteRow(r.id, r.name, r.lastname, r.planned, r.actual, r.cells));
+        }
+        return new Calendar(coachId, month, from, to, days, planned, actual, athletes);
+    }
+
+    // ====== HELPERS ======
+    private static String shorten(String text) {
+        if (text == null) return null;
+        String s = text.strip().replaceAll("\\s+", " ");
+        return s.length() > SUMMARY_LENGTH ? s.substring(0, SUMMARY_LENGTH - 1).stripTrailing() + "…" : s;
+    }
+
+    private static final class Row {
+        final Integer id;
+        final String name;
+        final String lastname;
+        final Cell[][] cells;
+        int planned;
+        int actual;
+
+        Row(Integer id, String name, String lastname, int days) {
+            this.id = id;
+            this.name = name;
+            this.lastname = lastname;
+            this.cells = new Cell[days][];
+        }
+
+        // same-day plans are rare, so the day grows one slot at a time
+        void add(int day, Cell cell) {
+            Cell[] plans = cells[day];
+            plans = plans == null ? new Cell[1] : Arrays.copyOf(plans, plans.length + 1);
+            plans[plans.length - 1] = cell;
+            cells[day] = plans;
+        }
+    }
+}
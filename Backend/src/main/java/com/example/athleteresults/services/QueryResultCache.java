@@ -0,0 +1,162 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.JumpResultSummary;
+import com.example.athleteresults.dto.ResultSummary;
+import com.example.athleteresults.dto.ThrowResultSummary;
+import com.example.athleteresults.entities.JumpResult;
+import com.example.athleteresults.entities.Result;
+import com.example.athleteresults.entities.ThrowResult;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Results of the /filter and /search endpoints of results, jumps and throws, keyed by the
+ * normalized filter tuple (filter and search with the same filters and sort share an entry).
+ *
+ * Entries are dropped on writes, by athlete: a change for athlete A evicts the queries
+ * filtered on A, the unfiltered ones, and — for updates / deletes — any entry that lists
+ * the changed row (it may have moved away from another athlete). Memory is bounded by the
+ * number of cached rows per table, with a time limit as backstop.
+ */
+@Service
+public class QueryResultCache {
+
+    public record Stats(String cache, long hits, long misses, Double hitRate,
+                        long evictions, long entries, long rows) {}
+
+    // athleteId null = not filtered by athlete
+    record Key(Integer athleteId, List<Object> filters) {}
+
+    private record Page(List<?> rows, Set<Integer> ids) {}
+
+    private static final EnumSet<DataChangeEvent.Kind> CACHED = EnumSet.of(
+            DataChangeEvent.Kind.RESULT, DataChangeEvent.Kind.JUMP_RESULT, DataChangeEvent.Kind.THROW_RESULT);
+
+    private final Map<DataChangeEvent.Kind, Cache<Key, Page>> caches = new EnumMap<>(DataChangeEvent.Kind.class);
+    // bumped on every invalidation, so a query that overlapped a write is not cached
+    private final Map<DataChangeEvent.Kind, AtomicLong> versions = new EnumMap<>(DataChangeEvent.Kind.class);
+
+    public QueryResultCache(@Value("${app.query-cache.max-rows:100000}") long maxRows,
+                            @Value("${app.query-cache.ttl:10m}") Duration ttl) {
+        for (DataChangeEvent.Kind kind : CACHED) {
+            caches.put(kind, Caffeine.newBuilder()
+                    .maximumWeight(maxRows)
+                    .weigher((Key k, Page p) -> p.rows().size() + 1)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build());
+            versions.put(kind, new AtomicLong());
+        }
+    }
+
+    // ====== LOOKUP ======
+    public List<?> get(DataChangeEvent.Kind kind, Integer athleteId, List<Object> filters, Supplier<List<?>> query) {
+        Cache<Key, Page> cache = cache(kind);
+        Key key = new Key(athleteId, filters);
+        Page page = cache.getIfPresent(key);
+        if (page != null) return page.rows();
+
+        long version = versions.get(kind).get();
+        List<?> rows = Collections.unmodifiableList(new ArrayList<>(query.get()));
+        if (versions.get(kind).get() == version) {
+            cache.put(key, new Page(rows, ids(rows)));
+        }
+        return rows;
+    }
+
+    /**
+     * Normalized text filter: trimmed and lower-cased (the filters match case-insensitively), null when blank.
+     * Callers pass the same value to the query and to {@link #filters}, so equal keys mean equal queries.
+     */
+    public static String text(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Normalized filter tuple: strings as in {@link #text}, sorts by their description. */
+    public static List<Object> filters(Object... values) {
+        Object[] out = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object v = values[i];
+            if (v instanceof String s) {
+                v = text(s);
+            } else if (v instanceof Sort sort) {
+                v = sort.toString();
+            }
+            out[i] = v;
+        }
+        return Collections.unmodifiableList(Arrays.asList(out));
+    }
+
+    // ====== INVALIDATION ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.kind() == DataChangeEvent.Kind.ATHLETE) {
+            for (DataChangeEvent.Kind kind : CACHED) evict(kind, event.athleteId(), null);
+        } else if (CACHED.contains(event.kind())) {
+            Integer row = event.action() == DataChangeEvent.Action.CREATED ? null : event.entityId();
+            evict(event.kind(), event.athleteId(), row);
+        }
+    }
+
+    private void evict(DataChangeEvent.Kind kind, Integer athleteId, Integer rowId) {
+        versions.get(kind).incrementAndGet();
+        Cache<Key, Page> cache = caches.get(kind);
+        if (athleteId == null) {
+            cache.invalidateAll();
+            return;
+        }
+        cache.asMap().entrySet().removeIf(e -> e.getKey().athleteId() == null
+                || e.getKey().athleteId().equals(athleteId)
+                || (rowId != null && e.getValue().ids().contains(rowId)));
+    }
+
+    // ====== METRICS ======
+    public List<Stats> stats() {
+        List<Stats> out = new ArrayList<>();
+        caches.forEach((kind, cache) -> {
+            CacheStats s = cache.stats();
+            long rows = cache.asMap().values().stream().mapToLong(p -> p.rows().size()).sum();
+            out.add(new Stats(kind.name(), s.hitCount(), s.missCount(),
+                    s.requestCount() > 0 ? Math.round(1000 * s.hitRate()) / 1000.0 : null,
+                    s.evictionCount(), cache.estimatedSize(), rows));
+        });
+        return out;
+    }
+
+    // ====== HELPERS ======
+    private Cache<Key, Page> cache(DataChangeEvent.Kind kind) {
+        Cache<Key, Page> cache = caches.get(kind);
+        if (cache == null) throw new IllegalArgumentException("No query cache for " + kind);
+        return cache;
+    }
+
+    private static Set<Integer> ids(List<?> rows) {
+        Set<Integer> ids = new HashSet<>();
+        for (Object row : rows) {
+            Integer id = id(row);
+            if (id != null) ids.add(id);
+        }
+        return ids;
+    }
+
+    private static Integer id(Object row) {
+        if (row instanceof Result r) return r.getId();
+        if (row instanceof ResultSummary r) return r.id();
+        if (row instanceof JumpResult j) return j.getJumpId();
+        if (row instanceof JumpResultSummary j) return j.jumpId();
+        if (row instanceof ThrowResult t) return t.getId();
+        if (row instanceof ThrowResultSummary t) return t.id();
+        return null;
+    }
+}
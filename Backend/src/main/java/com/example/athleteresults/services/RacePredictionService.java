@@ -0,0 +1,157 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.BestMarkView;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.ResultRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Equivalent-performance race-time predictions (e.g. 5000 m → 10000 m) with Riegel's
+ * formula T2 = T1 · (D2 / D1)^b.
+ *
+ * Every athlete gets an own exponent b, fitted by least squares on log(time) over
+ * log(distance) of their best times of the last {@link #WINDOW_YEARS} years (one per
+ * distance, {@link #MIN_DISTANCE} m and up — sprints do not follow the curve). With fewer
+ * than two distances the classic b = 1.06 is used. A prediction starts from the athlete's
+ * best at the distance closest to the target.
+ *
+ * Models are cached per athlete and dropped when a result of that athlete is written
+ * (for a result moved to another athlete: of both);
+ * the cache entry also expires after a day, as marks age out of the window. Roster
+ * requests load all missing models with one grouped query.
+ */
+@Service
+public class RacePredictionService {
+
+    // predictable distances: middle distance up to beyond the marathon
+    public static final int MIN_DISTANCE = 800;
+    public static final int MAX_DISTANCE = 100_000;
+    static final int WINDOW_YEARS = 2;
+    static final double DEFAULT_EXPONENT = 1.06;
+    // fits outside this range come from noisy marks, not from the athlete
+    static final double MIN_EXPONENT = 1.0;
+    static final double MAX_EXPONENT = 1.2;
+    private static final int MAX_MODELS = 50_000;
+
+    public record Mark(int distance, int timeMs) {}
+
+    /** Fitted model; {@code fitted} is false when the default exponent is used. Marks sorted by distance. */
+    public record Model(Integer athleteId, double exponent, boolean fitted, List<Mark> marks) {}
+
+    /** predictedMs is null when the athlete has no usable marks. */
+    public record Prediction(
+            Integer athleteId,
+            int distance,
+            Integer predictedMs,
+            Integer fromDistance,
+            Integer fromMs,
+            double exponent,
+            boolean fitted,
+            int marks
+    ) {}
+
+    private final ResultRepository resultRepo;
+    private final Clock clock;
+    private final Cache<Integer, Model> models = Caffeine.newBuilder()
+            .maximumSize(MAX_MODELS)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
+
+    @Autowired
+    public RacePredictionService(ResultRepository resultRepo) {
+        this(resultRepo, Clock.systemDefaultZone());
+    }
+
+    RacePredictionService(ResultRepository resultRepo, Clock clock) {
+        this.resultRepo = resultRepo;
+        this.clock = clock;
+    }
+
+    // ====== PREDICT ======
+    /** fromDistance null = start from the best mark closest to the target distance. */
+    public Prediction predict(Integer athleteId, int distance, Integer fromDistance) {
+        return predict(model(athleteId), distance, fromDistance);
+    }
+
+    /** One prediction per athlete, in the given order; missing models are loaded in one query. */
+    public List<Prediction> predictAll(Collection<Integer> athleteIds, int distance) {
+        Set<Integer> ids = new LinkedHashSet<>(athleteIds);
+        Map<Integer, Model> loaded = models.getAll(ids, this::load);
+        return ids.stream().map(id -> predict(loaded.get(id), distance, null)).toList();
+    }
+
+    public Model model(Integer athleteId) {
+        return models.get(athleteId, id -> load(Set.of(id)).get(id));
+    }
+
+    static Prediction predict(Model model, int distance, Integer fromDistance) {
+        Mark from = null;
+        for (Mark m : model.marks()) {
+            if (fromDistance != null) {
+                if (m.distance() == fromDistance) from = m;
+            } else if (from == null || Math.abs(Math.log((double) distance / m.distance()))
+                    < Math.abs(Math.log((double) distance / from.distance()))) {
+                from = m;
+            }
+        }
+        if (from == null) {
+            return new Prediction(model.athleteId(), distance, null, null, null,
+                    model.exponent(), model.fitted(), model.marks().size());
+        }
+        long predicted = Math.round(from.timeMs() * Math.pow((double) distance / from.distance(), model.exponent()));
+        return new Prediction(model.athleteId(), distance, (int) Math.min(predicted, Integer.MAX_VALUE),
+                from.distance(), from.timeMs(), model.exponent(), model.fitted(), model.marks().size());
+    }
+
+    // ====== FIT ======
+    private Map<Integer, Model> load(Set<? extends Integer> athleteIds) {
+        Map<Integer, List<Mark>> marks = new HashMap<>();
+        for (Integer id : athleteIds) marks.put(id, new ArrayList<>());
+        LocalDate since = LocalDate.now(clock).minusYears(WINDOW_YEARS);
+        for (BestMarkView row : resultRepo.findBestMarks(List.copyOf(athleteIds), since, MIN_DISTANCE)) {
+            marks.get(row.getAthleteId()).add(new Mark(row.getDistance(), row.getBest()));
+        }
+        Map<Integer, Model> out = new HashMap<>();
+        marks.forEach((id, list) -> out.put(id, fit(id, list)));
+        return out;
+    }
+
+    static Model fit(Integer athleteId, List<Mark> marks) {
+        List<Mark> sorted = marks.stream().sorted(Comparator.comparingInt(Mark::distance)).toList();
+        if (sorted.size() < 2) return new Model(athleteId, DEFAULT_EXPONENT, false, sorted);
+
+        // slope of log(time) over log(distance)
+        double n = sorted.size(), sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (Mark m : sorted) {
+            double x = Math.log(m.distance()), y = Math.log(m.timeMs());
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+        }
+        double slope = (n * sxy - sx * sy) / (n * sxx - sx * sx);
+        double exponent = Math.max(MIN_EXPONENT, Math.min(MAX_EXPONENT, slope));
+        return new Model(athleteId, Math.round(exponent * 10_000) / 10_000.0, true, sorted);
+    }
+
+    // ====== INVALIDATION ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.kind() != DataChangeEvent.Kind.RESULT && event.kind() != DataChangeEvent.Kind.ATHLETE) return;
+        if (event.athleteId() == null) {
+            models.invalidateAll();
+            return;
+        }
+        models.invalidate(event.athleteId());
+        if (event.previousAthleteId() != null) models.invalidate(event.previousAthleteId());
+    }
+}
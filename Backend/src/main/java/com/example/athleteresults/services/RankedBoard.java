@@ -0,0 +1,171 @@
+package com.example.athleteresults.services;
+
+import java.util.*;
+
+/**
+ * One leaderboard: the best mark of each athlete, kept sorted.
+ *
+ * Backed by a treap where every node knows the size of its subtree, so insert, remove,
+ * rank and percentile are O(log n) and top-k is O(log n + k).
+ * Scores are "lower is better"; callers negate marks where higher wins (jumps, throws).
+ * Ties share the same rank (1, 2, 2, 4 ...).
+ */
+class RankedBoard {
+
+    private static final class Node {
+        final long score;
+        final int athleteId;
+        final int priority;
+        int size = 1;
+        Node left, right;
+
+        Node(long score, int athleteId, int priority) {
+            this.score = score;
+            this.athleteId = athleteId;
+            this.priority = priority;
+        }
+    }
+
+    /** One row of a board, rank is 1-based. */
+    record Entry(int rank, int athleteId, long score) {}
+
+    private final SplittableRandom random = new SplittableRandom();
+    private final Map<Integer, Long> scoreByAthlete = new HashMap<>();
+    private Node root;
+
+    // ====== WRITE ======
+    synchronized void put(int athleteId, long score) {
+        Long old = scoreByAthlete.put(athleteId, score);
+        if (old != null) {
+            if (old == score) return;
+            root = delete(root, old, athleteId);
+        }
+        Node[] parts = split(root, score, athleteId);
+        root = merge(merge(parts[0], new Node(score, athleteId, random.nextInt())), parts[1]);
+    }
+
+    synchronized boolean remove(int athleteId) {
+        Long old = scoreByAthlete.remove(athleteId);
+        if (old == null) return false;
+        root = delete(root, old, athleteId);
+        return true;
+    }
+
+    // ====== READ ======
+    synchronized int size() {
+        return size(root);
+    }
+
+    synchronized OptionalLong scoreOf(int athleteId) {
+        Long s = scoreByAthlete.get(athleteId);
+        return s == null ? OptionalLong.empty() : OptionalLong.of(s);
+    }
+
+    synchronized Set<Integer> athleteIds() {
+        return new HashSet<>(scoreByAthlete.keySet());
+    }
+
+    /** 1-based competition rank, or 0 if the athlete is not on this board. */
+    synchronized int rankOf(int athleteId) {
+        Long s = scoreByAthlete.get(athleteId);
+        return s == null ? 0 : countBetterThan(s) + 1;
+    }
+
+    /** 100 = best on the board, 0 = last. Single-entry boards report 100. */
+    synchronized double percentileOf(int athleteId) {
+        int rank = rankOf(athleteId);
+        if (rank == 0) return Double.NaN;
+        int n = size(root);
+        return n == 1 ? 100.0 : 100.0 * (n - rank) / (n - 1);
+    }
+
+    synchronized List<Entry> top(int k) {
+        List<Entry> out = new ArrayList<>(Math.min(k, size(root)));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node cur = root;
+        int position = 0, rank = 0;
+        long prevScore = 0;
+
+        while ((cur != null || !stack.isEmpty()) && out.size() < k) {
+            while (cur != null) {
+                stack.push(cur);
+                cur = cur.left;
+            }
+            cur = stack.pop();
+            position++;
+            if (position == 1 || cur.score != prevScore) rank = position;
+            prevScore = cur.score;
+            out.add(new Entry(rank, cur.athleteId, cur.score));
+            cur = cur.right;
+        }
+        return out;
+    }
+
+    // ====== TREAP INTERNALS ======
+    private int countBetterThan(long score) {
+        int count = 0;
+        Node n = root;
+        while (n != null) {
+            if (n.score < score) {
+                count += size(n.left) + 1;
+                n = n.right;
+            } else {
+                n = n.left;
+            }
+        }
+        return count;
+    }
+
+    private static int compare(long scoreA, int idA, long scoreB, int idB) {
+        int c = Long.compare(scoreA, scoreB);
+        return c != 0 ? c : Integer.compare(idA, idB);
+    }
+
+    /** Splits into (&lt; key) and (&gt;= key). */
+    private static Node[] split(Node n, long score, int athleteId) {
+        if (n == null) return new Node[]{null, null};
+        if (compare(n.score, n.athleteId, score, athleteId) < 0) {
+            Node[] r = split(n.right, score, athleteId);
+            n.right = r[0];
+            update(n);
+            return new Node[]{n, r[1]};
+        } else {
+            Node[] l = split(n.left, score, athleteId);
+            n.left = l[1];
+            update(n);
+            return new Node[]{l[0], n};
+        }
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        } else {
+            b.left = merge(a, b.left);
+            update(b);
+            return b;
+        }
+    }
+
+    private static Node delete(Node n, long score, int athleteId) {
+        if (n == null) return null;
+        int c = compare(score, athleteId, n.score, n.athleteId);
+        if (c == 0) return merge(n.left, n.right);
+        if (c < 0) n.left = delete(n.left, score, athleteId);
+        else n.right = delete(n.right, score, athleteId);
+        update(n);
+        return n;
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static void update(Node n) {
+        n.size = 1 + size(n.left) + size(n.right);
+    }
+}
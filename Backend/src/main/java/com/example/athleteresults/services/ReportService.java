@@ -0,0 +1,387 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.GymSessionRefView;
+import com.example.athleteresults.dto.RollupSourceView;
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.AthleteRollup.Discipline;
+import com.example.athleteresults.entities.ReportJob;
+import com.example.athleteresults.repositories.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * End-of-season squad reports (PBs, progression, training volume, plan adherence),
+ * generated in the background and stored as ZIP files under {@code app.reports.dir}.
+ *
+ * Jobs are rows of report_jobs, which is the queue: {@link #submit} inserts a queued job,
+ * and at most {@code app.reports.workers} jobs run at once, each claimed with a conditional
+ * update that stamps a claim token. While a job runs its worker refreshes the job's heartbeat;
+ * a running job without a heartbeat for {@link #STALE_AFTER} belonged to a stopped instance and
+ * is queued again, at startup and by the poller, so live instances never have their jobs taken
+ * away. The outcome is written under the claim token, so a worker whose job was requeued and
+ * claimed again meanwhile cannot overwrite the new worker's state.
+ *
+ * The files are written to the instance's own {@code app.reports.dir}: with several instances
+ * that directory has to be shared between them, or a download served by another instance
+ * than the one that built the report answers 410.
+ *
+ * A report is reused as long as its fingerprint — season, squad and the squad's latest
+ * change_log entry — is unchanged; any write to the squad's data, a profile update (name)
+ * included, makes the next submit build a new one, which then replaces the older file.
+ */
+@Service
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    static final Duration STALE_AFTER = Duration.ofMinutes(2);
+    private static final List<String> REUSABLE = List.of(ReportJob.QUEUED, ReportJob.RUNNING, ReportJob.DONE);
+
+    /** Job state as shown to the client (without the server-side file path). */
+    public record JobStatus(
+            String id,
+            Integer coachId,
+            Integer season,
+            String status,
+            int athletes,
+            LocalDateTime createdAt,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt,
+            Long bytes,
+            String error
+    ) {
+        static JobStatus of(ReportJob job) {
+            return new JobStatus(job.getId(), job.getCoachId(), job.getSeason(), job.getStatus(), job.getAthletes(),
+                    job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt(), job.getFileBytes(), job.getError());
+        }
+    }
+
+    private final ReportJobRepository jobRepo;
+    private final CoachAthleteRelationRepository relationRepo;
+    private final ChangeLogRepository changeLogRepo;
+    private final AthleteRepository athleteRepo;
+    private final CoachRepository coachRepo;
+    private final ResultRepository resultRepo;
+    private final JumpResultRepository jumpRepo;
+    private final ThrowResultRepository throwRepo;
+    private final SessionRepository sessionRepo;
+    private final GymSessionRepository gymRepo;
+    private final PlanRepository planRepo;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readTx;
+    private final Path dir;
+    private final int workers;
+    private final Clock clock;
+    private final ExecutorService pool;
+
+    private final AtomicInteger active = new AtomicInteger();
+    // claim tokens of the jobs this instance is building, for the heartbeat
+    private final Set<String> building = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ReportService(ReportJobRepository jobRepo,
+                         CoachAthleteRelationRepository relationRepo,
+                         ChangeLogRepository changeLogRepo,
+                         AthleteRepository athleteRepo,
+                         CoachRepository coachRepo,
+                         ResultRepository resultRepo,
+                         JumpResultRepository jumpRepo,
+                         ThrowResultRepository throwRepo,
+                         SessionRepository sessionRepo,
+                         GymSessionRepository gymRepo,
+                         PlanRepository planRepo,
+                         PlatformTransactionManager txManager,
+                         @Value("${app.reports.dir:${java.io.tmpdir}/athlete-reports}") String dir,
+                         @Value("${app.reports.workers:2}") int workers) {
+        this(jobRepo, relationRepo, changeLogRepo, athleteRepo, coachRepo, resultRepo, jumpRepo, throwRepo,
+                sessionRepo, gymRepo, planRepo, txManager, Path.of(dir), workers, Clock.systemDefaultZone(),
+                Executors.newFixedThreadPool(Math.max(1, workers), new ThreadFactory() {
+                    private final AtomicInteger n = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, "report-" + n.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                }));
+    }
+
+    ReportService(ReportJobRepository jobRepo,
+                  CoachAthleteRelationRepository relationRepo,
+                  ChangeLogRepository changeLogRepo,
+                  AthleteRepository athleteRepo,
+                  CoachRepository coachRepo,
+                  ResultRepository resultRepo,
+                  JumpResultRepository jumpRepo,
+                  ThrowResultRepository throwRepo,
+                  SessionRepository sessionRepo,
+                  GymSessionRepository gymRepo,
+                  PlanRepository planRepo,
+                  PlatformTransactionManager txManager,
+                  Path dir,
+                  int workers,
+                  Clock clock,
+                  ExecutorService pool) {
+        this.jobRepo = jobRepo;
+        this.relationRepo = relationRepo;
+        this.changeLogRepo = changeLogRepo;
+        this.athleteRepo = athleteRepo;
+        this.coachRepo = coachRepo;
+        this.resultRepo = resultRepo;
+        this.jumpRepo = jumpRepo;
+        this.throwRepo = throwRepo;
+        this.sessionRepo = sessionRepo;
+        this.gymRepo = gymRepo;
+        this.planRepo = planRepo;
+        // queue updates commit on their own
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // the repository streams need an open (read-only) transaction
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTx.setReadOnly(true);
+        this.dir = dir;
+        this.workers = Math.max(1, workers);
+        this.clock = clock;
+        this.pool = pool;
+    }
+
+    // ====== SUBMIT ======
+    /** Queues a report of the coach's accepted athletes, or returns the one already built / on its way. */
+    public synchronized JobStatus submit(Integer coachId, int season) {
+        List<Integer> squad = squad(coachId);
+        String fingerprint = fingerprint(season, squad);
+        Optional<ReportJob> known = jobRepo.findFirstByCoachIdAndSeasonAndFingerprintAndStatusInOrderByCreatedAtDesc(
+                coachId, season, fingerprint, REUSABLE);
+        if (known.isPresent() && (!ReportJob.DONE.equals(known.get().getStatus()) || fileOf(known.get()).isPresent())) {
+            return JobStatus.of(known.get());
+        }
+        ReportJob job = tx.execute(status -> jobRepo.save(new ReportJob(UUID.randomUUID().toString(), coachId,
+                season, fingerprint, squad.size(), LocalDateTime.now(clock))));
+        dispatch();
+        return JobStatus.of(job);
+    }
+
+    public Optional<JobStatus> status(String id) {
+        return jobRepo.findById(id).map(JobStatus::of);
+    }
+
+    public Optional<ReportJob> job(String id) {
+        return jobRepo.findById(id);
+    }
+
+    /** The report file of a finished job, if it is still on disk. */
+    public Optional<Path> fileOf(ReportJob job) {
+        if (!ReportJob.DONE.equals(job.getStatus()) || job.getFilePath() == null) return Optional.empty();
+        Path file = Path.of(job.getFilePath());
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    // ====== DISPATCH (bounded worker pool) ======
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        requeueStale();
+        dispatch();
+    }
+
+    // picks up jobs queued while all workers were busy, by another instance, or left by a stopped one
+    @Scheduled(fixedDelay = 15_000, initialDelay = 15_000)
+    public void poll() {
+        requeueStale();
+        dispatch();
+    }
+
+    // well within STALE_AFTER, so a slow beat does not hand a live job to another worker
+    @Scheduled(fixedDelay = 30_000, initialDelay = 30_000)
+    public void heartbeat() {
+        if (building.isEmpty()) return;
+        List<String> claims = List.copyOf(building);
+        tx.executeWithoutResult(status -> jobRepo.heartbeat(claims, LocalDateTime.now(clock)));
+    }
+
+    private void requeueStale() {
+        Integer requeued = tx.execute(status -> jobRepo.requeueStale(LocalDateTime.now(clock).minus(STALE_AFTER)));
+        if (requeued != null && requeued > 0) log.info("Requeued {} interrupted report job(s)", requeued);
+    }
+
+    synchronized void dispatch() {
+        if (pool.isShutdown()) return;
+        int free = workers - active.get();
+        if (free <= 0) return;
+        for (String id : jobRepo.findQueuedIds(PageRequest.of(0, free))) {
+            String claim = UUID.randomUUID().toString();
+            Integer claimed = tx.execute(status -> jobRepo.claim(id, claim, LocalDateTime.now(clock)));
+            if (claimed == null || claimed == 0) continue;   // taken by another worker
+            active.incrementAndGet();
+            building.add(claim);
+            try {
+                pool.execute(() -> {
+                    try {
+                        run(id, claim);
+                    } finally {
+                        building.remove(claim);
+                        active.decrementAndGet();
+                        dispatch();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // shutting down: the job stays running until its heartbeat goes stale, then it is requeued
+                building.remove(claim);
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    // ====== RUN ======
+    void run(String id, String claim) {
+        ReportJob job = jobRepo.findById(id).orElse(null);
+        if (job == null) return;
+        long started = System.currentTimeMillis();
+        try {
+            Path file = generate(job);
+            job.setStatus(ReportJob.DONE);
+            job.setFilePath(file.toString());
+            job.setFileBytes(Files.size(file));
+            job.setError(null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Report job {} failed", id, e);
+            String message = String.valueOf(e.getMessage());
+            job.setStatus(ReportJob.FAILED);
+            job.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        }
+        job.setFinishedAt(LocalDateTime.now(clock));
+        Integer written = tx.execute(status -> jobRepo.finish(id, claim, job.getStatus(), job.getFingerprint(),
+                job.getAthletes(), job.getFilePath(), job.getFileBytes(), job.getError(), job.getFinishedAt()));
+        if (written == null || written == 0) {
+            // requeued while this worker was slow; the job belongs to its new claim now
+            log.warn("Report job {} was requeued while running; dropping this outcome", id);
+            return;
+        }
+        log.info("Report job {} {} ({} athletes) in {} ms", id, job.getStatus(), job.getAthletes(),
+                System.currentTimeMillis() - started);
+        if (ReportJob.DONE.equals(job.getStatus())) removeOlder(job);
+    }
+
+    Path generate(ReportJob job) throws IOException {
+        LocalDate first = LocalDate.of(job.getSeason(), 1, 1);
+        LocalDate last = LocalDate.of(job.getSeason(), 12, 31);
+        // the squad as of now; the fingerprint is taken before reading, so later writes make it stale
+        List<Integer> squad = squad(job.getCoachId());
+        job.setAthletes(squad.size());
+        job.setFingerprint(fingerprint(job.getSeason(), squad));
+
+        SeasonReport report = readTx.execute(status -> read(job, squad, first, last));
+        Files.createDirectories(dir);
+        Path part = Files.createTempFile(dir, job.getId(), ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(part)) {
+                report.write(out);
+            }
+            return Files.move(part, dir.resolve(job.getId() + ".zip"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    private SeasonReport read(ReportJob job, List<Integer> squad, LocalDate first, LocalDate last) {
+        Map<Integer, String> names = new LinkedHashMap<>();
+        athleteRepo.findAllById(squad).stream()
+                .sorted(Comparator.comparing((Athlete a) -> String.valueOf(a.getLastname()))
+                        .thenComparing(a -> String.valueOf(a.getName())))
+                .forEach(a -> names.put(a.getId(), (Objects.toString(a.getName(), "") + " "
+                        + Objects.toString(a.getLastname(), "")).trim()));
+        String coach = coachRepo.findById(job.getCoachId())
+                .map(c -> (Objects.toString(c.getName(), "") + " " + Objects.toString(c.getLastname(), "")).trim())
+                .orElse("#" + job.getCoachId());
+        SeasonReport report = new SeasonReport("Season " + job.getSeason() + " — " + coach, first, last, names);
+        if (squad.isEmpty()) return report;
+
+        // one cursor at a time, oldest first
+        try (Stream<RollupSourceView> rows = resultRepo.streamReportSource(squad, last)) {
+            rows.forEach(row -> report.mark(Discipline.RUN, row));
+        }
+        try (Stream<RollupSourceView> rows = jumpRepo.streamReportSource(squad, last)) {
+            rows.forEach(row -> report.mark(Discipline.JUMP, row));
+        }
+        try (Stream<RollupSourceView> rows = throwRepo.streamReportSource(squad, last)) {
+            rows.forEach(row -> report.mark(Discipline.THROW, row));
+        }
+        try (Stream<RollupSourceView> rows = sessionRepo.streamReportSource(squad, first, last)) {
+            rows.forEach(report::session);
+        }
+        try (Stream<GymSessionRefView> rows = gymRepo.streamRefs(squad, first, last)) {
+            rows.forEach(report::gym);
+        }
+        planRepo.countByAthlete(squad, first, last).forEach(report::plans);
+        return report;
+    }
+
+    // reports of older data for the same coach and season are not handed out any more
+    private void removeOlder(ReportJob job) {
+        try {
+            List<ReportJob> older = jobRepo.findByCoachIdAndSeasonAndStatusAndCreatedAtBefore(
+                    job.getCoachId(), job.getSeason(), ReportJob.DONE, job.getCreatedAt());
+            for (ReportJob old : older) {
+                if (old.getFilePath() != null) Files.deleteIfExists(Path.of(old.getFilePath()));
+            }
+            if (!older.isEmpty()) tx.executeWithoutResult(status -> jobRepo.deleteAll(older));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not remove the older reports of coach #{} / {}", job.getCoachId(), job.getSeason(), e);
+        }
+    }
+
+    // ====== CACHE KEY ======
+    private List<Integer> squad(Integer coachId) {
+        List<Integer> ids = new ArrayList<>(relationRepo.findAthleteIdsByCoachIdAndStatusName(coachId,
+                LiveUpdateService.ACCEPTED));
+        Collections.sort(ids);
+        return ids;
+    }
+
+    String fingerprint(int season, List<Integer> squad) {
+        Long seq = squad.isEmpty() ? null : changeLogRepo.findLatestSeq(squad);
+        String key = season + "|" + squad + "|" + (seq == null ? 0 : seq);
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
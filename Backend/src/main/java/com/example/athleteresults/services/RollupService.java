@@ -0,0 +1,361 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.RollupSourceView;
+import com.example.athleteresults.entities.AthleteRollup;
+import com.example.athleteresults.entities.AthleteRollup.Discipline;
+import com.example.athleteresults.entities.AthleteRollup.Period;
+import com.example.athleteresults.entities.RollupJob;
+import com.example.athleteresults.entities.RollupJobChunk;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Nightly per-athlete rollups: entries, volume, best and average mark per discipline and
+ * event, for every day, week and season, stored as {@link AthleteRollup} rows.
+ *
+ * A run cuts the athletes (by id) into chunks of {@link #CHUNK_SIZE} and stores them as
+ * {@link RollupJobChunk} checkpoints. The chunks are processed in parallel by at most
+ * {@code app.rollups.db-concurrency} workers, each in its own transaction that replaces the
+ * chunk's rollups and marks the chunk done. A run that stopped (restart, failed chunk) is
+ * resumed by the next start from its open chunks, up to {@link #MAX_ATTEMPTS} times.
+ */
+@Service
+public class RollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    static final int CHUNK_SIZE = 250;
+    static final int MAX_ATTEMPTS = 3;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /** Run state with live chunk counts. */
+    public record JobProgress(
+            Long jobId,
+            LocalDate runDate,
+            String status,
+            int attempts,
+            int athletes,
+            int chunks,
+            long chunksDone,
+            long chunksFailed,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt
+    ) {}
+
+    private final AthleteRollupRepository rollupRepo;
+    private final RollupJobRepository jobRepo;
+    private final RollupJobChunkRepository chunkRepo;
+    private final AthleteRepository athleteRepo;
+    private final ResultRepository resultRepo;
+    private final JumpResultRepository jumpRepo;
+    private final ThrowResultRepository throwRepo;
+    private final SessionRepository sessionRepo;
+    private final TransactionTemplate tx;
+    private final int concurrency;
+    private final Clock clock;
+    private final ExecutorService launcher;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public RollupService(AthleteRollupRepository rollupRepo,
+                         RollupJobRepository jobRepo,
+                         RollupJobChunkRepository chunkRepo,
+                         AthleteRepository athleteRepo,
+                         ResultRepository resultRepo,
+                         JumpResultRepository jumpRepo,
+                         ThrowResultRepository throwRepo,
+                         SessionRepository sessionRepo,
+                         PlatformTransactionManager txManager,
+                         @Value("${app.rollups.db-concurrency:4}") int concurrency) {
+        this(rollupRepo, jobRepo, chunkRepo, athleteRepo, resultRepo, jumpRepo, throwRepo, sessionRepo,
+                txManager, concurrency, Clock.systemDefaultZone(),
+                // starts runs triggered over HTTP; the chunk workers are created per run
+                Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "rollup-job");
+                    t.setDaemon(true);
+                    return t;
+                }));
+    }
+
+    RollupService(AthleteRollupRepository rollupRepo,
+                  RollupJobRepository jobRepo,
+                  RollupJobChunkRepository chunkRepo,
+                  AthleteRepository athleteRepo,
+                  ResultRepository resultRepo,
+                  JumpResultRepository jumpRepo,
+                  ThrowResultRepository throwRepo,
+                  SessionRepository sessionRepo,
+                  PlatformTransactionManager txManager,
+                  int concurrency,
+                  Clock clock,
+                  ExecutorService launcher) {
+        this.rollupRepo = rollupRepo;
+        this.jobRepo = jobRepo;
+        this.chunkRepo = chunkRepo;
+        this.athleteRepo = athleteRepo;
+        this.resultRepo = resultRepo;
+        this.jumpRepo = jumpRepo;
+        this.throwRepo = throwRepo;
+        this.sessionRepo = sessionRepo;
+        // every chunk (and every checkpoint) commits on its own
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.concurrency = Math.max(1, concurrency);
+        this.clock = clock;
+        this.launcher = launcher;
+    }
+
+    // ====== START ======
+    @Scheduled(cron = "0 45 2 * * *")
+    public void nightly() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Rollup job still running, nightly start skipped");
+            return;
+        }
+        try {
+            execute(planOrResume());
+        } catch (RuntimeException e) {
+            log.error("Rollup job failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** Plans or resumes a run and processes it in the background; empty if a run is active. */
+    public Optional<JobProgress> start() {
+        if (!running.compareAndSet(false, true)) return Optional.empty();
+        RollupJob job;
+        try {
+            job = planOrResume();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        launcher.execute(() -> {
+            try {
+                execute(job);
+            } catch (RuntimeException e) {
+                log.error("Rollup job #{} failed", job.getId(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return Optional.of(progress(job));
+    }
+
+    public Optional<JobProgress> latest() {
+        return jobRepo.findTopByOrderByIdDesc().map(this::progress);
+    }
+
+    private JobProgress progress(RollupJob job) {
+        return new JobProgress(job.getId(), job.getRunDate(), job.getStatus(), job.getAttempts(),
+                job.getAthletes(), job.getChunks(),
+                chunkRepo.countByJobIdAndStatus(job.getId(), RollupJobChunk.DONE),
+                chunkRepo.countByJobIdAndStatus(job.getId(), RollupJobChunk.FAILED),
+                job.getStartedAt(), job.getFinishedAt());
+    }
+
+    // ====== PLAN (or pick up the open chunks of an unfinished run) ======
+    RollupJob planOrResume() {
+        Optional<RollupJob> last = jobRepo.findTopByOrderByIdDesc();
+        if (last.isPresent() && !RollupJob.DONE.equals(last.get().getStatus())
+                && last.get().getAttempts() < MAX_ATTEMPTS) {
+            RollupJob job = last.get();
+            job.setAttempts(job.getAttempts() + 1);
+            job.setStatus(RollupJob.RUNNING);
+            job.setFinishedAt(null);
+            log.info("Resuming rollup job #{} (attempt {})", job.getId(), job.getAttempts());
+            return tx.execute(status -> jobRepo.save(job));
+        }
+
+        List<Integer> ids = athleteRepo.findAllIds();
+        int chunks = (ids.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return tx.execute(status -> {
+            RollupJob job = jobRepo.save(new RollupJob(LocalDate.now(clock), ids.size(), chunks,
+                    LocalDateTime.now(clock)));
+            List<RollupJobChunk> rows = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                int from = c * CHUNK_SIZE;
+                int to = Math.min(from + CHUNK_SIZE, ids.size()) - 1;
+                rows.add(new RollupJobChunk(job.getId(), c, ids.get(from), ids.get(to)));
+            }
+            chunkRepo.saveAll(rows);
+            return job;
+        });
+    }
+
+    // ====== EXECUTE (bounded parallel chunks) ======
+    void execute(RollupJob job) {
+        List<RollupJobChunk> open = chunkRepo.findByJobIdAndStatusNotOrderByChunkNo(job.getId(), RollupJobChunk.DONE);
+        long started = System.currentTimeMillis();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger rows = new AtomicInteger();
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(concurrency, Math.max(open.size(), 1)),
+                new ThreadFactory() {
+                    private final AtomicInteger n = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, "rollup-" + n.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+        try {
+            List<Future<?>> futures = new ArrayList<>(open.size());
+            for (RollupJobChunk chunk : open) {
+                futures.add(workers.submit(() -> {
+                    Integer written = process(chunk);
+                    if (written == null) failed.incrementAndGet();
+                    else rows.addAndGet(written);
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.incrementAndGet();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        job.setStatus(failed.get() == 0 ? RollupJob.DONE : RollupJob.FAILED);
+        job.setFinishedAt(LocalDateTime.now(clock));
+        tx.executeWithoutResult(status -> jobRepo.save(job));
+        log.info("Rollup job #{} {}: {} chunks, {} failed, {} rows in {} ms", job.getId(), job.getStatus(),
+                open.size(), failed.get(), rows.get(), System.currentTimeMillis() - started);
+    }
+
+    // rollups written, or null if the chunk failed (it stays open for the next attempt)
+    private Integer process(RollupJobChunk chunk) {
+        try {
+            return tx.execute(status -> {
+                List<AthleteRollup> rollups = compute(chunk.getFirstAthleteId(), chunk.getLastAthleteId());
+                rollupRepo.deleteByAthleteIdBetween(chunk.getFirstAthleteId(), chunk.getLastAthleteId());
+                rollupRepo.saveAll(rollups);
+                chunk.setStatus(RollupJobChunk.DONE);
+                chunk.setRowsWritten(rollups.size());
+                chunk.setError(null);
+                chunk.setFinishedAt(LocalDateTime.now(clock));
+                chunkRepo.save(chunk);
+                return rollups.size();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Rollup chunk {} of job #{} failed", chunk.getChunkNo(), chunk.getJobId(), e);
+            String message = String.valueOf(e.getMessage());
+            chunk.setStatus(RollupJobChunk.FAILED);
+            chunk.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            chunk.setFinishedAt(LocalDateTime.now(clock));
+            try {
+                tx.executeWithoutResult(status -> chunkRepo.save(chunk));
+            } catch (RuntimeException ignored) {
+                // still pending in the database, which resumes it just the same
+            }
+            return null;
+        }
+    }
+
+    // ====== AGGREGATION ======
+    List<AthleteRollup> compute(Integer first, Integer last) {
+        Map<Key, Acc> acc = new HashMap<>();
+        add(acc, Discipline.RUN, resultRepo.findRollupSource(first, last));
+        add(acc, Discipline.JUMP, jumpRepo.findRollupSource(first, last));
+        add(acc, Discipline.THROW, throwRepo.findRollupSource(first, last));
+        add(acc, Discipline.SESSION, sessionRepo.findRollupSource(first, last));
+
+        List<AthleteRollup> out = new ArrayList<>(acc.size());
+        acc.forEach((k, a) -> out.add(new AthleteRollup(k.athleteId(), k.discipline(), k.event(), k.period(),
+                k.periodStart(), a.count, a.volumes > 0 ? a.volume : null,
+                a.marks > 0 ? a.best : null, a.marks > 0 ? a.sum / a.marks : null)));
+        return out;
+    }
+
+    private record Key(Integer athleteId, Discipline discipline, String event, Period period, LocalDate periodStart) {}
+
+    private static final class Acc {
+        int count;
+        int marks;
+        int volumes;
+        double volume;
+        double sum;
+        double best;
+    }
+
+    private static void add(Map<Key, Acc> acc, Discipline d, List<RollupSourceView> rows) {
+        boolean lowerIsBetter = d == Discipline.RUN;
+        for (RollupSourceView row : rows) {
+            if (row.getAthleteId() == null || row.getDate() == null) continue;
+            String event = LeaderboardService.normalize(row.getEvent());
+            for (Period p : Period.values()) {
+                Acc a = acc.computeIfAbsent(new Key(row.getAthleteId(), d, event, p, periodStart(row.getDate(), p)),
+                        k -> new Acc());
+                a.count++;
+                if (row.getVolume() != null) {
+                    a.volumes++;
+                    a.volume += row.getVolume().doubleValue();
+                }
+                if (row.getMark() != null) {
+                    double mark = row.getMark().doubleValue();
+                    a.best = a.marks == 0 ? mark : lowerIsBetter ? Math.min(a.best, mark) : Math.max(a.best, mark);
+                    a.marks++;
+                    a.sum += mark;
+                }
+            }
+        }
+    }
+
+    public static LocalDate periodStart(LocalDate date, Period period) {
+        return switch (period) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case SEASON -> date.withDayOfYear(1);
+        };
+    }
+
+    // ====== READ (dashboards) ======
+    public List<AthleteRollup> rollups(Integer athleteId, Period period, LocalDate from, LocalDate to) {
+        return rollupRepo.findRange(athleteId, period, periodStart(from, period), to);
+    }
+
+    // ====== ATHLETE DELETE ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.kind() != DataChangeEvent.Kind.ATHLETE || event.action() != DataChangeEvent.Action.DELETED
+                || event.entityId() == null) return;
+        try {
+            tx.executeWithoutResult(status -> rollupRepo.deleteByAthleteId(event.entityId()));
+        } catch (RuntimeException e) {
+            // left-over rows are replaced or removed with their chunk on the next run
+            log.error("Could not delete the rollups of athlete #{}", event.entityId(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        launcher.shutdownNow();
+    }
+}
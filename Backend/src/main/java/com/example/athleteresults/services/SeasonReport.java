@@ -0,0 +1,331 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.GymSessionRefView;
+import com.example.athleteresults.dto.PlanCountView;
+import com.example.athleteresults.dto.RollupSourceView;
+import com.example.athleteresults.entities.AthleteRollup.Discipline;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * End-of-season report of a squad, built row by row from the repository streams and
+ * written as a ZIP bundle: report.html plus pbs.csv, progression.csv, volume.csv and
+ * adherence.csv.
+ *
+ * Only running totals are held — per athlete and event the personal best and season best,
+ * per athlete and month the training volume — plus one line per PB improvement. Marks must
+ * arrive oldest first per discipline so that improvements are seen in order; marks from
+ * before the season only move the personal best the season started from.
+ */
+final class SeasonReport {
+
+    static final String[] FILES = { "report.html", "pbs.csv", "progression.csv", "volume.csv", "adherence.csv" };
+
+    private record EventKey(Integer athleteId, Discipline discipline, String event) {}
+
+    private static final class Best {
+        final String event;          // as first seen, for display
+        double pb = Double.NaN;
+        LocalDate pbDate;
+        double seasonStartPb = Double.NaN;
+        double sb = Double.NaN;
+        LocalDate sbDate;
+        int entries;
+
+        Best(String event) { this.event = event; }
+    }
+
+    private record Step(Integer athleteId, Discipline discipline, String event, LocalDate date,
+                        double mark, double previous) {}
+
+    private static final class Volume {
+        int races;
+        int jumps;
+        int throwsCount;
+        int sessions;
+        double km;
+        double minutes;
+        int gym;
+    }
+
+    private final String title;
+    private final LocalDate first;
+    private final LocalDate last;
+    private final Map<Integer, String> athletes;
+
+    private final Map<EventKey, Best> bests = new HashMap<>();
+    private final List<Step> progression = new ArrayList<>();
+    private final Map<Integer, TreeMap<YearMonth, Volume>> volume = new HashMap<>();
+    private final Map<Integer, long[]> plans = new HashMap<>();
+
+    /** athletes: id → display name, in report order. */
+    SeasonReport(String title, LocalDate first, LocalDate last, Map<Integer, String> athletes) {
+        this.title = title;
+        this.first = first;
+        this.last = last;
+        this.athletes = athletes;
+    }
+
+    // ====== INPUT ======
+    /** A result, jump or throw up to the end of the season. */
+    void mark(Discipline discipline, RollupSourceView row) {
+        if (row.getAthleteId() == null || row.getDate() == null || row.getMark() == null) return;
+        String event = row.getEvent() == null ? "" : row.getEvent().trim();
+        Best b = bests.computeIfAbsent(
+                new EventKey(row.getAthleteId(), discipline, LeaderboardService.normalize(event)),
+                k -> new Best(event));
+        double mark = row.getMark().doubleValue();
+        boolean inSeason = !row.getDate().isBefore(first) && !row.getDate().isAfter(last);
+
+        if (inSeason) {
+            b.entries++;
+            if (Double.isNaN(b.sb) || better(discipline, mark, b.sb)) {
+                b.sb = mark;
+                b.sbDate = row.getDate();
+            }
+            Volume v = month(row.getAthleteId(), row.getDate());
+            switch (discipline) {
+                case RUN -> v.races++;
+                case JUMP -> v.jumps++;
+                default -> v.throwsCount++;
+            }
+        }
+        if (Double.isNaN(b.pb) || better(discipline, mark, b.pb)) {
+            if (inSeason) {
+                progression.add(new Step(row.getAthleteId(), discipline, b.event, row.getDate(), mark, b.pb));
+            } else {
+                b.seasonStartPb = mark;
+            }
+            b.pb = mark;
+            b.pbDate = row.getDate();
+        }
+    }
+
+    /** A training session of the season; mark is the distance in km, volume the minutes. */
+    void session(RollupSourceView row) {
+        if (row.getAthleteId() == null || row.getDate() == null) return;
+        Volume v = month(row.getAthleteId(), row.getDate());
+        v.sessions++;
+        if (row.getMark() != null) v.km += row.getMark().doubleValue();
+        if (row.getVolume() != null) v.minutes += row.getVolume().doubleValue();
+    }
+
+    void gym(GymSessionRefView row) {
+        if (row.getAthleteId() == null || row.getSessionDate() == null) return;
+        month(row.getAthleteId(), row.getSessionDate()).gym++;
+    }
+
+    void plans(PlanCountView row) {
+        plans.put(row.getAthleteId(), new long[] {
+                row.getPlanned() == null ? 0 : row.getPlanned(),
+                row.getCompleted() == null ? 0 : row.getCompleted() });
+    }
+
+    private Volume month(Integer athleteId, LocalDate date) {
+        return volume.computeIfAbsent(athleteId, k -> new TreeMap<>())
+                .computeIfAbsent(YearMonth.from(date), k -> new Volume());
+    }
+
+    private static boolean better(Discipline discipline, double mark, double than) {
+        return discipline == Discipline.RUN ? mark < than : mark > than;
+    }
+
+    // ====== OUTPUT ======
+    void write(OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Writer w = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        for (String name : FILES) {
+            zip.putNextEntry(new ZipEntry(name));
+            switch (name) {
+                case "report.html" -> writeHtml(w);
+                case "pbs.csv" -> writePbs(w);
+                case "progression.csv" -> writeProgression(w);
+                case "volume.csv" -> writeVolume(w);
+                default -> writeAdherence(w);
+            }
+            w.flush();
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    private List<Map.Entry<EventKey, Best>> sortedBests() {
+        Map<Integer, Integer> order = new HashMap<>();
+        for (Integer id : athletes.keySet()) order.put(id, order.size());
+        return bests.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<EventKey, Best>>comparingInt(
+                                e -> order.getOrDefault(e.getKey().athleteId(), Integer.MAX_VALUE))
+                        .thenComparing(e -> e.getKey().discipline())
+                        .thenComparing(e -> e.getKey().event()))
+                .toList();
+    }
+
+    private void writePbs(Writer w) throws IOException {
+        csv(w, "athlete_id", "athlete", "discipline", "event", "unit", "personal_best", "pb_date",
+                "season_best", "sb_date", "season_entries", "pb_this_season");
+        for (Map.Entry<EventKey, Best> e : sortedBests()) {
+            EventKey k = e.getKey();
+            Best b = e.getValue();
+            csv(w, k.athleteId(), name(k.athleteId()), label(k.discipline()), b.event, unit(k.discipline()),
+                    number(b.pb), b.pbDate, number(b.sb), b.sbDate, b.entries, pbThisSeason(b));
+        }
+    }
+
+    private void writeProgression(Writer w) throws IOException {
+        csv(w, "athlete_id", "athlete", "discipline", "event", "unit", "date", "mark", "previous_best", "improvement");
+        for (Step s : progression) {
+            csv(w, s.athleteId(), name(s.athleteId()), label(s.discipline()), s.event(), unit(s.discipline()),
+                    s.date(), number(s.mark()), number(s.previous()),
+                    Double.isNaN(s.previous()) ? "" : number(Math.abs(s.previous() - s.mark())));
+        }
+    }
+
+    private void writeVolume(Writer w) throws IOException {
+        csv(w, "athlete_id", "athlete", "month", "races", "jumps", "throws", "sessions", "session_km",
+                "session_minutes", "gym_sessions");
+        for (Integer id : athletes.keySet()) {
+            for (Map.Entry<YearMonth, Volume> e : volume.getOrDefault(id, new TreeMap<>()).entrySet()) {
+                Volume v = e.getValue();
+                csv(w, id, name(id), e.getKey(), v.races, v.jumps, v.throwsCount, v.sessions,
+                        number(v.km), number(v.minutes), v.gym);
+            }
+        }
+    }
+
+    private void writeAdherence(Writer w) throws IOException {
+        csv(w, "athlete_id", "athlete", "planned", "completed", "adherence_pct");
+        for (Integer id : athletes.keySet()) {
+            long[] p = plans.getOrDefault(id, new long[2]);
+            csv(w, id, name(id), p[0], p[1], adherence(p));
+        }
+    }
+
+    private void writeHtml(Writer w) throws IOException {
+        w.write("<!DOCTYPE html>\n<html lang=\"en\"><head><meta charset=\"utf-8\"><title>");
+        w.write(html(title));
+        w.write("</title><style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}"
+                + "th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}"
+                + "</style></head><body>\n<h1>");
+        w.write(html(title));
+        w.write("</h1>\n<p>" + first + " – " + last + " · " + athletes.size() + " athletes</p>\n");
+
+        Map<Integer, Integer> pbs = new HashMap<>();
+        bests.forEach((k, b) -> {
+            if (!pbThisSeason(b).equals("no")) pbs.merge(k.athleteId(), 1, Integer::sum);
+        });
+
+        // one line per athlete
+        w.write("<h2>Squad</h2>\n<table><tr><th>Athlete</th><th>Competitions</th><th>PBs</th><th>Sessions</th>"
+                + "<th>km</th><th>Gym</th><th>Plan adherence</th></tr>\n");
+        for (Integer id : athletes.keySet()) {
+            int competitions = 0, sessions = 0, gym = 0;
+            double km = 0;
+            for (Volume v : volume.getOrDefault(id, new TreeMap<>()).values()) {
+                competitions += v.races + v.jumps + v.throwsCount;
+                sessions += v.sessions;
+                km += v.km;
+                gym += v.gym;
+            }
+            String adherence = adherence(plans.getOrDefault(id, new long[2]));
+            row(w, name(id), competitions, pbs.getOrDefault(id, 0), sessions, number(Math.round(km * 10) / 10.0), gym,
+                    adherence.isEmpty() ? "–" : adherence + " %");
+        }
+        w.write("</table>\n");
+
+        w.write("<h2>Personal bests of the season</h2>\n<table><tr><th>Athlete</th><th>Event</th><th>Mark</th>"
+                + "<th>Date</th><th>Previous</th></tr>\n");
+        for (Map.Entry<EventKey, Best> e : sortedBests()) {
+            Best b = e.getValue();
+            if (pbThisSeason(b).equals("no")) continue;
+            Discipline d = e.getKey().discipline();
+            row(w, name(e.getKey().athleteId()), b.event, display(d, b.pb), b.pbDate,
+                    Double.isNaN(b.seasonStartPb) ? "–" : display(d, b.seasonStartPb));
+        }
+        w.write("</table>\n");
+
+        w.write("<h2>Season bests</h2>\n<table><tr><th>Athlete</th><th>Event</th><th>Season best</th>"
+                + "<th>Date</th><th>Entries</th><th>Personal best</th></tr>\n");
+        for (Map.Entry<EventKey, Best> e : sortedBests()) {
+            Best b = e.getValue();
+            if (b.entries == 0) continue;
+            Discipline d = e.getKey().discipline();
+            row(w, name(e.getKey().athleteId()), b.event, display(d, b.sb), b.sbDate, b.entries, display(d, b.pb));
+        }
+        w.write("</table>\n</body></html>\n");
+    }
+
+    // ====== FORMATTING ======
+    // "yes" (improved on an earlier PB), "first" (first mark ever) or "no"
+    private String pbThisSeason(Best b) {
+        if (b.pbDate == null || b.pbDate.isBefore(first)) return "no";
+        return Double.isNaN(b.seasonStartPb) ? "first" : "yes";
+    }
+
+    private static String adherence(long[] p) {
+        return p[0] == 0 ? "" : number(Math.round(1000.0 * p[1] / p[0]) / 10.0);
+    }
+
+    private String name(Integer athleteId) {
+        return athletes.getOrDefault(athleteId, "#" + athleteId);
+    }
+
+    private static String label(Discipline d) {
+        return d.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String unit(Discipline d) {
+        return d == Discipline.RUN ? "ms" : "m";
+    }
+
+    private static String number(double value) {
+        if (Double.isNaN(value)) return "";
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    // race times as [h:]mm:ss.cc, distances in metres
+    static String display(Discipline d, double mark) {
+        if (Double.isNaN(mark)) return "";
+        if (d != Discipline.RUN) return String.format(Locale.ROOT, "%.2f m", mark);
+        long cs = Math.round(mark / 10);
+        long h = cs / 360_000, m = cs / 6_000 % 60, s = cs / 100 % 60, c = cs % 100;
+        if (h > 0) return String.format(Locale.ROOT, "%d:%02d:%02d.%02d", h, m, s, c);
+        if (m > 0) return String.format(Locale.ROOT, "%d:%02d.%02d", m, s, c);
+        return String.format(Locale.ROOT, "%d.%02d", s, c);
+    }
+
+    private static void csv(Writer w, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) w.write(',');
+            String v = values[i] == null ? "" : values[i].toString();
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                v = '"' + v.replace("\"", "\"\"") + '"';
+            }
+            w.write(v);
+        }
+        w.write("\r\n");
+    }
+
+    private static void row(Writer w, Object... cells) throws IOException {
+        w.write("<tr>");
+        for (Object cell : cells) {
+            w.write("<td>");
+            w.write(html(cell == null ? "" : cell.toString()));
+            w.write("</td>");
+        }
+        w.write("</tr>\n");
+    }
+
+    private static String html(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.StreamInfo;
+import com.example.athleteresults.entities.SessionStreamChunk;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.SessionStreamChunkRepository;
+import com.example.athleteresults.services.StreamCodec.Sample;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Per-second wearable streams (GPS, heart rate, cadence) attached to a run session.
+ *
+ * An upload is parsed and stored while it is read: every {@link #CHUNK_SIZE} samples become
+ * one {@link SessionStreamChunk}, encoded by {@link StreamCodec} (typically a few bytes per
+ * sample instead of a row each). A read decodes only the chunks overlapping the requested
+ * window and averages samples into buckets of the requested resolution, so a chart of a
+ * three-hour run costs a handful of chunk reads and at most {@link #MAX_POINTS} points.
+ */
+@Service
+public class SessionStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStreamService.class);
+
+    static final int CHUNK_SIZE = 1024;
+    // ~11.5 days at 1 Hz — anything longer is not one session
+    static final int MAX_SAMPLES = 1_000_000;
+    static final int MAX_POINTS = 10_000;
+
+    public enum Format { CSV, GPX }
+
+    /** Outcome of an upload; {@code dropped} counts samples out of time order or duplicated. */
+    public record IngestResult(int samples, int chunks, int dropped, Long start, Long end, long bytes) {}
+
+    /**
+     * Columnar window of a stream: {@code offsets} are milliseconds since {@code start}
+     * (bucket starts when resampled), channel arrays are aligned with them and hold null
+     * where the device recorded nothing.
+     */
+    public record StreamWindow(
+            long start,
+            int resolution,
+            long[] offsets,
+            Double[] lat,
+            Double[] lon,
+            Double[] altitude,
+            Double[] heartRate,
+            Double[] cadence
+    ) {}
+
+    private final SessionStreamChunkRepository chunkRepo;
+    private final TransactionTemplate cleanupTx;
+
+    public SessionStreamService(SessionStreamChunkRepository chunkRepo, PlatformTransactionManager txManager) {
+        this.chunkRepo = chunkRepo;
+        // the listener runs after the session delete has committed
+        this.cleanupTx = new TransactionTemplate(txManager);
+        this.cleanupTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ====== INGEST (replaces any earlier stream of the session) ======
+    @Transactional
+    public IngestResult ingest(Integer sessionId, InputStream body, Format format) {
+        chunkRepo.deleteBySessionId(sessionId);
+
+        ChunkWriter writer = new ChunkWriter(sessionId);
+        if (format == Format.GPX) {
+            StreamImport.gpx(body, writer);
+        } else {
+            StreamImport.csv(body, writer);
+        }
+        writer.flush();
+
+        if (writer.samples == 0)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Upload contains no samples");
+        return new IngestResult(writer.samples, writer.chunkNo, writer.dropped,
+                writer.start, writer.lastTime, writer.bytes);
+    }
+
+    // buffers one chunk at a time; samples must arrive in time order
+    private final class ChunkWriter implements Consumer<Sample> {
+        private final Integer sessionId;
+        private final List<Sample> buffer = new ArrayList<>(CHUNK_SIZE);
+        private int samples;
+        private int dropped;
+        private int chunkNo;
+        private long bytes;
+        private Long start;
+        private Long lastTime;
+
+        ChunkWriter(Integer sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        @Override
+        public void accept(Sample sample) {
+            if (lastTime != null && sample.time() <= lastTime) {
+                dropped++;
+                return;
+            }
+            if (samples == MAX_SAMPLES)
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        "A stream may hold at most " + MAX_SAMPLES + " samples");
+            if (start == null) start = sample.time();
+            lastTime = sample.time();
+            samples++;
+            buffer.add(sample);
+            if (buffer.size() == CHUNK_SIZE) flush();
+        }
+
+        void flush() {
+            if (buffer.isEmpty()) return;
+            byte[] data = StreamCodec.encode(buffer);
+            chunkRepo.save(new SessionStreamChunk(sessionId, chunkNo++,
+                    buffer.get(0).time(), buffer.get(buffer.size() - 1).time(), buffer.size(), data));
+            bytes += data.length;
+            buffer.clear();
+        }
+    }
+
+    // ====== READ ======
+    public StreamInfo info(Integer sessionId) {
+        return chunkRepo.findInfo(sessionId);
+    }
+
+    /**
+     * Samples between {@code fromSec} and {@code toSec} (seconds since the first sample,
+     * null = open end). Resolution 0 returns raw samples; either way the resolution is raised
+     * as far as needed to stay within {@link #MAX_POINTS}.
+     */
+    @Transactional(readOnly = true)
+    public StreamWindow read(Integer sessionId, Integer fromSec, Integer toSec, int resolutionSec) {
+        StreamInfo info = chunkRepo.findInfo(sessionId);
+        if (info == null || info.start() == null)
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session has no stream");
+
+        long start = info.start();
+        long from = start + (fromSec != null ? fromSec * 1000L : 0);
+        long to = toSec != null ? start + toSec * 1000L : info.end();
+        int resolution = effectiveResolution(resolutionSec, from, to, info);
+
+        Columns columns = new Columns();
+        Bucketer bucketer = resolution == 0 ? null : new Bucketer(start, resolution * 1000L, columns::add);
+        for (SessionStreamChunk chunk : chunkRepo.findOverlapping(sessionId, from, to)) {
+            for (Sample s : StreamCodec.decode(chunk.getData())) {
+                if (s.time() < from || s.time() > to) continue;
+                if (bucketer == null) {
+                    columns.add(s.time() - start, s);
+                } else {
+                    bucketer.accept(s);
+                }
+            }
+        }
+        if (bucketer != null) bucketer.flush();
+        return columns.toWindow(start, resolution);
+    }
+
+    // smallest resolution (whole seconds) that keeps the window within MAX_POINTS
+    static int effectiveResolution(int requested, long from, long to, StreamInfo info) {
+        long span = Math.max(to - from, 0);
+        long samples = info.samples() != null ? info.samples() : 0;
+        long total = Math.max(info.end() - info.start(), 1);
+        // raw: estimate the window's samples from the stream's average rate
+        if (requested == 0 && samples * span / total + 1 <= MAX_POINTS) return 0;
+        int minimum = (int) Math.ceil(span / 1000.0 / MAX_POINTS);
+        return Math.max(Math.max(requested, minimum), 1);
+    }
+
+    // averages every channel per bucket, ignoring missing values
+    private static final class Bucketer implements Consumer<Sample> {
+        private final long start;
+        private final long width;
+        private final BiConsumer<Long, Sample> out;
+        private final double[] sum = new double[Sample.CHANNELS];
+        private final int[] count = new int[Sample.CHANNELS];
+        private long bucket = -1;
+
+        Bucketer(long start, long width, BiConsumer<Long, Sample> out) {
+            this.start = start;
+            this.width = width;
+            this.out = out;
+        }
+
+        @Override
+        public void accept(Sample s) {
+            long b = (s.time() - start) / width;
+            if (b != bucket) {
+                flush();
+                bucket = b;
+            }
+            for (int c = 0; c < Sample.CHANNELS; c++) {
+                double v = s.channel(c);
+                if (!Double.isNaN(v)) {
+                    sum[c] += v;
+                    count[c]++;
+                }
+            }
+        }
+
+        void flush() {
+            if (bucket < 0) return;
+            double[] mean = new double[Sample.CHANNELS];
+            for (int c = 0; c < Sample.CHANNELS; c++) {
+                mean[c] = count[c] == 0 ? Double.NaN : sum[c] / count[c];
+                sum[c] = 0;
+                count[c] = 0;
+            }
+            out.accept(bucket * width, Sample.of(start + bucket * width, mean));
+            bucket = -1;
+        }
+    }
+
+    private static final class Columns {
+        private final List<Long> offsets = new ArrayList<>();
+        private final List<Sample> samples = new ArrayList<>();
+
+        void add(long offset, Sample s) {
+            offsets.add(offset);
+            samples.add(s);
+        }
+
+        StreamWindow toWindow(long start, int resolution) {
+            int n = samples.size();
+            long[] t = new long[n];
+            Double[][] v = new Double[Sample.CHANNELS][n];
+            for (int i = 0; i < n; i++) {
+                t[i] = offsets.get(i);
+                for (int c = 0; c < Sample.CHANNELS; c++) {
+                    double value = samples.get(i).channel(c);
+                    v[c][i] = Double.isNaN(value) ? null : value;
+                }
+            }
+            return new StreamWindow(start, resolution, t, v[0], v[1], v[2], v[3], v[4]);
+        }
+    }
+
+    // ====== DELETE ======
+    @Transactional
+    public int delete(Integer sessionId) {
+        return chunkRepo.deleteBySessionId(sessionId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (event.kind() != DataChangeEvent.Kind.SESSION
+                || event.action() != DataChangeEvent.Action.DELETED
+                || event.entityId() == null) return;
+        try {
+            cleanupTx.executeWithoutResult(status -> chunkRepo.deleteBySessionId(event.entityId()));
+        } catch (RuntimeException e) {
+            // orphaned chunks are unreachable (no session to read them through), only wasted space
+            log.error("Could not delete the stream of session #{}", event.entityId(), e);
+        }
+    }
+}
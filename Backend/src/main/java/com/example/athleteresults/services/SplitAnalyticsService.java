@@ -0,0 +1,162 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.SplitRow;
+import com.example.athleteresults.repositories.ResultRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Pacing metrics from race splits.
+ *
+ * Fade index: how much slower the second half of a race was run than the first, in percent
+ * of the first half's pace (positive = slowed down, negative = negative split). With an odd
+ * number of splits the middle one belongs to neither half.
+ * Even-pace deviation: coefficient of variation of the split paces in percent (0 = every
+ * split at the same pace). Both use pace per metre, so a shorter last split counts fairly.
+ *
+ * History and roster metrics read the races as a stream in one pass; only the per-race
+ * rows (history) or one accumulator per athlete (roster) are kept.
+ */
+@Service
+public class SplitAnalyticsService {
+
+    /** Metrics of one race; paces in ms per 100 m. */
+    public record RaceSplitMetrics(
+            Integer resultId,
+            LocalDate raceDate,
+            Integer distance,
+            int splits,
+            double fadeIndex,
+            double evenPaceDeviation,
+            double fastestPace,
+            double slowestPace
+    ) {}
+
+    /** Averages over the races of one athlete; metrics are null without races. */
+    public record SplitSummary(
+            Integer athleteId,
+            int races,
+            Double meanFadeIndex,
+            Double meanEvenPaceDeviation,
+            Integer worstFadeResultId,
+            Double worstFadeIndex
+    ) {}
+
+    public record SplitHistory(SplitSummary summary, List<RaceSplitMetrics> races) {}
+
+    private final ResultRepository resultRepo;
+
+    public SplitAnalyticsService(ResultRepository resultRepo) {
+        this.resultRepo = resultRepo;
+    }
+
+    // ====== ONE ATHLETE — every race plus summary ======
+    @Transactional(readOnly = true)
+    public SplitHistory history(Integer athleteId, Integer distance) {
+        Summary summary = new Summary(athleteId);
+        List<RaceSplitMetrics> races = new ArrayList<>();
+        try (Stream<SplitRow> rows = resultRepo.streamSplitRows(List.of(athleteId), distance)) {
+            rows.map(SplitAnalyticsService::metrics).filter(Objects::nonNull).forEach(m -> {
+                summary.add(m);
+                races.add(m);
+            });
+        }
+        return new SplitHistory(summary.toSummary(), races);
+    }
+
+    // ====== ROSTER — one summary per athlete, same order as requested ======
+    @Transactional(readOnly = true)
+    public List<SplitSummary> summaries(Collection<Integer> athleteIds, Integer distance) {
+        Map<Integer, Summary> byAthlete = new LinkedHashMap<>();
+        for (Integer id : athleteIds) byAthlete.put(id, new Summary(id));
+
+        try (Stream<SplitRow> rows = resultRepo.streamSplitRows(byAthlete.keySet(), distance)) {
+            rows.forEach(row -> {
+                RaceSplitMetrics m = metrics(row);
+                if (m != null) byAthlete.get(row.athleteId()).add(m);
+            });
+        }
+        return byAthlete.values().stream().map(Summary::toSummary).toList();
+    }
+
+    // ====== METRICS (null = splits do not describe the race) ======
+    static RaceSplitMetrics metrics(SplitRow row) {
+        int[] laps = row.splitMs();
+        int n = laps.length;
+        if (n < 2 || !fits(row.distance(), row.splitDistance(), n)) return null;
+
+        // pace of every split in ms per metre
+        double[] pace = new double[n];
+        double[] metres = new double[n];
+        double totalMs = 0;
+        for (int i = 0; i < n; i++) {
+            metres[i] = i < n - 1 ? row.splitDistance() : row.distance() - (double) row.splitDistance() * (n - 1);
+            pace[i] = laps[i] / metres[i];
+            totalMs += laps[i];
+        }
+
+        int half = n / 2;
+        double first = halfPace(laps, metres, 0, half);
+        double second = halfPace(laps, metres, n - half, n);
+        double fade = (second - first) / first * 100;
+
+        // distance-weighted spread around the race's mean pace
+        double mean = totalMs / row.distance();
+        double variance = 0;
+        for (int i = 0; i < n; i++) variance += metres[i] * (pace[i] - mean) * (pace[i] - mean);
+        double deviation = Math.sqrt(variance / row.distance()) / mean * 100;
+
+        double fastest = Arrays.stream(pace).min().orElseThrow() * 100;
+        double slowest = Arrays.stream(pace).max().orElseThrow() * 100;
+        return new RaceSplitMetrics(row.resultId(), row.raceDate(), row.distance(), n,
+                round(fade), round(deviation), round(fastest), round(slowest));
+    }
+
+    /** True if {@code count} splits of {@code splitDistance} m cover exactly {@code distance} m. */
+    public static boolean fits(Integer distance, Integer splitDistance, int count) {
+        if (distance == null || splitDistance == null || distance <= 0 || splitDistance <= 0) return false;
+        return count == (distance + splitDistance - 1) / splitDistance;
+    }
+
+    private static double halfPace(int[] laps, double[] metres, int from, int to) {
+        double ms = 0, m = 0;
+        for (int i = from; i < to; i++) {
+            ms += laps[i];
+            m += metres[i];
+        }
+        return ms / m;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class Summary {
+        private final Integer athleteId;
+        private int races;
+        private double fadeSum;
+        private double deviationSum;
+        private RaceSplitMetrics worst;
+
+        Summary(Integer athleteId) {
+            this.athleteId = athleteId;
+        }
+
+        void add(RaceSplitMetrics m) {
+            races++;
+            fadeSum += m.fadeIndex();
+            deviationSum += m.evenPaceDeviation();
+            if (worst == null || m.fadeIndex() > worst.fadeIndex()) worst = m;
+        }
+
+        SplitSummary toSummary() {
+            if (races == 0) return new SplitSummary(athleteId, 0, null, null, null, null);
+            return new SplitSummary(athleteId, races, round(fadeSum / races), round(deviationSum / races),
+                    worst.resultId(), worst.fadeIndex());
+        }
+    }
+}
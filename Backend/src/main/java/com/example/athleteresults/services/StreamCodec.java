@@ -0,0 +1,224 @@
+package com.example.athleteresults.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact encoding of one chunk of wearable samples (time + GPS / heart-rate / cadence).
+ *
+ * Timestamps are stored as delta-of-delta: a steady 1 Hz recording costs one bit per sample.
+ * Every channel is XOR-encoded against its previous value (as in Facebook's Gorilla):
+ * an unchanged value costs one bit, a changed one only its meaningful bits. Missing values
+ * are NaN, so a channel the device does not record costs one bit per sample as well.
+ *
+ * Layout: version byte, then a bit stream of count (32 bits), first time (64 bits) and per
+ * sample the time delta-of-delta followed by one XOR value per channel.
+ */
+public final class StreamCodec {
+
+    /** One sample; {@code time} is epoch milliseconds, missing channels are NaN. */
+    public record Sample(long time, double lat, double lon, double altitude, double heartRate, double cadence) {
+
+        static final int CHANNELS = 5;
+
+        double channel(int i) {
+            return switch (i) {
+                case 0 -> lat;
+                case 1 -> lon;
+                case 2 -> altitude;
+                case 3 -> heartRate;
+                default -> cadence;
+            };
+        }
+
+        static Sample of(long time, double[] v) {
+            return new Sample(time, v[0], v[1], v[2], v[3], v[4]);
+        }
+    }
+
+    static final byte VERSION = 1;
+
+    private StreamCodec() {}
+
+    // ====== ENCODE ======
+    public static byte[] encode(List<Sample> samples) {
+        if (samples.isEmpty()) throw new IllegalArgumentException("Empty chunk");
+        BitWriter out = new BitWriter(samples.size() * 4 + 16);
+        out.write(samples.size(), 32);
+
+        long prevTime = samples.get(0).time();
+        long prevDelta = 0;
+        out.write(prevTime, 64);
+
+        long[] prevBits = new long[Sample.CHANNELS];
+        int[] prevLeading = new int[Sample.CHANNELS];
+        int[] prevTrailing = new int[Sample.CHANNELS];
+        Arrays.fill(prevLeading, -1);
+
+        for (int i = 0; i < samples.size(); i++) {
+            Sample s = samples.get(i);
+            if (i > 0) {
+                long delta = s.time() - prevTime;
+                writeDeltaOfDelta(out, delta - prevDelta);
+                prevDelta = delta;
+                prevTime = s.time();
+            }
+            for (int c = 0; c < Sample.CHANNELS; c++) {
+                long bits = Double.doubleToLongBits(s.channel(c));
+                if (i == 0) {
+                    out.write(bits, 64);
+                } else {
+                    writeXor(out, bits ^ prevBits[c], prevLeading, prevTrailing, c);
+                }
+                prevBits[c] = bits;
+            }
+        }
+        return out.toBytes();
+    }
+
+    // ====== DECODE ======
+    public static List<Sample> decode(byte[] data) {
+        if (data.length == 0 || data[0] != VERSION) {
+            throw new IllegalArgumentException("Unknown stream chunk format");
+        }
+        BitReader in = new BitReader(data);
+        int count = (int) in.read(32);
+        List<Sample> out = new ArrayList<>(count);
+
+        long time = in.read(64);
+        long delta = 0;
+        long[] bits = new long[Sample.CHANNELS];
+        int[] leading = new int[Sample.CHANNELS];
+        int[] trailing = new int[Sample.CHANNELS];
+        double[] values = new double[Sample.CHANNELS];
+
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                delta += readDeltaOfDelta(in);
+                time += delta;
+            }
+            for (int c = 0; c < Sample.CHANNELS; c++) {
+                if (i == 0) {
+                    bits[c] = in.read(64);
+                } else {
+                    bits[c] ^= readXor(in, leading, trailing, c);
+                }
+                values[c] = Double.longBitsToDouble(bits[c]);
+            }
+            out.add(Sample.of(time, values));
+        }
+        return out;
+    }
+
+    // ====== TIMESTAMPS ======
+    // 0 | 10+7 bits | 110+9 bits | 1110+12 bits | 1111+64 bits
+    private static void writeDeltaOfDelta(BitWriter out, long dod) {
+        if (dod == 0) {
+            out.write(0, 1);
+        } else if (dod >= -64 && dod <= 63) {
+            out.write(0b10, 2);
+            out.write(dod, 7);
+        } else if (dod >= -256 && dod <= 255) {
+            out.write(0b110, 3);
+            out.write(dod, 9);
+        } else if (dod >= -2048 && dod <= 2047) {
+            out.write(0b1110, 4);
+            out.write(dod, 12);
+        } else {
+            out.write(0b1111, 4);
+            out.write(dod, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader in) {
+        if (in.read(1) == 0) return 0;
+        if (in.read(1) == 0) return signed(in.read(7), 7);
+        if (in.read(1) == 0) return signed(in.read(9), 9);
+        if (in.read(1) == 0) return signed(in.read(12), 12);
+        return in.read(64);
+    }
+
+    private static long signed(long value, int bits) {
+        return (value << (64 - bits)) >> (64 - bits);
+    }
+
+    // ====== VALUES ======
+    // 0 = same value | 10 + bits inside the previous window | 11 + 5 bits leading, 6 bits length, bits
+    private static void writeXor(BitWriter out, long xor, int[] prevLeading, int[] prevTrailing, int c) {
+        if (xor == 0) {
+            out.write(0, 1);
+            return;
+        }
+        out.write(1, 1);
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (prevLeading[c] >= 0 && leading >= prevLeading[c] && trailing >= prevTrailing[c]) {
+            out.write(0, 1);
+            out.write(xor >>> prevTrailing[c], 64 - prevLeading[c] - prevTrailing[c]);
+        } else {
+            int significant = 64 - leading - trailing;
+            out.write(1, 1);
+            out.write(leading, 5);
+            out.write(significant - 1, 6);
+            out.write(xor >>> trailing, significant);
+            prevLeading[c] = leading;
+            prevTrailing[c] = trailing;
+        }
+    }
+
+    private static long readXor(BitReader in, int[] leading, int[] trailing, int c) {
+        if (in.read(1) == 0) return 0;
+        if (in.read(1) == 1) {
+            leading[c] = (int) in.read(5);
+            int significant = (int) in.read(6) + 1;
+            trailing[c] = 64 - leading[c] - significant;
+        }
+        return in.read(64 - leading[c] - trailing[c]) << trailing[c];
+    }
+
+    // ====== BITS ======
+    private static final class BitWriter {
+        private byte[] buf;
+        private long bitCount = 8; // byte 0 is the version
+
+        BitWriter(int capacity) {
+            buf = new byte[Math.max(capacity, 16)];
+            buf[0] = VERSION;
+        }
+
+        // lowest n bits of value, most significant first
+        void write(long value, int n) {
+            for (int i = n - 1; i >= 0; i--) {
+                int index = (int) (bitCount >>> 3);
+                if (index == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+                if (((value >>> i) & 1) != 0) buf[index] |= (byte) (0x80 >>> (bitCount & 7));
+                bitCount++;
+            }
+        }
+
+        byte[] toBytes() {
+            return Arrays.copyOf(buf, (int) ((bitCount + 7) >>> 3));
+        }
+    }
+
+    private static final class BitReader {
+        private final byte[] buf;
+        private long position = 8;
+
+        BitReader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        long read(int n) {
+            long value = 0;
+            for (int i = 0; i < n; i++) {
+                int index = (int) (position >>> 3);
+                if (index >= buf.length) throw new IllegalArgumentException("Truncated stream chunk");
+                value = (value << 1) | ((buf[index] >>> (7 - (position & 7))) & 1);
+                position++;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.services.StreamCodec.Sample;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Reads watch exports sample by sample, handing each one on as soon as it is parsed —
+ * the file is never held in memory.
+ *
+ * CSV: a header row naming the columns (time, lat, lon, altitude, hr, cadence and common
+ * aliases, any order, unknown columns ignored); time is an ISO-8601 timestamp or seconds.
+ * GPX: track points with lat / lon, ele, time and the usual hr / cad extensions.
+ */
+final class StreamImport {
+
+    private StreamImport() {}
+
+    // ====== CSV ======
+    static void csv(InputStream body, Consumer<Sample> sink) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) throw badRequest("Empty upload");
+            String separator = header.contains(";") ? ";" : ",";
+            int[] columns = csvColumns(header.split(separator, -1));
+
+            String line;
+            int lineNo = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                String[] cells = line.split(separator, -1);
+                try {
+                    double[] v = new double[Sample.CHANNELS];
+                    for (int c = 0; c < Sample.CHANNELS; c++) v[c] = number(cell(cells, columns[c + 1]));
+                    sink.accept(Sample.of(csvTime(cell(cells, columns[0])), v));
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    throw badRequest("Invalid value on line " + lineNo);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // index of time, lat, lon, altitude, hr, cadence in the header (-1 = not present)
+    private static int[] csvColumns(String[] header) {
+        int[] columns = {-1, -1, -1, -1, -1, -1};
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i].trim().toLowerCase(Locale.ROOT).replace("\"", "");
+            int slot = switch (name) {
+                case "time", "timestamp", "t" -> 0;
+                case "lat", "latitude" -> 1;
+                case "lon", "lng", "long", "longitude" -> 2;
+                case "alt", "altitude", "ele", "elevation" -> 3;
+                case "hr", "heart_rate", "heartrate", "heart rate" -> 4;
+                case "cad", "cadence" -> 5;
+                default -> -1;
+            };
+            if (slot >= 0 && columns[slot] < 0) columns[slot] = i;
+        }
+        if (columns[0] < 0) throw badRequest("CSV header has no time column");
+        return columns;
+    }
+
+    private static String cell(String[] cells, int index) {
+        return index >= 0 && index < cells.length ? cells[index].trim().replace("\"", "") : "";
+    }
+
+    private static long csvTime(String value) {
+        if (value.isEmpty()) throw new NumberFormatException("missing time");
+        char first = value.charAt(0);
+        if (Character.isDigit(first) && value.indexOf('-') < 0 && value.indexOf(':') < 0) {
+            return Math.round(Double.parseDouble(value) * 1000);
+        }
+        return isoTime(value);
+    }
+
+    // ====== GPX ======
+    static void gpx(InputStream body, Consumer<Sample> sink) {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // uploads are untrusted: no DTDs, no external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            XMLStreamReader xml = factory.createXMLStreamReader(body);
+            double[] v = null;
+            String time = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    if (name.equals("trkpt")) {
+                        v = new double[Sample.CHANNELS];
+                        Arrays.fill(v, Double.NaN);
+                        v[0] = number(attribute(xml, "lat"));
+                        v[1] = number(attribute(xml, "lon"));
+                        time = null;
+                    } else if (v != null) {
+                        switch (name) {
+                            case "time" -> time = xml.getElementText().trim();
+                            case "ele" -> v[2] = number(xml.getElementText().trim());
+                            case "hr" -> v[3] = number(xml.getElementText().trim());
+                            case "cad" -> v[4] = number(xml.getElementText().trim());
+                            default -> { }
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && xml.getLocalName().equals("trkpt")) {
+                    // points without a time cannot be placed on the stream
+                    if (time != null) sink.accept(Sample.of(isoTime(time), v));
+                    v = null;
+                }
+            }
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw badRequest("Invalid GPX: " + e.getMessage());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw badRequest("Invalid value in GPX track point");
+        }
+    }
+
+    private static String attribute(XMLStreamReader xml, String name) {
+        String value = xml.getAttributeValue(null, name);
+        return value != null ? value : "";
+    }
+
+    // ====== HELPERS ======
+    private static double number(String value) {
+        return value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+    }
+
+    private static long isoTime(String value) {
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+        }
+    }
+
+    private static ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.GymSessionRefView;
+import com.example.athleteresults.dto.MetricLoadView;
+import com.example.athleteresults.entities.GymSession;
+import com.example.athleteresults.entities.PlyoMetric;
+import com.example.athleteresults.entities.Session;
+import com.example.athleteresults.entities.WeightMetric;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.GymSessionRepository;
+import com.example.athleteresults.repositories.PlyoMetricRepository;
+import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.repositories.WeightMetricRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Per-athlete daily training load with acute:chronic ratios and a Banister
+ * fitness/fatigue model.
+ *
+ * Runs count duration × heart-rate intensity, gym sessions count tonnage
+ * (sets × reps × kg) and plyo contacts. The contribution of every row is remembered,
+ * so a write only adds/removes its own delta on one day instead of re-reading history.
+ *
+ * The series are dense arrays from an athlete's first to last day, so rows dated outside
+ * {@link #YEARS_BACK} years before / {@link #DAYS_AHEAD} days after today (typos such as 0205
+ * or 20255) are left out instead of stretching the arrays across the gap.
+ */
+@Service
+public class TrainingLoadService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainingLoadService.class);
+    private static final int PAGE_SIZE = 5000;
+
+    // intensity = avg HR / reference max HR; used when a session has no heart-rate data
+    static final double HR_REFERENCE_MAX = 190.0;
+    static final double DEFAULT_INTENSITY = 0.7;
+
+    // window of session dates that go into the series
+    static final int YEARS_BACK = 20;
+    static final int DAYS_AHEAD = 366;
+
+    public record DailyLoad(
+            LocalDate date,
+            double runLoad,
+            double tonnageKg,
+            double contacts,
+            double load,
+            double acute,
+            double chronic,
+            Double acwr,
+            double fitness,
+            double fatigue,
+            double form
+    ) {}
+
+    private final SessionRepository sessionRepo;
+    private final GymSessionRepository gymRepo;
+    private final WeightMetricRepository weightRepo;
+    private final PlyoMetricRepository plyoRepo;
+
+    private final Map<Integer, LoadSeries> series = new ConcurrentHashMap<>();
+
+    // what each row contributed, so it can be taken back on update / delete (guarded by this)
+    private record RunEntry(int athleteId, int day, double amount) {}
+
+    private static final class GymEntry {
+        final int athleteId;
+        final int day;
+        final Map<Integer, Double> weights = new HashMap<>();
+        final Map<Integer, Double> plyos = new HashMap<>();
+
+        GymEntry(int athleteId, int day) {
+            this.athleteId = athleteId;
+            this.day = day;
+        }
+    }
+
+    private final Map<Integer, RunEntry> runs = new HashMap<>();
+    private final Map<Integer, GymEntry> gyms = new HashMap<>();
+    private final Map<Integer, GymEntry> weightOwner = new HashMap<>();
+    private final Map<Integer, GymEntry> plyoOwner = new HashMap<>();
+
+    public TrainingLoadService(SessionRepository sessionRepo,
+                               GymSessionRepository gymRepo,
+                               WeightMetricRepository weightRepo,
+                               PlyoMetricRepository plyoRepo) {
+        this.sessionRepo = sessionRepo;
+        this.gymRepo = gymRepo;
+        this.weightRepo = weightRepo;
+        this.plyoRepo = plyoRepo;
+    }
+
+    // ====== REBUILD (startup) ======
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        series.clear();
+        runs.clear();
+        gyms.clear();
+        weightOwner.clear();
+        plyoOwner.clear();
+
+        Page<Session> page;
+        int n = 0;
+        do {
+            page = sessionRepo.findAll(PageRequest.of(n++, PAGE_SIZE, Sort.by("id")));
+            page.forEach(this::putRun);
+        } while (page.hasNext());
+
+        forEachSlice(gymRepo::findRefs, this::putGym);
+        forEachSlice(weightRepo::findLoadRows, row -> putMetric(row.getId(), row.getGymId(),
+                row.getAmount() != null ? row.getAmount().doubleValue() : 0, true));
+        forEachSlice(plyoRepo::findLoadRows, row -> putMetric(row.getId(), row.getGymId(),
+                row.getAmount() != null ? row.getAmount().doubleValue() : 0, false));
+
+        log.info("Training load rebuilt: {} athletes, {} runs, {} gym sessions",
+                series.size(), runs.size(), gyms.size());
+    }
+
+    private static <T> void forEachSlice(Function<Pageable, Slice<T>> query, Consumer<T> sink) {
+        Slice<T> slice;
+        int n = 0;
+        do {
+            slice = query.apply(PageRequest.of(n++, PAGE_SIZE, Sort.by("id")));
+            slice.forEach(sink);
+        } while (slice.hasNext());
+    }
+
+    // ====== INCREMENTAL UPDATE ======
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDataChange(DataChangeEvent event) {
+        Integer id = event.entityId();
+        if (id == null) return;
+        boolean deleted = event.action() == DataChangeEvent.Action.DELETED;
+
+        switch (event.kind()) {
+            case SESSION -> {
+                removeRun(id);
+                if (!deleted && event.payload() instanceof Session s) putRun(s);
+            }
+            case GYM_SESSION -> {
+                removeGym(id);
+                if (!deleted && event.payload() instanceof GymSession g
+                        && g.getAthlete() != null && g.getAthlete().getId() != null && inWindow(g.getSessionDate())) {
+                    gyms.put(id, new GymEntry(g.getAthlete().getId(), day(g.getSessionDate())));
+                }
+            }
+            case WEIGHT_METRIC -> {
+                removeMetric(id, true);
+                if (!deleted && event.payload() instanceof WeightMetric w && w.getGymSession() != null) {
+                    putMetric(id, w.getGymSession().getId(), tonnage(w), true);
+                }
+            }
+            case PLYO_METRIC -> {
+                removeMetric(id, false);
+                if (!deleted && event.payload() instanceof PlyoMetric p && p.getGymSession() != null) {
+                    putMetric(id, p.getGymSession().getId(), p.getContacts() != null ? p.getContacts() : 0, false);
+                }
+            }
+            case ATHLETE -> {
+                if (deleted) removeAthlete(id);
+            }
+            default -> { }
+        }
+    }
+
+    // ====== QUERY ======
+    public List<DailyLoad> series(Integer athleteId, LocalDate from, LocalDate to) {
+        LoadSeries s = series.get(athleteId);
+        List<DailyLoad> out = new ArrayList<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            LoadSeries.Day day = s != null ? s.day(day(d)) : null;
+            out.add(day == null
+                    ? new DailyLoad(d, 0, 0, 0, 0, 0, 0, null, 0, 0, 0)
+                    : new DailyLoad(d, round(day.run()), round(day.tonnage()), round(day.contacts()),
+                            round(day.load()), round(day.acute()), round(day.chronic()),
+                            Double.isNaN(day.acwr()) ? null : round(day.acwr()),
+                            round(day.fitness()), round(day.fatigue()), round(day.form())));
+        }
+        return out;
+    }
+
+    // ====== ROW MAPPING (caller holds the lock) ======
+    private void putRun(Session s) {
+        if (s.getId() == null || s.getAthleteId() == null || !inWindow(s.getRunDate())) return;
+        RunEntry e = new RunEntry(s.getAthleteId(), day(s.getRunDate()), runLoad(s));
+        runs.put(s.getId(), e);
+        seriesOf(e.athleteId()).add(e.day(), LoadSeries.RUN, e.amount());
+    }
+
+    private void removeRun(Integer id) {
+        RunEntry e = runs.remove(id);
+        if (e != null) seriesOf(e.athleteId()).add(e.day(), LoadSeries.RUN, -e.amount());
+    }
+
+    private void putGym(GymSessionRefView g) {
+        if (g.getAthleteId() == null || !inWindow(g.getSessionDate())) return;
+        gyms.put(g.getId(), new GymEntry(g.getAthleteId(), day(g.getSessionDate())));
+    }
+
+    private void removeGym(Integer id) {
+        GymEntry g = gyms.remove(id);
+        if (g == null) return;
+        // metric rows go with their session (cascade)
+        for (Integer metricId : List.copyOf(g.weights.keySet())) removeMetric(metricId, true);
+        for (Integer metricId : List.copyOf(g.plyos.keySet())) removeMetric(metricId, false);
+    }
+
+    private void putMetric(Integer id, Integer gymId, double amount, boolean weight) {
+        GymEntry g = gymId != null ? gyms.get(gymId) : null;
+        if (g == null) return;
+        (weight ? g.weights : g.plyos).put(id, amount);
+        (weight ? weightOwner : plyoOwner).put(id, g);
+        seriesOf(g.athleteId).add(g.day, weight ? LoadSeries.TONNAGE : LoadSeries.CONTACTS, amount);
+    }
+
+    private void removeMetric(Integer id, boolean weight) {
+        GymEntry g = (weight ? weightOwner : plyoOwner).remove(id);
+        if (g == null) return;
+        Double amount = (weight ? g.weights : g.plyos).remove(id);
+        if (amount != null) {
+            seriesOf(g.athleteId).add(g.day, weight ? LoadSeries.TONNAGE : LoadSeries.CONTACTS, -amount);
+        }
+    }
+
+    private void removeAthlete(int athleteId) {
+        series.remove(athleteId);
+        runs.values().removeIf(e -> e.athleteId() == athleteId);
+        gyms.values().removeIf(g -> g.athleteId == athleteId);
+        weightOwner.values().removeIf(g -> g.athleteId == athleteId);
+        plyoOwner.values().removeIf(g -> g.athleteId == athleteId);
+    }
+
+    private LoadSeries seriesOf(int athleteId) {
+        return series.computeIfAbsent(athleteId, id -> new LoadSeries());
+    }
+
+    // rows outside the window are not tracked at all, so their update / delete is a no-op too
+    static boolean inWindow(LocalDate date) {
+        if (date == null) return false;
+        LocalDate today = LocalDate.now();
+        return !date.isBefore(today.minusYears(YEARS_BACK)) && !date.isAfter(today.plusDays(DAYS_AHEAD));
+    }
+
+    // days held in the athlete's series
+    int storedDays(int athleteId) {
+        LoadSeries s = series.get(athleteId);
+        return s != null ? s.span() : 0;
+    }
+
+    // ====== LOAD FORMULAS ======
+    static double runLoad(Session s) {
+        if (s.getTimeMin() == null) return 0;
+        double intensity = s.getHeartAvg() != null && s.getHeartAvg() > 0
+                ? Math.min(s.getHeartAvg() / HR_REFERENCE_MAX, 1.0)
+                : DEFAULT_INTENSITY;
+        return s.getTimeMin().doubleValue() * intensity;
+    }
+
+    static double tonnage(WeightMetric w) {
+        int sets = w.getSets() != null ? w.getSets() : 1;
+        int reps = w.getReps() != null ? w.getReps() : 0;
+        double kg = w.getWeightGym() != null ? w.getWeightGym() : 0;
+        return sets * reps * kg;
+    }
+
+    private static int day(LocalDate d) {
+        return (int) d.toEpochDay();
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+}
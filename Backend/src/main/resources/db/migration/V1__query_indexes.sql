@@ -0,0 +1,54 @@
+-- Indexes for the repository queries. Tables are created by Hibernate (ddl-auto=update);
+-- these migrations run after its schema update and before the web server starts, see MigrationConfig.
+
+-- ===== sessions: findByAthleteId, findByAthleteIdOrderByRunDateDesc, findByAthleteIdAndRunDate =====
+CREATE INDEX IF NOT EXISTS idx_sessions_athlete_run_date
+    ON sessions (athlete_id, run_date DESC);
+
+-- ===== results / jump_results / throw_results: findByAthleteId, season bests per athlete, date filters =====
+CREATE INDEX IF NOT EXISTS idx_results_athlete_race_date
+    ON results (athlete_id, race_date) INCLUDE (distance, race, time_ms);
+CREATE INDEX IF NOT EXISTS idx_results_race_date
+    ON results (race_date);
+
+CREATE INDEX IF NOT EXISTS idx_jump_results_athlete_jump_date
+    ON jump_results (athlete_id, jump_date) INCLUDE (jump_type, distance_m);
+CREATE INDEX IF NOT EXISTS idx_jump_results_jump_date
+    ON jump_results (jump_date);
+
+CREATE INDEX IF NOT EXISTS idx_throw_results_athlete_throw_date
+    ON throw_results (athlete_id, throw_date) INCLUDE (event, distance);
+CREATE INDEX IF NOT EXISTS idx_throw_results_throw_date
+    ON throw_results (throw_date);
+
+-- ===== gym_sessions: findByAthleteId, findPageByAthleteId (date window, newest first) =====
+CREATE INDEX IF NOT EXISTS idx_gym_sessions_athlete_session_date
+    ON gym_sessions (athlete_id, session_date DESC, gym_id DESC);
+
+-- ===== metric tables: findByGymSessionId, findByGymSessionIdIn, bulk delete by athlete =====
+CREATE INDEX IF NOT EXISTS idx_weight_metrics_gym
+    ON weight_metrics (gym_id);
+CREATE INDEX IF NOT EXISTS idx_plyo_metrics_gym
+    ON plyo_metrics (gym_id);
+CREATE INDEX IF NOT EXISTS idx_reflex_metrics_gym
+    ON reflex_metrics (gym_id);
+
+-- ===== plan: findByAthleteIdOrderByPlanDateAsc, findByDateAndAthleteId, findByCoachIdOrderByPlanDateAsc =====
+CREATE INDEX IF NOT EXISTS idx_plan_athlete_plan_date
+    ON plan (athlete_id, plan_date);
+CREATE INDEX IF NOT EXISTS idx_plan_coach_plan_date
+    ON plan (coach_id, plan_date);
+
+-- ===== coach_athlete_relation: existsByCoachIdAndAthleteIdAndStatusId, coach ids by athlete + status =====
+CREATE INDEX IF NOT EXISTS idx_relation_coach_athlete_status
+    ON coach_athlete_relation (coach_id, athlete_id, status_id);
+CREATE INDEX IF NOT EXISTS idx_relation_athlete_status
+    ON coach_athlete_relation (athlete_id, status_id) INCLUDE (coach_id);
+
+-- ===== owner lookups: findByUserId =====
+CREATE INDEX IF NOT EXISTS idx_athletes_user
+    ON athletes (user_id);
+CREATE INDEX IF NOT EXISTS idx_coaches_user
+    ON coaches (user_id);
+CREATE INDEX IF NOT EXISTS idx_roles_user
+    ON roles (user_id);
@@ -0,0 +1,31 @@
+-- Sequences for the pooled-lo id generators of the high-volume entities. Hibernate takes
+-- blocks of 50 ids per nextval, so new rows get their id without a round trip and the
+-- INSERTs can be batched (hibernate.jdbc.batch_size).
+--
+-- On a new database Hibernate has already created the sequences; on an existing one the
+-- ids so far came from the identity columns, so each sequence continues after the
+-- highest existing id. The old identity defaults are left in place but no longer used.
+
+DO $$
+DECLARE
+    t RECORD;
+    next_id BIGINT;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES
+            ('results',        'result_id'),
+            ('jump_results',   'jump_id'),
+            ('throw_results',  'throw_id'),
+            ('sessions',       'session_id'),
+            ('gym_sessions',   'gym_id'),
+            ('weight_metrics', 'metric_id'),
+            ('plyo_metrics',   'metric_id'),
+            ('reflex_metrics', 'metric_id'),
+            ('plan',           'plan_id')
+        ) AS v(tbl, id_col)
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t.tbl || '_seq');
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t.tbl || '_seq');
+        EXECUTE format('SELECT COALESCE(MAX(%I), 0) + 1 FROM %I', t.id_col, t.tbl) INTO next_id;
+        PERFORM setval(t.tbl || '_seq', next_id, false);
+    END LOOP;
+END $$;
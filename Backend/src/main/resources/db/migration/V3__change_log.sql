@@ -0,0 +1,36 @@
+-- Change log of the delta-sync feed (GET /api/sync/...). The table itself is created by
+-- Hibernate from ChangeLogEntry.
+
+-- ===== feed: athlete_id IN (...) AND seq > :since ORDER BY seq =====
+CREATE INDEX IF NOT EXISTS idx_change_log_athlete_seq
+    ON change_log (athlete_id, seq);
+
+-- ===== append: earlier entries of the same row =====
+CREATE INDEX IF NOT EXISTS idx_change_log_kind_entity
+    ON change_log (kind, entity_id);
+
+-- Rows that existed before the log get one "created" entry each, so since=0 is a full copy.
+-- The lock keeps appends from the running application out until the backfill is done.
+DO $$
+BEGIN
+    LOCK TABLE change_log IN SHARE ROW EXCLUSIVE MODE;
+
+    INSERT INTO change_log (seq, kind, action, athlete_id, entity_id, changed_at)
+    SELECT nextval('change_log_seq'), src.kind, 'CREATED', src.athlete_id, src.entity_id, now()
+    FROM (
+        SELECT 'RESULT' AS kind, athlete_id, result_id AS entity_id FROM results
+        UNION ALL SELECT 'JUMP_RESULT', athlete_id, jump_id FROM jump_results
+        UNION ALL SELECT 'THROW_RESULT', athlete_id, throw_id FROM throw_results
+        UNION ALL SELECT 'SESSION', athlete_id, session_id FROM sessions
+        UNION ALL SELECT 'GYM_SESSION', athlete_id, gym_id FROM gym_sessions
+        UNION ALL SELECT 'WEIGHT_METRIC', g.athlete_id, m.metric_id
+                  FROM weight_metrics m JOIN gym_sessions g ON g.gym_id = m.gym_id
+        UNION ALL SELECT 'PLYO_METRIC', g.athlete_id, m.metric_id
+                  FROM plyo_metrics m JOIN gym_sessions g ON g.gym_id = m.gym_id
+        UNION ALL SELECT 'REFLEX_METRIC', g.athlete_id, m.metric_id
+                  FROM reflex_metrics m JOIN gym_sessions g ON g.gym_id = m.gym_id
+        UNION ALL SELECT 'PLAN', athlete_id, plan_id FROM plan
+    ) src
+    WHERE src.athlete_id IS NOT NULL
+      AND NOT EXISTS (SELECT 1 FROM change_log c WHERE c.kind = src.kind AND c.entity_id = src.entity_id);
+END $$;
@@ -0,0 +1,30 @@
+-- Full-text search over notes (GET /api/search/notes). Each table gets a generated tsvector,
+-- which PostgreSQL recomputes on every insert / update, and a GIN index on it.
+-- 'simple' = lower-cased words, no stemming (notes are written in more than one language);
+-- NotesSearchService must use the same configuration in its queries.
+
+ALTER TABLE results ADD COLUMN IF NOT EXISTS notes_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(notes, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_results_notes_tsv ON results USING gin (notes_tsv);
+
+ALTER TABLE jump_results ADD COLUMN IF NOT EXISTS notes_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(notes, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_jump_results_notes_tsv ON jump_results USING gin (notes_tsv);
+
+ALTER TABLE throw_results ADD COLUMN IF NOT EXISTS notes_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(notes, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_throw_results_notes_tsv ON throw_results USING gin (notes_tsv);
+
+ALTER TABLE sessions ADD COLUMN IF NOT EXISTS notes_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(notes, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_sessions_notes_tsv ON sessions USING gin (notes_tsv);
+
+ALTER TABLE gym_sessions ADD COLUMN IF NOT EXISTS notes_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(notes, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_gym_sessions_notes_tsv ON gym_sessions USING gin (notes_tsv);
+
+-- plans: the planned and the actual workout are searchable too
+ALTER TABLE plan ADD COLUMN IF NOT EXISTS notes_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple',
+        coalesce(prediction_plan, '') || ' ' || coalesce(actual_plan, '') || ' ' || coalesce(notes, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_plan_notes_tsv ON plan USING gin (notes_tsv);
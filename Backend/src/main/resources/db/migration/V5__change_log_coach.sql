@@ -0,0 +1,6 @@
+-- "Left the squad" tombstones of the coach feed (ChangeLogEntry.coachId). The column is
+-- created by Hibernate; other entries leave it NULL and stay out of this index.
+
+-- ===== coach feed: coach_id = :coachId AND seq > :since =====
+CREATE INDEX IF NOT EXISTS idx_change_log_coach_seq
+    ON change_log (coach_id, seq) WHERE coach_id IS NOT NULL;
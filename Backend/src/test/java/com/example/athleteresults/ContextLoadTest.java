@@ -0,0 +1,118 @@
+package com.example.athleteresults;
+
+import com.example.athleteresults.security.JwtService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Boots the real service and controller beans, with the repositories and the JPA / JDBC
+ * infrastructure mocked so no database is needed. The @WebMvcTest suites mock every service,
+ * so this is the test that notices a bean Spring cannot construct (for example a class with
+ * a second, test-only constructor and no @Autowired on the injection one).
+ */
+@SpringBootTest(classes = ContextLoadTest.Wiring.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ContextLoadTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contextLoads_withEveryServiceAndController() {
+        assertFalse(context.getBeansWithAnnotation(Service.class).isEmpty());
+        assertFalse(context.getBeansWithAnnotation(Controller.class).isEmpty());
+    }
+
+    /* ===== WIRING ===== */
+
+    @Configuration
+    @ComponentScan({"com.example.athleteresults.services", "com.example.athleteresults.controllers"})
+    @Import(JwtService.class)
+    static class Wiring {
+
+        // the startup listeners page through the repositories; empty pages let them finish
+        private static final Answer<Object> EMPTY = invocation -> {
+            Class<?> returns = invocation.getMethod().getReturnType();
+            if (Slice.class.isAssignableFrom(returns)) return Page.empty();
+            return Mockito.RETURNS_DEFAULTS.answer(invocation);
+        };
+
+        // one mock per repository (Spring Data interfaces and the @Repository query helpers)
+        @Bean
+        static BeanDefinitionRegistryPostProcessor repositoryMocks() {
+            return new BeanDefinitionRegistryPostProcessor() {
+                @Override
+                public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+                    ClassPathScanningCandidateComponentProvider scan =
+                            new ClassPathScanningCandidateComponentProvider(false) {
+                                @Override
+                                protected boolean isCandidateComponent(AnnotatedBeanDefinition bd) {
+                                    return bd.getMetadata().isIndependent();
+                                }
+                            };
+                    scan.addIncludeFilter(new AssignableTypeFilter(org.springframework.data.repository.Repository.class));
+                    scan.addIncludeFilter(new AnnotationTypeFilter(Repository.class));
+                    for (var candidate : scan.findCandidateComponents("com.example.athleteresults.repositories")) {
+                        Class<?> type = load(candidate.getBeanClassName());
+                        RootBeanDefinition bd = new RootBeanDefinition();
+                        bd.setTargetType(type);
+                        bd.setInstanceSupplier(() -> Mockito.mock(type, EMPTY));
+                        registry.registerBeanDefinition(type.getSimpleName(), bd);
+                    }
+                }
+
+                @Override
+                public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+                }
+            };
+        }
+
+        @Bean JdbcTemplate jdbcTemplate() { return Mockito.mock(JdbcTemplate.class); }
+        @Bean NamedParameterJdbcTemplate namedParameterJdbcTemplate() { return Mockito.mock(NamedParameterJdbcTemplate.class); }
+        @Bean PlatformTransactionManager transactionManager() { return Mockito.mock(PlatformTransactionManager.class); }
+        @Bean EntityManager entityManager() { return Mockito.mock(EntityManager.class); }
+        @Bean EntityManagerFactory entityManagerFactory() { return Mockito.mock(EntityManagerFactory.class); }
+        @Bean AuthenticationManager authenticationManager() { return Mockito.mock(AuthenticationManager.class); }
+        @Bean PasswordEncoder passwordEncoder() { return Mockito.mock(PasswordEncoder.class); }
+
+        private static Class<?> load(String name) {
+            try {
+                return Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.AnalyticsStore;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = AnalyticsController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private AnalyticsStore analyticsStore;
+
+    /* =====================================================
+       GET /api/analytics/{table}
+    ===================================================== */
+    @Test
+    void aggregate_shouldPassFilterAndGroup() throws Exception {
+        AnalyticsStore.Query q = new AnalyticsStore.Query(10, "javelin",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+        Mockito.when(analyticsStore.query(AnalyticsStore.Table.THROWS, q, AnalyticsStore.GroupBy.MONTH))
+                .thenReturn(List.of(new AnalyticsStore.Aggregate("2025-06", 3, 180, 58, 62, 60, 0)));
+
+        mockMvc.perform(get("/api/analytics/throws")
+                        .param("athleteId", "10")
+                        .param("event", "javelin")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-12-31")
+                        .param("groupBy", "month"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].key").value("2025-06"))
+                .andExpect(jsonPath("$[0].avg").value(60.0));
+    }
+
+    @Test
+    void aggregate_unknownTable_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/analytics/plans"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void aggregate_unknownGroupBy_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/analytics/results").param("groupBy", "weather"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.*;
+import com.example.athleteresults.events.DataChangeEvent;
 import com.example.athleteresults.repositories.*;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.CascadeDeleteService;
+import com.example.athleteresults.services.PerformanceClassificationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -20,8 +26,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(AthleteController.class)
 @AutoConfigureMockMvc(addFilters = false)   // 🔥 REQUIRED
+@RecordApplicationEvents
 class AthleteControllerTest {
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -34,6 +44,8 @@ class AthleteControllerTest {
     @MockBean private CoachAthleteRelationRepository relationRepo;
     @MockBean private UserRepository userRepo;
     @MockBean private CoachRepository coachRepo;
+    @MockBean private CascadeDeleteService cascadeDeleteService;
+    @MockBean private PerformanceClassificationService performanceService;
 
     // Disable JWT filter completely
     @MockBean
@@ -170,6 +182,46 @@ class AthleteControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void update_shouldReturnDerivedPerformance() throws Exception {
+        Athlete saved = new Athlete();
+        saved.setCategory("U20");
+        saved.setPerformance("elite");
+        when(repo.findById(1)).thenReturn(Optional.of(new Athlete()));
+        when(repo.save(any(Athlete.class))).thenReturn(saved);
+        when(performanceService.refreshProfile(saved)).thenReturn("good");
+
+        mockMvc.perform(put("/api/athletes/1")
+                        .with(csrf())
+                        .contentType("application/json")
+                        .content("{\"category\":\"U20\",\"performance\":\"elite\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.performance").value("good"));
+
+        verify(performanceService).refreshProfile(saved);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void update_shouldPublishAthleteUpdated() throws Exception {
+        Athlete saved = new Athlete();
+        saved.setId(1);
+        when(repo.findById(1)).thenReturn(Optional.of(new Athlete()));
+        when(repo.save(any(Athlete.class))).thenReturn(saved);
+
+        mockMvc.perform(put("/api/athletes/1")
+                        .with(csrf())
+                        .contentType("application/json")
+                        .content("{\"birthDate\":\"2004-05-01\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, applicationEvents.stream(DataChangeEvent.class)
+                .filter(e -> e.kind() == DataChangeEvent.Kind.ATHLETE
+                        && e.action() == DataChangeEvent.Action.UPDATED && e.entityId() == 1)
+                .count());
+    }
+
     /* =====================================================
        DELETE /api/athletes/{id}
     ===================================================== */
@@ -184,4 +236,24 @@ class AthleteControllerTest {
                         .with(csrf()))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void delete_async_shouldReturnAcceptedWithJob() throws Exception {
+
+        when(repo.existsById(1))
+                .thenReturn(true);
+        when(cascadeDeleteService.deleteAthleteAsync(1))
+                .thenReturn(new CascadeDeleteService.Progress("job-1", CascadeDeleteService.Target.ATHLETE, 1,
+                        CascadeDeleteService.State.QUEUED, 0, 11, null, Map.of(), null));
+
+        mockMvc.perform(delete("/api/athletes/1")
+                        .param("async", "true")
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+
+        verify(cascadeDeleteService, never()).deleteAthlete(1);
+    }
 }
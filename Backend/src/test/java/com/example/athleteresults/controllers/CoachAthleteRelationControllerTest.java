@@ -2,6 +2,7 @@ package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.*;
 import com.example.athleteresults.repositories.*;
+import com.example.athleteresults.services.ChangeFeedService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +23,7 @@ class CoachAthleteRelationControllerTest {
     private CoachAthleteRelationRepository relationRepo;
     private StatusRepository statusRepo;
     private UserRepository userRepo;
+    private ChangeFeedService changeFeedService;
 
     private CoachAthleteRelationController controller;
 
@@ -32,9 +34,10 @@ class CoachAthleteRelationControllerTest {
         relationRepo = mock(CoachAthleteRelationRepository.class);
         statusRepo = mock(StatusRepository.class);
         userRepo = mock(UserRepository.class);
+        changeFeedService = mock(ChangeFeedService.class);
 
         controller = new CoachAthleteRelationController(
-                coachRepo, athleteRepo, relationRepo, statusRepo, userRepo
+                coachRepo, athleteRepo, relationRepo, statusRepo, userRepo, changeFeedService
         );
     }
 
@@ -287,6 +290,7 @@ class CoachAthleteRelationControllerTest {
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertTrue(res.getBody().toLowerCase().contains("accepted"));
         verify(relationRepo).save(rel);
+        verify(changeFeedService).joinedSquad(1, 2);
     }
 
     @Test
@@ -331,6 +335,23 @@ class CoachAthleteRelationControllerTest {
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertTrue(res.getBody().toLowerCase().contains("refused"));
         verify(relationRepo).save(rel);
+        verify(changeFeedService, never()).leftSquad(any(), any());
+    }
+
+    @Test
+    void refuseRequest_afterAccepting_shouldTellTheCoachFeed() {
+        Coach coach = new Coach(); coach.setId(1);
+        Athlete athlete = new Athlete(); athlete.setId(2);
+        CoachAthleteRelation rel = new CoachAthleteRelation(coach, athlete, new Status("accept"));
+
+        when(coachRepo.findById(1)).thenReturn(Optional.of(coach));
+        when(athleteRepo.findById(2)).thenReturn(Optional.of(athlete));
+        when(relationRepo.findByCoachAndAthlete(coach, athlete)).thenReturn(Optional.of(rel));
+        when(statusRepo.findByStatusName("refuse")).thenReturn(Optional.of(new Status("refuse")));
+
+        controller.refuseRequest(2, 1);
+
+        verify(changeFeedService).leftSquad(1, 2);
     }
 
     @Test
@@ -441,7 +462,7 @@ class CoachAthleteRelationControllerTest {
         Athlete athlete = new Athlete(); athlete.setId(2); athlete.setUserId(99);
         Coach coach = new Coach(); coach.setId(1);
 
-        CoachAthleteRelation rel = new CoachAthleteRelation();
+        CoachAthleteRelation rel = new CoachAthleteRelation(coach, athlete, new Status("accept"));
 
         when(userRepo.findByUsername("kent")).thenReturn(Optional.of(user));
         when(athleteRepo.findById(2)).thenReturn(Optional.of(athlete));
@@ -454,6 +475,7 @@ class CoachAthleteRelationControllerTest {
         assertTrue(res.getBody().toLowerCase().contains("removed"));
 
         verify(relationRepo).delete(rel);
+        verify(changeFeedService).leftSquad(1, 2);
     }
 
     @Test
@@ -474,5 +496,6 @@ class CoachAthleteRelationControllerTest {
 
         assertEquals(HttpStatus.OK, res.getStatusCode());
         verify(relationRepo, never()).delete(any());
+        verifyNoInteractions(changeFeedService);
     }
 }
@@ -3,6 +3,8 @@ package com.example.athleteresults.controllers;
 import com.example.athleteresults.entities.*;
 import com.example.athleteresults.repositories.*;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.CascadeDeleteService;
+import com.example.athleteresults.services.RacePredictionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -43,6 +45,8 @@ class CoachControllerTest {
     @MockBean private UserRepository userRepo;
     @MockBean private CoachAthleteRelationRepository relationRepo;
     @MockBean private StatusRepository statusRepo;
+    @MockBean private CascadeDeleteService cascadeDeleteService;
+    @MockBean private RacePredictionService predictions;
 
     @Test
     @WithMockUser(username = "admin", roles = "ADMIN")
@@ -122,6 +126,31 @@ class CoachControllerTest {
                 .andExpect(jsonPath("$.name").value("John"));
     }
 
+    @Test
+    @WithMockUser(username = "coach1", roles = "COACH")
+    void getRosterPredictions_shouldPredictForAcceptedAthletes() throws Exception {
+        Mockito.when(coachRepo.existsById(1)).thenReturn(true);
+        Mockito.when(relationRepo.findAthleteIdsByCoachIdAndStatusName(1, "accept")).thenReturn(List.of(5, 6));
+        Mockito.when(predictions.predictAll(List.of(5, 6), 10000)).thenReturn(List.of(
+                new RacePredictionService.Prediction(5, 10000, 2_100_000, 5000, 1_000_000, 1.07, true, 3),
+                new RacePredictionService.Prediction(6, 10000, null, null, null, 1.06, false, 0)));
+
+        mockMvc.perform(get("/api/coaches/1/predictions").param("distance", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].predictedMs").value(2_100_000))
+                .andExpect(jsonPath("$[1].predictedMs").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "coach1", roles = "COACH")
+    void getRosterPredictions_sprintDistance_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/coaches/1/predictions").param("distance", "100"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(predictions);
+    }
+
     /* ===== helpers ===== */
 
     private Coach sampleCoach() {
@@ -0,0 +1,65 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.CascadeDeleteService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = DeletionController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class DeletionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private CascadeDeleteService cascadeDeleteService;
+
+    /* =====================================================
+       GET /api/deletions/{jobId}
+    ===================================================== */
+    @Test
+    void progress_shouldReturnJob() throws Exception {
+        Map<String, Integer> deleted = new LinkedHashMap<>();
+        deleted.put("weight_metrics", 40);
+        deleted.put("plyo_metrics", 0);
+        Mockito.when(cascadeDeleteService.progress("job-1")).thenReturn(Optional.of(
+                new CascadeDeleteService.Progress("job-1", CascadeDeleteService.Target.ATHLETE, 5,
+                        CascadeDeleteService.State.RUNNING, 2, 11, "reflex_metrics", deleted, null)));
+
+        mockMvc.perform(get("/api/deletions/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.currentStep").value("reflex_metrics"))
+                .andExpect(jsonPath("$.deleted.weight_metrics").value(40));
+    }
+
+    @Test
+    void progress_unknownJob_shouldReturnNotFound() throws Exception {
+        Mockito.when(cascadeDeleteService.progress("nope")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/deletions/nope"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.athleteresults.controllers;
 
+import com.example.athleteresults.dto.GymSessionFullDTO;
+import com.example.athleteresults.dto.GymSessionSummary;
 import com.example.athleteresults.entities.Athlete;
 import com.example.athleteresults.entities.GymSession;
 import com.example.athleteresults.repositories.AthleteRepository;
 import com.example.athleteresults.repositories.GymSessionRepository;
+import com.example.athleteresults.repositories.ProjectionQueries;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.GymMetricService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.Test;
@@ -16,6 +20,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -24,6 +29,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -50,6 +57,8 @@ class GymSessionControllerTest {
     /* ===== MOCK REPOSITORIES ===== */
     @MockBean private GymSessionRepository gymSessionRepo;
     @MockBean private AthleteRepository athleteRepo;
+    @MockBean private GymMetricService gymMetricService;
+    @MockBean private ProjectionQueries projections;
 
     /* =====================================================
        GET /api/gymsessions
@@ -62,7 +71,7 @@ class GymSessionControllerTest {
 
         Mockito.when(gymSessionRepo.findAll()).thenReturn(List.of(s));
 
-        mockMvc.perform(get("/api/gymsessions"))
+        mockMvc.perform(get("/api/gymsessions").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].exerciseName").value("Bench Press"));
@@ -78,7 +87,7 @@ class GymSessionControllerTest {
 
         Mockito.when(gymSessionRepo.findByAthleteId(5)).thenReturn(List.of(s));
 
-        mockMvc.perform(get("/api/gymsessions/athlete/5"))
+        mockMvc.perform(get("/api/gymsessions/athlete/5").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].exerciseName").value("Squat"));
     }
@@ -167,9 +176,10 @@ class GymSessionControllerTest {
         s.setSessionDate(LocalDate.of(2024, 5, 1));
         s.setAthlete(a);
 
-        Mockito.when(gymSessionRepo.findAll()).thenReturn(List.of(s));
+        Mockito.when(gymSessionRepo.findAll(Mockito.<Specification<GymSession>>any())).thenReturn(List.of(s));
 
         mockMvc.perform(get("/api/gymsessions/filter")
+                        .param("includeNotes", "true")
                         .param("athleteId", "2")
                         .param("category", "Strength")
                         .param("search", "bench")
@@ -179,4 +189,82 @@ class GymSessionControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].exerciseName").value("Bench Press"));
     }
+
+    /* =====================================================
+       POST /api/gymsessions/full
+    ===================================================== */
+    @Test
+    void createWithMetrics_shouldReturnNestedSession() throws Exception {
+        GymSessionFullDTO request = new GymSessionFullDTO(null, 2, LocalDate.of(2024, 5, 1), "Strength",
+                "Squat", null,
+                List.of(new GymSessionFullDTO.Weight(null, 5, 5, 100.0)),
+                List.of(new GymSessionFullDTO.Plyo(null, 40, 0.5, 3)),
+                List.of());
+        GymSessionFullDTO saved = new GymSessionFullDTO(9, 2, LocalDate.of(2024, 5, 1), "Strength",
+                "Squat", null,
+                List.of(new GymSessionFullDTO.Weight(21, 5, 5, 100.0)),
+                List.of(new GymSessionFullDTO.Plyo(22, 40, 0.5, 3)),
+                List.of());
+
+        Mockito.when(gymMetricService.createWithMetrics(request)).thenReturn(saved);
+
+        mockMvc.perform(post("/api/gymsessions/full")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(9))
+                .andExpect(jsonPath("$.weightMetrics[0].id").value(21))
+                .andExpect(jsonPath("$.plyoMetrics[0].contacts").value(40));
+    }
+
+    /* =====================================================
+       GET /api/gymsessions/athlete/{athleteId}/full
+    ===================================================== */
+    @Test
+    void getFullByAthlete_shouldReturnNestedSessions() throws Exception {
+        GymSessionFullDTO dto = new GymSessionFullDTO(9, 2, LocalDate.of(2024, 5, 1), "Strength",
+                "Squat", null,
+                List.of(new GymSessionFullDTO.Weight(21, 5, 5, 100.0)),
+                List.of(),
+                List.of(new GymSessionFullDTO.Reflex(30, 180, 5, 165)));
+
+        Mockito.when(gymMetricService.findFullByAthlete(2, LocalDate.of(2024, 1, 1), null, 1, 10))
+                .thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/api/gymsessions/athlete/2/full")
+                        .param("from", "2024-01-01")
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].weightMetrics[0].weightGym").value(100.0))
+                .andExpect(jsonPath("$[0].reflexMetrics[0].bestTrialMs").value(165));
+    }
+
+    @Test
+    void getFullByAthlete_invalidPageSize_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/gymsessions/athlete/2/full").param("size", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /* =====================================================
+       GET /api/gymsessions/filter (default: summary rows)
+    ===================================================== */
+    @Test
+    void filterGymSessions_withoutIncludeNotes_shouldReturnSummaries() throws Exception {
+        GymSessionSummary s = new GymSessionSummary(7, 2, "Ana", "Hoxha",
+                LocalDate.of(2024, 5, 1), "Strength", "Bench Press");
+
+        Mockito.when(projections.list(eq(GymSession.class), any(), any(),
+                        eq(GymSessionSummary.class), any(String[].class)))
+                .thenReturn(List.of(s));
+
+        mockMvc.perform(get("/api/gymsessions/filter")
+                        .param("athleteId", "2")
+                        .param("category", "Strength"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].exerciseName").value("Bench Press"))
+                .andExpect(jsonPath("$[0].athlete.id").value(2))
+                .andExpect(jsonPath("$[0].notes").doesNotExist());
+    }
 }
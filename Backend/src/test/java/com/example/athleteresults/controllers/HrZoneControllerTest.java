@@ -0,0 +1,140 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.HrZoneService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = HrZoneController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class HrZoneControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private HrZoneService hrZoneService;
+    @MockBean private AthleteRepository athleteRepo;
+    @MockBean private SessionRepository sessionRepo;
+
+    /* =====================================================
+       GET / PUT /api/athletes/{id}/hr-zones
+    ===================================================== */
+    @Test
+    void zones_shouldReturnLimits() throws Exception {
+        Mockito.when(athleteRepo.existsById(7)).thenReturn(true);
+        Mockito.when(hrZoneService.zones(7)).thenReturn(Optional.of(
+                new HrZoneService.HrZones(7, "age", 190, new int[]{114, 133, 152, 171})));
+
+        mockMvc.perform(get("/api/athletes/7/hr-zones"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.source").value("age"))
+                .andExpect(jsonPath("$.upper[3]").value(171));
+    }
+
+    @Test
+    void setZones_shouldAcceptAscendingLimits() throws Exception {
+        Mockito.when(athleteRepo.existsById(7)).thenReturn(true);
+        Mockito.when(hrZoneService.setZones(eq(7), eq(190), any())).thenReturn(
+                new HrZoneService.HrZones(7, "custom", 190, new int[]{120, 140, 160, 175}));
+
+        mockMvc.perform(put("/api/athletes/7/hr-zones")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"maxHr\":190,\"upper\":[120,140,160,175]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.source").value("custom"));
+    }
+
+    @Test
+    void setZones_invalidLimits_shouldReturnBadRequest() throws Exception {
+        Mockito.when(athleteRepo.existsById(7)).thenReturn(true);
+
+        mockMvc.perform(put("/api/athletes/7/hr-zones")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"maxHr\":190,\"upper\":[120,160,140,175]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/athletes/7/hr-zones")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"maxHr\":170,\"upper\":[120,140,160,175]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/athletes/7/hr-zones")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(hrZoneService, Mockito.never()).setZones(any(), any(), any());
+    }
+
+    /* =====================================================
+       GET /api/athletes/{id}/hr-zones/weekly|monthly
+    ===================================================== */
+    @Test
+    void weekly_shouldReturnRollups() throws Exception {
+        Mockito.when(athleteRepo.existsById(7)).thenReturn(true);
+        Mockito.when(hrZoneService.rollup(7, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 14),
+                HrZoneService.Granularity.WEEK)).thenReturn(List.of(
+                new HrZoneService.ZoneRollup(LocalDate.of(2024, 4, 29), 2, 3600,
+                        new long[]{0, 3600, 0, 0, 0}, new double[]{0, 100, 0, 0, 0}),
+                new HrZoneService.ZoneRollup(LocalDate.of(2024, 5, 6), 0, 0,
+                        new long[5], new double[5]),
+                new HrZoneService.ZoneRollup(LocalDate.of(2024, 5, 13), 0, 0,
+                        new long[5], new double[5])));
+
+        mockMvc.perform(get("/api/athletes/7/hr-zones/weekly")
+                        .param("from", "2024-05-01").param("to", "2024-05-14"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].seconds[1]").value(3600));
+    }
+
+    @Test
+    void monthly_invalidRange_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/athletes/7/hr-zones/monthly")
+                        .param("from", "2024-05-01").param("to", "2024-04-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/athletes/7/hr-zones/monthly")
+                        .param("from", "2015-01-01").param("to", "2024-04-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /* =====================================================
+       GET /api/sessions/{id}/hr-zones
+    ===================================================== */
+    @Test
+    void sessionZones_withoutHeartRate_shouldReturnNotFound() throws Exception {
+        Mockito.when(sessionRepo.existsById(3)).thenReturn(true);
+        Mockito.when(hrZoneService.sessionZones(3)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/sessions/3/hr-zones"))
+                .andExpect(status().isNotFound());
+    }
+}
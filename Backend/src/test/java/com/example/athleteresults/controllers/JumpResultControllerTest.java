@@ -3,9 +3,12 @@ package com.example.athleteresults.controllers;
 import com.example.athleteresults.entities.JumpResult;
 import com.example.athleteresults.repositories.AthleteRepository;
 import com.example.athleteresults.repositories.JumpResultRepository;
+import com.example.athleteresults.repositories.ProjectionQueries;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.QueryResultCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -23,6 +26,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -54,6 +58,20 @@ class JumpResultControllerTest {
     @MockBean
     private AthleteRepository athleteRepo;
 
+    @MockBean
+    private ProjectionQueries projections;
+
+    @MockBean
+    private QueryResultCache queryCache;
+
+    /* ===== result cache passes straight through to the query ===== */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void passThroughQueryCache() {
+        Mockito.when(queryCache.get(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(inv -> ((Supplier<List<?>>) inv.getArgument(3)).get());
+    }
+
     /* =====================================================
        GET /api/jumpresults
     ===================================================== */
@@ -65,7 +83,7 @@ class JumpResultControllerTest {
 
         Mockito.when(repo.findAll()).thenReturn(List.of(jr));
 
-        mockMvc.perform(get("/api/jumpresults"))
+        mockMvc.perform(get("/api/jumpresults").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].jumpType").value("Long Jump"));
@@ -82,7 +100,7 @@ class JumpResultControllerTest {
 
         Mockito.when(repo.findByAthleteId(10)).thenReturn(List.of(jr));
 
-        mockMvc.perform(get("/api/jumpresults/athlete/10"))
+        mockMvc.perform(get("/api/jumpresults/athlete/10").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].jumpType").value("Triple Jump"));
     }
@@ -212,6 +230,7 @@ class JumpResultControllerTest {
         ).thenReturn(List.of(jr));
 
         mockMvc.perform(get("/api/jumpresults/filter")
+                        .param("includeNotes", "true")
                         .param("jumpType", "long"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].jumpType").value("Long Jump"));
@@ -233,6 +252,7 @@ class JumpResultControllerTest {
         ).thenReturn(List.of(jr));
 
         mockMvc.perform(get("/api/jumpresults/search")
+                        .param("includeNotes", "true")
                         .param("sortBy", "distancem")
                         .param("sortOrder", "desc"))
                 .andExpect(status().isOk())
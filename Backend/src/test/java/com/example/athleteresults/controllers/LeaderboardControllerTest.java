@@ -0,0 +1,124 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.LeaderboardService;
+import com.example.athleteresults.services.LeaderboardService.Discipline;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = LeaderboardController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class LeaderboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private LeaderboardService leaderboardService;
+    @MockBean private AthleteRepository athleteRepo;
+
+    /* =====================================================
+       GET /api/leaderboards
+    ===================================================== */
+    @Test
+    void boards_shouldListBoards() throws Exception {
+        Mockito.when(leaderboardService.boardSizes()).thenReturn(Map.of(
+                new LeaderboardService.BoardKey(Discipline.THROW, "Javelin", 2025), 12));
+
+        mockMvc.perform(get("/api/leaderboards"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].discipline").value("throw"))
+                .andExpect(jsonPath("$[0].event").value("javelin"))
+                .andExpect(jsonPath("$[0].athletes").value(12));
+    }
+
+    /* =====================================================
+       GET /api/leaderboards/top
+    ===================================================== */
+    @Test
+    void top_shouldReturnStandingsWithNames() throws Exception {
+        Mockito.when(leaderboardService.top(Discipline.RUN, "400m Event", null, 100))
+                .thenReturn(List.of(new LeaderboardService.Standing(1, 7, 49_500)));
+        Mockito.when(athleteRepo.findAllById(List.of(7))).thenReturn(List.of(new Athlete(7, "Ana")));
+
+        mockMvc.perform(get("/api/leaderboards/top")
+                        .param("discipline", "run")
+                        .param("event", "400m Event"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].name").value("Ana"))
+                .andExpect(jsonPath("$[0].mark").value(49500.0));
+    }
+
+    @Test
+    void top_unknownDiscipline_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/leaderboards/top")
+                        .param("discipline", "swim")
+                        .param("event", "50m"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void top_limitTooLarge_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/leaderboards/top")
+                        .param("discipline", "run")
+                        .param("event", "400m Event")
+                        .param("limit", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /* =====================================================
+       GET /api/leaderboards/rank
+    ===================================================== */
+    @Test
+    void rank_shouldReturnStanding() throws Exception {
+        Mockito.when(leaderboardService.standingOf(Discipline.JUMP, "meVrull", 2025, 3))
+                .thenReturn(Optional.of(new LeaderboardService.AthleteStanding(3, 2, 5, 75.0, 6.4)));
+
+        mockMvc.perform(get("/api/leaderboards/rank")
+                        .param("discipline", "jump")
+                        .param("event", "meVrull")
+                        .param("athleteId", "3")
+                        .param("season", "2025"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(2))
+                .andExpect(jsonPath("$.percentile").value(75.0));
+    }
+
+    @Test
+    void rank_notOnBoard_shouldReturnNotFound() throws Exception {
+        Mockito.when(leaderboardService.standingOf(Discipline.JUMP, "meVrull", null, 3))
+                .thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/leaderboards/rank")
+                        .param("discipline", "jump")
+                        .param("event", "meVrull")
+                        .param("athleteId", "3"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.Coach;
+import com.example.athleteresults.entities.User;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.repositories.UserRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.LiveUpdateService;
+import com.example.athleteresults.services.NotesSearchService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = NotesSearchController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+class NotesSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private NotesSearchService notesSearchService;
+    @MockBean private UserRepository userRepo;
+    @MockBean private AthleteRepository athleteRepo;
+    @MockBean private CoachRepository coachRepo;
+    @MockBean private CoachAthleteRelationRepository relationRepo;
+
+    /* =====================================================
+       GET /api/search/notes — scope by role
+    ===================================================== */
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void search_admin_shouldSearchEveryone() throws Exception {
+        Mockito.when(notesSearchService.search("hamstring", null, 0, 20)).thenReturn(new NotesSearchService.HitPage(
+                List.of(new NotesSearchService.Hit("session", 4, 7, LocalDate.of(2025, 3, 1), 0.6,
+                        "tight «hamstring» after the tempo run")),
+                0, 20, false));
+
+        mockMvc.perform(get("/api/search/notes").param("q", " hamstring "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits", hasSize(1)))
+                .andExpect(jsonPath("$.hits[0].kind").value("session"))
+                .andExpect(jsonPath("$.hits[0].snippet").value("tight «hamstring» after the tempo run"));
+    }
+
+    @Test
+    @WithMockUser(username = "coach1", roles = "COACH")
+    void search_coach_shouldBeLimitedToAcceptedAthletes() throws Exception {
+        Mockito.when(userRepo.findByUsername("coach1")).thenReturn(Optional.of(dbUser(10, "coach1")));
+        Coach coach = new Coach("John", 10);
+        coach.setId(1);
+        Mockito.when(coachRepo.findByUserId(10)).thenReturn(Optional.of(coach));
+        Mockito.when(relationRepo.findAthleteIdsByCoachIdAndStatusName(1, LiveUpdateService.ACCEPTED))
+                .thenReturn(List.of(7, 8));
+        Mockito.when(notesSearchService.search(eq("headwind"), eq(List.of(7, 8)), eq(0), eq(20)))
+                .thenReturn(new NotesSearchService.HitPage(List.of(), 0, 20, false));
+
+        mockMvc.perform(get("/api/search/notes").param("q", "headwind"))
+                .andExpect(status().isOk());
+
+        // an athlete outside the relation is refused
+        mockMvc.perform(get("/api/search/notes").param("q", "headwind").param("athleteId", "9"))
+                .andExpect(status().isForbidden());
+        Mockito.verify(notesSearchService, Mockito.never()).search(any(), eq(List.of(9)), anyInt(), anyInt());
+    }
+
+    @Test
+    @WithMockUser(username = "ath1", roles = "ATHLETE")
+    void search_athlete_shouldSeeOwnNotesOnly() throws Exception {
+        Mockito.when(userRepo.findByUsername("ath1")).thenReturn(Optional.of(dbUser(20, "ath1")));
+        Mockito.when(athleteRepo.findByUserId(20)).thenReturn(Optional.of(new Athlete(7, "A")));
+        Mockito.when(notesSearchService.search(eq("tempo"), eq(List.of(7)), eq(0), eq(20)))
+                .thenReturn(new NotesSearchService.HitPage(List.of(), 0, 20, false));
+
+        mockMvc.perform(get("/api/search/notes").param("q", "tempo"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(notesSearchService).search(eq("tempo"), eq(List.of(7)), eq(0), eq(20));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void search_blankQueryOrBadPage_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/search/notes").param("q", "  "))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/search/notes").param("q", "run").param("size", "500"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(notesSearchService);
+    }
+
+    /* ===== helpers ===== */
+
+    private User dbUser(Integer id, String username) {
+        User u = new User();
+        u.setId(id);
+        u.setUsername(username);
+        return u;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.PlanAdherenceService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = PlanAdherenceController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+@WithMockUser(roles = "COACH")
+class PlanAdherenceControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private PlanAdherenceService adherenceService;
+    @MockBean private AthleteRepository athleteRepo;
+    @MockBean private CoachRepository coachRepo;
+
+    /* =====================================================
+       GET /api/plans/adherence/athlete/{id}
+    ===================================================== */
+    @Test
+    void athlete_shouldReturnSummaryAndDays() throws Exception {
+        Mockito.when(athleteRepo.existsById(7)).thenReturn(true);
+        PlanAdherenceService.Summary summary = new PlanAdherenceService.Summary(
+                1, 1, 1, 1, 1.0, 1, 1, 0.95, null, 6.0, 1, 1);
+        PlanAdherenceService.Day day = new PlanAdherenceService.Day(LocalDate.of(2024, 3, 1), 60, null, 6,
+                true, true, true, true, 1, 57, 10.2, 0, 1.0, 1.0, 0.95);
+        Mockito.when(adherenceService.forAthlete(7, FROM, TO))
+                .thenReturn(new PlanAdherenceService.AthleteAdherence(7, FROM, TO, summary, List.of(day)));
+
+        mockMvc.perform(get("/api/plans/adherence/athlete/7")
+                        .param("from", "2024-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.completionRate").value(1.0))
+                .andExpect(jsonPath("$.summary.minutesRatio").value(0.95))
+                .andExpect(jsonPath("$.days", hasSize(1)))
+                .andExpect(jsonPath("$.days[0].onTarget").value(true));
+    }
+
+    @Test
+    void athlete_shouldValidateRangeAndAthlete() throws Exception {
+        mockMvc.perform(get("/api/plans/adherence/athlete/7")
+                        .param("from", "2024-12-31").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/plans/adherence/athlete/7")
+                        .param("from", "2022-01-01").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/plans/adherence/athlete/7"))
+                .andExpect(status().isNotFound());
+        Mockito.verify(adherenceService, Mockito.never()).forAthlete(any(), any(), any());
+    }
+
+    /* =====================================================
+       GET /api/plans/adherence/coach/{id}
+    ===================================================== */
+    @Test
+    void coach_shouldReturnRankedRows() throws Exception {
+        Mockito.when(coachRepo.existsById(5)).thenReturn(true);
+        PlanAdherenceService.AthleteRow row = new PlanAdherenceService.AthleteRow(
+                8, 10, 9, 2, 9, 0.9, 1.0, 0, 0, null, null, null, 1);
+        Mockito.when(adherenceService.forCoach(5, FROM, TO))
+                .thenReturn(new PlanAdherenceService.CoachAdherence(5, FROM, TO, 3, 1, 0.9, List.of(row)));
+
+        mockMvc.perform(get("/api/plans/adherence/coach/5")
+                        .param("from", "2024-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.athletes").value(3))
+                .andExpect(jsonPath("$.rows[0].athleteId").value(8))
+                .andExpect(jsonPath("$.rows[0].squadRank").value(1));
+    }
+
+    @Test
+    void coach_unknownCoach_shouldReturn404() throws Exception {
+        mockMvc.perform(get("/api/plans/adherence/coach/5"))
+                .andExpect(status().isNotFound());
+        Mockito.verify(adherenceService, Mockito.never()).forCoach(any(), any(), any());
+    }
+}
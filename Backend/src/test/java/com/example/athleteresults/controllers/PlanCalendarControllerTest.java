@@ -0,0 +1,86 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.PlanCalendarService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = PlanCalendarController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+@WithMockUser(roles = "COACH")
+class PlanCalendarControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private PlanCalendarService calendarService;
+    @MockBean private CoachRepository coachRepo;
+
+    /* =====================================================
+       GET /api/plans/calendar
+    ===================================================== */
+    @Test
+    void calendar_shouldReturnMatrixForMonth() throws Exception {
+        YearMonth april = YearMonth.of(2024, 4);
+        PlanCalendarService.Cell[][] cells = new PlanCalendarService.Cell[30][];
+        cells[2] = new PlanCalendarService.Cell[] {new PlanCalendarService.Cell(100, "Easy 8 km", true)};
+        PlanCalendarService.AthleteRow row = new PlanCalendarService.AthleteRow(7, "Ana", "K", 1, 1, cells);
+        Mockito.when(coachRepo.existsById(5)).thenReturn(true);
+        Mockito.when(calendarService.forCoach(5, april)).thenReturn(new PlanCalendarService.Calendar(
+                5, april, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30), 30, 1, 1, List.of(row)));
+
+        mockMvc.perform(get("/api/plans/calendar").param("coachId", "5").param("month", "2024-04"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.month").value("2024-04"))
+                .andExpect(jsonPath("$.days").value(30))
+                .andExpect(jsonPath("$.athletes[0].cells", hasSize(30)))
+                .andExpect(jsonPath("$.athletes[0].cells[0]").value(nullValue()))
+                .andExpect(jsonPath("$.athletes[0].cells[2][0].summary").value("Easy 8 km"))
+                .andExpect(jsonPath("$.athletes[0].cells[2][0].actual").value(true));
+    }
+
+    @Test
+    void calendar_withoutMonth_shouldUseCurrentMonth() throws Exception {
+        Mockito.when(coachRepo.existsById(5)).thenReturn(true);
+
+        mockMvc.perform(get("/api/plans/calendar").param("coachId", "5"))
+                .andExpect(status().isOk());
+        Mockito.verify(calendarService).forCoach(5, YearMonth.now());
+    }
+
+    @Test
+    void calendar_shouldValidateMonthAndCoach() throws Exception {
+        mockMvc.perform(get("/api/plans/calendar").param("coachId", "5").param("month", "2024-13"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/plans/calendar").param("coachId", "5").param("month", "2024-04"))
+                .andExpect(status().isNotFound());
+        Mockito.verify(calendarService, Mockito.never()).forCoach(any(), any());
+    }
+}
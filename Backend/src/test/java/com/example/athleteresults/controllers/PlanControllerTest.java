@@ -18,12 +18,17 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -48,6 +53,7 @@ class PlanControllerTest {
     @MockBean private PlanRepository planRepo;
     @MockBean private AthleteRepository athleteRepo;
     @MockBean private CoachRepository coachRepo;
+    @MockBean private ProjectionQueries projections;
 
     /* =====================================================
        GET /api/plans
@@ -58,7 +64,7 @@ class PlanControllerTest {
 
         Mockito.when(planService.getAllPlans()).thenReturn(List.of(p));
 
-        mockMvc.perform(get("/api/plans"))
+        mockMvc.perform(get("/api/plans").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].athleteName").value("Athlete A"));
@@ -87,7 +93,7 @@ class PlanControllerTest {
 
         Mockito.when(planService.getPlansByAthlete(10)).thenReturn(List.of(p));
 
-        mockMvc.perform(get("/api/plans/athlete/10"))
+        mockMvc.perform(get("/api/plans/athlete/10").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].athleteId").value(10));
     }
@@ -108,7 +114,7 @@ class PlanControllerTest {
         PlanController.PlanRequest req =
                 new PlanController.PlanRequest(
                         10, 5, LocalDate.now(),
-                        "Pred", "Actual", "Notes"
+                        "Pred", "Actual", "Notes", null, null, null
                 );
 
         mockMvc.perform(post("/api/plans")
@@ -118,6 +124,30 @@ class PlanControllerTest {
                 .andExpect(jsonPath("$.predictionPlan").value("Pred"));
     }
 
+    @Test
+    void createPlan_withTargets_shouldStoreAndValidateThem() throws Exception {
+        Mockito.when(athleteRepo.findById(10)).thenReturn(Optional.of(athlete()));
+        Mockito.when(coachRepo.findById(5)).thenReturn(Optional.of(coach()));
+        Mockito.when(planService.savePlan(Mockito.any(Plan.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        PlanController.PlanRequest req = new PlanController.PlanRequest(
+                10, 5, LocalDate.now(), "Tempo", null, null, 60, new BigDecimal("12.5"), 7);
+        mockMvc.perform(post("/api/plans")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.targetMinutes").value(60))
+                .andExpect(jsonPath("$.targetKm").value(12.5))
+                .andExpect(jsonPath("$.targetIntensity").value(7));
+
+        PlanController.PlanRequest bad = new PlanController.PlanRequest(
+                10, 5, LocalDate.now(), "Tempo", null, null, 60, null, 11);
+        mockMvc.perform(post("/api/plans")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bad)))
+                .andExpect(status().isBadRequest());
+    }
+
     /* =====================================================
        PUT /api/plans/{id}
     ===================================================== */
@@ -133,7 +163,7 @@ class PlanControllerTest {
         PlanController.PlanRequest req =
                 new PlanController.PlanRequest(
                         10, 5, LocalDate.now(),
-                        "Updated", "Actual", "Notes"
+                        "Updated", "Actual", "Notes", null, null, null
                 );
 
         mockMvc.perform(put("/api/plans/1")
@@ -143,6 +173,40 @@ class PlanControllerTest {
                 .andExpect(jsonPath("$.predictionPlan").value("Updated"));
     }
 
+    @Test
+    void updatePlan_withoutTargets_shouldKeepExistingTargets() throws Exception {
+        Plan existing = samplePlan();
+        existing.setTargetMinutes(60);
+        existing.setTargetKm(new BigDecimal("12.5"));
+        existing.setTargetIntensity(7);
+
+        Mockito.when(planService.getPlanById(1)).thenReturn(Optional.of(existing));
+        Mockito.when(athleteRepo.findById(10)).thenReturn(Optional.of(athlete()));
+        Mockito.when(coachRepo.findById(5)).thenReturn(Optional.of(coach()));
+        Mockito.when(planService.savePlan(Mockito.any(Plan.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // what the plan editor sends: no target fields
+        PlanController.PlanRequest req = new PlanController.PlanRequest(
+                10, 5, LocalDate.now(), "Updated", "Actual", "Notes", null, null, null);
+        mockMvc.perform(put("/api/plans/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.predictionPlan").value("Updated"))
+                .andExpect(jsonPath("$.targetMinutes").value(60))
+                .andExpect(jsonPath("$.targetKm").value(12.5))
+                .andExpect(jsonPath("$.targetIntensity").value(7));
+
+        PlanController.PlanRequest longer = new PlanController.PlanRequest(
+                10, 5, LocalDate.now(), "Updated", "Actual", "Notes", 75, null, null);
+        mockMvc.perform(put("/api/plans/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(longer)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.targetMinutes").value(75))
+                .andExpect(jsonPath("$.targetIntensity").value(7));
+    }
+
     /* =====================================================
        PATCH /api/plans/{id}/actual
     ===================================================== */
@@ -160,6 +224,50 @@ class PlanControllerTest {
                 .andExpect(jsonPath("$.actualPlan").value("DONE"));
     }
 
+    /* =====================================================
+       PATCH /api/plans/{id}/targets
+    ===================================================== */
+    @Test
+    void patchTargets_nullField_shouldClearOnlyThatTarget() throws Exception {
+        Plan p = samplePlan();
+        p.setTargetMinutes(60);
+        p.setTargetKm(new BigDecimal("12.5"));
+        p.setTargetIntensity(7);
+
+        Mockito.when(planService.getPlanById(1)).thenReturn(Optional.of(p));
+        Mockito.when(planService.savePlan(Mockito.any(Plan.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        mockMvc.perform(patch("/api/plans/1/targets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetKm\":null,\"targetIntensity\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.targetMinutes").value(60))
+                .andExpect(jsonPath("$.targetKm").value(nullValue()))
+                .andExpect(jsonPath("$.targetIntensity").value(5));
+
+        assertNull(p.getTargetKm());
+        assertEquals("Pred", p.getPredictionPlan());
+    }
+
+    @Test
+    void patchTargets_invalidValue_shouldReturnBadRequest() throws Exception {
+        Plan p = samplePlan();
+        p.setTargetMinutes(60);
+        Mockito.when(planService.getPlanById(1)).thenReturn(Optional.of(p));
+
+        mockMvc.perform(patch("/api/plans/1/targets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetMinutes\":\"an hour\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/plans/1/targets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetIntensity\":11}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(60, p.getTargetMinutes());
+        Mockito.verify(planService, Mockito.never()).savePlan(Mockito.any());
+    }
+
     /* =====================================================
        DELETE /api/plans/{id}
     ===================================================== */
@@ -192,7 +300,8 @@ class PlanControllerTest {
                         LocalDate.now(),
                         "Pred",
                         "Actual",
-                        "Notes"
+                        "Notes",
+                        null, null, null
                 );
 
         mockMvc.perform(post("/api/plans/coach/5/send")
@@ -217,6 +326,7 @@ class PlanControllerTest {
         ).thenReturn(List.of(p));
 
         mockMvc.perform(get("/api/plans/filter")
+                        .param("includeNotes", "true")
                         .param("athleteId", "10"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].athleteId").value(10));
@@ -251,4 +361,23 @@ class PlanControllerTest {
         p.setNotes("Notes");
         return p;
     }
+
+    /* =====================================================
+       GET /api/plans/coach/{coachId} (default: summary rows)
+    ===================================================== */
+    @Test
+    void getPlansByCoach_withoutIncludeNotes_shouldReturnSummaries() throws Exception {
+        PlanController.PlanSummaryDTO p = new PlanController.PlanSummaryDTO(
+                1, LocalDate.of(2024, 5, 1), "Pred", "Actual", "Athlete A", "Coach C", 10, 5,
+                null, null, null);
+
+        Mockito.when(projections.list(eq(Plan.class), any(), any(),
+                        eq(PlanController.PlanSummaryDTO.class), any(String[].class)))
+                .thenReturn(List.of(p));
+
+        mockMvc.perform(get("/api/plans/coach/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].coachId").value(5))
+                .andExpect(jsonPath("$[0].notes").doesNotExist());
+    }
 }
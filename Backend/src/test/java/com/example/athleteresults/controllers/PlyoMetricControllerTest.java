@@ -3,6 +3,7 @@ package com.example.athleteresults.controllers;
 import com.example.athleteresults.entities.PlyoMetric;
 import com.example.athleteresults.repositories.PlyoMetricRepository;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.GymMetricService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.Test;
@@ -46,6 +47,9 @@ class PlyoMetricControllerTest {
     @MockBean
     private PlyoMetricRepository plyoMetricRepository;
 
+    @MockBean
+    private GymMetricService gymMetricService;
+
     /* =====================================================
        GET /api/metrics/plyo?gymId=1
     ===================================================== */
@@ -90,6 +94,24 @@ class PlyoMetricControllerTest {
                 .andExpect(jsonPath("$.intensity").value(4));
     }
 
+    /* =====================================================
+       POST /api/metrics/plyo/batch?gymId=1
+    ===================================================== */
+    @Test
+    void createBatch_shouldReturnCreated() throws Exception {
+        List<PlyoMetric> metrics = List.of(new PlyoMetric(), new PlyoMetric());
+
+        Mockito.when(gymMetricService.createPlyos(Mockito.eq(1), Mockito.anyList()))
+                .thenReturn(metrics);
+
+        mockMvc.perform(post("/api/metrics/plyo/batch")
+                        .param("gymId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(metrics)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
     /* =====================================================
        DELETE /api/metrics/plyo/{id}
     ===================================================== */
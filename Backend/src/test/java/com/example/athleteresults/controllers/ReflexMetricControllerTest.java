@@ -3,6 +3,7 @@ package com.example.athleteresults.controllers;
 import com.example.athleteresults.entities.ReflexMetric;
 import com.example.athleteresults.repositories.ReflexMetricRepository;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.GymMetricService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.Test;
@@ -47,6 +48,9 @@ class ReflexMetricControllerTest {
     @MockBean
     private ReflexMetricRepository reflexMetricRepository;
 
+    @MockBean
+    private GymMetricService gymMetricService;
+
     /* =====================================================
        GET /api/metrics/reflex?gymId=1
     ===================================================== */
@@ -79,6 +83,24 @@ class ReflexMetricControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    /* =====================================================
+       POST /api/metrics/reflex/batch?gymId=1
+    ===================================================== */
+    @Test
+    void createBatch_shouldReturnCreated() throws Exception {
+        List<ReflexMetric> metrics = List.of(new ReflexMetric(), new ReflexMetric());
+
+        Mockito.when(gymMetricService.createReflexes(Mockito.eq(1), Mockito.anyList()))
+                .thenReturn(metrics);
+
+        mockMvc.perform(post("/api/metrics/reflex/batch")
+                        .param("gymId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(metrics)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
     /* =====================================================
        DELETE /api/metrics/reflex/{id}
     ===================================================== */
@@ -0,0 +1,144 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.ReportJob;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.ReportService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = ReportController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+@WithMockUser(roles = "COACH")
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private ReportService reportService;
+    @MockBean private CoachRepository coachRepo;
+
+    @TempDir
+    Path dir;
+
+    private static ReportService.JobStatus jobStatus(String status) {
+        return new ReportService.JobStatus("j-1", 5, 2024, status, 12, LocalDateTime.of(2025, 1, 10, 9, 0),
+                null, null, null, null);
+    }
+
+    private static ReportJob job(String status) {
+        ReportJob job = new ReportJob("j-1", 5, 2024, "f", 12, LocalDateTime.of(2025, 1, 10, 9, 0));
+        job.setStatus(status);
+        return job;
+    }
+
+    /* =====================================================
+       POST /api/coaches/{coachId}/reports
+    ===================================================== */
+    @Test
+    void submit_shouldReturnAcceptedWhileBuilding() throws Exception {
+        Mockito.when(coachRepo.existsById(5)).thenReturn(true);
+        Mockito.when(reportService.submit(5, 2024)).thenReturn(jobStatus(ReportJob.QUEUED));
+
+        mockMvc.perform(post("/api/coaches/5/reports").param("season", "2024"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("j-1"))
+                .andExpect(jsonPath("$.status").value("queued"));
+    }
+
+    @Test
+    void submit_upToDateReport_shouldReturnOk() throws Exception {
+        Mockito.when(coachRepo.existsById(5)).thenReturn(true);
+        Mockito.when(reportService.submit(5, 2024)).thenReturn(jobStatus(ReportJob.DONE));
+
+        mockMvc.perform(post("/api/coaches/5/reports").param("season", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("done"));
+    }
+
+    @Test
+    void submit_shouldValidateSeasonAndCoach() throws Exception {
+        mockMvc.perform(post("/api/coaches/5/reports").param("season", "1800"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/coaches/5/reports").param("season", "2024"))
+                .andExpect(status().isNotFound());
+        Mockito.verify(reportService, Mockito.never()).submit(any(), anyInt());
+    }
+
+    /* =====================================================
+       GET /api/reports/{id}
+    ===================================================== */
+    @Test
+    void status_shouldReturnJobOr404() throws Exception {
+        Mockito.when(reportService.status("j-1")).thenReturn(Optional.of(jobStatus(ReportJob.RUNNING)));
+
+        mockMvc.perform(get("/api/reports/j-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("running"))
+                .andExpect(jsonPath("$.athletes").value(12));
+        mockMvc.perform(get("/api/reports/nope"))
+                .andExpect(status().isNotFound());
+    }
+
+    /* =====================================================
+       GET /api/reports/{id}/download
+    ===================================================== */
+    @Test
+    void download_shouldStreamZip() throws Exception {
+        ReportJob job = job(ReportJob.DONE);
+        Path file = Files.write(dir.resolve("j-1.zip"), new byte[] { 'P', 'K', 3, 4 });
+        Mockito.when(reportService.job("j-1")).thenReturn(Optional.of(job));
+        Mockito.when(reportService.fileOf(job)).thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/api/reports/j-1/download"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"season-report-2024-coach-5.zip\""))
+                .andExpect(content().bytes(new byte[] { 'P', 'K', 3, 4 }));
+    }
+
+    @Test
+    void download_notReady_shouldReturnConflict() throws Exception {
+        Mockito.when(reportService.job("j-1")).thenReturn(Optional.of(job(ReportJob.RUNNING)));
+
+        mockMvc.perform(get("/api/reports/j-1/download"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void download_fileGone_shouldReturnGone() throws Exception {
+        ReportJob job = job(ReportJob.DONE);
+        Mockito.when(reportService.job("j-1")).thenReturn(Optional.of(job));
+        Mockito.when(reportService.fileOf(job)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/reports/j-1/download"))
+                .andExpect(status().isGone());
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.athleteresults.controllers;
 
+import com.example.athleteresults.dto.ResultSummary;
 import com.example.athleteresults.entities.Result;
 import com.example.athleteresults.repositories.AthleteRepository;
 import com.example.athleteresults.repositories.ResultRepository;
+import com.example.athleteresults.repositories.ProjectionQueries;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.services.QueryResultCache;
+import com.example.athleteresults.services.RacePredictionService;
+import com.example.athleteresults.services.SplitAnalyticsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,14 +24,24 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,8 +57,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         )
 )
 @AutoConfigureMockMvc(addFilters = false)
+@RecordApplicationEvents
 class ResultControllerTest {
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -49,6 +72,18 @@ class ResultControllerTest {
     /* ===== MOCK REPOSITORIES ===== */
     @MockBean private ResultRepository resultRepo;
     @MockBean private AthleteRepository athleteRepo;
+    @MockBean private ProjectionQueries projections;
+    @MockBean private QueryResultCache queryCache;
+    @MockBean private SplitAnalyticsService splitAnalytics;
+    @MockBean private RacePredictionService predictions;
+
+    /* ===== result cache passes straight through to the query ===== */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void passThroughQueryCache() {
+        Mockito.when(queryCache.get(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(inv -> ((Supplier<List<?>>) inv.getArgument(3)).get());
+    }
 
     /* =====================================================
        GET /api/results
@@ -62,7 +97,7 @@ class ResultControllerTest {
 
         Mockito.when(resultRepo.findAll()).thenReturn(List.of(r));
 
-        mockMvc.perform(get("/api/results"))
+        mockMvc.perform(get("/api/results").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].race").value("100m"));
@@ -79,7 +114,7 @@ class ResultControllerTest {
 
         Mockito.when(resultRepo.findByAthleteId(10)).thenReturn(List.of(r));
 
-        mockMvc.perform(get("/api/results/athlete/10"))
+        mockMvc.perform(get("/api/results/athlete/10").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].race").value("200m"));
     }
@@ -164,6 +199,65 @@ class ResultControllerTest {
                 .andExpect(jsonPath("$.race").value("Updated Race"));
     }
 
+    @Test
+    void updateResult_newTime_shouldClearSplits() throws Exception {
+        Result existing = new Result();
+        existing.setId(1);
+        existing.setAthleteId(10);
+        existing.setDistance(400);
+        existing.setTimeMs(60_000);
+        existing.setSplitDistance(200);
+        existing.setSplitMs(new int[]{29_000, 31_000});
+
+        Result updated = new Result();
+        updated.setAthleteId(10);
+        updated.setDistance(400);
+        updated.setTimeMs(60_000);
+
+        Mockito.when(athleteRepo.existsById(10)).thenReturn(true);
+        Mockito.when(resultRepo.findById(1)).thenReturn(Optional.of(existing));
+        Mockito.when(resultRepo.save(Mockito.any(Result.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // same distance and time: the splits still add up
+        mockMvc.perform(put("/api/results/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(200, existing.getSplitDistance());
+
+        updated.setTimeMs(61_500);
+        mockMvc.perform(put("/api/results/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isOk());
+        Assertions.assertNull(existing.getSplitDistance());
+        Assertions.assertNull(existing.getSplitMs());
+        Assertions.assertEquals(61_500, existing.getTimeMs());
+    }
+
+    @Test
+    void updateResult_movedToAnotherAthlete_shouldNameThePreviousOwner() throws Exception {
+        Result existing = new Result();
+        existing.setId(1);
+        existing.setAthleteId(10);
+
+        Result updated = new Result();
+        updated.setAthleteId(11);
+
+        Mockito.when(athleteRepo.existsById(11)).thenReturn(true);
+        Mockito.when(resultRepo.findById(1)).thenReturn(Optional.of(existing));
+        Mockito.when(resultRepo.save(Mockito.any(Result.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        mockMvc.perform(put("/api/results/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isOk());
+
+        Assertions.assertEquals(1, applicationEvents.stream(DataChangeEvent.class)
+                .filter(e -> e.athleteId() == 11 && Integer.valueOf(10).equals(e.previousAthleteId()))
+                .count());
+    }
+
     /* =====================================================
        DELETE /api/results/{id}
     ===================================================== */
@@ -200,11 +294,33 @@ class ResultControllerTest {
         ).thenReturn(List.of(r));
 
         mockMvc.perform(get("/api/results/filter")
+                        .param("includeNotes", "true")
                         .param("race", "100m"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].race").value("100m"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterResults_shouldNormalizeTextFiltersForKeyAndQuery() throws Exception {
+        mockMvc.perform(get("/api/results/filter")
+                        .param("includeNotes", "true")
+                        .param("race", " 100M ")
+                        .param("raceType", "  "))
+                .andExpect(status().isOk());
+
+        Sort sort = Sort.by("raceDate").ascending();
+        Mockito.verify(queryCache).get(eq(DataChangeEvent.Kind.RESULT), Mockito.isNull(),
+                eq(QueryResultCache.filters("100m", null, null, null, null, null, sort, true)), any());
+
+        ArgumentCaptor<Specification<Result>> spec = ArgumentCaptor.forClass(Specification.class);
+        Mockito.verify(resultRepo).findAll(spec.capture(), eq(sort));
+        CriteriaBuilder cb = Mockito.mock(CriteriaBuilder.class, Mockito.RETURNS_MOCKS);
+        spec.getValue().toPredicate(Mockito.mock(Root.class, Mockito.RETURNS_MOCKS),
+                Mockito.mock(CriteriaQuery.class), cb);
+        Mockito.verify(cb).like(any(), eq("%100m%"));
+        Mockito.verify(cb, Mockito.times(1)).like(any(), Mockito.anyString());
+    }
 
     /* =====================================================
        GET /api/results/search
@@ -222,10 +338,157 @@ class ResultControllerTest {
         ).thenReturn(List.of(r));
 
         mockMvc.perform(get("/api/results/search")
+                        .param("includeNotes", "true")
                         .param("sortBy", "time")
                         .param("sortOrder", "desc"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].race").value("200m"));
     }
 
+    /* =====================================================
+       GET /api/results (default: summary rows without notes)
+    ===================================================== */
+    @Test
+    void getAllResults_withoutIncludeNotes_shouldReturnSummaries() throws Exception {
+        ResultSummary r = new ResultSummary(1, 10, "100m", "Final",
+                LocalDate.of(2024, 5, 1), 100, 10500, null);
+
+        Mockito.when(projections.list(eq(Result.class), any(), any(),
+                        eq(ResultSummary.class), any(String[].class)))
+                .thenReturn(List.of(r));
+
+        mockMvc.perform(get("/api/results"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].race").value("100m"))
+                .andExpect(jsonPath("$[0].notes").doesNotExist());
+
+        Mockito.verify(resultRepo, Mockito.never()).findAll();
+    }
+
+    /* =====================================================
+       /api/results/{id}/splits
+    ===================================================== */
+    private static Result race(Integer distance, Integer timeMs) {
+        Result r = new Result();
+        r.setId(5);
+        r.setAthleteId(10);
+        r.setDistance(distance);
+        r.setTimeMs(timeMs);
+        return r;
+    }
+
+    @Test
+    void putSplits_shouldStoreLapsThatAddUpToTheTime() throws Exception {
+        Mockito.when(resultRepo.findById(5)).thenReturn(Optional.of(race(400, 50_000)));
+        Mockito.when(resultRepo.save(any(Result.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        mockMvc.perform(put("/api/results/5/splits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"splitDistance\":100,\"splitMs\":[11800,12100,12700,13410]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitMs", hasSize(4)))
+                .andExpect(jsonPath("$.splitMs[3]").value(13410));
+
+        Mockito.verify(resultRepo).save(Mockito.argThat(r -> r.getSplitMs().length == 4 && r.getSplitDistance() == 100));
+    }
+
+    @Test
+    void putSplits_mismatchingLapsOrTime_shouldReturnBadRequest() throws Exception {
+        Mockito.when(resultRepo.findById(5)).thenReturn(Optional.of(race(400, 50_000)));
+
+        // three laps cannot cover 400 m in 100 m splits
+        mockMvc.perform(put("/api/results/5/splits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"splitDistance\":100,\"splitMs\":[12000,12000,26000]}"))
+                .andExpect(status().isBadRequest());
+
+        // one second off the final time
+        mockMvc.perform(put("/api/results/5/splits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"splitDistance\":100,\"splitMs\":[12000,12000,12000,13000]}"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(resultRepo, Mockito.never()).save(any());
+    }
+
+    @Test
+    void getSplits_shouldReturnLapsButResultJsonShouldNot() throws Exception {
+        Result r = race(1500, 240_000);
+        r.setSplitDistance(400);
+        r.setSplitMs(new int[]{64_000, 65_000, 66_000, 45_000});
+        Mockito.when(resultRepo.findById(5)).thenReturn(Optional.of(r));
+
+        mockMvc.perform(get("/api/results/5/splits"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitDistance").value(400))
+                .andExpect(jsonPath("$.splitMs[3]").value(45000));
+
+        mockMvc.perform(get("/api/results/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.splitMs").doesNotExist());
+    }
+
+    @Test
+    void getSplits_withoutSplits_shouldReturnNotFound() throws Exception {
+        Mockito.when(resultRepo.findById(5)).thenReturn(Optional.of(race(400, 50_000)));
+
+        mockMvc.perform(get("/api/results/5/splits"))
+                .andExpect(status().isNotFound());
+    }
+
+    /* =====================================================
+       split metrics
+    ===================================================== */
+    @Test
+    void splitMetrics_shouldReturnHistoryOfAthlete() throws Exception {
+        Mockito.when(athleteRepo.existsById(10)).thenReturn(true);
+        Mockito.when(splitAnalytics.history(10, 400)).thenReturn(new SplitAnalyticsService.SplitHistory(
+                new SplitAnalyticsService.SplitSummary(10, 1, 6.5, 4.1, 5, 6.5),
+                List.of(new SplitAnalyticsService.RaceSplitMetrics(5, LocalDate.of(2024, 6, 1), 400, 4,
+                        6.5, 4.1, 2950.0, 3352.5))));
+
+        mockMvc.perform(get("/api/results/athlete/10/split-metrics").param("distance", "400"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.races").value(1))
+                .andExpect(jsonPath("$.races[0].fadeIndex").value(6.5));
+    }
+
+    @Test
+    void splitMetricsRoster_shouldSummariseEveryAthlete() throws Exception {
+        Mockito.when(splitAnalytics.summaries(List.of(10, 11), null)).thenReturn(List.of(
+                new SplitAnalyticsService.SplitSummary(10, 3, 2.0, 1.5, 7, 4.0),
+                new SplitAnalyticsService.SplitSummary(11, 0, null, null, null, null)));
+
+        mockMvc.perform(get("/api/results/split-metrics").param("athleteIds", "10,11"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].races").value(0));
+    }
+
+    /* =====================================================
+       GET /api/results/athlete/{athleteId}/prediction
+    ===================================================== */
+    @Test
+    void prediction_shouldReturnPredictedTime() throws Exception {
+        Mockito.when(athleteRepo.existsById(10)).thenReturn(true);
+        Mockito.when(predictions.predict(10, 10000, 5000)).thenReturn(
+                new RacePredictionService.Prediction(10, 10000, 2_090_000, 5000, 1_000_000, 1.063, true, 4));
+
+        mockMvc.perform(get("/api/results/athlete/10/prediction")
+                        .param("distance", "10000").param("from", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.predictedMs").value(2_090_000))
+                .andExpect(jsonPath("$.exponent").value(1.063));
+    }
+
+    @Test
+    void prediction_withoutMarks_shouldReturnNotFound() throws Exception {
+        Mockito.when(athleteRepo.existsById(10)).thenReturn(true);
+        Mockito.when(predictions.predict(10, 10000, null)).thenReturn(
+                new RacePredictionService.Prediction(10, 10000, null, null, null, 1.06, false, 0));
+
+        mockMvc.perform(get("/api/results/athlete/10/prediction").param("distance", "10000"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,118 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.AthleteRollup;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.RollupService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = RollupController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class RollupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private RollupService rollupService;
+    @MockBean private AthleteRepository athleteRepo;
+
+    private static RollupService.JobProgress progress(String status) {
+        return new RollupService.JobProgress(4L, LocalDate.of(2025, 3, 2), status, 1, 600, 3, 1, 0,
+                LocalDateTime.of(2025, 3, 2, 2, 45), null);
+    }
+
+    /* =====================================================
+       GET /api/athletes/{id}/rollups
+    ===================================================== */
+    @Test
+    void rollups_shouldReturnStoredRows() throws Exception {
+        Mockito.when(athleteRepo.existsById(7)).thenReturn(true);
+        Mockito.when(rollupService.rollups(7, AthleteRollup.Period.WEEK,
+                        LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 19)))
+                .thenReturn(List.of(new AthleteRollup(7, AthleteRollup.Discipline.RUN, "400m event",
+                        AthleteRollup.Period.WEEK, LocalDate.of(2025, 1, 6), 2, 800.0, 51_200.0, 51_900.0)));
+
+        mockMvc.perform(get("/api/athletes/7/rollups?period=week&from=2025-01-06&to=2025-01-19"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].discipline").value("RUN"))
+                .andExpect(jsonPath("$[0].best").value(51_200.0));
+    }
+
+    @Test
+    void rollups_badPeriodOrRange_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/athletes/7/rollups?period=month"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/athletes/7/rollups?period=day&from=2024-01-01&to=2025-06-01"))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(rollupService);
+    }
+
+    @Test
+    void rollups_unknownAthlete_shouldReturn404() throws Exception {
+        Mockito.when(athleteRepo.existsById(7)).thenReturn(false);
+
+        mockMvc.perform(get("/api/athletes/7/rollups?period=season"))
+                .andExpect(status().isNotFound());
+    }
+
+    /* =====================================================
+       /api/admin/rollups/jobs
+    ===================================================== */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void start_shouldReturn202() throws Exception {
+        Mockito.when(rollupService.start()).thenReturn(Optional.of(progress("running")));
+
+        mockMvc.perform(post("/api/admin/rollups/jobs"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value(4))
+                .andExpect(jsonPath("$.chunks").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void start_whileRunning_shouldReturn409() throws Exception {
+        Mockito.when(rollupService.start()).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/admin/rollups/jobs"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void latest_shouldReturnProgress() throws Exception {
+        Mockito.when(rollupService.latest()).thenReturn(Optional.of(progress("done")));
+
+        mockMvc.perform(get("/api/admin/rollups/jobs/latest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("done"));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.athleteresults.controllers;
 
 import com.example.athleteresults.entities.Session;
 import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.repositories.ProjectionQueries;
 import com.example.athleteresults.security.JwtAuthFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -49,6 +50,9 @@ class SessionControllerTest {
     @MockBean
     private SessionRepository repo;
 
+    @MockBean
+    private ProjectionQueries projections;
+
     /* =====================================================
        GET /api/sessions
     ===================================================== */
@@ -58,7 +62,7 @@ class SessionControllerTest {
 
         Mockito.when(repo.findAll()).thenReturn(List.of(s));
 
-        mockMvc.perform(get("/api/sessions"))
+        mockMvc.perform(get("/api/sessions").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
     }
@@ -73,7 +77,7 @@ class SessionControllerTest {
         Mockito.when(repo.findByAthleteIdOrderByRunDateDesc(10))
                 .thenReturn(List.of(s));
 
-        mockMvc.perform(get("/api/sessions/athlete/10"))
+        mockMvc.perform(get("/api/sessions/athlete/10").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
     }
@@ -87,6 +91,7 @@ class SessionControllerTest {
                 .thenReturn(List.of(s));
 
         mockMvc.perform(get("/api/sessions/athlete/10")
+                        .param("includeNotes", "true")
                         .param("date", "2024-05-01"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
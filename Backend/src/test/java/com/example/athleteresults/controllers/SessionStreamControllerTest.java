@@ -0,0 +1,136 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.dto.StreamInfo;
+import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.HrZoneService;
+import com.example.athleteresults.services.SessionStreamService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = SessionStreamController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class SessionStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private SessionStreamService streamService;
+    @MockBean private SessionRepository sessionRepo;
+    @MockBean private HrZoneService hrZoneService;
+
+    /* =====================================================
+       PUT /api/sessions/{id}/stream
+    ===================================================== */
+    @Test
+    void upload_csv_shouldIngestAsCsv() throws Exception {
+        Mockito.when(sessionRepo.existsById(3)).thenReturn(true);
+        Mockito.when(streamService.ingest(eq(3), any(), eq(SessionStreamService.Format.CSV)))
+                .thenReturn(new SessionStreamService.IngestResult(2, 1, 0, 0L, 1000L, 60));
+
+        mockMvc.perform(put("/api/sessions/3/stream")
+                        .contentType("text/csv")
+                        .content("time,hr\n0,120\n1,121\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.samples").value(2))
+                .andExpect(jsonPath("$.chunks").value(1));
+
+        Mockito.verify(hrZoneService).refresh(3);
+    }
+
+    @Test
+    void upload_gpx_shouldIngestAsGpx() throws Exception {
+        Mockito.when(sessionRepo.existsById(3)).thenReturn(true);
+        Mockito.when(streamService.ingest(eq(3), any(), eq(SessionStreamService.Format.GPX)))
+                .thenReturn(new SessionStreamService.IngestResult(1, 1, 0, 0L, 0L, 40));
+
+        mockMvc.perform(put("/api/sessions/3/stream")
+                        .contentType("application/gpx+xml")
+                        .content("<gpx/>"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.samples").value(1));
+    }
+
+    @Test
+    void upload_unknownSessionOrFormat_shouldBeRejected() throws Exception {
+        Mockito.when(sessionRepo.existsById(99)).thenReturn(false);
+
+        mockMvc.perform(put("/api/sessions/99/stream").contentType("text/csv").content("time\n0\n"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(put("/api/sessions/3/stream").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    /* =====================================================
+       GET /api/sessions/{id}/stream
+    ===================================================== */
+    @Test
+    void read_shouldReturnColumns() throws Exception {
+        Mockito.when(sessionRepo.existsById(3)).thenReturn(true);
+        Mockito.when(streamService.read(3, 60, 120, 5)).thenReturn(new SessionStreamService.StreamWindow(
+                1_700_000_000_000L, 5, new long[]{60_000, 65_000},
+                new Double[]{60.1, 60.2}, new Double[]{24.9, 24.9}, new Double[]{null, null},
+                new Double[]{150.0, 152.5}, new Double[]{null, 170.0}));
+
+        mockMvc.perform(get("/api/sessions/3/stream")
+                        .param("from", "60").param("to", "120").param("resolution", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offsets[1]").value(65000))
+                .andExpect(jsonPath("$.heartRate[1]").value(152.5))
+                .andExpect(jsonPath("$.cadence[0]").doesNotExist());
+    }
+
+    @Test
+    void read_invalidRange_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/sessions/3/stream").param("from", "100").param("to", "50"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/sessions/3/stream").param("resolution", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /* =====================================================
+       GET /info, DELETE
+    ===================================================== */
+    @Test
+    void info_shouldReturnExtent() throws Exception {
+        Mockito.when(sessionRepo.existsById(3)).thenReturn(true);
+        Mockito.when(streamService.info(3)).thenReturn(new StreamInfo(0L, 3_600_000L, 3601L, 4L, 9000L));
+
+        mockMvc.perform(get("/api/sessions/3/stream/info"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.samples").value(3601))
+                .andExpect(jsonPath("$.bytes").value(9000));
+    }
+
+    @Test
+    void delete_withoutStream_shouldReturnNotFound() throws Exception {
+        Mockito.when(sessionRepo.existsById(3)).thenReturn(true);
+        Mockito.when(streamService.delete(3)).thenReturn(0);
+
+        mockMvc.perform(delete("/api/sessions/3/stream"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.entities.Coach;
+import com.example.athleteresults.entities.User;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.repositories.UserRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.LiveUpdateService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = StreamController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+class StreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private LiveUpdateService liveUpdateService;
+    @MockBean private CoachRepository coachRepo;
+    @MockBean private UserRepository userRepo;
+
+    /* =====================================================
+       GET /api/stream/coach/{coachId}
+    ===================================================== */
+    @Test
+    @WithMockUser(username = "coach1", roles = "COACH")
+    void subscribe_ownFeed_shouldStartStream() throws Exception {
+        Mockito.when(userRepo.findByUsername("coach1")).thenReturn(Optional.of(dbUser()));
+        Mockito.when(coachRepo.findByUserId(10)).thenReturn(Optional.of(coach(1)));
+        Mockito.when(liveUpdateService.subscribe(1)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/stream/coach/1"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        Mockito.verify(liveUpdateService).subscribe(1);
+    }
+
+    @Test
+    @WithMockUser(username = "coach1", roles = "COACH")
+    void subscribe_otherCoach_shouldBeForbidden() throws Exception {
+        Mockito.when(userRepo.findByUsername("coach1")).thenReturn(Optional.of(dbUser()));
+        Mockito.when(coachRepo.findByUserId(10)).thenReturn(Optional.of(coach(1)));
+
+        mockMvc.perform(get("/api/stream/coach/2"))
+                .andExpect(status().isForbidden());
+
+        Mockito.verify(liveUpdateService, Mockito.never()).subscribe(Mockito.any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void subscribe_admin_unknownCoach_shouldReturnNotFound() throws Exception {
+        Mockito.when(coachRepo.existsById(5)).thenReturn(false);
+
+        mockMvc.perform(get("/api/stream/coach/5"))
+                .andExpect(status().isNotFound());
+    }
+
+    /* ===== helpers ===== */
+
+    private Coach coach(Integer id) {
+        Coach c = new Coach("John", 10);
+        c.setId(id);
+        return c;
+    }
+
+    private User dbUser() {
+        User u = new User();
+        u.setId(10);
+        u.setUsername("coach1");
+        return u;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.CoachRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.ChangeFeedService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = SyncController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class SyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private ChangeFeedService changeFeedService;
+    @MockBean private AthleteRepository athleteRepo;
+    @MockBean private CoachRepository coachRepo;
+
+    /* =====================================================
+       GET /api/sync/athlete/{id}?since=
+    ===================================================== */
+    @Test
+    void athlete_shouldReturnChangesAfterCursor() throws Exception {
+        Mockito.when(athleteRepo.existsById(5)).thenReturn(true);
+        Mockito.when(changeFeedService.athleteChanges(5, 100L, 500)).thenReturn(new ChangeFeedService.ChangePage(
+                List.of(new ChangeFeedService.Change(101L, "result", "updated", 5, 10, null),
+                        new ChangeFeedService.Change(102L, "session", "deleted", 5, 3, null)),
+                102L, false));
+
+        mockMvc.perform(get("/api/sync/athlete/5").param("since", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[1].action").value("deleted"))
+                .andExpect(jsonPath("$.cursor").value(102))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void athlete_unknownAthlete_shouldReturnNotFound() throws Exception {
+        Mockito.when(athleteRepo.existsById(99)).thenReturn(false);
+
+        mockMvc.perform(get("/api/sync/athlete/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void athlete_deletedAthlete_shouldStillServeTheTombstone() throws Exception {
+        Mockito.when(athleteRepo.existsById(5)).thenReturn(false);
+        Mockito.when(changeFeedService.hasFeed(5)).thenReturn(true);
+        Mockito.when(changeFeedService.athleteChanges(5, 100L, 500)).thenReturn(new ChangeFeedService.ChangePage(
+                List.of(new ChangeFeedService.Change(140L, "athlete", "deleted", 5, 5, null)), 140L, false));
+
+        mockMvc.perform(get("/api/sync/athlete/5").param("since", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].kind").value("athlete"))
+                .andExpect(jsonPath("$.changes[0].action").value("deleted"));
+    }
+
+    @Test
+    void athlete_invalidCursorOrLimit_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/sync/athlete/5").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/sync/athlete/5").param("limit", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /* =====================================================
+       GET /api/sync/coach/{id}?since=
+    ===================================================== */
+    @Test
+    void coach_shouldReturnChangesOfAcceptedAthletes() throws Exception {
+        Mockito.when(coachRepo.existsById(2)).thenReturn(true);
+        Mockito.when(changeFeedService.coachChanges(2, 0L, 100)).thenReturn(new ChangeFeedService.ChangePage(
+                List.of(new ChangeFeedService.Change(7L, "plan", "created", 5, 1, null)), 7L, true));
+
+        mockMvc.perform(get("/api/sync/coach/2").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].kind").value("plan"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void coach_unknownCoach_shouldReturnNotFound() throws Exception {
+        Mockito.when(coachRepo.existsById(99)).thenReturn(false);
+
+        mockMvc.perform(get("/api/sync/coach/99"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.athleteresults.controllers;
 
+import com.example.athleteresults.dto.ThrowResultSummary;
 import com.example.athleteresults.entities.ThrowResult;
 import com.example.athleteresults.entities.Athlete;
 import com.example.athleteresults.repositories.ThrowResultRepository;
 import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.ProjectionQueries;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.QueryResultCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -21,11 +25,15 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -56,6 +64,20 @@ class ThrowResultControllerTest {
     @MockBean
     private AthleteRepository athleteRepo;
 
+    @MockBean
+    private ProjectionQueries projections;
+
+    @MockBean
+    private QueryResultCache queryCache;
+
+    /* ===== result cache passes straight through to the query ===== */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void passThroughQueryCache() {
+        Mockito.when(queryCache.get(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(inv -> ((Supplier<List<?>>) inv.getArgument(3)).get());
+    }
+
     /* =====================================================
        GET /api/throwresults
     ===================================================== */
@@ -65,7 +87,7 @@ class ThrowResultControllerTest {
 
         Mockito.when(repo.findAll()).thenReturn(List.of(r));
 
-        mockMvc.perform(get("/api/throwresults"))
+        mockMvc.perform(get("/api/throwresults").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
     }
@@ -79,7 +101,7 @@ class ThrowResultControllerTest {
 
         Mockito.when(repo.findByAthleteId(10)).thenReturn(List.of(r));
 
-        mockMvc.perform(get("/api/throwresults/athlete/10"))
+        mockMvc.perform(get("/api/throwresults/athlete/10").param("includeNotes", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
     }
@@ -211,6 +233,7 @@ class ThrowResultControllerTest {
         ).thenReturn(List.of(r));
 
         mockMvc.perform(get("/api/throwresults/filter")
+                        .param("includeNotes", "true")
                         .param("throwType", "shot"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
@@ -231,9 +254,29 @@ class ThrowResultControllerTest {
         ).thenReturn(List.of(r));
 
         mockMvc.perform(get("/api/throwresults/search")
+                        .param("includeNotes", "true")
                         .param("sortBy", "distance")
                         .param("sortOrder", "asc"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
     }
+
+    /* =====================================================
+       GET /api/throwresults/athlete/{athleteId} (default: summary rows)
+    ===================================================== */
+    @Test
+    void getThrowResultsByAthlete_withoutIncludeNotes_shouldReturnSummaries() throws Exception {
+        ThrowResultSummary r = new ThrowResultSummary(1, 10, "Ana", "Hoxha",
+                LocalDate.of(2024, 5, 1), "shot", "Shot Put", new BigDecimal("15.20"), null, "glide");
+
+        Mockito.when(projections.list(eq(ThrowResult.class), any(), any(),
+                        eq(ThrowResultSummary.class), any(String[].class)))
+                .thenReturn(List.of(r));
+
+        mockMvc.perform(get("/api/throwresults/athlete/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].athlete.id").value(10))
+                .andExpect(jsonPath("$[0].athlete.name").value("Ana"))
+                .andExpect(jsonPath("$[0].notes").doesNotExist());
+    }
 }
@@ -0,0 +1,87 @@
+package com.example.athleteresults.controllers;
+
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.TrainingLoadService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = TrainingLoadController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtAuthFilter.class
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingLoadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private TrainingLoadService trainingLoadService;
+    @MockBean private AthleteRepository athleteRepo;
+
+    /* =====================================================
+       GET /api/training-load/athlete/{id}
+    ===================================================== */
+    @Test
+    void series_shouldReturnDays() throws Exception {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 2);
+        Mockito.when(athleteRepo.existsById(10)).thenReturn(true);
+        Mockito.when(trainingLoadService.series(10, from, to)).thenReturn(List.of(
+                new TrainingLoadService.DailyLoad(from, 40, 0, 0, 40, 40, 10, 4.0, 40, 40, -40),
+                new TrainingLoadService.DailyLoad(to, 0, 0, 0, 0, 40, 10, 4.0, 39, 34.6, -30.2)));
+
+        mockMvc.perform(get("/api/training-load/athlete/10")
+                        .param("from", "2025-03-01")
+                        .param("to", "2025-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].date").value("2025-03-01"))
+                .andExpect(jsonPath("$[0].acwr").value(4.0));
+    }
+
+    @Test
+    void series_unknownAthlete_shouldReturnNotFound() throws Exception {
+        Mockito.when(athleteRepo.existsById(99)).thenReturn(false);
+
+        mockMvc.perform(get("/api/training-load/athlete/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void series_invalidRange_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/training-load/athlete/10")
+                        .param("from", "2025-03-02")
+                        .param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/training-load/athlete/10")
+                        .param("from", "2020-01-01")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/training-load/athlete/10")
+                        .param("from", "9999-12-20")
+                        .param("to", "9999-12-31"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.athleteresults.controllers;
 import com.example.athleteresults.entities.*;
 import com.example.athleteresults.repositories.*;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.CascadeDeleteService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.Test;
@@ -47,6 +48,7 @@ class UserControllerTest {
     @MockBean private RoleRepository roleRepo;
     @MockBean private AthleteRepository athleteRepo;
     @MockBean private CoachRepository coachRepo;
+    @MockBean private CascadeDeleteService cascadeDeleteService;
 
     /* =====================================================
        GET /api/users  (ADMIN)
@@ -3,6 +3,7 @@ package com.example.athleteresults.controllers;
 import com.example.athleteresults.entities.WeightMetric;
 import com.example.athleteresults.repositories.WeightMetricRepository;
 import com.example.athleteresults.security.JwtAuthFilter;
+import com.example.athleteresults.services.GymMetricService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.Test;
@@ -47,6 +48,9 @@ class WeightMetricControllerTest {
     @MockBean
     private WeightMetricRepository weightMetricRepository;
 
+    @MockBean
+    private GymMetricService gymMetricService;
+
     /* =====================================================
        GET /api/metrics/weight?gymId=1
     ===================================================== */
@@ -79,6 +83,24 @@ class WeightMetricControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    /* =====================================================
+       POST /api/metrics/weight/batch?gymId=1
+    ===================================================== */
+    @Test
+    void createBatch_shouldReturnCreated() throws Exception {
+        List<WeightMetric> metrics = List.of(new WeightMetric(), new WeightMetric());
+
+        Mockito.when(gymMetricService.createWeights(Mockito.eq(1), Mockito.anyList()))
+                .thenReturn(metrics);
+
+        mockMvc.perform(post("/api/metrics/weight/batch")
+                        .param("gymId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(metrics)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
     /* =====================================================
        DELETE /api/metrics/weight/{id}
     ===================================================== */
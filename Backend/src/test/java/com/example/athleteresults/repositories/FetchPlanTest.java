@@ -0,0 +1,96 @@
+package com.example.athleteresults.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fetch-plan regression for the list endpoints that return entities with associations
+ * (plan → athlete / coach, throw result → athlete, user → roles): each request must run
+ * as a single SQL statement, however many rows it returns.
+ *
+ * Needs the same scratch PostgreSQL database as {@link QueryPlanTest}:
+ * EXPLAIN_DB_URL=jdbc:postgresql://localhost:5432/explain_test mvn test -Dtest=FetchPlanTest
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${EXPLAIN_DB_URL}",
+        "spring.datasource.username=${EXPLAIN_DB_USER:postgres}",
+        "spring.datasource.password=${EXPLAIN_DB_PASSWORD:postgres}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@WithMockUser(username = "admin", authorities = "ROLE_ADMIN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FetchPlanTest {
+
+    private static final int ROWS = 10;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private EntityManagerFactory emf;
+
+    private Statistics stats;
+
+    @BeforeAll
+    void seed() {
+        // distinct athletes / coaches per row, so a per-row secondary select would show up
+        jdbc.execute("INSERT INTO users (public_id, username, password, active) "
+                + "SELECT 'u' || g, 'user' || g, 'x', true FROM generate_series(1, " + 2 * ROWS + ") g");
+        jdbc.execute("INSERT INTO roles (name, user_id) SELECT 'ATHLETE', id FROM users");
+        jdbc.execute("INSERT INTO athletes (public_id, name, user_id) "
+                + "SELECT 'a' || g, 'Athlete ' || g, g FROM generate_series(1, " + ROWS + ") g");
+        jdbc.execute("INSERT INTO coaches (public_id, name, user_id) "
+                + "SELECT 'c' || g, 'Coach ' || g, " + ROWS + " + g FROM generate_series(1, " + ROWS + ") g");
+        jdbc.execute("INSERT INTO plan (plan_id, athlete_id, coach_id, plan_date) "
+                + "SELECT a.athlete_id, a.athlete_id, c.coach_id, DATE '2024-01-01' + a.athlete_id "
+                + "FROM athletes a JOIN coaches c ON c.user_id = a.user_id + " + ROWS);
+        jdbc.execute("INSERT INTO throw_results (throw_id, athlete_id, throw_date, throw_type, event, distance) "
+                + "SELECT athlete_id, athlete_id, DATE '2024-01-01', 'shot', 'shot put', 15.2 FROM athletes");
+
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        stats.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "/api/plans?includeNotes=true",
+            "/api/plans/filter?includeNotes=true",
+            "/api/throwresults?includeNotes=true",
+            "/api/throwresults/filter?includeNotes=true",
+            "/api/users"
+    })
+    void listEndpoint_shouldRunOneQuery(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(url.startsWith("/api/users") ? 2 * ROWS : ROWS)));
+
+        assertEquals(1, stats.getPrepareStatementCount(), url + " ran more than one query");
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.athleteresults.repositories;
+
+import com.example.athleteresults.entities.Result;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert throughput of the pooled-lo sequence ids against the identity ids they replaced.
+ *
+ * "identity": one INSERT ... RETURNING round trip per row, which is what Hibernate has to
+ * do for GenerationType.IDENTITY (run on an identity-keyed copy of the results table).
+ * "sequence": Result entities through ResultRepository.saveAll in one transaction, with
+ * ids taken 50 at a time and the INSERTs sent as JDBC batches.
+ *
+ * Needs the same scratch PostgreSQL database as {@link QueryPlanTest}:
+ * EXPLAIN_DB_URL=jdbc:postgresql://localhost:5432/explain_test mvn test -Dtest=InsertThroughputTest
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${EXPLAIN_DB_URL}",
+        "spring.datasource.username=${EXPLAIN_DB_USER:postgres}",
+        "spring.datasource.password=${EXPLAIN_DB_PASSWORD:postgres}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class InsertThroughputTest {
+
+    private static final int ROWS = 20_000;
+    private static final int BATCH = 50;
+    private static final String IDENTITY_TABLE = "results_identity_bench";
+
+    @Autowired private ResultRepository resultRepo;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private TransactionTemplate tx;
+    @Autowired private EntityManagerFactory emf;
+
+    @BeforeAll
+    void createIdentityTable() {
+        jdbc.execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+        jdbc.execute("CREATE TABLE " + IDENTITY_TABLE + " (LIKE results INCLUDING DEFAULTS)");
+        jdbc.execute("ALTER TABLE " + IDENTITY_TABLE + " ALTER COLUMN result_id ADD GENERATED BY DEFAULT AS IDENTITY");
+    }
+
+    @Test
+    void sequenceIds_shouldBatchInsertsAndOutperformIdentity() {
+        // warm-up (JIT, connection pool, statement caches)
+        insertWithIdentity(1_000);
+        insertWithSequence(1_000);
+
+        long identityNanos = time(() -> insertWithIdentity(ROWS));
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        long sequenceNanos = time(() -> insertWithSequence(ROWS));
+        long statements = stats.getPrepareStatementCount();
+
+        System.out.printf("%,d rows  identity: %,.0f rows/s  sequence+batch: %,.0f rows/s  (%.1fx, %d statements)%n",
+                ROWS, rate(identityNanos), rate(sequenceNanos), (double) identityNanos / sequenceNanos, statements);
+
+        assertEquals(ROWS, resultRepo.count() - 1_000);
+        // one nextval and one INSERT batch per 50 rows, instead of one round trip per row
+        assertTrue(statements <= 2L * ROWS / BATCH + 2, statements + " statements for " + ROWS + " rows");
+        assertTrue(sequenceNanos < identityNanos, "batched inserts were not faster than per-row identity inserts");
+    }
+
+    // same transaction boundary as the sequence path: only the id round trips differ
+    private void insertWithIdentity(int rows) {
+        tx.executeWithoutResult(status -> jdbc.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement("INSERT INTO " + IDENTITY_TABLE
+                    + " (athlete_id, race, distance, race_date, time_ms) VALUES (?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < rows; i++) {
+                    ps.setInt(1, 1 + i % 100);
+                    ps.setString(2, "final");
+                    ps.setInt(3, 100);
+                    ps.setDate(4, Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(i % 365)));
+                    ps.setInt(5, 10_000 + i % 5_000);
+                    ps.executeUpdate();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        keys.next();
+                    }
+                }
+            }
+            return null;
+        }));
+    }
+
+    private void insertWithSequence(int rows) {
+        List<Result> results = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Result r = new Result();
+            r.setAthleteId(1 + i % 100);
+            r.setRace("final");
+            r.setDistance(100);
+            r.setRaceDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            r.setTimeMs(10_000 + i % 5_000);
+            results.add(r);
+        }
+        tx.executeWithoutResult(status -> resultRepo.saveAll(results));
+    }
+
+    private static long time(Runnable insert) {
+        long start = System.nanoTime();
+        insert.run();
+        return System.nanoTime() - start;
+    }
+
+    private static double rate(long nanos) {
+        return ROWS / (nanos / 1e9);
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.athleteresults.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.Arguments;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plan regression for the repository queries: on synthetic data large enough for the
+ * planner to prefer an index, none of them may fall back to a sequential scan.
+ *
+ * Each case calls the repository method itself; the statements Hibernate sends (SQL and
+ * bound parameters, recorded at the JDBC level) are then EXPLAINed, so the check follows
+ * the queries as they change. Lookup tables of a few rows (status) may be scanned.
+ *
+ * Needs a scratch PostgreSQL database (tables are created and dropped):
+ * EXPLAIN_DB_URL=jdbc:postgresql://localhost:5432/explain_test mvn test -Dtest=QueryPlanTest
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${EXPLAIN_DB_URL}",
+        "spring.datasource.username=${EXPLAIN_DB_USER:postgres}",
+        "spring.datasource.password=${EXPLAIN_DB_PASSWORD:postgres}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        // the migrations are applied by the test itself, on freshly created tables
+        "spring.flyway.enabled=false"
+})
+@Import(QueryPlanTest.SqlRecorder.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int ATHLETES = 10_000;
+    private static final int COACHES = 5_000;
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+    private static final Set<String> SMALL_TABLES = Set.of("status");
+
+    private static final LocalDate DAY = LocalDate.of(2020, 3, 1);
+
+    @Autowired private DataSource dataSource;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private PlatformTransactionManager txManager;
+    @Autowired private SqlRecorder recorder;
+
+    @Autowired private SessionRepository sessions;
+    @Autowired private ResultRepository results;
+    @Autowired private JumpResultRepository jumps;
+    @Autowired private ThrowResultRepository throwResults;
+    @Autowired private GymSessionRepository gymSessions;
+    @Autowired private WeightMetricRepository weightMetrics;
+    @Autowired private PlyoMetricRepository plyoMetrics;
+    @Autowired private ReflexMetricRepository reflexMetrics;
+    @Autowired private PlanRepository plans;
+    @Autowired private CoachAthleteRelationRepository relations;
+    @Autowired private AthleteRepository athletes;
+    @Autowired private CoachRepository coaches;
+    @Autowired private RoleRepository roles;
+
+    @BeforeAll
+    void seed() throws IOException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/*.sql");
+        Arrays.sort(migrations, Comparator.comparing(Resource::getFilename));
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(migrations);
+        // one statement per file: the migrations contain DO $$ ... $$ blocks
+        populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        populator.execute(dataSource);
+
+        jdbc.execute("INSERT INTO users (public_id, username, password, active) "
+                + "SELECT 'u' || g, 'user' || g, 'x', true FROM generate_series(1, " + (ATHLETES + COACHES) + ") g");
+        jdbc.execute("INSERT INTO roles (name, user_id) SELECT 'ROLE_ATHLETE', id FROM users");
+        jdbc.execute("INSERT INTO athletes (public_id, name, user_id) "
+                + "SELECT 'a' || g, 'Athlete ' || g, g FROM generate_series(1, " + ATHLETES + ") g");
+        jdbc.execute("INSERT INTO coaches (public_id, name, user_id) "
+                + "SELECT 'c' || g, 'Coach ' || g, " + ATHLETES + " + g FROM generate_series(1, " + COACHES + ") g");
+        jdbc.execute("INSERT INTO status (status_name) VALUES ('PENDING'), ('ACCEPTED') ON CONFLICT DO NOTHING");
+        jdbc.execute("INSERT INTO coach_athlete_relation (coach_id, athlete_id, status_id) "
+                + "SELECT 1 + g % " + COACHES + ", 1 + g % " + ATHLETES + ", (SELECT MIN(id) FROM status) "
+                + "FROM generate_series(1, 50000) g");
+        jdbc.execute("INSERT INTO plan (plan_id, athlete_id, coach_id, plan_date) "
+                + "SELECT g, 1 + g % " + ATHLETES + ", 1 + g % " + COACHES + ", DATE '2015-01-01' + g % 3650 "
+                + "FROM generate_series(1, 200000) g");
+
+        jdbc.execute("INSERT INTO sessions (session_id, athlete_id, run_date, time_min) "
+                + "SELECT g, 1 + g % " + ATHLETES + ", DATE '2015-01-01' + g % 3650, 30 FROM generate_series(1, 400000) g");
+        jdbc.execute("INSERT INTO results (result_id, athlete_id, race, distance, race_date, time_ms) "
+                + "SELECT g, 1 + g % " + ATHLETES + ", 'final', 100 * (1 + g % 8), DATE '2015-01-01' + g % 3650, 10000 + g % 5000 "
+                + "FROM generate_series(1, 400000) g");
+        jdbc.execute("INSERT INTO jump_results (jump_id, athlete_id, jump_date, jump_type, distance_m) "
+                + "SELECT g, 1 + g % " + ATHLETES + ", DATE '2015-01-01' + g % 3650, 'long', 6.5 FROM generate_series(1, 200000) g");
+        jdbc.execute("INSERT INTO throw_results (throw_id, athlete_id, throw_date, throw_type, event, distance) "
+                + "SELECT g, 1 + g % " + ATHLETES + ", DATE '2015-01-01' + g % 3650, 'shot', 'shot put', 15.2 "
+                + "FROM generate_series(1, 200000) g");
+
+        jdbc.execute("INSERT INTO gym_sessions (gym_id, athlete_id, session_date, exercise_name) "
+                + "SELECT g, 1 + g % " + ATHLETES + ", DATE '2015-01-01' + g % 3650, 'squat' FROM generate_series(1, 200000) g");
+        for (String table : List.of("weight_metrics", "plyo_metrics", "reflex_metrics")) {
+            jdbc.execute("INSERT INTO " + table + " (metric_id, gym_id) SELECT g, 1 + g % 200000 FROM generate_series(1, 400000) g");
+        }
+        jdbc.execute("ANALYZE");
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("SessionRepository.findByAthleteIdOrderByRunDateDesc",
+                        t -> t.sessions.findByAthleteIdOrderByRunDateDesc(17)),
+                query("SessionRepository.findByAthleteIdAndRunDate",
+                        t -> t.sessions.findByAthleteIdAndRunDate(17, DAY)),
+                query("ResultRepository.findByAthleteId",
+                        t -> t.results.findByAthleteId(17)),
+                query("ResultRepository.findSeasonBestsByAthleteId",
+                        t -> t.results.findSeasonBestsByAthleteId(17)),
+                query("ResultController.filter (date window)",
+                        t -> t.results.findAll((r, q, cb) -> cb.between(r.get("raceDate"), DAY, DAY.plusDays(6)))),
+                query("JumpResultRepository.findByAthleteId",
+                        t -> t.jumps.findByAthleteId(17)),
+                query("JumpResultRepository.findSeasonBestsByAthleteId",
+                        t -> t.jumps.findSeasonBestsByAthleteId(17)),
+                query("ThrowResultRepository.findByAthleteId",
+                        t -> t.throwResults.findByAthleteId(17)),
+                query("ThrowResultRepository.findSeasonBestsByAthleteId",
+                        t -> t.throwResults.findSeasonBestsByAthleteId(17)),
+                query("GymSessionRepository.findPageByAthleteId",
+                        t -> t.gymSessions.findPageByAthleteId(17, LocalDate.of(1900, 1, 1),
+                                LocalDate.of(9999, 12, 31), PageRequest.of(0, 20))),
+                query("WeightMetricRepository.findByGymSessionId",
+                        t -> t.weightMetrics.findByGymSessionId(123)),
+                query("PlyoMetricRepository.findByGymSessionIdIn",
+                        t -> t.plyoMetrics.findByGymSessionIdIn(List.of(1, 2, 3, 4, 5))),
+                query("ReflexMetricRepository.findByGymSessionId",
+                        t -> t.reflexMetrics.findByGymSessionId(123)),
+                query("WeightMetricRepository.deleteByAthleteId",
+                        t -> t.weightMetrics.deleteByAthleteId(17)),
+                query("PlanRepository.findByDateAndAthleteId",
+                        t -> t.plans.findByDateAndAthleteId(DAY, 17)),
+                query("PlanRepository.findByCoachIdOrderByPlanDateAsc",
+                        t -> t.plans.findByCoachIdOrderByPlanDateAsc(17)),
+                query("PlanRepository.findCalendar",
+                        t -> t.plans.findCalendar(17, DAY, DAY.plusMonths(1).minusDays(1), 60)),
+                query("CoachAthleteRelationRepository.existsByCoachIdAndAthleteIdAndStatusId",
+                        t -> t.relations.existsByCoachIdAndAthleteIdAndStatusId(17, 17, 1)),
+                query("CoachAthleteRelationRepository.findCoachIdsByAthleteIdAndStatusName",
+                        t -> t.relations.findCoachIdsByAthleteIdAndStatusName(17, "ACCEPTED")),
+                query("AthleteRepository.findByUserId",
+                        t -> t.athletes.findByUserId(17)),
+                query("CoachRepository.findByUserId",
+                        t -> t.coaches.findByUserId(17)),
+                query("RoleRepository.findByUserId",
+                        t -> t.roles.findByUserId(17))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void query_shouldNotSequentiallyScan(String name, Consumer<QueryPlanTest> call) {
+        // rolled back: the bulk deletes are only planned, not kept
+        List<SqlRecorder.Statement> statements = recorder.record(() ->
+                new TransactionTemplate(txManager).executeWithoutResult(tx -> {
+                    call.accept(this);
+                    tx.setRollbackOnly();
+                }));
+        assertFalse(statements.isEmpty(), name + " ran no SQL");
+
+        for (SqlRecorder.Statement statement : statements) {
+            String plan = explain(statement);
+            Matcher scan = SEQ_SCAN.matcher(plan);
+            while (scan.find()) {
+                assertTrue(SMALL_TABLES.contains(scan.group(1)),
+                        name + " degraded to a sequential scan:\n" + statement.sql() + "\n" + plan);
+            }
+        }
+    }
+
+    private String explain(SqlRecorder.Statement statement) {
+        return jdbc.execute((Connection c) -> {
+            try (PreparedStatement ps = c.prepareStatement("EXPLAIN " + statement.sql())) {
+                statement.bind(ps);
+                List<String> lines = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) lines.add(rs.getString(1));
+                }
+                return String.join("\n", lines);
+            }
+        });
+    }
+
+    private static Arguments query(String name, Consumer<QueryPlanTest> call) {
+        return Arguments.of(name, call);
+    }
+
+    /**
+     * Wraps the DataSource and, while recording, keeps every executed PreparedStatement with
+     * the parameter setters called on it, so it can be replayed under EXPLAIN.
+     */
+    @TestConfiguration
+    static class SqlRecorder implements BeanPostProcessor {
+
+        record Call(Method setter, Object[] args) {}
+
+        record Statement(String sql, List<Call> parameters) {
+            void bind(PreparedStatement ps) throws SQLException {
+                for (Call call : parameters) {
+                    try {
+                        call.setter().invoke(ps, call.args());
+                    } catch (ReflectiveOperationException e) {
+                        throw new SQLException("Cannot rebind " + call.setter().getName(), e);
+                    }
+                }
+            }
+        }
+
+        private final List<Statement> recorded = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean recording;
+
+        List<Statement> record(Runnable work) {
+            recorded.clear();
+            recording = true;
+            try {
+                work.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(recorded);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) return bean;
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection c ? connection(c) : result);
+        }
+
+        private Connection connection(Connection target) {
+            return proxy(Connection.class, target, (method, args, result) ->
+                    method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps
+                            ? statement(ps, (String) args[0])
+                            : result);
+        }
+
+        private PreparedStatement statement(PreparedStatement target, String sql) {
+            List<Call> parameters = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (p, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            parameters.add(new Call(method, args.clone()));
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (recording && name.startsWith("execute") && (args == null || args.length == 0)) {
+                            recorded.add(new Statement(sql, List.copyOf(parameters)));
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private interface Wrapper {
+            Object wrap(Method method, Object[] args, Object result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Wrapper wrapper) {
+            return (T) Proxy.newProxyInstance(QueryPlanTest.class.getClassLoader(), new Class<?>[] { type },
+                    (p, method, args) -> wrapper.wrap(method, args, invoke(target, method, args)));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.JumpResult;
+import com.example.athleteresults.entities.Result;
+import com.example.athleteresults.entities.Session;
+import com.example.athleteresults.entities.ThrowResult;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.JumpResultRepository;
+import com.example.athleteresults.repositories.ResultRepository;
+import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.repositories.ThrowResultRepository;
+import com.example.athleteresults.services.AnalyticsStore.GroupBy;
+import com.example.athleteresults.services.AnalyticsStore.Query;
+import com.example.athleteresults.services.AnalyticsStore.Table;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AnalyticsStoreTest {
+
+    private final ResultRepository resultRepo = mock(ResultRepository.class);
+    private final JumpResultRepository jumpRepo = mock(JumpResultRepository.class);
+    private final ThrowResultRepository throwRepo = mock(ThrowResultRepository.class);
+    private final SessionRepository sessionRepo = mock(SessionRepository.class);
+    private final AnalyticsStore store = new AnalyticsStore(resultRepo, jumpRepo, throwRepo, sessionRepo);
+
+    private static final Query ALL = new Query(null, null, null, null);
+
+    /* =====================================================
+       LOAD
+    ===================================================== */
+    @Test
+    void load_shouldMirrorAllTables() {
+        when(resultRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(
+                result(1, 10, "2025-05-01", 400, 52_000),
+                result(2, 10, "2025-06-01", 400, 51_000))));
+        when(jumpRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(throwRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(sessionRepo.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(session(1, 10, "2025-05-02", "45.50", "9.25"))));
+
+        store.load();
+
+        assertEquals(2, store.rows(Table.RESULTS));
+        assertEquals(1, store.rows(Table.SESSIONS));
+
+        AnalyticsStore.Aggregate a = store.query(Table.RESULTS, ALL, GroupBy.NONE).get(0);
+        assertEquals(2, a.count());
+        assertEquals(51_000, a.min());
+        assertEquals(51_500, a.avg());
+
+        AnalyticsStore.Aggregate s = store.query(Table.SESSIONS, ALL, GroupBy.NONE).get(0);
+        assertEquals(45.5, s.sum(), 1e-9);
+        assertEquals(9.25, s.sum2(), 1e-9);
+    }
+
+    /* =====================================================
+       EVENTS — create / update / delete
+    ===================================================== */
+    @Test
+    void onDataChange_shouldUpsertAndDelete() {
+        JumpResult j = jump(5, 10, "2025-04-01", "meVrull", 6.10);
+        store.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.JUMP_RESULT, 10, 5, j));
+
+        j.setDistanceM(6.40);
+        store.onDataChange(DataChangeEvent.updated(DataChangeEvent.Kind.JUMP_RESULT, 10, 5, j));
+
+        assertEquals(1, store.rows(Table.JUMPS));
+        assertEquals(6.4, store.query(Table.JUMPS, ALL, GroupBy.NONE).get(0).max(), 1e-9);
+
+        store.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.JUMP_RESULT, 10, 5));
+        assertEquals(0, store.rows(Table.JUMPS));
+        assertTrue(store.query(Table.JUMPS, ALL, GroupBy.NONE).isEmpty());
+    }
+
+    @Test
+    void onDataChange_throw_shouldScaleBigDecimal() {
+        ThrowResult t = new ThrowResult(new Athlete(10, "A"), LocalDate.parse("2025-07-01"),
+                "standing", "Javelin", new BigDecimal("61.25"), null, null, null);
+        setThrowId(t, 3);
+
+        store.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.THROW_RESULT, 10, 3, t));
+
+        assertEquals(61.25, store.query(Table.THROWS, new Query(10, "javelin", null, null), GroupBy.NONE)
+                .get(0).max(), 1e-9);
+    }
+
+    /* =====================================================
+       FILTER + GROUP BY
+    ===================================================== */
+    @Test
+    void query_shouldFilterAndGroup() {
+        store.put(result(1, 10, "2025-05-01", 400, 52_000));
+        store.put(result(2, 11, "2025-05-20", 400, 50_000));
+        store.put(result(3, 10, "2025-06-03", 400, 51_000));
+        store.put(result(4, 10, "2025-06-04", 100, 11_000));
+
+        List<AnalyticsStore.Aggregate> byMonth = store.query(Table.RESULTS,
+                new Query(10, "400m Event", null, null), GroupBy.MONTH);
+        assertEquals(List.of("2025-05", "2025-06"), byMonth.stream().map(AnalyticsStore.Aggregate::key).toList());
+
+        List<AnalyticsStore.Aggregate> byAthlete = store.query(Table.RESULTS,
+                new Query(null, null, LocalDate.parse("2025-05-10"), LocalDate.parse("2025-06-03")), GroupBy.ATHLETE);
+        assertEquals(2, byAthlete.size());
+        assertEquals("10", byAthlete.get(0).key());
+        assertEquals(1, byAthlete.get(0).count());
+
+        List<AnalyticsStore.Aggregate> byEvent = store.query(Table.RESULTS, ALL, GroupBy.EVENT);
+        assertEquals(2, byEvent.size());
+
+        assertTrue(store.query(Table.RESULTS, new Query(null, "unknown", null, null), GroupBy.NONE).isEmpty());
+    }
+
+    @Test
+    void manyDeletes_shouldCompactAndKeepIdsUsable() {
+        for (int i = 1; i <= 1000; i++) store.put(result(i, i % 7, "2025-01-01", 400, 50_000 + i));
+        for (int i = 1; i <= 900; i++) {
+            store.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.RESULT, null, i));
+        }
+
+        assertEquals(100, store.rows(Table.RESULTS));
+        store.put(result(950, 3, "2025-01-01", 400, 1));
+        assertEquals(100, store.rows(Table.RESULTS));
+        assertEquals(1, store.query(Table.RESULTS, ALL, GroupBy.NONE).get(0).min());
+    }
+
+    /* =====================================================
+       TEST DATA
+    ===================================================== */
+    private static Result result(int id, int athleteId, String date, int distance, int timeMs) {
+        return new Result(id, athleteId, "Event", "Start", LocalDate.parse(date), distance, timeMs, null, null);
+    }
+
+    private static JumpResult jump(int id, int athleteId, String date, String type, double m) {
+        JumpResult j = new JumpResult(athleteId, LocalDate.parse(date), type, null, m, null);
+        j.setJumpId(id);
+        return j;
+    }
+
+    private static Session session(int id, int athleteId, String date, String min, String km) {
+        Session s = new Session(athleteId, LocalDate.parse(date), new BigDecimal(min), new BigDecimal(km),
+                null, null, null, "track", null, null);
+        s.setId(id);
+        return s;
+    }
+
+    private static void setThrowId(ThrowResult t, int id) {
+        try {
+            var f = ThrowResult.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(t, id);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
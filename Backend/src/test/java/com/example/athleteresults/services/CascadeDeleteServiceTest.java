@@ -0,0 +1,161 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.*;
+import com.example.athleteresults.services.CascadeDeleteService.Progress;
+import com.example.athleteresults.services.CascadeDeleteService.State;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CascadeDeleteServiceTest {
+
+    private final AthleteRepository athleteRepo = mock(AthleteRepository.class);
+    private final CoachRepository coachRepo = mock(CoachRepository.class);
+    private final ResultRepository resultRepo = mock(ResultRepository.class);
+    private final JumpResultRepository jumpRepo = mock(JumpResultRepository.class);
+    private final ThrowResultRepository throwRepo = mock(ThrowResultRepository.class);
+    private final SessionRepository sessionRepo = mock(SessionRepository.class);
+    private final SessionStreamChunkRepository streamRepo = mock(SessionStreamChunkRepository.class);
+    private final GymSessionRepository gymRepo = mock(GymSessionRepository.class);
+    private final WeightMetricRepository weightRepo = mock(WeightMetricRepository.class);
+    private final PlyoMetricRepository plyoRepo = mock(PlyoMetricRepository.class);
+    private final ReflexMetricRepository reflexRepo = mock(ReflexMetricRepository.class);
+    private final PlanRepository planRepo = mock(PlanRepository.class);
+    private final CoachAthleteRelationRepository relationRepo = mock(CoachAthleteRelationRepository.class);
+    private final ChangeFeedService changeFeedService = mock(ChangeFeedService.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+
+    // queued tasks run when the test says so
+    private final List<Runnable> queued = new ArrayList<>();
+    private final ExecutorService worker = mock(ExecutorService.class);
+
+    private final CascadeDeleteService service;
+
+    CascadeDeleteServiceTest() {
+        doAnswer(inv -> queued.add(inv.getArgument(0))).when(worker).execute(any());
+        service = new CascadeDeleteService(athleteRepo, coachRepo, resultRepo, jumpRepo, throwRepo,
+                sessionRepo, streamRepo, gymRepo, weightRepo, plyoRepo, reflexRepo, planRepo, relationRepo,
+                changeFeedService, txManager, events, worker);
+    }
+
+    /* =====================================================
+       ATHLETE — children first, one statement per table
+    ===================================================== */
+    @Test
+    void deleteAthlete_shouldRunStatementsInDependencyOrder() {
+        when(weightRepo.deleteByAthleteId(5)).thenReturn(40);
+        when(resultRepo.deleteByAthleteId(5)).thenReturn(12_000);
+        when(athleteRepo.deleteRowById(5)).thenReturn(1);
+
+        Progress p = service.deleteAthlete(5);
+
+        InOrder order = inOrder(weightRepo, plyoRepo, reflexRepo, gymRepo, streamRepo, sessionRepo, resultRepo,
+                jumpRepo, throwRepo, planRepo, relationRepo, athleteRepo);
+        order.verify(weightRepo).deleteByAthleteId(5);
+        order.verify(plyoRepo).deleteByAthleteId(5);
+        order.verify(reflexRepo).deleteByAthleteId(5);
+        order.verify(gymRepo).deleteByAthleteId(5);
+        order.verify(streamRepo).deleteByAthleteId(5);
+        order.verify(sessionRepo).deleteByAthleteId(5);
+        order.verify(resultRepo).deleteByAthleteId(5);
+        order.verify(jumpRepo).deleteByAthleteId(5);
+        order.verify(throwRepo).deleteByAthleteId(5);
+        order.verify(planRepo).deleteByAthleteId(5);
+        order.verify(relationRepo).deleteByAthleteId(5);
+        order.verify(athleteRepo).deleteRowById(5);
+
+        assertEquals(State.DONE, p.state());
+        assertEquals(12, p.completedSteps());
+        assertEquals(12, p.totalSteps());
+        assertEquals(12_000, p.deleted().get("results"));
+        assertEquals("weight_metrics", p.deleted().keySet().iterator().next());
+
+        // entities are never loaded
+        verify(athleteRepo, never()).deleteById(any());
+        verify(resultRepo, never()).findByAthleteId(any());
+        verify(txManager, times(1)).commit(any());
+        verify(events).publishEvent(DataChangeEvent.deleted(DataChangeEvent.Kind.ATHLETE, 5, 5));
+    }
+
+    @Test
+    void deleteAthlete_shouldTellFormerCoachesAfterCommit() {
+        when(relationRepo.findCoachIdsByAthleteIdAndStatusName(5, LiveUpdateService.ACCEPTED))
+                .thenReturn(List.of(3, 4));
+
+        service.deleteAthlete(5);
+
+        InOrder order = inOrder(relationRepo, txManager, changeFeedService);
+        order.verify(relationRepo).findCoachIdsByAthleteIdAndStatusName(5, LiveUpdateService.ACCEPTED);
+        order.verify(relationRepo).deleteByAthleteId(5);
+        order.verify(txManager).commit(any());
+        order.verify(changeFeedService).leftSquad(3, 5);
+        order.verify(changeFeedService).leftSquad(4, 5);
+    }
+
+    /* =====================================================
+       COACH — plans are kept, relations removed
+    ===================================================== */
+    @Test
+    void deleteCoach_shouldDetachPlansAndRemoveRelations() {
+        when(planRepo.detachCoach(3)).thenReturn(7);
+
+        Progress p = service.deleteCoach(3);
+
+        InOrder order = inOrder(planRepo, relationRepo, coachRepo);
+        order.verify(planRepo).detachCoach(3);
+        order.verify(relationRepo).deleteByCoachId(3);
+        order.verify(coachRepo).deleteRowById(3);
+        verify(planRepo, never()).deleteByAthleteId(any());
+        assertEquals(7, p.deleted().get("plan"));
+        assertEquals(State.DONE, p.state());
+        verifyNoInteractions(events);
+    }
+
+    /* =====================================================
+       ASYNC — queued, then progress is visible by job id
+    ===================================================== */
+    @Test
+    void deleteAthleteAsync_shouldReportProgress() {
+        Progress queuedJob = service.deleteAthleteAsync(5);
+
+        assertEquals(State.QUEUED, queuedJob.state());
+        assertEquals(0, queuedJob.completedSteps());
+        verifyNoInteractions(athleteRepo);
+
+        queued.forEach(Runnable::run);
+
+        Progress done = service.progress(queuedJob.jobId()).orElseThrow();
+        assertEquals(State.DONE, done.state());
+        assertEquals(12, done.completedSteps());
+        assertNull(done.currentStep());
+        assertTrue(service.progress("unknown").isEmpty());
+    }
+
+    @Test
+    void failingStep_shouldRollBackAndReportTable() {
+        when(resultRepo.deleteByAthleteId(5)).thenThrow(new IllegalStateException("lock timeout"));
+
+        Progress job = service.deleteAthleteAsync(5);
+        queued.forEach(Runnable::run);
+
+        Progress failed = service.progress(job.jobId()).orElseThrow();
+        assertEquals(State.FAILED, failed.state());
+        assertEquals("results", failed.currentStep());
+        assertEquals("lock timeout", failed.error());
+        verify(txManager).rollback(any());
+        verify(athleteRepo, never()).deleteRowById(any());
+        verifyNoInteractions(events, changeFeedService);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.entities.ChangeLogEntry;
+import com.example.athleteresults.entities.Result;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.ChangeLogRepository;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.example.athleteresults.events.DataChangeEvent.Action.*;
+import static com.example.athleteresults.events.DataChangeEvent.Kind.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChangeFeedServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T10:00:00Z");
+
+    private final ChangeLogRepository changeLogRepo = mock(ChangeLogRepository.class);
+    private final CoachAthleteRelationRepository relationRepo = mock(CoachAthleteRelationRepository.class);
+    private final EntityManager em = mock(EntityManager.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+
+    private final ChangeFeedService service = new ChangeFeedService(changeLogRepo, relationRepo, em, txManager,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    /* =====================================================
+       APPEND — one entry per row, tombstones for deletes
+    ===================================================== */
+    @Test
+    void onDataChange_shouldReplaceEarlierEntryOfTheRow() {
+        ChangeLogEntry earlier = entry(3L, RESULT, CREATED, 5, 10);
+        when(changeLogRepo.findByKindAndEntityId(RESULT, 10)).thenReturn(List.of(earlier));
+
+        service.onDataChange(DataChangeEvent.updated(RESULT, 5, 10, null));
+
+        InOrder order = inOrder(changeLogRepo);
+        order.verify(changeLogRepo).lockForAppend();
+        order.verify(changeLogRepo).delete(earlier);
+        ArgumentCaptor<ChangeLogEntry> saved = ArgumentCaptor.forClass(ChangeLogEntry.class);
+        order.verify(changeLogRepo).save(saved.capture());
+        assertEquals(UPDATED, saved.getValue().getAction());
+        assertEquals(5, saved.getValue().getAthleteId());
+        assertEquals(NOW, saved.getValue().getChangedAt());
+        verify(txManager).commit(any());
+    }
+
+    @Test
+    void onDataChange_rowMovedToAnotherAthlete_shouldLeaveTombstoneForOldOwner() {
+        ChangeLogEntry earlier = entry(3L, RESULT, CREATED, 4, 10);
+        when(changeLogRepo.findByKindAndEntityId(RESULT, 10)).thenReturn(List.of(earlier));
+
+        service.onDataChange(DataChangeEvent.updated(RESULT, 5, 10, null));
+
+        ArgumentCaptor<ChangeLogEntry> saved = ArgumentCaptor.forClass(ChangeLogEntry.class);
+        verify(changeLogRepo, times(2)).save(saved.capture());
+        ChangeLogEntry tombstone = saved.getAllValues().get(0);
+        assertEquals(DELETED, tombstone.getAction());
+        assertEquals(4, tombstone.getAthleteId());
+        assertEquals(5, saved.getAllValues().get(1).getAthleteId());
+    }
+
+    @Test
+    void onDataChange_athleteDeleted_shouldCollapseIntoOneTombstone() {
+        service.onDataChange(DataChangeEvent.deleted(ATHLETE, 5, 5));
+
+        verify(changeLogRepo).deleteByAthleteId(5);
+        ArgumentCaptor<ChangeLogEntry> saved = ArgumentCaptor.forClass(ChangeLogEntry.class);
+        verify(changeLogRepo).save(saved.capture());
+        assertEquals(ATHLETE, saved.getValue().getKind());
+        assertEquals(DELETED, saved.getValue().getAction());
+        verify(changeLogRepo, never()).findByKindAndEntityId(any(), any());
+    }
+
+    @Test
+    void leftSquad_shouldReplaceEarlierTombstoneForThatCoach() {
+        service.leftSquad(2, 5);
+
+        InOrder order = inOrder(changeLogRepo);
+        order.verify(changeLogRepo).lockForAppend();
+        order.verify(changeLogRepo).deleteByCoachIdAndAthleteId(2, 5);
+        ArgumentCaptor<ChangeLogEntry> saved = ArgumentCaptor.forClass(ChangeLogEntry.class);
+        order.verify(changeLogRepo).save(saved.capture());
+        assertEquals(ATHLETE, saved.getValue().getKind());
+        assertEquals(DELETED, saved.getValue().getAction());
+        assertEquals(5, saved.getValue().getAthleteId());
+        assertEquals(2, saved.getValue().getCoachId());
+        verify(txManager).commit(any());
+    }
+
+    @Test
+    void joinedSquad_shouldDropTheTombstone() {
+        service.joinedSquad(2, 5);
+
+        verify(changeLogRepo).deleteByCoachIdAndAthleteId(2, 5);
+        verify(changeLogRepo, never()).save(any());
+    }
+
+    @Test
+    void onDataChange_athleteUpdated_shouldBeRegularEntryAndKeepCoachTombstones() {
+        ChangeLogEntry earlier = entry(3L, ATHLETE, UPDATED, 5, 5);
+        ChangeLogEntry leftCoach = entry(4L, ATHLETE, DELETED, 5, 5);
+        leftCoach.setCoachId(2);
+        when(changeLogRepo.findByKindAndEntityId(ATHLETE, 5)).thenReturn(List.of(earlier, leftCoach));
+
+        service.onDataChange(DataChangeEvent.updated(ATHLETE, 5, 5, null));
+
+        verify(changeLogRepo, never()).deleteByAthleteId(any());
+        verify(changeLogRepo).delete(earlier);
+        verify(changeLogRepo, never()).delete(leftCoach);
+        ArgumentCaptor<ChangeLogEntry> saved = ArgumentCaptor.forClass(ChangeLogEntry.class);
+        verify(changeLogRepo).save(saved.capture());
+        assertEquals(UPDATED, saved.getValue().getAction());
+        assertNull(saved.getValue().getCoachId());
+    }
+
+    @Test
+    void onDataChange_withoutOwner_shouldBeSkipped() {
+        service.onDataChange(DataChangeEvent.created(WEIGHT_METRIC, null, 7, null));
+
+        verifyNoInteractions(changeLogRepo, txManager);
+    }
+
+    @Test
+    void onDataChange_logFailure_shouldNotReachTheWriter() {
+        doThrow(new IllegalStateException("db down")).when(changeLogRepo).lockForAppend();
+
+        assertDoesNotThrow(() -> service.onDataChange(DataChangeEvent.created(RESULT, 5, 10, null)));
+        verify(txManager).rollback(any());
+    }
+
+    /* =====================================================
+       READ — current rows, tombstones, paging
+    ===================================================== */
+    @Test
+    void athleteChanges_shouldReturnCurrentRowsAndTombstones() {
+        when(changeLogRepo.findChanges(eq(List.of(5)), eq(100L), any(Pageable.class))).thenReturn(List.of(
+                entry(101L, RESULT, UPDATED, 5, 10),
+                entry(102L, RESULT, DELETED, 5, 11),
+                entry(103L, RESULT, CREATED, 5, 12),   // deleted again before this read
+                entry(104L, RESULT, CREATED, 5, 13)));  // one more than the limit
+        Result current = new Result();
+        current.setId(10);
+        stubLoad(Result.class, List.of(current));
+
+        ChangeFeedService.ChangePage page = service.athleteChanges(5, 100L, 3);
+
+        assertEquals(3, page.changes().size());
+        assertTrue(page.hasMore());
+        assertEquals(103L, page.cursor());
+
+        ChangeFeedService.Change updated = page.changes().get(0);
+        assertEquals("result", updated.kind());
+        assertEquals("updated", updated.action());
+        assertSame(current, updated.data());
+        assertEquals("deleted", page.changes().get(1).action());
+        assertNull(page.changes().get(1).data());
+        assertEquals("deleted", page.changes().get(2).action());
+        // one load for the page, without the tombstoned row
+        verify(em, times(1)).createQuery(anyString(), eq(Result.class));
+    }
+
+    @Test
+    void athleteChanges_nothingNew_shouldKeepTheCursor() {
+        when(changeLogRepo.findChanges(any(), eq(250L), any(Pageable.class))).thenReturn(List.of());
+
+        ChangeFeedService.ChangePage page = service.athleteChanges(5, 250L, 500);
+
+        assertTrue(page.changes().isEmpty());
+        assertEquals(250L, page.cursor());
+        assertFalse(page.hasMore());
+        verifyNoInteractions(em);
+    }
+
+    @Test
+    void coachChanges_shouldReadSquadAndTombstonesOfFormerAthletes() {
+        when(relationRepo.findAthleteIdsByCoachIdAndStatusName(2, LiveUpdateService.ACCEPTED)).thenReturn(List.of());
+        ChangeLogEntry left = entry(90L, ATHLETE, DELETED, 5, 5);
+        left.setCoachId(2);
+        when(changeLogRepo.findCoachChanges(eq(2), eq(List.of()), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(left));
+
+        ChangeFeedService.ChangePage page = service.coachChanges(2, 0L, 500);
+
+        assertEquals(1, page.changes().size());
+        assertEquals("athlete", page.changes().get(0).kind());
+        assertEquals("deleted", page.changes().get(0).action());
+        assertEquals(90L, page.cursor());
+        verify(changeLogRepo, never()).findChanges(any(), anyLong(), any());
+        verifyNoInteractions(em);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void stubLoad(Class<T> type, List<T> rows) {
+        when(em.createEntityGraph(type)).thenReturn(mock(EntityGraph.class));
+        TypedQuery<T> query = mock(TypedQuery.class, RETURNS_SELF);
+        when(query.getResultList()).thenReturn(rows);
+        when(em.createQuery(anyString(), eq(type))).thenReturn(query);
+    }
+
+    private static ChangeLogEntry entry(long seq, DataChangeEvent.Kind kind, DataChangeEvent.Action action,
+                                        Integer athleteId, Integer entityId) {
+        ChangeLogEntry e = new ChangeLogEntry(kind, action, athleteId, entityId, NOW);
+        e.setSeq(seq);
+        return e;
+    }
+}
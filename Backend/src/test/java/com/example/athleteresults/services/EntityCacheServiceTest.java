@@ -0,0 +1,98 @@
+package com.example.athleteresults.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EntityCacheServiceTest {
+
+    private static final String ATHLETE = "athlete";
+    private static final String STATUS = "status";
+
+    private StatisticsImplementor stats;
+    private CacheImplementor cache;
+    private EntityCacheService service;
+
+    @BeforeEach
+    void setUp() {
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        SessionFactoryImplementor sf = mock(SessionFactoryImplementor.class);
+        stats = mock(StatisticsImplementor.class);
+        cache = mock(CacheImplementor.class);
+        when(emf.unwrap(SessionFactoryImplementor.class)).thenReturn(sf);
+        when(sf.getStatistics()).thenReturn(stats);
+        when(sf.getCache()).thenReturn(cache);
+        when(stats.getSecondLevelCacheRegionNames()).thenReturn(new String[]{STATUS, ATHLETE});
+
+        service = new EntityCacheService(emf);
+    }
+
+    /* ===== regions ===== */
+
+    @Test
+    void regions_shouldReportCountersAndHitRatio() {
+        CacheRegionStatistics athlete = regionStats(30, 10, 10, 8);
+        CacheRegionStatistics status = regionStats(0, 0, 0, Long.MIN_VALUE);
+        when(stats.getDomainDataRegionStatistics(ATHLETE)).thenReturn(athlete);
+        when(stats.getDomainDataRegionStatistics(STATUS)).thenReturn(status);
+
+        List<EntityCacheService.Region> regions = service.regions();
+
+        assertEquals(List.of(ATHLETE, STATUS), regions.stream().map(EntityCacheService.Region::name).toList());
+        EntityCacheService.Region a = regions.get(0);
+        assertEquals(30, a.hits());
+        assertEquals(10, a.misses());
+        assertEquals(8L, a.entries());
+        assertEquals(0.75, a.hitRatio());
+        // no lookups yet, and no size support from the provider
+        assertNull(regions.get(1).hitRatio());
+        assertNull(regions.get(1).entries());
+    }
+
+    /* ===== evict ===== */
+
+    @Test
+    void evict_withoutRegion_shouldEvictEverything() {
+        service.evict(null);
+
+        verify(cache).evictAllRegions();
+        verify(cache, never()).evictRegion(anyString());
+    }
+
+    @Test
+    void evict_knownRegion_shouldEvictOnlyThatRegion() {
+        service.evict(ATHLETE);
+
+        verify(cache).evictRegion(ATHLETE);
+        verify(cache, never()).evictAllRegions();
+    }
+
+    @Test
+    void evict_unknownRegion_shouldReturnNotFound() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.evict("result"));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        verifyNoInteractions(cache);
+    }
+
+    private static CacheRegionStatistics regionStats(long hits, long misses, long puts, long entries) {
+        CacheRegionStatistics s = mock(CacheRegionStatistics.class);
+        when(s.getHitCount()).thenReturn(hits);
+        when(s.getMissCount()).thenReturn(misses);
+        when(s.getPutCount()).thenReturn(puts);
+        when(s.getElementCountInMemory()).thenReturn(entries);
+        return s;
+    }
+}
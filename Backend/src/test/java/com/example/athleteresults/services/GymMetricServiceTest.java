@@ -0,0 +1,203 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.GymSessionFullDTO;
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.GymSession;
+import com.example.athleteresults.entities.PlyoMetric;
+import com.example.athleteresults.entities.ReflexMetric;
+import com.example.athleteresults.entities.WeightMetric;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.GymSessionRepository;
+import com.example.athleteresults.repositories.PlyoMetricRepository;
+import com.example.athleteresults.repositories.ReflexMetricRepository;
+import com.example.athleteresults.repositories.WeightMetricRepository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GymMetricServiceTest {
+
+    private final GymSessionRepository gymRepo = mock(GymSessionRepository.class);
+    private final AthleteRepository athleteRepo = mock(AthleteRepository.class);
+    private final WeightMetricRepository weightRepo = mock(WeightMetricRepository.class);
+    private final PlyoMetricRepository plyoRepo = mock(PlyoMetricRepository.class);
+    private final ReflexMetricRepository reflexRepo = mock(ReflexMetricRepository.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final GymMetricService service =
+            new GymMetricService(gymRepo, athleteRepo, weightRepo, plyoRepo, reflexRepo, events);
+
+    /* =====================================================
+       BATCH — one parent lookup, one saveAll
+    ===================================================== */
+    @Test
+    void createWeights_shouldAttachParentAndPublishPerRow() {
+        GymSession gym = gym(7, 3);
+        when(gymRepo.findById(7)).thenReturn(Optional.of(gym));
+        when(weightRepo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<WeightMetric> saved = service.createWeights(7, List.of(weight(null), weight(7)));
+
+        assertEquals(2, saved.size());
+        assertTrue(saved.stream().allMatch(m -> m.getGymSession() == gym));
+        verify(gymRepo, times(1)).findById(7);
+        verify(weightRepo, times(1)).saveAll(anyList());
+
+        ArgumentCaptor<DataChangeEvent> captor = ArgumentCaptor.forClass(DataChangeEvent.class);
+        verify(events, times(2)).publishEvent(captor.capture());
+        assertEquals(DataChangeEvent.Kind.WEIGHT_METRIC, captor.getValue().kind());
+        assertEquals(3, captor.getValue().athleteId());
+    }
+
+    @Test
+    void createWeights_foreignGymSession_shouldReturnBadRequest() {
+        when(gymRepo.findById(7)).thenReturn(Optional.of(gym(7, 3)));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.createWeights(7, List.of(weight(7), weight(8))));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verify(weightRepo, never()).saveAll(anyList());
+    }
+
+    @Test
+    void createReflexes_unknownGymSession_shouldReturnNotFound() {
+        when(gymRepo.findById(99)).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.createReflexes(99, List.of(new ReflexMetric())));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    @Test
+    void createPlyos_emptyList_shouldReturnBadRequest() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.createPlyos(7, List.of()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(gymRepo);
+    }
+
+    /* =====================================================
+       COMBINED — session + metrics through the cascade
+    ===================================================== */
+    @Test
+    void createWithMetrics_shouldCascadeChildren() {
+        Athlete athlete = new Athlete(3, "A");
+        when(athleteRepo.findById(3)).thenReturn(Optional.of(athlete));
+        when(gymRepo.save(any(GymSession.class))).thenAnswer(inv -> {
+            GymSession g = inv.getArgument(0);
+            g.setId(11);
+            return g;
+        });
+
+        GymSessionFullDTO result = service.createWithMetrics(new GymSessionFullDTO(null, 3,
+                LocalDate.of(2025, 2, 1), "Strength", "Squat", null,
+                List.of(new GymSessionFullDTO.Weight(null, 5, 5, 100.0)),
+                List.of(new GymSessionFullDTO.Plyo(null, 40, null, null)),
+                null));
+
+        ArgumentCaptor<GymSession> saved = ArgumentCaptor.forClass(GymSession.class);
+        verify(gymRepo).save(saved.capture());
+        assertSame(saved.getValue(), saved.getValue().getWeightMetrics().get(0).getGymSession());
+        assertEquals(1, saved.getValue().getPlyoMetrics().size());
+        assertTrue(saved.getValue().getReflexMetrics().isEmpty());
+
+        assertEquals(11, result.id());
+        assertEquals(3, result.athleteId());
+        assertEquals(1, result.weightMetrics().size());
+        // session + one weight + one plyo
+        verify(events, times(3)).publishEvent(any(DataChangeEvent.class));
+    }
+
+    @Test
+    void createWithMetrics_missingAthlete_shouldReturnBadRequest() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.createWithMetrics(new GymSessionFullDTO(null, null, LocalDate.now(), null,
+                        "Squat", null, null, null, null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verify(gymRepo, never()).save(any());
+    }
+
+    /* =====================================================
+       READ — sessions + metrics in a fixed number of queries
+    ===================================================== */
+    @Test
+    void findFullByAthlete_shouldBatchMetricQueries() {
+        GymSession g1 = gym(1, 3);
+        GymSession g2 = gym(2, 3);
+        when(gymRepo.findPageByAthleteId(eq(3), any(), any(), any())).thenReturn(List.of(g2, g1));
+
+        WeightMetric w1 = weight(null);
+        w1.setGymSession(g1);
+        WeightMetric w2 = weight(null);
+        w2.setGymSession(g1);
+        PlyoMetric p2 = new PlyoMetric();
+        p2.setGymSession(g2);
+        p2.setContacts(60);
+        when(weightRepo.findByGymSessionIdIn(List.of(2, 1))).thenReturn(List.of(w1, w2));
+        when(plyoRepo.findByGymSessionIdIn(List.of(2, 1))).thenReturn(List.of(p2));
+        when(reflexRepo.findByGymSessionIdIn(List.of(2, 1))).thenReturn(List.of());
+
+        List<GymSessionFullDTO> full = service.findFullByAthlete(3, null, null, 0, 20);
+
+        assertEquals(List.of(2, 1), full.stream().map(GymSessionFullDTO::id).toList());
+        assertEquals(0, full.get(0).weightMetrics().size());
+        assertEquals(60, full.get(0).plyoMetrics().get(0).contacts());
+        assertEquals(2, full.get(1).weightMetrics().size());
+        assertTrue(full.get(1).reflexMetrics().isEmpty());
+
+        // one query per table, whatever the number of sessions
+        verify(weightRepo, times(1)).findByGymSessionIdIn(anyCollection());
+        verify(plyoRepo, times(1)).findByGymSessionIdIn(anyCollection());
+        verify(reflexRepo, times(1)).findByGymSessionIdIn(anyCollection());
+        verify(weightRepo, never()).findByGymSessionId(any());
+    }
+
+    @Test
+    void findFullByAthlete_noSessions_shouldSkipMetricQueries() {
+        when(gymRepo.findPageByAthleteId(eq(3), any(), any(), any())).thenReturn(List.of());
+
+        assertTrue(service.findFullByAthlete(3, LocalDate.of(2025, 1, 1), null, 0, 20).isEmpty());
+        verifyNoInteractions(weightRepo, plyoRepo, reflexRepo);
+    }
+
+    /* =====================================================
+       TEST DATA
+    ===================================================== */
+    private static GymSession gym(int id, int athleteId) {
+        GymSession g = new GymSession();
+        g.setId(id);
+        g.setAthlete(new Athlete(athleteId, "A"));
+        return g;
+    }
+
+    private static WeightMetric weight(Integer gymId) {
+        WeightMetric m = new WeightMetric();
+        m.setSets(3);
+        m.setReps(10);
+        m.setWeightGym(60.0);
+        if (gymId != null) {
+            GymSession ref = new GymSession();
+            ref.setId(gymId);
+            m.setGymSession(ref);
+        }
+        return m;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.HrZoneDayView;
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.AthleteHrZones;
+import com.example.athleteresults.entities.Session;
+import com.example.athleteresults.entities.SessionHrZones;
+import com.example.athleteresults.entities.SessionStreamChunk;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.*;
+import com.example.athleteresults.services.StreamCodec.Sample;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class HrZoneServiceTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+    private static final int[] UPPER = {120, 140, 160, 175};
+
+    private final SessionHrZonesRepository zonesRepo = mock(SessionHrZonesRepository.class);
+    private final AthleteHrZonesRepository athleteZonesRepo = mock(AthleteHrZonesRepository.class);
+    private final SessionRepository sessionRepo = mock(SessionRepository.class);
+    private final SessionStreamChunkRepository chunkRepo = mock(SessionStreamChunkRepository.class);
+    private final AthleteRepository athleteRepo = mock(AthleteRepository.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final HrZoneService service = new HrZoneService(zonesRepo, athleteZonesRepo, sessionRepo,
+            chunkRepo, athleteRepo, txManager);
+
+    private static Session session(Integer heartAvg, String timeMin) {
+        Session s = new Session();
+        s.setId(3);
+        s.setAthleteId(7);
+        s.setRunDate(LocalDate.of(2024, 5, 8));
+        s.setHeartAvg(heartAvg);
+        s.setTimeMin(timeMin != null ? new BigDecimal(timeMin) : null);
+        return s;
+    }
+
+    private static Sample hr(long offsetMs, double heartRate) {
+        return new Sample(T0 + offsetMs, Double.NaN, Double.NaN, Double.NaN, heartRate, Double.NaN);
+    }
+
+    /* ===== zones ===== */
+
+    @Test
+    void zones_shouldPreferOwnLimitsAndFallBackToAge() {
+        when(athleteZonesRepo.findById(7)).thenReturn(Optional.of(new AthleteHrZones(7, 190, UPPER)));
+        Athlete a = new Athlete();
+        a.setAge(30);
+        when(athleteRepo.findById(8)).thenReturn(Optional.of(a));
+        when(athleteRepo.findById(9)).thenReturn(Optional.of(new Athlete()));
+
+        assertEquals("custom", service.zones(7).orElseThrow().source());
+        HrZoneService.HrZones derived = service.zones(8).orElseThrow();
+        assertEquals("age", derived.source());
+        assertArrayEquals(new int[]{114, 133, 152, 171}, derived.upper());
+        assertTrue(service.zones(9).isEmpty());
+    }
+
+    @Test
+    void zoneOf_limitsAreInclusive() {
+        assertEquals(0, HrZoneService.zoneOf(120, UPPER));
+        assertEquals(1, HrZoneService.zoneOf(120.5, UPPER));
+        assertEquals(4, HrZoneService.zoneOf(176, UPPER));
+    }
+
+    /* ===== per session ===== */
+
+    @Test
+    void compute_withStream_shouldCountTimeUntilNextSampleAndCapGaps() {
+        SessionStreamChunk chunk = new SessionStreamChunk(3, 0, T0, T0 + 100_000, 5, StreamCodec.encode(List.of(
+                hr(0, 110), hr(1000, 130), hr(3000, Double.NaN), hr(4000, 150), hr(100_000, 180))));
+        when(chunkRepo.findBySessionIdOrderByChunkNo(3)).thenReturn(List.of(chunk));
+
+        SessionHrZones row = service.compute(session(150, "30"), new HrZoneService.HrZones(7, "custom", 190, UPPER));
+
+        // 1 s in zone 1, 2 s in zone 2, the gap without hr is skipped, a 96 s pause counts 10 s
+        assertArrayEquals(new int[]{1, 2, 10, 0, 0}, row.getSeconds());
+        assertEquals(SessionHrZones.SOURCE_STREAM, row.getSource());
+    }
+
+    @Test
+    void compute_withoutStream_shouldPutSessionIntoZoneOfAverage() {
+        when(chunkRepo.findBySessionIdOrderByChunkNo(3)).thenReturn(List.of());
+        HrZoneService.HrZones zones = new HrZoneService.HrZones(7, "custom", 190, UPPER);
+
+        SessionHrZones row = service.compute(session(150, "42.5"), zones);
+
+        assertArrayEquals(new int[]{0, 0, 2550, 0, 0}, row.getSeconds());
+        assertEquals(SessionHrZones.SOURCE_AVERAGE, row.getSource());
+        assertNull(service.compute(session(null, "42.5"), zones));
+    }
+
+    @Test
+    void onDataChange_sessionWritten_shouldStoreCounters() {
+        when(athleteZonesRepo.findById(7)).thenReturn(Optional.of(new AthleteHrZones(7, 190, UPPER)));
+        when(chunkRepo.findBySessionIdOrderByChunkNo(3)).thenReturn(List.of());
+
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 7, 3, session(130, "60")));
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.SESSION, 7, 4));
+
+        ArgumentCaptor<SessionHrZones> saved = ArgumentCaptor.forClass(SessionHrZones.class);
+        verify(zonesRepo).save(saved.capture());
+        assertArrayEquals(new int[]{0, 3600, 0, 0, 0}, saved.getValue().getSeconds());
+        verify(zonesRepo).deleteById(4);
+    }
+
+    @Test
+    void setZones_shouldRecomputeSessionsOfAthlete() {
+        when(sessionRepo.findByAthleteId(7)).thenReturn(List.of(session(130, "60")));
+        when(chunkRepo.findBySessionIdOrderByChunkNo(3)).thenReturn(List.of());
+
+        HrZoneService.HrZones zones = service.setZones(7, 200, null);
+
+        assertArrayEquals(new int[]{120, 140, 160, 180}, zones.upper());
+        ArgumentCaptor<SessionHrZones> saved = ArgumentCaptor.forClass(SessionHrZones.class);
+        verify(zonesRepo).save(saved.capture());
+        // 130 bpm is zone 2 of 120/140/160/180
+        assertEquals(3600, saved.getValue().getSeconds()[1]);
+        verify(athleteZonesRepo).save(any(AthleteHrZones.class));
+        assertThrows(IllegalArgumentException.class, () -> service.setZones(7, null, null));
+    }
+
+    @Test
+    void onDataChange_athleteUpdated_shouldRecomputeAgeBasedZones() {
+        Athlete a = new Athlete();
+        a.setAge(20);   // max 200 → 120/140/160/180
+        when(athleteRepo.findById(7)).thenReturn(Optional.of(a));
+        when(sessionRepo.findByAthleteId(7)).thenReturn(List.of(session(150, "60")));
+        when(chunkRepo.findBySessionIdOrderByChunkNo(3)).thenReturn(List.of());
+
+        service.onDataChange(DataChangeEvent.updated(DataChangeEvent.Kind.ATHLETE, 7, 7, a));
+
+        ArgumentCaptor<SessionHrZones> saved = ArgumentCaptor.forClass(SessionHrZones.class);
+        verify(zonesRepo).save(saved.capture());
+        assertEquals(3600, saved.getValue().getSeconds()[2]);
+        verify(zonesRepo, never()).deleteByAthleteId(any());
+        verify(athleteZonesRepo, never()).deleteByAthleteId(any());
+    }
+
+    @Test
+    void onDataChange_athleteUpdated_withOwnZones_shouldKeepSessions() {
+        when(athleteZonesRepo.existsById(7)).thenReturn(true);
+
+        service.onDataChange(DataChangeEvent.updated(DataChangeEvent.Kind.ATHLETE, 7, 7, new Athlete()));
+
+        verifyNoInteractions(sessionRepo);
+        verify(zonesRepo, never()).save(any());
+    }
+
+    /* ===== rollups ===== */
+
+    private static HrZoneDayView day(LocalDate date, long sessions, long... zones) {
+        return new HrZoneDayView() {
+            public LocalDate getRunDate() { return date; }
+            public Long getSessions() { return sessions; }
+            public Long getZone1() { return zones[0]; }
+            public Long getZone2() { return zones[1]; }
+            public Long getZone3() { return zones[2]; }
+            public Long getZone4() { return zones[3]; }
+            public Long getZone5() { return zones[4]; }
+        };
+    }
+
+    @Test
+    void rollup_weekly_shouldSumStoredCountersPerWeekIncludingEmptyWeeks() {
+        // Wed 2024-05-01 .. Tue 2024-05-21 → weeks starting 04-29, 05-06, 05-13, 05-20
+        when(zonesRepo.sumPerDay(7, LocalDate.of(2024, 4, 29), LocalDate.of(2024, 5, 21))).thenReturn(List.of(
+                day(LocalDate.of(2024, 5, 1), 1, 600, 1200, 0, 0, 0),
+                day(LocalDate.of(2024, 5, 5), 2, 0, 1200, 600, 0, 0),
+                day(LocalDate.of(2024, 5, 20), 1, 0, 0, 0, 300, 300)));
+
+        List<HrZoneService.ZoneRollup> weeks = service.rollup(7, LocalDate.of(2024, 5, 1),
+                LocalDate.of(2024, 5, 21), HrZoneService.Granularity.WEEK);
+
+        assertEquals(4, weeks.size());
+        assertEquals(LocalDate.of(2024, 4, 29), weeks.get(0).periodStart());
+        assertEquals(3, weeks.get(0).sessions());
+        assertArrayEquals(new long[]{600, 2400, 600, 0, 0}, weeks.get(0).seconds());
+        assertEquals(66.7, weeks.get(0).percent()[1]);
+        assertEquals(0, weeks.get(1).totalSeconds());
+        assertEquals(50.0, weeks.get(3).percent()[4]);
+    }
+
+    @Test
+    void rollup_monthly_shouldStartOnFirstOfMonth() {
+        when(zonesRepo.sumPerDay(7, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 10))).thenReturn(List.of(
+                day(LocalDate.of(2024, 2, 29), 1, 100, 0, 0, 0, 0)));
+
+        List<HrZoneService.ZoneRollup> months = service.rollup(7, LocalDate.of(2024, 1, 15),
+                LocalDate.of(2024, 3, 10), HrZoneService.Granularity.MONTH);
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1)),
+                months.stream().map(HrZoneService.ZoneRollup::periodStart).toList());
+        assertEquals(100, months.get(1).totalSeconds());
+    }
+}
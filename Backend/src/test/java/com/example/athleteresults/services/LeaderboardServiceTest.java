@@ -0,0 +1,117 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.SeasonBestView;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.JumpResultRepository;
+import com.example.athleteresults.repositories.ResultRepository;
+import com.example.athleteresults.repositories.ThrowResultRepository;
+import com.example.athleteresults.services.LeaderboardService.Discipline;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LeaderboardServiceTest {
+
+    private final ResultRepository resultRepo = mock(ResultRepository.class);
+    private final JumpResultRepository jumpRepo = mock(JumpResultRepository.class);
+    private final ThrowResultRepository throwRepo = mock(ThrowResultRepository.class);
+    private final LeaderboardService service = new LeaderboardService(resultRepo, jumpRepo, throwRepo);
+
+    /* =====================================================
+       REBUILD — runs: lower time is better
+    ===================================================== */
+    @Test
+    void rebuild_runs_shouldRankFastestFirst() {
+        when(resultRepo.findSeasonBests()).thenReturn(List.of(
+                row(1, "400m Event", 2024, 52_000),
+                row(2, "400m Event", 2024, 49_500),
+                row(1, "400m Event", 2025, 50_100)
+        ));
+
+        service.rebuild();
+
+        List<LeaderboardService.Standing> allTime = service.top(Discipline.RUN, "400m event", null, 10);
+        assertEquals(2, allTime.size());
+        assertEquals(2, allTime.get(0).athleteId());
+        assertEquals(49_500, allTime.get(0).mark());
+        assertEquals(50_100, allTime.get(1).mark());   // athlete 1 all-time best is from 2025
+
+        List<LeaderboardService.Standing> season2025 = service.top(Discipline.RUN, "400m Event", 2025, 10);
+        assertEquals(1, season2025.size());
+    }
+
+    /* =====================================================
+       REBUILD — throws: longer distance is better
+    ===================================================== */
+    @Test
+    void rebuild_throws_shouldRankLongestFirst() {
+        when(throwRepo.findSeasonBests()).thenReturn(List.of(
+                row(1, "Javelin", 2025, new BigDecimal("61.20")),
+                row(2, "Javelin", 2025, new BigDecimal("64.75")),
+                row(3, "Javelin", 2025, new BigDecimal("58.00"))
+        ));
+
+        service.rebuild();
+
+        LeaderboardService.AthleteStanding s = service.standingOf(Discipline.THROW, "javelin", 2025, 1).orElseThrow();
+        assertEquals(2, s.rank());
+        assertEquals(3, s.boardSize());
+        assertEquals(50.0, s.percentile());
+        assertEquals(61.2, s.mark(), 1e-9);
+    }
+
+    /* =====================================================
+       INCREMENTAL — only the changed athlete is re-read
+    ===================================================== */
+    @Test
+    void onDataChange_shouldRefreshOnlyThatAthlete() {
+        when(jumpRepo.findSeasonBests()).thenReturn(List.of(
+                row(1, "meVrull", 2025, 6.10),
+                row(2, "meVrull", 2025, 6.40)
+        ));
+        service.rebuild();
+
+        when(jumpRepo.findSeasonBestsByAthleteId(1)).thenReturn(List.of(row(1, "meVrull", 2025, 6.55)));
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.JUMP_RESULT, 1, 77, null));
+
+        assertEquals(1, service.standingOf(Discipline.JUMP, "meVrull", null, 1).orElseThrow().rank());
+        verify(jumpRepo).findSeasonBestsByAthleteId(1);
+        verify(jumpRepo, times(1)).findSeasonBests();
+    }
+
+    @Test
+    void onDataChange_lastResultDeleted_shouldDropAthleteAndEmptyBoard() {
+        when(resultRepo.findSeasonBests()).thenReturn(List.of(row(1, "100m Event", 2025, 11_200)));
+        service.rebuild();
+
+        when(resultRepo.findSeasonBestsByAthleteId(1)).thenReturn(List.of());
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.RESULT, 1, 5));
+
+        assertTrue(service.standingOf(Discipline.RUN, "100m Event", null, 1).isEmpty());
+        assertTrue(service.boardSizes().isEmpty());
+    }
+
+    @Test
+    void onDataChange_otherKinds_shouldBeIgnored() {
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 1, 5, null));
+
+        verifyNoInteractions(resultRepo, jumpRepo, throwRepo);
+    }
+
+    /* =====================================================
+       TEST DATA
+    ===================================================== */
+    private static SeasonBestView row(Integer athleteId, String event, Integer season, Number best) {
+        return new SeasonBestView() {
+            public Integer getAthleteId() { return athleteId; }
+            public String getEvent() { return event; }
+            public Integer getSeason() { return season; }
+            public Number getBest() { return best; }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LiveUpdateServiceTest {
+
+    private final CoachAthleteRelationRepository relationRepo = mock(CoachAthleteRelationRepository.class);
+
+    // dispatcher that never runs → queues are never drained (simulates a stuck client)
+    private final ExecutorService stuckDispatcher = mock(ExecutorService.class);
+    private final LiveUpdateService service = new LiveUpdateService(relationRepo, stuckDispatcher);
+
+    /* =====================================================
+       SUBSCRIBE
+    ===================================================== */
+    @Test
+    void subscribe_shouldRegisterEmitter() {
+        assertNotNull(service.subscribe(1));
+        assertNotNull(service.subscribe(1));
+
+        assertEquals(2, service.subscriberCount(1));
+        assertEquals(0, service.subscriberCount(2));
+    }
+
+    /* =====================================================
+       FAN-OUT — only coaches with accepted relation
+    ===================================================== */
+    @Test
+    void onDataChange_shouldLookupAcceptedCoaches() {
+        service.subscribe(1);
+        when(relationRepo.findCoachIdsByAthleteIdAndStatusName(10, "accept")).thenReturn(List.of(1, 2));
+
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.RESULT, 10, 5, null));
+
+        verify(relationRepo).findCoachIdsByAthleteIdAndStatusName(10, "accept");
+        assertEquals(1, service.subscriberCount(1));
+    }
+
+    @Test
+    void onDataChange_withoutSubscribers_shouldSkipLookup() {
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.RESULT, 10, 5, null));
+
+        verifyNoInteractions(relationRepo);
+    }
+
+    @Test
+    void onDataChange_withoutAthlete_shouldBeIgnored() {
+        service.subscribe(1);
+
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.SESSION, null, 5));
+
+        verifyNoInteractions(relationRepo);
+    }
+
+    /* =====================================================
+       SLOW CONSUMER — evicted once its buffer is full
+    ===================================================== */
+    @Test
+    void onDataChange_fullBuffer_shouldEvictSubscriber() {
+        service.subscribe(1);
+        when(relationRepo.findCoachIdsByAthleteIdAndStatusName(10, "accept")).thenReturn(List.of(1));
+
+        // one slot is taken by the "connected" frame
+        for (int i = 0; i < LiveUpdateService.BUFFER_SIZE - 1; i++) {
+            service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.RESULT, 10, i, null));
+        }
+        assertEquals(1, service.subscriberCount(1));
+
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.RESULT, 10, 999, null));
+        assertEquals(0, service.subscriberCount(1));
+    }
+
+    /* =====================================================
+       WIRE FORMAT
+    ===================================================== */
+    @Test
+    void liveUpdate_shouldUseKindDotAction() {
+        LiveUpdateService.LiveUpdate u = LiveUpdateService.LiveUpdate.from(
+                DataChangeEvent.updated(DataChangeEvent.Kind.JUMP_RESULT, 3, 7, "x"));
+
+        assertEquals("jump_result.updated", u.type());
+        assertEquals(3, u.athleteId());
+        assertEquals(7, u.id());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.athleteresults.services;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotesSearchServiceTest {
+
+    private final NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
+    private final NotesSearchService service = new NotesSearchService(jdbc);
+
+    /* ===== query ===== */
+
+    @Test
+    void sql_shouldMatchEveryTableThroughItsIndexedVector() {
+        String sql = NotesSearchService.sql(false);
+
+        for (String table : List.of("results", "jump_results", "throw_results", "sessions", "gym_sessions", "plan")) {
+            assertTrue(sql.contains("FROM " + table + " WHERE notes_tsv @@ websearch_to_tsquery('simple', :q)"), table);
+        }
+        assertFalse(sql.contains(":athleteIds"));
+        // snippets only for the page, after the LIMIT
+        assertTrue(sql.indexOf("LIMIT :limit") > sql.lastIndexOf("UNION ALL"));
+        assertTrue(sql.startsWith("SELECT kind, id, athlete_id, date, rank, ts_headline("));
+    }
+
+    @Test
+    void sql_scoped_shouldFilterEveryTableByAthlete() {
+        String sql = NotesSearchService.sql(true);
+
+        assertEquals(6, sql.split("AND athlete_id IN \\(:athleteIds\\)", -1).length - 1);
+    }
+
+    /* ===== paging ===== */
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_shouldAskForOneExtraRowToDetectMore() {
+        NotesSearchService.Hit hit = new NotesSearchService.Hit("result", 1, 7, null, 0.5, "x");
+        when(jdbc.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(Collections.nCopies(3, hit));
+
+        NotesSearchService.HitPage page = service.search("headwind", List.of(7), 1, 2);
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbc).query(contains(":athleteIds"), params.capture(), any(RowMapper.class));
+        assertEquals(3, params.getValue().getValue("limit"));
+        assertEquals(2L, params.getValue().getValue("offset"));
+        assertEquals(List.of(7), params.getValue().getValue("athleteIds"));
+
+        assertEquals(2, page.hits().size());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_unscoped_shouldNotBindAthletes() {
+        when(jdbc.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+
+        NotesSearchService.HitPage page = service.search("tempo", null, 0, 20);
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbc).query(argThat((String s) -> !s.contains(":athleteIds")), params.capture(), any(RowMapper.class));
+        assertFalse(params.getValue().hasValue("athleteIds"));
+        assertFalse(page.hasMore());
+    }
+}
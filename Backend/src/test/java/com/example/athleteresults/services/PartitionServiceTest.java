@@ -0,0 +1,123 @@
+package com.example.athleteresults.services;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PartitionServiceTest {
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private PartitionService service(boolean enabled) {
+        return new PartitionService(jdbc, txManager, enabled, clock);
+    }
+
+    /* =====================================================
+       STARTUP
+    ===================================================== */
+    @Test
+    void initialize_disabled_shouldNotTouchDatabase() {
+        service(false).initialize();
+
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void initialize_shouldConvertPlainTableIntoYearlyPartitions() {
+        when(jdbc.queryForObject(anyString(), eq(Boolean.class), anyString())).thenReturn(false);
+        when(jdbc.queryForObject(contains("MIN(race_date)"), eq(Integer.class))).thenReturn(2023);
+        when(jdbc.queryForList(anyString(), eq(String.class), anyString())).thenReturn(List.of());
+
+        service(true).initialize();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbc, atLeastOnce()).execute(sql.capture());
+        List<String> results = sql.getAllValues().stream()
+                .filter(s -> s.matches("(?s).*(^|[ (])results([ _].*|$)"))
+                .toList();
+
+        assertEquals("ALTER TABLE results RENAME TO results_unpartitioned", results.get(1));
+        assertTrue(results.get(2).endsWith("PARTITION BY RANGE (race_date)"));
+        assertTrue(results.contains("CREATE TABLE IF NOT EXISTS results_y2023 PARTITION OF results"
+                + " FOR VALUES FROM ('2023-01-01') TO ('2024-01-01')"));
+        // one year ahead of the clock
+        assertTrue(results.stream().anyMatch(s -> s.contains("results_y2026")));
+        assertTrue(results.stream().noneMatch(s -> s.contains("results_y2027")));
+        assertTrue(results.contains("DROP TABLE results_unpartitioned"));
+        // no primary key on a partitioned table without the date: ids are unique per partition
+        assertTrue(results.contains("CREATE UNIQUE INDEX IF NOT EXISTS results_default_id_key ON results_default (result_id)"));
+        assertTrue(results.contains("CREATE UNIQUE INDEX IF NOT EXISTS results_y2023_id_key ON results_y2023 (result_id)"));
+        assertTrue(results.stream().noneMatch(s -> s.startsWith("CREATE INDEX ON results ")));
+        verify(txManager, times(PartitionService.TABLES.size())).commit(any());
+    }
+
+    @Test
+    void initialize_partitionedTable_shouldAddMissingIdIndexes() {
+        when(jdbc.queryForObject(anyString(), eq(Boolean.class), anyString())).thenReturn(true);
+        when(jdbc.queryForList(contains("pg_inherits"), eq(String.class), anyString())).thenReturn(List.of());
+        when(jdbc.queryForList(contains("pg_inherits"), eq(String.class), eq("sessions")))
+                .thenReturn(List.of("sessions_default", "sessions_y2019"));
+
+        service(true).initialize();
+
+        verify(jdbc).execute("CREATE UNIQUE INDEX IF NOT EXISTS sessions_y2019_id_key ON sessions_y2019 (session_id)");
+        verify(jdbc).execute("CREATE UNIQUE INDEX IF NOT EXISTS sessions_default_id_key ON sessions_default (session_id)");
+        verify(jdbc, never()).execute(startsWith("ALTER TABLE sessions RENAME"));
+    }
+
+    /* =====================================================
+       ARCHIVE
+    ===================================================== */
+    @Test
+    void archive_currentYear_shouldReturnBadRequest() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service(true).archive("results", 2025));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void archive_unknownTable_shouldReturnBadRequest() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service(true).archive("athletes; DROP TABLE users", 2019));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void archive_shouldDetachAndMoveToArchiveSchema() {
+        when(jdbc.queryForObject(anyString(), eq(Boolean.class), eq("sessions"), eq("sessions_y2019")))
+                .thenReturn(true);
+
+        service(true).archive("sessions", 2019);
+
+        var order = inOrder(jdbc);
+        order.verify(jdbc).execute("ALTER TABLE sessions DETACH PARTITION sessions_y2019");
+        order.verify(jdbc).execute("ALTER TABLE sessions_y2019 SET SCHEMA archive");
+        order.verify(jdbc).execute("VACUUM FULL archive.sessions_y2019");
+    }
+
+    @Test
+    void partitions_disabled_shouldReturnConflict() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service(false).partitions("results"));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.AthleteProfileView;
+import com.example.athleteresults.dto.EventBestView;
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.AthleteRepository;
+import com.example.athleteresults.repositories.JumpResultRepository;
+import com.example.athleteresults.repositories.ResultRepository;
+import com.example.athleteresults.repositories.ThrowResultRepository;
+import com.example.athleteresults.services.PerformanceClassificationService.Level;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PerformanceClassificationServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    private final ResultRepository resultRepo = mock(ResultRepository.class);
+    private final JumpResultRepository jumpRepo = mock(JumpResultRepository.class);
+    private final ThrowResultRepository throwRepo = mock(ThrowResultRepository.class);
+    private final AthleteRepository athleteRepo = mock(AthleteRepository.class);
+    private final PerformanceClassificationService service = new PerformanceClassificationService(
+            resultRepo, jumpRepo, throwRepo, athleteRepo, mock(PlatformTransactionManager.class),
+            Clock.fixed(Instant.parse("2025-06-01T10:00:00Z"), ZoneOffset.UTC));
+
+    // six U20 men over 400 m, athlete 1 fastest; all stored as "average"
+    private void sixRunners() {
+        List<AthleteProfileView> profiles = new ArrayList<>();
+        List<EventBestView> rows = new ArrayList<>();
+        for (int id = 1; id <= 6; id++) {
+            profiles.add(profile(id, "U20", "M", "average"));
+            rows.add(row(id, "400m Event", 49_000 + id * 1_000));
+        }
+        when(athleteRepo.findProfiles()).thenReturn(profiles);
+        when(resultRepo.findRecentBests(TODAY.minusDays(365))).thenReturn(rows);
+    }
+
+    /* ===== full pass ===== */
+
+    @Test
+    void reclassifyAll_shouldWriteOnlyChangedClasses() {
+        sixRunners();
+
+        service.reclassifyAll();
+
+        // percentiles 100, 80, 60, 40, 20, 0
+        assertEquals(100.0, service.percentileOf(1).orElseThrow());
+        assertEquals(40.0, service.percentileOf(4).orElseThrow());
+        verify(athleteRepo).updatePerformance(List.of(1), "elite");
+        verify(athleteRepo).updatePerformance(List.of(2), "good");
+        verify(athleteRepo).updatePerformance(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(5, 6))),
+                eq("developing"));
+        verify(athleteRepo, never()).updatePerformance(anyCollection(), eq("average"));
+    }
+
+    @Test
+    void reclassifyAll_smallCohorts_shouldKeepStoredValue() {
+        when(athleteRepo.findProfiles()).thenReturn(List.of(
+                profile(1, "U18", "F", "average"),
+                profile(2, "U18", "F", "good")));
+        when(throwRepo.findRecentBests(any())).thenReturn(List.of(
+                row(1, "Javelin", new BigDecimal("40.10")),
+                row(2, "Javelin", new BigDecimal("35.00"))));
+
+        service.reclassifyAll();
+
+        assertTrue(service.percentileOf(1).isEmpty());
+        verify(athleteRepo, never()).updatePerformance(anyCollection(), any());
+    }
+
+    @Test
+    void reclassifyAll_shouldCountTheStrongestEvent() {
+        sixRunners();
+        // athlete 6 is last over 400 m but first of five in the long jump
+        List<EventBestView> jumps = new ArrayList<>();
+        jumps.add(row(6, "meVrull", new BigDecimal("7.40")));
+        for (int id = 1; id <= 4; id++) jumps.add(row(id, "meVrull", new BigDecimal("6." + id)));
+        when(jumpRepo.findRecentBests(any())).thenReturn(jumps);
+
+        service.reclassifyAll();
+
+        assertEquals(100.0, service.percentileOf(6).orElseThrow());
+        verify(athleteRepo).updatePerformance(argThat(ids -> ids.contains(6)), eq("elite"));
+    }
+
+    /* ===== incremental ===== */
+
+    @Test
+    void onDataChange_result_shouldReclassifyTheWholeCohort() {
+        sixRunners();
+        service.reclassifyAll();
+        clearInvocations(athleteRepo);
+
+        // athlete 6 runs 48.0 and moves to the top
+        when(resultRepo.findRecentBestsByAthleteId(6, TODAY.minusDays(365)))
+                .thenReturn(List.of(row(6, "400m Event", 48_000)));
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.RESULT, 6, 99, null));
+
+        verify(athleteRepo).updatePerformance(List.of(6), "elite");
+        verify(athleteRepo).updatePerformance(List.of(1), "good");
+        verify(athleteRepo).updatePerformance(List.of(2), "average");
+        verify(athleteRepo).updatePerformance(List.of(4), "developing");
+        verify(athleteRepo, never()).updatePerformance(argThat(ids -> ids.contains(3) || ids.contains(5)), any());
+    }
+
+    @Test
+    void onDataChange_athleteDeleted_shouldReclassifyFormerCohort() {
+        sixRunners();
+        service.reclassifyAll();
+        clearInvocations(athleteRepo);
+
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.ATHLETE, 1, 1));
+
+        assertTrue(service.percentileOf(1).isEmpty());
+        // 2..6 now rank 100, 75, 50, 25, 0
+        verify(athleteRepo).updatePerformance(List.of(2), "elite");
+        verify(athleteRepo).updatePerformance(List.of(3), "good");
+        verify(athleteRepo, never()).updatePerformance(argThat(ids -> ids.contains(4) || ids.contains(5)), any());
+    }
+
+    @Test
+    void refreshProfile_categoryChange_shouldMoveAthleteAndKeepHandSetClass() {
+        sixRunners();
+        service.reclassifyAll();
+        clearInvocations(athleteRepo);
+
+        Athlete moved = new Athlete();
+        moved.setId(1);
+        moved.setCategory("Senior");
+        moved.setGender("M");
+        moved.setPerformance("good");
+
+        // alone among seniors: nothing to derive from, the hand-set class stands
+        assertEquals("good", service.refreshProfile(moved));
+        verify(athleteRepo, never()).updatePerformance(argThat(ids -> ids.contains(1)), any());
+        verify(athleteRepo).updatePerformance(List.of(2), "elite");
+    }
+
+    @Test
+    void refreshProfile_withMarks_shouldOverrideHandSetClass() {
+        sixRunners();
+        service.reclassifyAll();
+        clearInvocations(athleteRepo);
+
+        Athlete edited = new Athlete();
+        edited.setId(6);
+        edited.setCategory("U20");
+        edited.setGender("M");
+        edited.setPerformance("elite");
+
+        assertEquals("developing", service.refreshProfile(edited));
+        verify(athleteRepo).updatePerformance(List.of(6), "developing");
+    }
+
+    /* ===== levels ===== */
+
+    @Test
+    void level_shouldUseLowerBounds() {
+        assertEquals(Level.ELITE, Level.of(90));
+        assertEquals(Level.GOOD, Level.of(89.9));
+        assertEquals(Level.AVERAGE, Level.of(30));
+        assertEquals(Level.DEVELOPING, Level.of(29.9));
+    }
+
+    private static AthleteProfileView profile(Integer id, String category, String gender, String performance) {
+        return new AthleteProfileView() {
+            public Integer getId() { return id; }
+            public String getCategory() { return category; }
+            public String getGender() { return gender; }
+            public String getPerformance() { return performance; }
+        };
+    }
+
+    private static EventBestView row(Integer athleteId, String event, Number best) {
+        return new EventBestView() {
+            public Integer getAthleteId() { return athleteId; }
+            public String getEvent() { return event; }
+            public Number getBest() { return best; }
+        };
+    }
+}
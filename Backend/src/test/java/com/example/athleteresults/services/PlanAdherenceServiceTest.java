@@ -0,0 +1,154 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.PlanAdherenceDayView;
+import com.example.athleteresults.dto.PlanAdherenceView;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+import com.example.athleteresults.repositories.PlanRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PlanAdherenceServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    private final PlanRepository planRepo = mock(PlanRepository.class);
+    private final CoachAthleteRelationRepository relationRepo = mock(CoachAthleteRelationRepository.class);
+    private final PlanAdherenceService service = new PlanAdherenceService(planRepo, relationRepo);
+
+    // rolling sums are cumulative here because the fixtures hold fewer than 7 plans
+    private static PlanAdherenceDayView day(int dayOfMonth, Integer targetMinutes, int reported, int trained,
+                                            Integer onTarget, double loggedMinutes, int completedSoFar,
+                                            Integer targetMinutesSoFar, double loggedMinutesSoFar) {
+        PlanAdherenceDayView v = mock(PlanAdherenceDayView.class);
+        when(v.getAthleteId()).thenReturn(7);
+        when(v.getPlanDate()).thenReturn(LocalDate.of(2024, 3, dayOfMonth));
+        when(v.getTargetMinutes()).thenReturn(targetMinutes);
+        when(v.getTargetIntensity()).thenReturn(targetMinutes != null ? 6 : null);
+        when(v.getReported()).thenReturn(reported);
+        when(v.getTrained()).thenReturn(trained);
+        when(v.getCompleted()).thenReturn(reported | trained);
+        when(v.getOnTarget()).thenReturn(onTarget);
+        when(v.getSessions()).thenReturn(trained);
+        when(v.getLoggedMinutes()).thenReturn(loggedMinutes);
+        when(v.getLoggedKm()).thenReturn(0);
+        when(v.getGymSessions()).thenReturn(0);
+        when(v.getCompletedLast7()).thenReturn(completedSoFar);
+        when(v.getCompletedLast28()).thenReturn(completedSoFar);
+        when(v.getTargetMinutesLast28()).thenReturn(targetMinutesSoFar);
+        when(v.getLoggedMinutesLast28()).thenReturn(loggedMinutesSoFar);
+        return v;
+    }
+
+    private static PlanAdherenceView athlete(int athleteId, int planned, int completed, int recentPlanned,
+                                             int recentCompleted, int rank, double squadRate) {
+        PlanAdherenceView v = mock(PlanAdherenceView.class);
+        when(v.getAthleteId()).thenReturn(athleteId);
+        when(v.getPlanned()).thenReturn((long) planned);
+        when(v.getReported()).thenReturn((long) completed);
+        when(v.getTrained()).thenReturn(0L);
+        when(v.getCompleted()).thenReturn((long) completed);
+        when(v.getRecentPlanned()).thenReturn((long) recentPlanned);
+        when(v.getRecentCompleted()).thenReturn((long) recentCompleted);
+        when(v.getVolumeTargets()).thenReturn(0L);
+        when(v.getOnTarget()).thenReturn(0L);
+        when(v.getSquadRank()).thenReturn((long) rank);
+        when(v.getSquadRate()).thenReturn(squadRate);
+        return v;
+    }
+
+    /* =====================================================
+       forAthlete
+    ===================================================== */
+    @Test
+    void forAthlete_shouldSummarisePlansAndStreaks() {
+        List<PlanAdherenceDayView> days = List.of(
+                day(1, 60, 1, 1, 1, 55, 1, 60, 55),
+                day(2, null, 0, 0, null, 0, 1, 60, 55),
+                day(3, 40, 0, 1, 0, 20, 2, 100, 75),
+                day(4, null, 1, 0, null, 0, 3, 100, 75));
+        when(planRepo.findAdherenceDays(List.of(7), FROM, TO)).thenReturn(days);
+
+        PlanAdherenceService.AthleteAdherence result = service.forAthlete(7, FROM, TO);
+
+        PlanAdherenceService.Summary s = result.summary();
+        assertEquals(4, s.planned());
+        assertEquals(2, s.reported());
+        assertEquals(2, s.trained());
+        assertEquals(3, s.completed());
+        assertEquals(0.75, s.completionRate());
+        assertEquals(2, s.volumeTargets());
+        assertEquals(1, s.onTarget());
+        assertEquals(0.75, s.minutesRatio());
+        assertNull(s.kmRatio());
+        assertEquals(6.0, s.averageIntensity());
+        assertEquals(2, s.currentStreak());
+        assertEquals(2, s.longestStreak());
+
+        assertEquals(4, result.days().size());
+        PlanAdherenceService.Day third = result.days().get(2);
+        assertTrue(third.completed());
+        assertFalse(third.onTarget());
+        assertEquals(0.667, third.completionLast7());
+        assertEquals(0.75, third.minutesRatioLast28());
+        assertNull(result.days().get(1).onTarget());
+    }
+
+    @Test
+    void forAthlete_withoutPlans_shouldReturnEmptySummary() {
+        when(planRepo.findAdherenceDays(List.of(7), FROM, TO)).thenReturn(List.of());
+
+        PlanAdherenceService.Summary s = service.forAthlete(7, FROM, TO).summary();
+
+        assertEquals(0, s.planned());
+        assertNull(s.completionRate());
+        assertNull(s.minutesRatio());
+        assertNull(s.averageIntensity());
+        assertEquals(0, s.currentStreak());
+    }
+
+    /* =====================================================
+       forCoach
+    ===================================================== */
+    @Test
+    void forCoach_shouldQuerySquadOnceAndMapRanks() {
+        when(relationRepo.findAthleteIdsByCoachIdAndStatusName(5, LiveUpdateService.ACCEPTED))
+                .thenReturn(List.of(7, 8, 9));
+        List<PlanAdherenceView> rows = List.of(athlete(8, 10, 9, 4, 4, 1, 0.6), athlete(7, 3, 1, 0, 0, 2, 0.6));
+        when(planRepo.findAdherence(List.of(7, 8, 9), FROM, TO, TO.minusDays(PlanAdherenceService.RECENT_DAYS)))
+                .thenReturn(rows);
+
+        PlanAdherenceService.CoachAdherence result = service.forCoach(5, FROM, TO);
+
+        assertEquals(3, result.athletes());
+        assertEquals(2, result.withPlans());
+        assertEquals(0.6, result.squadRate());
+        PlanAdherenceService.AthleteRow first = result.rows().get(0);
+        assertEquals(8, first.athleteId());
+        assertEquals(0.9, first.completionRate());
+        assertEquals(1.0, first.recentRate());
+        assertEquals(1, first.squadRank());
+        assertNull(first.minutesRatio());
+        PlanAdherenceService.AthleteRow second = result.rows().get(1);
+        assertEquals(0.333, second.completionRate());
+        assertNull(second.recentRate());
+        verify(planRepo, times(1)).findAdherence(any(), any(), any(), any());
+    }
+
+    @Test
+    void forCoach_emptySquad_shouldNotQueryPlans() {
+        when(relationRepo.findAthleteIdsByCoachIdAndStatusName(5, LiveUpdateService.ACCEPTED)).thenReturn(List.of());
+
+        PlanAdherenceService.CoachAdherence result = service.forCoach(5, FROM, TO);
+
+        assertEquals(0, result.athletes());
+        assertTrue(result.rows().isEmpty());
+        verifyNoInteractions(planRepo);
+    }
+}
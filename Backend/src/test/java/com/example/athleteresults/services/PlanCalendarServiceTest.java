@@ -0,0 +1,125 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.AthleteRef;
+import com.example.athleteresults.dto.PlanCalendarView;
+import com.example.athleteresults.repositories.CoachAthleteRelationRepository;
+import com.example.athleteresults.repositories.PlanRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PlanCalendarServiceTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+
+    private final PlanRepository planRepo = mock(PlanRepository.class);
+    private final CoachAthleteRelationRepository relationRepo = mock(CoachAthleteRelationRepository.class);
+    private final PlanCalendarService service = new PlanCalendarService(planRepo, relationRepo);
+
+    private static PlanCalendarView plan(int athleteId, String name, int day, int planId, String summary, int actual) {
+        PlanCalendarView v = mock(PlanCalendarView.class);
+        when(v.getAthleteId()).thenReturn(athleteId);
+        when(v.getAthleteName()).thenReturn(name);
+        when(v.getAthleteLastname()).thenReturn("L");
+        when(v.getPlanDate()).thenReturn(MARCH.atDay(day));
+        when(v.getPlanId()).thenReturn(planId);
+        when(v.getSummary()).thenReturn(summary);
+        when(v.getActualFilled()).thenReturn(actual);
+        return v;
+    }
+
+    /* =====================================================
+       forCoach
+    ===================================================== */
+    @Test
+    void forCoach_shouldBuildAthleteByDayMatrixFromOneRangeQuery() {
+        when(relationRepo.findAthleteRefsByCoachIdAndStatusName(5, LiveUpdateService.ACCEPTED))
+                .thenReturn(List.of(new AthleteRef(7, "Ana", "K"), new AthleteRef(8, "Ben", "M")));
+        List<PlanCalendarView> plans = List.of(
+                plan(7, "Ana", 1, 100, "  Easy\n 8 km  ", 1),
+                plan(7, "Ana", 31, 101, null, 0),
+                plan(9, "Cid", 15, 102, "x".repeat(PlanCalendarService.SUMMARY_LENGTH + 1), 0));
+        when(planRepo.findCalendar(5, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                PlanCalendarService.SUMMARY_LENGTH)).thenReturn(plans);
+
+        PlanCalendarService.Calendar cal = service.forCoach(5, MARCH);
+
+        assertEquals(31, cal.days());
+        assertEquals(3, cal.planned());
+        assertEquals(1, cal.actual());
+        assertEquals(3, cal.athletes().size());
+
+        PlanCalendarService.AthleteRow ana = cal.athletes().get(0);
+        assertEquals(7, ana.athleteId());
+        assertEquals(31, ana.cells().length);
+        assertArrayEquals(new PlanCalendarService.Cell[] {new PlanCalendarService.Cell(100, "Easy 8 km", true)},
+                ana.cells()[0]);
+        assertEquals(101, ana.cells()[30][0].planId());
+        assertNull(ana.cells()[1]);
+        assertEquals(2, ana.planned());
+        assertEquals(1, ana.actual());
+
+        PlanCalendarService.AthleteRow ben = cal.athletes().get(1);
+        assertEquals(0, ben.planned());
+
+        // planned for by the coach but no longer in the squad
+        PlanCalendarService.AthleteRow cid = cal.athletes().get(2);
+        assertEquals("Cid", cid.name());
+        String summary = cid.cells()[14][0].summary();
+        assertEquals(PlanCalendarService.SUMMARY_LENGTH, summary.length());
+        assertTrue(summary.endsWith("…"));
+        verify(planRepo, never()).findByCoachIdOrderByPlanDateAsc(any());
+    }
+
+    @Test
+    void forCoach_sameDayPlans_shouldKeepEveryPlanAndMatchTheCounts() {
+        when(relationRepo.findAthleteRefsByCoachIdAndStatusName(5, LiveUpdateService.ACCEPTED))
+                .thenReturn(List.of(new AthleteRef(7, "Ana", "K")));
+        List<PlanCalendarView> plans = List.of(
+                plan(7, "Ana", 4, 100, "AM run", 1),
+                plan(7, "Ana", 4, 101, "PM gym", 0),
+                plan(7, "Ana", 5, 102, "Rest", 0));
+        when(planRepo.findCalendar(5, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                PlanCalendarService.SUMMARY_LENGTH)).thenReturn(plans);
+
+        PlanCalendarService.Calendar cal = service.forCoach(5, MARCH);
+
+        PlanCalendarService.AthleteRow ana = cal.athletes().get(0);
+        assertArrayEquals(new PlanCalendarService.Cell[] {
+                new PlanCalendarService.Cell(100, "AM run", true),
+                new PlanCalendarService.Cell(101, "PM gym", false)}, ana.cells()[3]);
+        assertEquals(1, ana.cells()[4].length);
+
+        int cells = 0, filled = 0;
+        for (PlanCalendarService.Cell[] day : ana.cells()) {
+            if (day == null) continue;
+            cells += day.length;
+            for (PlanCalendarService.Cell c : day) if (c.actual()) filled++;
+        }
+        assertEquals(3, ana.planned());
+        assertEquals(cells, ana.planned());
+        assertEquals(filled, ana.actual());
+        assertEquals(3, cal.planned());
+        assertEquals(1, cal.actual());
+    }
+
+    @Test
+    void forCoach_shouldSizeRowsToTheMonth() {
+        when(relationRepo.findAthleteRefsByCoachIdAndStatusName(5, LiveUpdateService.ACCEPTED))
+                .thenReturn(List.of(new AthleteRef(7, "Ana", "K")));
+        when(planRepo.findCalendar(5, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29),
+                PlanCalendarService.SUMMARY_LENGTH)).thenReturn(List.of());
+
+        PlanCalendarService.Calendar cal = service.forCoach(5, YearMonth.of(2024, 2));
+
+        assertEquals(29, cal.days());
+        assertEquals(29, cal.athletes().get(0).cells().length);
+        assertEquals(0, cal.planned());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.ResultSummary;
+import com.example.athleteresults.entities.Result;
+import com.example.athleteresults.events.DataChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.example.athleteresults.events.DataChangeEvent.Kind.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryResultCacheTest {
+
+    private QueryResultCache cache;
+    private AtomicInteger queries;
+
+    @BeforeEach
+    void setUp() {
+        cache = new QueryResultCache(1000, Duration.ofMinutes(10));
+        queries = new AtomicInteger();
+    }
+
+    /* ===== lookup ===== */
+
+    @Test
+    void get_sameFilters_shouldQueryOnce() {
+        List<?> first = cache.get(RESULT, 1, QueryResultCache.filters("final", null), rows(result(10)));
+        List<?> second = cache.get(RESULT, 1, QueryResultCache.filters("final", null), rows(result(10)));
+
+        assertEquals(1, queries.get());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void filters_shouldNormalizeCaseWhitespaceAndBlanks() {
+        Sort sort = Sort.by("raceDate").ascending();
+
+        assertEquals(QueryResultCache.filters("final", null, sort),
+                QueryResultCache.filters("  Final ", " ", Sort.by("raceDate").ascending()));
+        assertNotEquals(QueryResultCache.filters("final", sort),
+                QueryResultCache.filters("final", sort.descending()));
+        assertEquals("final", QueryResultCache.text("  Final "));
+        assertNull(QueryResultCache.text(" "));
+    }
+
+    /* ===== invalidation ===== */
+
+    @Test
+    void created_shouldEvictThatAthleteAndUnfilteredEntriesOnly() {
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows(result(10)));
+        cache.get(RESULT, 2, QueryResultCache.filters(), rows(result(20)));
+        cache.get(RESULT, null, QueryResultCache.filters(), rows(result(10), result(20)));
+
+        cache.onDataChange(DataChangeEvent.created(RESULT, 1, 11, null));
+
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows(result(10), result(11)));
+        cache.get(RESULT, 2, QueryResultCache.filters(), rows(result(20)));
+        cache.get(RESULT, null, QueryResultCache.filters(), rows(result(10), result(11), result(20)));
+        // athlete 1 and the unfiltered query ran again, athlete 2 came from the cache
+        assertEquals(5, queries.get());
+    }
+
+    @Test
+    void updated_shouldEvictEntriesListingTheRow() {
+        // row 20 moves from athlete 2 to athlete 1: athlete 2's cached list still has it
+        cache.get(RESULT, 2, QueryResultCache.filters(), rows(summary(20)));
+        cache.get(RESULT, 3, QueryResultCache.filters(), rows(summary(30)));
+
+        cache.onDataChange(DataChangeEvent.updated(RESULT, 1, 20, null));
+
+        cache.get(RESULT, 2, QueryResultCache.filters(), rows());
+        cache.get(RESULT, 3, QueryResultCache.filters(), rows(summary(30)));
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    void otherKind_shouldNotEvict() {
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows(result(10)));
+
+        cache.onDataChange(DataChangeEvent.created(JUMP_RESULT, 1, 5, null));
+        cache.onDataChange(DataChangeEvent.created(SESSION, 1, 5, null));
+
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows(result(10)));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void athleteDeleted_shouldEvictAllTablesForThatAthlete() {
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows(result(10)));
+        cache.get(THROW_RESULT, 1, QueryResultCache.filters(), rows());
+        cache.get(THROW_RESULT, 2, QueryResultCache.filters(), rows());
+
+        cache.onDataChange(DataChangeEvent.deleted(ATHLETE, 1, 1));
+
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows());
+        cache.get(THROW_RESULT, 1, QueryResultCache.filters(), rows());
+        cache.get(THROW_RESULT, 2, QueryResultCache.filters(), rows());
+        assertEquals(5, queries.get());
+    }
+
+    @Test
+    void writeDuringQuery_shouldNotCacheTheResult() {
+        cache.get(RESULT, 1, QueryResultCache.filters(), () -> {
+            queries.incrementAndGet();
+            cache.onDataChange(DataChangeEvent.created(RESULT, 1, 11, null));
+            return List.of(result(10));
+        });
+
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows(result(10), result(11)));
+        assertEquals(2, queries.get());
+    }
+
+    /* ===== metrics ===== */
+
+    @Test
+    void stats_shouldReportHitRateAndCachedRows() {
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows(result(10), result(11)));
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows());
+        cache.get(RESULT, 1, QueryResultCache.filters(), rows());
+        cache.get(RESULT, 1, QueryResultCache.filters("final"), rows());
+
+        QueryResultCache.Stats stats = cache.stats().stream()
+                .filter(s -> s.cache().equals("RESULT")).findFirst().orElseThrow();
+
+        assertEquals(2, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+        assertEquals(2, stats.entries());
+        assertEquals(2, stats.rows());
+    }
+
+    private Supplier<List<?>> rows(Object... rows) {
+        return () -> {
+            queries.incrementAndGet();
+            return List.of(rows);
+        };
+    }
+
+    private static Result result(int id) {
+        Result r = new Result();
+        r.setId(id);
+        return r;
+    }
+
+    private static ResultSummary summary(int id) {
+        return new ResultSummary(id, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.BestMarkView;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.ResultRepository;
+import com.example.athleteresults.services.RacePredictionService.Mark;
+import com.example.athleteresults.services.RacePredictionService.Model;
+import com.example.athleteresults.services.RacePredictionService.Prediction;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RacePredictionServiceTest {
+
+    private final ResultRepository resultRepo = mock(ResultRepository.class);
+    private final RacePredictionService service = new RacePredictionService(resultRepo,
+            Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC));
+
+    private static BestMarkView mark(int athleteId, int distance, int best) {
+        return new BestMarkView() {
+            public Integer getAthleteId() { return athleteId; }
+            public Integer getDistance() { return distance; }
+            public Integer getBest() { return best; }
+        };
+    }
+
+    /* ===== fit ===== */
+
+    @Test
+    void fit_marksOnARiegelCurve_shouldRecoverTheExponent() {
+        // 1500 m in 4:00, other distances exactly on b = 1.08
+        List<Mark> marks = List.of(1500, 3000, 5000, 10000).stream()
+                .map(d -> new Mark(d, (int) Math.round(240_000 * Math.pow(d / 1500.0, 1.08))))
+                .toList();
+
+        Model model = RacePredictionService.fit(7, marks);
+
+        assertTrue(model.fitted());
+        assertEquals(1.08, model.exponent(), 0.0005);
+    }
+
+    @Test
+    void fit_singleDistance_shouldUseDefaultAndWildFitsShouldBeClamped() {
+        assertEquals(1.06, RacePredictionService.fit(7, List.of(new Mark(5000, 1_200_000))).exponent());
+        assertFalse(RacePredictionService.fit(7, List.of(new Mark(5000, 1_200_000))).fitted());
+
+        // a weak 10k next to a strong 5k would mean b ≈ 1.58
+        Model wild = RacePredictionService.fit(7, List.of(new Mark(5000, 1_000_000), new Mark(10000, 3_000_000)));
+        assertEquals(RacePredictionService.MAX_EXPONENT, wild.exponent());
+    }
+
+    /* ===== predict ===== */
+
+    @Test
+    void predict_shouldStartFromClosestMarkOrTheRequestedOne() {
+        Model model = new Model(7, 1.06, false, List.of(new Mark(1500, 240_000), new Mark(5000, 900_000)));
+
+        Prediction tenK = RacePredictionService.predict(model, 10000, null);
+        assertEquals(5000, tenK.fromDistance());
+        assertEquals(Math.round(900_000 * Math.pow(2, 1.06)), tenK.predictedMs().longValue());
+
+        Prediction fromMile = RacePredictionService.predict(model, 10000, 1500);
+        assertEquals(1500, fromMile.fromDistance());
+        assertNull(RacePredictionService.predict(model, 10000, 3000).predictedMs());
+    }
+
+    /* ===== cache ===== */
+
+    @Test
+    void predict_shouldCacheModelUntilAResultOfTheAthleteIsWritten() {
+        when(resultRepo.findBestMarks(List.of(7), LocalDate.of(2022, 6, 1), 800))
+                .thenReturn(List.of(mark(7, 5000, 1_000_000)));
+
+        service.predict(7, 10000, null);
+        service.predict(7, 21097, null);
+        verify(resultRepo, times(1)).findBestMarks(anyCollection(), any(), anyInt());
+
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.RESULT, 8, 1, null));
+        service.predict(7, 10000, null);
+        verify(resultRepo, times(1)).findBestMarks(anyCollection(), any(), anyInt());
+
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.RESULT, 7, 2, null));
+        service.predict(7, 10000, null);
+        verify(resultRepo, times(2)).findBestMarks(anyCollection(), any(), anyInt());
+    }
+
+    @Test
+    void resultMovedToAnotherAthlete_shouldDropThePreviousOwnersModel() {
+        when(resultRepo.findBestMarks(List.of(7), LocalDate.of(2022, 6, 1), 800))
+                .thenReturn(List.of(mark(7, 5000, 1_000_000)));
+        service.predict(7, 10000, null);
+
+        service.onDataChange(DataChangeEvent.updated(DataChangeEvent.Kind.RESULT, 8, 1, null).withPreviousOwner(7));
+        service.predict(7, 10000, null);
+
+        verify(resultRepo, times(2)).findBestMarks(anyCollection(), any(), anyInt());
+    }
+
+    @Test
+    void predictAll_shouldLoadMissingModelsInOneQueryAndKeepOrder() {
+        when(resultRepo.findBestMarks(eq(List.of(7)), any(LocalDate.class), eq(800)))
+                .thenReturn(List.of(mark(7, 5000, 1_000_000)));
+        service.predict(7, 10000, null);
+        when(resultRepo.findBestMarks(argThat(ids -> ids.size() == 2), any(), eq(800)))
+                .thenReturn(List.of(mark(9, 3000, 600_000), mark(9, 5000, 1_050_000)));
+
+        List<Prediction> out = service.predictAll(List.of(9, 7, 8), 10000);
+
+        assertEquals(List.of(9, 7, 8), out.stream().map(Prediction::athleteId).toList());
+        assertTrue(out.get(0).fitted());
+        assertEquals(1, out.get(1).marks());
+        assertNull(out.get(2).predictedMs());
+        verify(resultRepo).findBestMarks(argThat(ids -> ids.containsAll(List.of(9, 8)) && ids.size() == 2),
+                any(), eq(800));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.athleteresults.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedBoardTest {
+
+    @Test
+    void put_shouldKeepBoardSorted() {
+        RankedBoard board = new RankedBoard();
+        board.put(1, 500);
+        board.put(2, 300);
+        board.put(3, 400);
+
+        List<RankedBoard.Entry> top = board.top(10);
+
+        assertEquals(List.of(2, 3, 1), top.stream().map(RankedBoard.Entry::athleteId).toList());
+        assertEquals(1, board.rankOf(2));
+        assertEquals(3, board.rankOf(1));
+        assertEquals(0, board.rankOf(99));
+    }
+
+    @Test
+    void put_sameAthlete_shouldReplaceScore() {
+        RankedBoard board = new RankedBoard();
+        board.put(1, 500);
+        board.put(2, 300);
+        board.put(1, 100);
+
+        assertEquals(2, board.size());
+        assertEquals(1, board.rankOf(1));
+        assertEquals(100, board.scoreOf(1).getAsLong());
+    }
+
+    @Test
+    void ties_shouldShareRank() {
+        RankedBoard board = new RankedBoard();
+        board.put(1, 10);
+        board.put(2, 20);
+        board.put(3, 20);
+        board.put(4, 30);
+
+        assertEquals(List.of(1, 2, 2, 4), board.top(4).stream().map(RankedBoard.Entry::rank).toList());
+        assertEquals(4, board.rankOf(4));
+    }
+
+    @Test
+    void remove_shouldShrinkBoard() {
+        RankedBoard board = new RankedBoard();
+        board.put(1, 10);
+        board.put(2, 20);
+
+        assertTrue(board.remove(1));
+        assertFalse(board.remove(1));
+        assertEquals(1, board.size());
+        assertEquals(1, board.rankOf(2));
+    }
+
+    @Test
+    void percentile_shouldGoFromHundredToZero() {
+        RankedBoard board = new RankedBoard();
+        for (int i = 1; i <= 5; i++) board.put(i, i * 10L);
+
+        assertEquals(100.0, board.percentileOf(1));
+        assertEquals(50.0, board.percentileOf(3));
+        assertEquals(0.0, board.percentileOf(5));
+        assertTrue(Double.isNaN(board.percentileOf(42)));
+    }
+
+    @Test
+    void randomOperations_shouldMatchNaiveRanking() {
+        RankedBoard board = new RankedBoard();
+        Map<Integer, Long> expected = new HashMap<>();
+        Random rnd = new Random(7);
+
+        for (int i = 0; i < 5000; i++) {
+            int athlete = rnd.nextInt(300);
+            if (rnd.nextInt(4) == 0) {
+                board.remove(athlete);
+                expected.remove(athlete);
+            } else {
+                long score = rnd.nextInt(1000);
+                board.put(athlete, score);
+                expected.put(athlete, score);
+            }
+        }
+
+        assertEquals(expected.size(), board.size());
+        for (Map.Entry<Integer, Long> e : expected.entrySet()) {
+            long better = expected.values().stream().filter(s -> s < e.getValue()).count();
+            assertEquals(better + 1, board.rankOf(e.getKey()));
+        }
+        List<Long> sorted = expected.values().stream().sorted().limit(25).toList();
+        assertEquals(sorted, board.top(25).stream().map(RankedBoard.Entry::score).toList());
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.GymSessionRefView;
+import com.example.athleteresults.dto.PlanCountView;
+import com.example.athleteresults.dto.RollupSourceView;
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.AthleteRollup.Discipline;
+import com.example.athleteresults.entities.Coach;
+import com.example.athleteresults.entities.ReportJob;
+import com.example.athleteresults.repositories.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    private final ReportJobRepository jobRepo = mock(ReportJobRepository.class);
+    private final CoachAthleteRelationRepository relationRepo = mock(CoachAthleteRelationRepository.class);
+    private final ChangeLogRepository changeLogRepo = mock(ChangeLogRepository.class);
+    private final AthleteRepository athleteRepo = mock(AthleteRepository.class);
+    private final CoachRepository coachRepo = mock(CoachRepository.class);
+    private final ResultRepository resultRepo = mock(ResultRepository.class);
+    private final JumpResultRepository jumpRepo = mock(JumpResultRepository.class);
+    private final ThrowResultRepository throwRepo = mock(ThrowResultRepository.class);
+    private final SessionRepository sessionRepo = mock(SessionRepository.class);
+    private final GymSessionRepository gymRepo = mock(GymSessionRepository.class);
+    private final PlanRepository planRepo = mock(PlanRepository.class);
+    private final ExecutorService pool = mock(ExecutorService.class);
+
+    private ReportService service() {
+        return new ReportService(jobRepo, relationRepo, changeLogRepo, athleteRepo, coachRepo, resultRepo,
+                jumpRepo, throwRepo, sessionRepo, gymRepo, planRepo, mock(PlatformTransactionManager.class),
+                dir, 2, Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC), pool);
+    }
+
+    private void squad(Integer... ids) {
+        when(relationRepo.findAthleteIdsByCoachIdAndStatusName(5, LiveUpdateService.ACCEPTED))
+                .thenReturn(List.of(ids));
+    }
+
+    /* ===== submit / cache ===== */
+
+    @Test
+    void submit_unchangedData_shouldReuseFinishedReport() throws IOException {
+        squad(3, 1);
+        when(changeLogRepo.findLatestSeq(List.of(1, 3))).thenReturn(42L);
+        ReportService service = service();
+        String fingerprint = service.fingerprint(2025, List.of(1, 3));
+        ReportJob done = job("old", ReportJob.DONE, fingerprint);
+        done.setFilePath(Files.writeString(dir.resolve("old.zip"), "zip").toString());
+        when(jobRepo.findFirstByCoachIdAndSeasonAndFingerprintAndStatusInOrderByCreatedAtDesc(
+                eq(5), eq(2025), eq(fingerprint), anyCollection())).thenReturn(Optional.of(done));
+
+        ReportService.JobStatus status = service.submit(5, 2025);
+
+        assertEquals("old", status.id());
+        assertEquals(ReportJob.DONE, status.status());
+        verify(jobRepo, never()).save(any());
+    }
+
+    @Test
+    void submit_newData_shouldQueueJobAndHandItToAWorker() {
+        squad(1, 3);
+        when(changeLogRepo.findLatestSeq(List.of(1, 3))).thenReturn(43L);
+        when(jobRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        ReportService service = service();
+        String fingerprint = service.fingerprint(2025, List.of(1, 3));
+        // a report of older data exists but does not match
+        when(jobRepo.findFirstByCoachIdAndSeasonAndFingerprintAndStatusInOrderByCreatedAtDesc(
+                eq(5), eq(2025), eq(fingerprint), anyCollection())).thenReturn(Optional.empty());
+        when(jobRepo.findQueuedIds(PageRequest.of(0, 2))).thenReturn(List.of("queued-1"));
+        when(jobRepo.claim(anyString(), anyString(), eq(NOW))).thenReturn(1);
+
+        ReportService.JobStatus status = service.submit(5, 2025);
+
+        assertEquals(ReportJob.QUEUED, status.status());
+        assertEquals(2, status.athletes());
+        ArgumentCaptor<ReportJob> saved = ArgumentCaptor.forClass(ReportJob.class);
+        verify(jobRepo).save(saved.capture());
+        assertEquals(fingerprint, saved.getValue().getFingerprint());
+        verify(jobRepo).claim(eq("queued-1"), anyString(), eq(NOW));
+        verify(pool).execute(any());
+    }
+
+    @Test
+    void submit_fileRemoved_shouldBuildAgain() {
+        squad(1);
+        when(jobRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        ReportJob done = job("old", ReportJob.DONE, "x");
+        done.setFilePath(dir.resolve("missing.zip").toString());
+        when(jobRepo.findFirstByCoachIdAndSeasonAndFingerprintAndStatusInOrderByCreatedAtDesc(
+                any(), any(), any(), anyCollection())).thenReturn(Optional.of(done));
+
+        ReportService.JobStatus status = service().submit(5, 2025);
+
+        assertNotEquals("old", status.id());
+        verify(jobRepo).save(any());
+    }
+
+    @Test
+    void fingerprint_shouldChangeWithSquadAndChangeLog() {
+        ReportService service = service();
+        when(changeLogRepo.findLatestSeq(List.of(1, 2))).thenReturn(10L, 11L);
+
+        String first = service.fingerprint(2025, List.of(1, 2));
+        String afterWrite = service.fingerprint(2025, List.of(1, 2));
+
+        assertNotEquals(first, afterWrite);
+        assertNotEquals(service.fingerprint(2025, List.of(1)), service.fingerprint(2024, List.of(1)));
+        assertEquals(64, first.length());
+    }
+
+    /* ===== dispatch ===== */
+
+    @Test
+    void dispatch_shouldRunOnlyClaimedJobs() {
+        when(jobRepo.findQueuedIds(PageRequest.of(0, 2))).thenReturn(List.of("a", "b"));
+        when(jobRepo.claim(eq("a"), anyString(), eq(NOW))).thenReturn(0);   // taken by another instance
+        when(jobRepo.claim(eq("b"), anyString(), eq(NOW))).thenReturn(1);
+
+        service().dispatch();
+
+        verify(pool, times(1)).execute(any());
+    }
+
+    @Test
+    void resume_shouldRequeueOnlyStaleJobsFirst() {
+        when(jobRepo.requeueStale(NOW.minus(ReportService.STALE_AFTER))).thenReturn(1);
+
+        service().resume();
+
+        var order = inOrder(jobRepo);
+        order.verify(jobRepo).requeueStale(NOW.minus(ReportService.STALE_AFTER));
+        order.verify(jobRepo).findQueuedIds(PageRequest.of(0, 2));
+        verify(jobRepo, never()).heartbeat(any(), any());
+    }
+
+    @Test
+    void heartbeat_shouldTouchOnlyJobsBuiltHere() {
+        ReportService service = service();
+        service.heartbeat();
+        verify(jobRepo, never()).heartbeat(any(), any());
+
+        when(jobRepo.findQueuedIds(PageRequest.of(0, 2))).thenReturn(List.of("a", "b"));
+        when(jobRepo.claim(eq("a"), anyString(), eq(NOW))).thenReturn(0);   // taken by another instance
+        when(jobRepo.claim(eq("b"), anyString(), eq(NOW))).thenReturn(1);
+        service.dispatch();
+        service.heartbeat();
+
+        ArgumentCaptor<String> claim = ArgumentCaptor.forClass(String.class);
+        verify(jobRepo).claim(eq("b"), claim.capture(), eq(NOW));
+        verify(jobRepo).heartbeat(List.of(claim.getValue()), NOW);
+    }
+
+    /* ===== generation ===== */
+
+    @Test
+    void run_shouldWriteBundleAndReplaceOlderReport() throws IOException {
+        squad(1, 2);
+        when(athleteRepo.findAllById(List.of(1, 2))).thenReturn(List.of(
+                athlete(2, "Ana", "Zeka"), athlete(1, "Ben", "Aliu")));
+        Coach coach = new Coach();
+        coach.setName("Dea");
+        coach.setLastname("Kola");
+        when(coachRepo.findById(5)).thenReturn(Optional.of(coach));
+        LocalDate end = LocalDate.of(2025, 12, 31);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        when(resultRepo.streamReportSource(List.of(1, 2), end)).thenReturn(Stream.of(
+                row(1, "400m Event", LocalDate.of(2024, 6, 1), 50_000, 400),
+                row(1, "400m Event", LocalDate.of(2025, 5, 10), 51_000, 400),
+                row(1, "400m Event", LocalDate.of(2025, 7, 2), 49_500, 400)));
+        when(jumpRepo.streamReportSource(List.of(1, 2), end)).thenReturn(Stream.of(
+                row(2, "meVrull", LocalDate.of(2025, 6, 1), 6.1, null)));
+        when(sessionRepo.streamReportSource(List.of(1, 2), start, end)).thenReturn(Stream.of(
+                row(1, null, LocalDate.of(2025, 5, 3), new BigDecimal("8.5"), new BigDecimal("40")),
+                row(1, null, LocalDate.of(2025, 5, 4), new BigDecimal("6.0"), new BigDecimal("30"))));
+        when(gymRepo.streamRefs(List.of(1, 2), start, end)).thenReturn(Stream.of(gym(2, LocalDate.of(2025, 6, 3))));
+        when(planRepo.countByAthlete(List.of(1, 2), start, end)).thenReturn(List.of(plans(1, 8, 6)));
+
+        ReportJob job = job("new", ReportJob.RUNNING, "x");
+        when(jobRepo.findById("new")).thenReturn(Optional.of(job));
+        ReportJob old = job("old", ReportJob.DONE, "y");
+        Path oldFile = Files.writeString(dir.resolve("old.zip"), "zip");
+        old.setFilePath(oldFile.toString());
+        when(jobRepo.findByCoachIdAndSeasonAndStatusAndCreatedAtBefore(5, 2025, ReportJob.DONE, job.getCreatedAt()))
+                .thenReturn(List.of(old));
+        when(jobRepo.finish(eq("new"), eq("claim-1"), any(), any(), anyInt(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        service().run("new", "claim-1");
+
+        assertEquals(ReportJob.DONE, job.getStatus());
+        assertEquals(2, job.getAthletes());
+        assertEquals(dir.resolve("new.zip").toString(), job.getFilePath());
+        assertEquals(Files.size(dir.resolve("new.zip")), job.getFileBytes());
+        verify(jobRepo).finish("new", "claim-1", ReportJob.DONE, job.getFingerprint(), 2, job.getFilePath(),
+                job.getFileBytes(), null, NOW);
+        verify(jobRepo, never()).save(any());
+        assertFalse(Files.exists(oldFile));
+        verify(jobRepo).deleteAll(List.of(old));
+
+        Map<String, String> files = unzip(dir.resolve("new.zip"));
+        assertEquals(List.of("report.html", "pbs.csv", "progression.csv", "volume.csv", "adherence.csv"),
+                List.copyOf(files.keySet()));
+        assertTrue(files.get("report.html").contains("Season 2025 — Dea Kola"));
+        // 49.5 beats the 2024 PB, 51.0 does not
+        assertTrue(files.get("pbs.csv").contains("1,Ben Aliu,run,400m Event,ms,49500,2025-07-02,49500,2025-07-02,2,yes"));
+        assertTrue(files.get("pbs.csv").contains("2,Ana Zeka,jump,meVrull,m,6.1,2025-06-01,6.1,2025-06-01,1,first"));
+        String[] progression = files.get("progression.csv").split("\r\n");
+        assertEquals(3, progression.length);
+        assertEquals("1,Ben Aliu,run,400m Event,ms,2025-07-02,49500,50000,500", progression[1]);
+        assertTrue(files.get("volume.csv").contains("1,Ben Aliu,2025-05,1,0,0,2,14.5,70,0"));
+        assertTrue(files.get("volume.csv").contains("2,Ana Zeka,2025-06,0,1,0,0,0,0,1"));
+        assertTrue(files.get("adherence.csv").contains("1,Ben Aliu,8,6,75"));
+        assertTrue(files.get("adherence.csv").contains("2,Ana Zeka,0,0,"));
+        // athletes sorted by last name
+        assertTrue(files.get("adherence.csv").indexOf("Ben Aliu") < files.get("adherence.csv").indexOf("Ana Zeka"));
+    }
+
+    @Test
+    void run_readFailure_shouldMarkJobFailed() {
+        squad(1);
+        when(resultRepo.streamReportSource(any(), any())).thenThrow(new IllegalStateException("cursor closed"));
+        ReportJob job = job("new", ReportJob.RUNNING, "x");
+        when(jobRepo.findById("new")).thenReturn(Optional.of(job));
+        when(jobRepo.finish(eq("new"), eq("claim-1"), any(), any(), anyInt(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        service().run("new", "claim-1");
+
+        assertEquals(ReportJob.FAILED, job.getStatus());
+        assertEquals("cursor closed", job.getError());
+        assertNotNull(job.getFinishedAt());
+        verify(jobRepo).finish(eq("new"), eq("claim-1"), eq(ReportJob.FAILED), any(), anyInt(), isNull(), isNull(),
+                eq("cursor closed"), eq(NOW));
+        verify(jobRepo, never()).deleteAll(any());
+    }
+
+    @Test
+    void run_claimLost_shouldNotReplaceOlderReport() {
+        squad(1);
+        ReportJob job = job("new", ReportJob.RUNNING, "x");
+        when(jobRepo.findById("new")).thenReturn(Optional.of(job));
+        // requeued and claimed by another worker while this one was building
+        when(jobRepo.finish(eq("new"), eq("stale-claim"), any(), any(), anyInt(), any(), any(), any(), any()))
+                .thenReturn(0);
+
+        service().run("new", "stale-claim");
+
+        verify(jobRepo, never()).save(any());
+        verify(jobRepo, never()).findByCoachIdAndSeasonAndStatusAndCreatedAtBefore(any(), any(), any(), any());
+        verify(jobRepo, never()).deleteAll(any());
+    }
+
+    @Test
+    void display_shouldFormatRaceTimesAndDistances() {
+        assertEquals("49.50", SeasonReport.display(Discipline.RUN, 49_500));
+        assertEquals("3:35.12", SeasonReport.display(Discipline.RUN, 215_120));
+        assertEquals("2:08:01.00", SeasonReport.display(Discipline.RUN, 7_681_000));
+        assertEquals("6.10 m", SeasonReport.display(Discipline.JUMP, 6.1));
+    }
+
+    private static ReportJob job(String id, String status, String fingerprint) {
+        ReportJob job = new ReportJob(id, 5, 2025, fingerprint, 0, NOW.minusMinutes(1));
+        job.setStatus(status);
+        return job;
+    }
+
+    private static Athlete athlete(Integer id, String name, String lastname) {
+        Athlete a = new Athlete();
+        a.setId(id);
+        a.setName(name);
+        a.setLastname(lastname);
+        return a;
+    }
+
+    private static Map<String, String> unzip(Path file) throws IOException {
+        Map<String, String> out = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(file))) {
+            for (ZipEntry e = zip.getNextEntry(); e != null; e = zip.getNextEntry()) {
+                out.put(e.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return out;
+    }
+
+    private static RollupSourceView row(Integer athleteId, String event, LocalDate date, Number mark, Number volume) {
+        return new RollupSourceView() {
+            public Integer getAthleteId() { return athleteId; }
+            public String getEvent() { return event; }
+            public LocalDate getDate() { return date; }
+            public Number getMark() { return mark; }
+            public Number getVolume() { return volume; }
+        };
+    }
+
+    private static GymSessionRefView gym(Integer athleteId, LocalDate date) {
+        return new GymSessionRefView() {
+            public Integer getId() { return 1; }
+            public Integer getAthleteId() { return athleteId; }
+            public LocalDate getSessionDate() { return date; }
+        };
+    }
+
+    private static PlanCountView plans(Integer athleteId, long planned, long completed) {
+        return new PlanCountView() {
+            public Integer getAthleteId() { return athleteId; }
+            public Long getPlanned() { return planned; }
+            public Long getCompleted() { return completed; }
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.RollupSourceView;
+import com.example.athleteresults.entities.AthleteRollup;
+import com.example.athleteresults.entities.AthleteRollup.Discipline;
+import com.example.athleteresults.entities.AthleteRollup.Period;
+import com.example.athleteresults.entities.RollupJob;
+import com.example.athleteresults.entities.RollupJobChunk;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.*;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RollupServiceTest {
+
+    private final AthleteRollupRepository rollupRepo = mock(AthleteRollupRepository.class);
+    private final RollupJobRepository jobRepo = mock(RollupJobRepository.class);
+    private final RollupJobChunkRepository chunkRepo = mock(RollupJobChunkRepository.class);
+    private final AthleteRepository athleteRepo = mock(AthleteRepository.class);
+    private final ResultRepository resultRepo = mock(ResultRepository.class);
+    private final JumpResultRepository jumpRepo = mock(JumpResultRepository.class);
+    private final ThrowResultRepository throwRepo = mock(ThrowResultRepository.class);
+    private final SessionRepository sessionRepo = mock(SessionRepository.class);
+    private final RollupService service = new RollupService(rollupRepo, jobRepo, chunkRepo, athleteRepo,
+            resultRepo, jumpRepo, throwRepo, sessionRepo, mock(PlatformTransactionManager.class), 2,
+            Clock.fixed(Instant.parse("2025-03-02T02:45:00Z"), ZoneOffset.UTC), mock(ExecutorService.class));
+
+    /* ===== aggregation ===== */
+
+    @Test
+    void compute_shouldRollUpPerDayWeekAndSeason() {
+        // Tue + Thu of the same week, one run the next week
+        when(resultRepo.findRollupSource(1, 9)).thenReturn(List.of(
+                row(1, "400m Event", LocalDate.of(2025, 1, 7), 52_000, 400),
+                row(1, "400m Event", LocalDate.of(2025, 1, 9), 51_000, 400),
+                row(1, "400m Event", LocalDate.of(2025, 1, 14), 53_000, 400)));
+
+        List<AthleteRollup> rollups = service.compute(1, 9);
+
+        assertEquals(3 + 2 + 1, rollups.size());
+        AthleteRollup week = find(rollups, Period.WEEK, LocalDate.of(2025, 1, 6));
+        assertEquals("400m event", week.getEvent());
+        assertEquals(2, week.getCount());
+        assertEquals(800.0, week.getVolume());
+        assertEquals(51_000.0, week.getBest());   // runs: lowest time
+        assertEquals(51_500.0, week.getAverage());
+        AthleteRollup season = find(rollups, Period.SEASON, LocalDate.of(2025, 1, 1));
+        assertEquals(3, season.getCount());
+        assertEquals(52_000.0, season.getAverage());
+    }
+
+    @Test
+    void compute_fieldEventsAndSessions_shouldKeepHighestAndSkipMissingMarks() {
+        when(throwRepo.findRollupSource(1, 9)).thenReturn(List.of(
+                row(2, "Javelin", LocalDate.of(2025, 2, 1), new BigDecimal("55.10"), null),
+                row(2, "Javelin", LocalDate.of(2025, 2, 1), new BigDecimal("58.40"), null)));
+        when(sessionRepo.findRollupSource(1, 9)).thenReturn(List.of(
+                row(2, null, LocalDate.of(2025, 2, 1), new BigDecimal("8.00"), new BigDecimal("40.00")),
+                row(2, null, LocalDate.of(2025, 2, 1), null, new BigDecimal("25.00"))));
+
+        List<AthleteRollup> rollups = service.compute(1, 9);
+
+        AthleteRollup throwsDay = rollups.stream()
+                .filter(r -> r.getDiscipline() == Discipline.THROW && r.getPeriod() == Period.DAY)
+                .findFirst().orElseThrow();
+        assertEquals(58.4, throwsDay.getBest());
+        assertNull(throwsDay.getVolume());
+
+        AthleteRollup sessionsDay = rollups.stream()
+                .filter(r -> r.getDiscipline() == Discipline.SESSION && r.getPeriod() == Period.DAY)
+                .findFirst().orElseThrow();
+        assertEquals("", sessionsDay.getEvent());
+        assertEquals(2, sessionsDay.getCount());
+        assertEquals(65.0, sessionsDay.getVolume());
+        assertEquals(8.0, sessionsDay.getAverage());   // the session without distance has no mark
+    }
+
+    /* ===== plan / resume ===== */
+
+    @Test
+    void planOrResume_shouldCutAthletesIntoChunks() {
+        List<Integer> ids = IntStream.rangeClosed(1, RollupService.CHUNK_SIZE + 10).boxed().toList();
+        when(athleteRepo.findAllIds()).thenReturn(ids);
+        when(jobRepo.findTopByOrderByIdDesc()).thenReturn(Optional.empty());
+        when(jobRepo.save(any())).thenAnswer(inv -> {
+            RollupJob job = inv.getArgument(0);
+            job.setId(5L);
+            return job;
+        });
+
+        RollupJob job = service.planOrResume();
+
+        assertEquals(2, job.getChunks());
+        assertEquals(LocalDate.of(2025, 3, 2), job.getRunDate());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RollupJobChunk>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(chunkRepo).saveAll(chunks.capture());
+        assertEquals(RollupService.CHUNK_SIZE, chunks.getValue().get(0).getLastAthleteId());
+        assertEquals(RollupService.CHUNK_SIZE + 1, chunks.getValue().get(1).getFirstAthleteId());
+        assertEquals(RollupService.CHUNK_SIZE + 10, chunks.getValue().get(1).getLastAthleteId());
+    }
+
+    @Test
+    void planOrResume_unfinishedRun_shouldBeResumed() {
+        RollupJob failed = new RollupJob(LocalDate.of(2025, 3, 1), 600, 3, LocalDateTime.of(2025, 3, 1, 2, 45));
+        failed.setId(4L);
+        failed.setStatus(RollupJob.FAILED);
+        when(jobRepo.findTopByOrderByIdDesc()).thenReturn(Optional.of(failed));
+        when(jobRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        RollupJob job = service.planOrResume();
+
+        assertSame(failed, job);
+        assertEquals(RollupJob.RUNNING, job.getStatus());
+        assertEquals(2, job.getAttempts());
+        verifyNoInteractions(athleteRepo);
+    }
+
+    @Test
+    void planOrResume_runOutOfAttempts_shouldPlanAFreshRun() {
+        RollupJob failed = new RollupJob(LocalDate.of(2025, 3, 1), 600, 3, LocalDateTime.of(2025, 3, 1, 2, 45));
+        failed.setStatus(RollupJob.FAILED);
+        failed.setAttempts(RollupService.MAX_ATTEMPTS);
+        when(jobRepo.findTopByOrderByIdDesc()).thenReturn(Optional.of(failed));
+        when(athleteRepo.findAllIds()).thenReturn(List.of(1, 2));
+        when(jobRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        RollupJob job = service.planOrResume();
+
+        assertNotSame(failed, job);
+        assertEquals(1, job.getChunks());
+    }
+
+    /* ===== execute ===== */
+
+    @Test
+    void execute_shouldCheckpointDoneChunksAndKeepFailedOnesOpen() {
+        RollupJob job = new RollupJob(LocalDate.of(2025, 3, 2), 20, 2, LocalDateTime.of(2025, 3, 2, 2, 45));
+        job.setId(5L);
+        RollupJobChunk ok = new RollupJobChunk(5L, 0, 1, 10);
+        RollupJobChunk broken = new RollupJobChunk(5L, 1, 11, 20);
+        when(chunkRepo.findByJobIdAndStatusNotOrderByChunkNo(5L, RollupJobChunk.DONE)).thenReturn(List.of(ok, broken));
+        when(resultRepo.findRollupSource(1, 10)).thenReturn(List.of(
+                row(3, "100m Event", LocalDate.of(2025, 3, 1), 11_400, 100)));
+        when(resultRepo.findRollupSource(11, 20)).thenThrow(new IllegalStateException("connection reset"));
+
+        service.execute(job);
+
+        assertEquals(RollupJobChunk.DONE, ok.getStatus());
+        assertEquals(3, ok.getRowsWritten());
+        assertEquals(RollupJobChunk.FAILED, broken.getStatus());
+        assertEquals("connection reset", broken.getError());
+        verify(rollupRepo).deleteByAthleteIdBetween(1, 10);
+        verify(rollupRepo, never()).deleteByAthleteIdBetween(11, 20);
+        assertEquals(RollupJob.FAILED, job.getStatus());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void onDataChange_athleteDeleted_shouldDropRollups() {
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.ATHLETE, 7, 7));
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.RESULT, 7, 70));
+
+        verify(rollupRepo, times(1)).deleteByAthleteId(7);
+    }
+
+    private static AthleteRollup find(List<AthleteRollup> rollups, Period period, LocalDate start) {
+        return rollups.stream()
+                .filter(r -> r.getPeriod() == period && r.getPeriodStart().equals(start))
+                .findFirst().orElseThrow();
+    }
+
+    private static RollupSourceView row(Integer athleteId, String event, LocalDate date, Number mark, Number volume) {
+        return new RollupSourceView() {
+            public Integer getAthleteId() { return athleteId; }
+            public String getEvent() { return event; }
+            public LocalDate getDate() { return date; }
+            public Number getMark() { return mark; }
+            public Number getVolume() { return volume; }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.StreamInfo;
+import com.example.athleteresults.entities.SessionStreamChunk;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.SessionStreamChunkRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SessionStreamServiceTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private final SessionStreamChunkRepository chunkRepo = mock(SessionStreamChunkRepository.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final SessionStreamService service = new SessionStreamService(chunkRepo, txManager);
+
+    /* ===== ingest ===== */
+
+    @Test
+    void ingest_csv_shouldStoreFullChunksAndDropOutOfOrderSamples() {
+        StringBuilder csv = new StringBuilder("Time;Latitude;Longitude;HR;Cadence;Power\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append(i).append(";60.1;24.9;").append(130 + i % 7).append(";;250\n");
+        }
+        csv.append("2000;60.1;24.9;130;;250\n");
+
+        SessionStreamService.IngestResult result =
+                service.ingest(3, body(csv.toString()), SessionStreamService.Format.CSV);
+
+        ArgumentCaptor<SessionStreamChunk> saved = ArgumentCaptor.forClass(SessionStreamChunk.class);
+        verify(chunkRepo).deleteBySessionId(3);
+        verify(chunkRepo, times(3)).save(saved.capture());
+        List<SessionStreamChunk> chunks = saved.getAllValues();
+        assertEquals(List.of(1024, 1024, 452), chunks.stream().map(SessionStreamChunk::getSampleCount).toList());
+        assertEquals(1_024_000L, chunks.get(1).getStartTime());
+        assertEquals(2_499_000L, chunks.get(2).getEndTime());
+
+        assertEquals(2500, result.samples());
+        assertEquals(3, result.chunks());
+        assertEquals(1, result.dropped());
+        assertEquals(chunks.stream().mapToLong(c -> c.getData().length).sum(), result.bytes());
+
+        StreamCodec.Sample first = StreamCodec.decode(chunks.get(0).getData()).get(0);
+        assertEquals(130, first.heartRate());
+        assertTrue(Double.isNaN(first.cadence()));
+    }
+
+    @Test
+    void ingest_gpx_shouldReadTrackPointsWithExtensions() {
+        String gpx = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <gpx xmlns="http://www.topografix.com/GPX/1/1"
+                     xmlns:gpxtpx="http://www.garmin.com/xmlschemas/TrackPointExtension/v1">
+                  <trk><trkseg>
+                    <trkpt lat="60.1699" lon="24.9384"><ele>12.4</ele><time>2024-05-01T06:00:00Z</time>
+                      <extensions><gpxtpx:TrackPointExtension><gpxtpx:hr>121</gpxtpx:hr><gpxtpx:cad>84</gpxtpx:cad>
+                      </gpxtpx:TrackPointExtension></extensions></trkpt>
+                    <trkpt lat="60.1700" lon="24.9386"><time>2024-05-01T06:00:01Z</time></trkpt>
+                    <trkpt lat="60.1701" lon="24.9388"></trkpt>
+                  </trkseg></trk>
+                </gpx>
+                """;
+
+        SessionStreamService.IngestResult result = service.ingest(3, body(gpx), SessionStreamService.Format.GPX);
+
+        ArgumentCaptor<SessionStreamChunk> saved = ArgumentCaptor.forClass(SessionStreamChunk.class);
+        verify(chunkRepo).save(saved.capture());
+        List<StreamCodec.Sample> samples = StreamCodec.decode(saved.getValue().getData());
+        assertEquals(2, result.samples());
+        assertEquals(new StreamCodec.Sample(1714543200000L, 60.1699, 24.9384, 12.4, 121, 84), samples.get(0));
+        assertTrue(Double.isNaN(samples.get(1).heartRate()));
+    }
+
+    @Test
+    void ingest_invalidOrEmptyUpload_shouldReturnBadRequest() {
+        assertThrows(ResponseStatusException.class,
+                () -> service.ingest(3, body("lat,lon\n1,2\n"), SessionStreamService.Format.CSV));
+        assertThrows(ResponseStatusException.class,
+                () -> service.ingest(3, body("time,hr\n0,abc\n"), SessionStreamService.Format.CSV));
+        assertThrows(ResponseStatusException.class,
+                () -> service.ingest(3, body("time,hr\n"), SessionStreamService.Format.CSV));
+        assertThrows(ResponseStatusException.class,
+                () -> service.ingest(3, body("<gpx><trkpt"), SessionStreamService.Format.GPX));
+    }
+
+    /* ===== read ===== */
+
+    @Test
+    void read_shouldDecodeOnlyTheWindowAndAverageIntoBuckets() {
+        List<StreamCodec.Sample> samples = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            samples.add(new StreamCodec.Sample(T0 + i * 1000L, Double.NaN, Double.NaN, Double.NaN,
+                    100 + i, i % 2 == 0 ? 170 : Double.NaN));
+        }
+        SessionStreamChunk chunk = new SessionStreamChunk(3, 0, T0, T0 + 119_000, 120, StreamCodec.encode(samples));
+        when(chunkRepo.findInfo(3)).thenReturn(new StreamInfo(T0, T0 + 119_000, 120L, 1L, 500L));
+        when(chunkRepo.findOverlapping(3, T0 + 60_000, T0 + 89_000)).thenReturn(List.of(chunk));
+
+        SessionStreamService.StreamWindow window = service.read(3, 60, 89, 10);
+
+        assertEquals(T0, window.start());
+        assertArrayEquals(new long[]{60_000, 70_000, 80_000}, window.offsets());
+        // seconds 60..69 → hr 160..169
+        assertEquals(164.5, window.heartRate()[0]);
+        assertEquals(170.0, window.cadence()[1]);
+        assertNull(window.lat()[2]);
+    }
+
+    @Test
+    void read_raw_shouldReturnSamplesAndRaiseResolutionForLongWindows() {
+        SessionStreamChunk chunk = new SessionStreamChunk(3, 0, T0, T0 + 2000, 3, StreamCodec.encode(List.of(
+                new StreamCodec.Sample(T0, 1, 2, 3, 4, 5),
+                new StreamCodec.Sample(T0 + 1000, 1, 2, 3, 5, 5),
+                new StreamCodec.Sample(T0 + 2000, 1, 2, 3, 6, 5))));
+        when(chunkRepo.findInfo(3)).thenReturn(new StreamInfo(T0, T0 + 2000, 3L, 1L, 100L));
+        when(chunkRepo.findOverlapping(3, T0, T0 + 2000)).thenReturn(List.of(chunk));
+
+        SessionStreamService.StreamWindow window = service.read(3, null, null, 0);
+
+        assertEquals(0, window.resolution());
+        assertArrayEquals(new long[]{0, 1000, 2000}, window.offsets());
+
+        // a day at 1 Hz cannot be shown raw
+        StreamInfo day = new StreamInfo(T0, T0 + 86_400_000L, 86_401L, 85L, 400_000L);
+        assertEquals(9, SessionStreamService.effectiveResolution(0, T0, T0 + 86_400_000L, day));
+        assertEquals(30, SessionStreamService.effectiveResolution(30, T0, T0 + 86_400_000L, day));
+    }
+
+    @Test
+    void read_withoutStream_shouldReturnNotFound() {
+        when(chunkRepo.findInfo(3)).thenReturn(new StreamInfo(null, null, null, 0L, null));
+
+        assertThrows(ResponseStatusException.class, () -> service.read(3, null, null, 0));
+        verify(chunkRepo, never()).findOverlapping(anyInt(), anyLong(), anyLong());
+    }
+
+    /* ===== cleanup ===== */
+
+    @Test
+    void onDataChange_sessionDeleted_shouldDropItsStream() {
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.SESSION, 5, 3));
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.RESULT, 5, 4));
+
+        verify(chunkRepo).deleteBySessionId(3);
+        verify(chunkRepo, never()).deleteBySessionId(4);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.SplitRow;
+import com.example.athleteresults.repositories.ResultRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SplitAnalyticsServiceTest {
+
+    private final ResultRepository resultRepo = mock(ResultRepository.class);
+    private final SplitAnalyticsService service = new SplitAnalyticsService(resultRepo);
+
+    private static SplitRow row(int id, int athleteId, int distance, int splitDistance, int... laps) {
+        return new SplitRow(id, athleteId, LocalDate.of(2024, 6, id), distance, splitDistance, laps);
+    }
+
+    /* ===== metrics ===== */
+
+    @Test
+    void metrics_evenRace_shouldHaveNoFadeAndNoDeviation() {
+        SplitAnalyticsService.RaceSplitMetrics m = SplitAnalyticsService.metrics(row(1, 7, 400, 100, 12000, 12000, 12000, 12000));
+
+        assertEquals(0.0, m.fadeIndex());
+        assertEquals(0.0, m.evenPaceDeviation());
+        assertEquals(12000.0, m.fastestPace());
+    }
+
+    @Test
+    void metrics_positiveSplit_shouldShowFade() {
+        // first 200 m in 24.0 s, second in 26.0 s
+        SplitAnalyticsService.RaceSplitMetrics m = SplitAnalyticsService.metrics(row(1, 7, 400, 100, 11900, 12100, 12800, 13200));
+
+        assertEquals(8.33, m.fadeIndex());
+        assertTrue(m.evenPaceDeviation() > 0);
+        assertEquals(13200.0, m.slowestPace());
+    }
+
+    @Test
+    void metrics_shortLastSplit_shouldUsePacePerMetre() {
+        // 1500 m in 400 m laps: the last 300 m at the same pace as the rest
+        SplitAnalyticsService.RaceSplitMetrics m = SplitAnalyticsService.metrics(row(1, 7, 1500, 400, 64000, 64000, 64000, 48000));
+
+        assertEquals(0.0, m.fadeIndex());
+        assertEquals(0.0, m.evenPaceDeviation());
+        assertEquals(16000.0, m.fastestPace());
+    }
+
+    @Test
+    void metrics_splitsNotCoveringTheDistance_shouldBeSkipped() {
+        assertNull(SplitAnalyticsService.metrics(row(1, 7, 400, 100, 24000, 26000)));
+        assertNull(SplitAnalyticsService.metrics(row(1, 7, 400, 400, 50000)));
+    }
+
+    /* ===== history / roster ===== */
+
+    @Test
+    void history_shouldListRacesAndSummariseInOnePass() {
+        when(resultRepo.streamSplitRows(List.of(7), 400)).thenReturn(Stream.of(
+                row(1, 7, 400, 100, 12000, 12000, 12000, 12000),
+                row(2, 7, 400, 100, 11900, 12100, 12800, 13200),
+                row(3, 7, 400, 100, 24000, 26000)));
+
+        SplitAnalyticsService.SplitHistory h = service.history(7, 400);
+
+        assertEquals(2, h.races().size());
+        assertEquals(2, h.summary().races());
+        assertEquals(4.17, h.summary().meanFadeIndex());
+        assertEquals(2, h.summary().worstFadeResultId());
+    }
+
+    @Test
+    void summaries_shouldKeepRequestedOrderAndReportAthletesWithoutSplits() {
+        when(resultRepo.streamSplitRows(anyCollection(), isNull())).thenReturn(Stream.of(
+                row(1, 8, 400, 100, 12000, 12000, 12000, 12000),
+                row(2, 8, 400, 200, 24000, 26000)));
+
+        List<SplitAnalyticsService.SplitSummary> out = service.summaries(List.of(9, 8), null);
+
+        assertEquals(List.of(9, 8), out.stream().map(SplitAnalyticsService.SplitSummary::athleteId).toList());
+        assertEquals(0, out.get(0).races());
+        assertNull(out.get(0).meanFadeIndex());
+        assertEquals(2, out.get(1).races());
+        verify(resultRepo).streamSplitRows(eq(Set.of(9, 8)), isNull());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.services.StreamCodec.Sample;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamCodecTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    /* ===== round trip ===== */
+
+    @Test
+    void decode_shouldRestoreEverySampleExactly() {
+        List<Sample> samples = List.of(
+                new Sample(T0, 60.1699, 24.9384, 12.5, 128, 168),
+                new Sample(T0 + 1000, 60.16991, 24.93845, 12.6, 131, 170),
+                // irregular gap, then sub-second and very long gaps
+                new Sample(T0 + 4000, 60.16995, 24.9385, 12.6, 131, 170),
+                new Sample(T0 + 4250, -33.8688, 151.2093, -3.0, 199, 0),
+                new Sample(T0 + 90_000_000, Double.NaN, Double.NaN, Double.NaN, 60, Double.NaN),
+                new Sample(T0 + 90_001_000, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN));
+
+        assertEquals(samples, StreamCodec.decode(StreamCodec.encode(samples)));
+    }
+
+    @Test
+    void decode_singleSample_shouldRoundTrip() {
+        List<Sample> one = List.of(new Sample(T0, 1, 2, 3, 4, 5));
+
+        assertEquals(one, StreamCodec.decode(StreamCodec.encode(one)));
+    }
+
+    /* ===== size ===== */
+
+    @Test
+    void encode_steadyOneHertzRun_shouldBeFarSmallerThanRawDoubles() {
+        List<Sample> samples = new ArrayList<>();
+        double lat = 60.1699, lon = 24.9384;
+        for (int i = 0; i < 1024; i++) {
+            lat += 0.00003;
+            lon += 0.00002;
+            // altitude / hr / cadence change only now and then, no cadence sensor half of the time
+            samples.add(new Sample(T0 + i * 1000L, lat, lon, 12 + i / 60, 140 + i / 30,
+                    i < 512 ? 172 : Double.NaN));
+        }
+
+        byte[] data = StreamCodec.encode(samples);
+
+        assertEquals(samples, StreamCodec.decode(data));
+        // raw: 8 bytes time + 5 × 8 bytes values per sample
+        assertTrue(data.length < samples.size() * 48 / 3, "encoded size " + data.length);
+    }
+
+    /* ===== errors ===== */
+
+    @Test
+    void decode_unknownOrTruncatedData_shouldFail() {
+        byte[] data = StreamCodec.encode(List.of(new Sample(T0, 1, 2, 3, 4, 5), new Sample(T0 + 1000, 2, 3, 4, 5, 6)));
+
+        assertThrows(IllegalArgumentException.class, () -> StreamCodec.decode(new byte[]{9, 0, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> StreamCodec.decode(Arrays.copyOf(data, data.length / 2)));
+        assertThrows(IllegalArgumentException.class, () -> StreamCodec.encode(List.of()));
+    }
+}
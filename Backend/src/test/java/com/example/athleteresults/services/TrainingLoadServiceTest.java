@@ -0,0 +1,218 @@
+package com.example.athleteresults.services;
+
+import com.example.athleteresults.dto.GymSessionRefView;
+import com.example.athleteresults.dto.MetricLoadView;
+import com.example.athleteresults.entities.Athlete;
+import com.example.athleteresults.entities.GymSession;
+import com.example.athleteresults.entities.Session;
+import com.example.athleteresults.entities.WeightMetric;
+import com.example.athleteresults.events.DataChangeEvent;
+import com.example.athleteresults.repositories.GymSessionRepository;
+import com.example.athleteresults.repositories.PlyoMetricRepository;
+import com.example.athleteresults.repositories.SessionRepository;
+import com.example.athleteresults.repositories.WeightMetricRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TrainingLoadServiceTest {
+
+    private final SessionRepository sessionRepo = mock(SessionRepository.class);
+    private final GymSessionRepository gymRepo = mock(GymSessionRepository.class);
+    private final WeightMetricRepository weightRepo = mock(WeightMetricRepository.class);
+    private final PlyoMetricRepository plyoRepo = mock(PlyoMetricRepository.class);
+    private final TrainingLoadService service = new TrainingLoadService(sessionRepo, gymRepo, weightRepo, plyoRepo);
+
+    private static final LocalDate D1 = LocalDate.of(2025, 3, 1);
+
+    /* =====================================================
+       REBUILD — runs, tonnage and contacts on the right day
+    ===================================================== */
+    @Test
+    void rebuild_shouldCombineAllSources() {
+        GymSessionRefView gym = gymRef(7, 10, D1.plusDays(1));
+        MetricLoadView weight = metric(1, 7, 5000);
+        MetricLoadView plyo = metric(2, 7, 80);
+        when(sessionRepo.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(session(1, 10, D1, "60", 171))));
+        when(gymRepo.findRefs(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(gym)));
+        when(weightRepo.findLoadRows(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(weight)));
+        when(plyoRepo.findLoadRows(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(plyo)));
+
+        service.rebuild();
+
+        List<TrainingLoadService.DailyLoad> days = service.series(10, D1, D1.plusDays(1));
+        assertEquals(2, days.size());
+        assertEquals(54.0, days.get(0).runLoad());        // 60 min × 171/190
+        assertEquals(54.0, days.get(0).load());
+        assertEquals(5000.0, days.get(1).tonnageKg());
+        assertEquals(80.0, days.get(1).contacts());
+        assertEquals(90.0, days.get(1).load());           // 5000/100 + 80/2
+    }
+
+    /* =====================================================
+       EVENTS — update replaces, delete reverses
+    ===================================================== */
+    @Test
+    void sessionEvents_shouldApplyDeltas() {
+        Session s = session(1, 10, D1, "30", null);
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 10, 1, s));
+        assertEquals(21.0, service.series(10, D1, D1).get(0).load());     // default intensity 0.7
+
+        s.setRunDate(D1.plusDays(2));
+        service.onDataChange(DataChangeEvent.updated(DataChangeEvent.Kind.SESSION, 10, 1, s));
+        assertEquals(0.0, service.series(10, D1, D1).get(0).load());
+        assertEquals(21.0, service.series(10, D1.plusDays(2), D1.plusDays(2)).get(0).load());
+
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.SESSION, 10, 1));
+        assertEquals(0.0, service.series(10, D1.plusDays(2), D1.plusDays(2)).get(0).load());
+    }
+
+    @Test
+    void deletingGymSession_shouldDropItsMetrics() {
+        GymSession g = new GymSession();
+        g.setId(7);
+        g.setAthlete(new Athlete(10, "A"));
+        g.setSessionDate(D1);
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.GYM_SESSION, 10, 7, g));
+
+        WeightMetric w = new WeightMetric();
+        w.setId(3);
+        w.setGymSession(g);
+        w.setSets(4);
+        w.setReps(5);
+        w.setWeightGym(100.0);
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.WEIGHT_METRIC, 10, 3, w));
+        assertEquals(2000.0, service.series(10, D1, D1).get(0).tonnageKg());
+
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.GYM_SESSION, 10, 7));
+        assertEquals(0.0, service.series(10, D1, D1).get(0).tonnageKg());
+    }
+
+    /* =====================================================
+       MODELS — rolling ACWR and Banister
+    ===================================================== */
+    @Test
+    void constantLoad_shouldConvergeToAcwrOne() {
+        for (int i = 0; i < 60; i++) {
+            Session s = session(i + 1, 10, D1.plusDays(i), "50", 190);
+            service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 10, i + 1, s));
+        }
+
+        TrainingLoadService.DailyLoad last = service.series(10, D1.plusDays(59), D1.plusDays(59)).get(0);
+        assertEquals(50.0, last.acute());
+        assertEquals(50.0, last.chronic());
+        assertEquals(1.0, last.acwr());
+        assertTrue(last.fitness() > last.fatigue());
+
+        // a spike in the past is picked up on the next read
+        Session spike = session(100, 10, D1.plusDays(58), "350", 190);
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 10, 100, spike));
+        TrainingLoadService.DailyLoad after = service.series(10, D1.plusDays(59), D1.plusDays(59)).get(0);
+        assertTrue(after.acwr() > 1.5);
+        assertTrue(after.form() < last.form());
+    }
+
+    @Test
+    void series_beforeFirstSession_shouldBeEmpty() {
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 10, 1,
+                session(1, 10, D1, "40", null)));
+
+        TrainingLoadService.DailyLoad before = service.series(10, D1.minusDays(5), D1.minusDays(5)).get(0);
+        assertEquals(0.0, before.load());
+        assertNull(before.acwr());
+        assertTrue(service.series(99, D1, D1.plusDays(3)).stream().allMatch(d -> d.load() == 0));
+    }
+
+    @Test
+    void series_afterLastSession_shouldDecayWithoutStoringDays() {
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 10, 1,
+                session(1, 10, D1, "40", null)));
+        double load = service.series(10, D1, D1).get(0).load();
+
+        TrainingLoadService.DailyLoad later = service.series(10, D1.plusDays(10), D1.plusDays(10)).get(0);
+        assertEquals(0.0, later.load());
+        assertEquals(0.0, later.acute());
+        assertEquals(Math.round(load / 28 * 100) / 100.0, later.chronic());
+        assertEquals(Math.round(load * Math.exp(-10.0 / 42) * 100) / 100.0, later.fitness());
+
+        // a session logged afterwards is still picked up, and the gap derives the same as the decay
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 10, 2,
+                session(2, 10, D1.plusDays(20), "40", null)));
+        TrainingLoadService.DailyLoad gap = service.series(10, D1.plusDays(10), D1.plusDays(10)).get(0);
+        assertEquals(later, gap);
+        assertEquals(load, service.series(10, D1.plusDays(20), D1.plusDays(20)).get(0).load());
+    }
+
+    @Test
+    void farOffDates_shouldStayOutOfTheSeries() {
+        LocalDate today = LocalDate.now();
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 10, 1,
+                session(1, 10, today, "40", null)));
+        // typos: year 205 and year 20255
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 10, 2,
+                session(2, 10, LocalDate.of(205, 3, 1), "40", null)));
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.SESSION, 10, 3,
+                session(3, 10, LocalDate.of(20255, 3, 1), "40", null)));
+        GymSession g = new GymSession();
+        g.setId(7);
+        g.setAthlete(new Athlete(10, "A"));
+        g.setSessionDate(today.minusYears(TrainingLoadService.YEARS_BACK + 1));
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.GYM_SESSION, 10, 7, g));
+        WeightMetric w = new WeightMetric();
+        w.setId(3);
+        w.setGymSession(g);
+        w.setSets(1);
+        w.setReps(1);
+        w.setWeightGym(100.0);
+        service.onDataChange(DataChangeEvent.created(DataChangeEvent.Kind.WEIGHT_METRIC, 10, 3, w));
+
+        assertEquals(1, service.storedDays(10));
+        assertEquals(28.0, service.series(10, today, today).get(0).load());
+
+        // corrected to a real date, the session is picked up; deleting an untracked row is a no-op
+        service.onDataChange(DataChangeEvent.updated(DataChangeEvent.Kind.SESSION, 10, 2,
+                session(2, 10, today.minusDays(1), "40", null)));
+        service.onDataChange(DataChangeEvent.deleted(DataChangeEvent.Kind.SESSION, 10, 3));
+        assertEquals(2, service.storedDays(10));
+        assertEquals(28.0, service.series(10, today.minusDays(1), today.minusDays(1)).get(0).load());
+    }
+
+    /* =====================================================
+       TEST DATA
+    ===================================================== */
+    private static Session session(int id, int athleteId, LocalDate date, String minutes, Integer heartAvg) {
+        Session s = new Session(athleteId, date, new BigDecimal(minutes), null, heartAvg, null, null, null, null, null);
+        s.setId(id);
+        return s;
+    }
+
+    private static GymSessionRefView gymRef(int id, int athleteId, LocalDate date) {
+        GymSessionRefView v = mock(GymSessionRefView.class);
+        when(v.getId()).thenReturn(id);
+        when(v.getAthleteId()).thenReturn(athleteId);
+        when(v.getSessionDate()).thenReturn(date);
+        return v;
+    }
+
+    private static MetricLoadView metric(int id, int gymId, double amount) {
+        MetricLoadView v = mock(MetricLoadView.class);
+        when(v.getId()).thenReturn(id);
+        when(v.getGymId()).thenReturn(gymId);
+        when(v.getAmount()).thenReturn(amount);
+        return v;
+    }
+}
@@ -111,7 +111,7 @@ function hideLoading() {
 async function loadCoachPlans() {
   ensureAuth();
   if (!COACH_ID) return;
-  const res = await fetch(`${API}/plans/coach/${COACH_ID}`, { headers: authHeaders() });
+  const res = await fetch(`${API}/plans/coach/${COACH_ID}?includeNotes=true`, { headers: authHeaders() });
   if (!res.ok) throw new Error("Failed to load coach plans");
   const data = await res.json();
 
@@ -124,7 +124,7 @@ async function loadAthletePlans() {
   ensureAuth();
   if (!ATHLETE_ID) return;
 
-  const plansRes = await fetch(`${API}/plans/athlete/${ATHLETE_ID}`, { headers: authHeaders() });
+  const plansRes = await fetch(`${API}/plans/athlete/${ATHLETE_ID}?includeNotes=true`, { headers: authHeaders() });
   if (!plansRes.ok) throw new Error("Failed to load athlete plans");
   const plans = await plansRes.json();
 
@@ -245,7 +245,7 @@
 
   async function loadSessions() {
     try {
-      allSessions = await apiFetch(`${BASE_API}/gymsessions/athlete/${athleteId}`);
+      allSessions = await apiFetch(`${BASE_API}/gymsessions/athlete/${athleteId}?includeNotes=true`);
       renderSessions(allSessions);
     } catch {
       showToast("⚠️ Failed to load gym sessions", "error");
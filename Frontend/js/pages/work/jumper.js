@@ -6,6 +6,8 @@ let chart = null;
 let chartSets = [];
 let currentChartIndex = 0;
 let activeChart = null;
+// notes of the athlete's jumps, from the list load; charts fetch the note-less summaries
+let notesById = new Map();
 
 function getAuthHeaders() {
   const token = localStorage.getItem("token");
@@ -53,11 +55,10 @@ async function loadAthleteData() {
 
 async function loadJumps() {
   try {
-    const jumps = await apiFetch(`${API}/jumpresults`);
+    const jumps = await apiFetch(`${API}/jumpresults/athlete/${athleteId}?includeNotes=true`);
 
-    const filtered = jumps.filter(j => String(j.athleteId) === String(athleteId));
-
-    renderJumps(filtered);
+    notesById = new Map(jumps.filter(j => j.notes).map(j => [j.jumpId, j.notes]));
+    renderJumps(jumps);
   } catch (err) {}
 }
 
@@ -197,7 +198,7 @@ async function applySearchFilters() {
   if (to) params.append("to", to);
 
   try {
-    const jumps = await apiFetch(`${API}/jumpresults/search?${params.toString()}`);
+    const jumps = await apiFetch(`${API}/jumpresults/search?includeNotes=true&${params.toString()}`);
     const list = document.getElementById("jumpResultsList");
 
     if (!jumps.length) {
@@ -323,7 +324,8 @@ function showChart() {
           callbacks: {
             label: (context) => {
               const j = data[context.dataIndex];
-              const notes = j.notes ? `📝 ${j.notes}` : "";
+              const note = notesById.get(j.jumpId);
+              const notes = note ? `📝 ${note}` : "";
               return [
                 `Date: ${j.jumpDate}`,
                 `Type: ${j.jumpType || "—"}`,
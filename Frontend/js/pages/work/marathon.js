@@ -66,7 +66,7 @@ async function loadAthlete() {
 
 async function loadSessions() {
   try {
-    allSessions = await apiFetch(`${BASE_API}/sessions/athlete/${athleteId}`);
+    allSessions = await apiFetch(`${BASE_API}/sessions/athlete/${athleteId}?includeNotes=true`);
     renderSessions(allSessions);
     updateStats(allSessions);
   } catch {
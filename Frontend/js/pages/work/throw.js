@@ -8,6 +8,8 @@ let filtered = [];
 let chartSets = [];
 let currentChartIndex = 0;
 let activeChart = null;
+// notes of the athlete's throws, from the list load; charts fetch the note-less summaries
+let notesById = new Map();
 
 function getAuthHeaders() {
   const token = localStorage.getItem("token");
@@ -69,9 +71,10 @@ async function loadThrows() {
   filtered = [];
 
   try {
-    const res = await apiFetch(`${API}?athleteId=${athleteId}`);
+    const res = await apiFetch(`${API}?athleteId=${athleteId}&includeNotes=true`);
     throwsAll = res || [];
     filtered = throwsAll.filter(t => t.athlete?.id == athleteId);
+    notesById = new Map(filtered.filter(t => t.notes).map(t => [t.id, t.notes]));
     render();
   } catch (err) {
     showMessage("❌ Could not load throw results", "error");
@@ -152,7 +155,7 @@ async function applySearch() {
   params.append("sortOrder", sortOrder);
 
   try {
-    filtered = await apiFetch(`${API}/search?${params.toString()}`);
+    filtered = await apiFetch(`${API}/search?includeNotes=true&${params.toString()}`);
     filtered = filtered.filter(t => t.athlete?.id == athleteId);
 
     filtered.sort((a, b) => {
@@ -316,7 +319,8 @@ function showChart() {
           callbacks: {
             label: context => {
               const t = data[context.dataIndex];
-              const notes = t.notes ? `📝 ${t.notes}` : "";
+              const note = notesById.get(t.id);
+              const notes = note ? `📝 ${note}` : "";
               return [
                 `Date: ${t.throwDate}`,
                 `Event: ${t.event}`,